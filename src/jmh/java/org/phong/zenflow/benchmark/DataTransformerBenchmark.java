@@ -0,0 +1,91 @@
+package org.phong.zenflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar.ColumnarPipeline;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.executor.DataTransformerExecutor;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.FilterTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.GroupByTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.SortTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.registry.TransformerRegistry;
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A filter, sort and group-by pipeline over order-like records, run through the data transformer node row by
+ * row and as one columnar pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataTransformerBenchmark {
+    private static final String[] REGIONS = {"eu", "us", "apac", "latam"};
+    private static final String[] STATUSES = {"active", "pending", "cancelled"};
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    @Param({"row", "columnar"})
+    public String engine;
+
+    private DataTransformerExecutor executor;
+    private ExecutionContext context;
+    private WorkflowConfig config;
+
+    @Setup
+    public void setUp() {
+        RuntimeContextManager manager = new RuntimeContextManager();
+        TemplateService templateService = SyntheticWorkflow.templateService(manager);
+        FilterTransformer filter = new FilterTransformer(templateService);
+        SortTransformer sort = new SortTransformer();
+        TransformerRegistry registry = new TransformerRegistry(List.of(filter, sort, new GroupByTransformer()));
+        executor = "columnar".equals(engine)
+                ? new DataTransformerExecutor(registry, new ColumnarPipeline(filter, sort, true, 0))
+                : new DataTransformerExecutor(registry);
+        context = SyntheticWorkflow.chain(1, false).populatedRun(manager, templateService);
+
+        List<Map<String, Object>> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(Map.of(
+                    "id", i,
+                    "region", REGIONS[i % REGIONS.length],
+                    "status", STATUSES[i % STATUSES.length],
+                    "amount", (i * 37) % 1000 + 0.5,
+                    "customer", "customer-" + (i % 200)));
+        }
+
+        config = new WorkflowConfig(Map.of(
+                "data", data,
+                "isPipeline", true,
+                "steps", List.of(
+                        Map.of("transformer", "filter",
+                                "params", Map.of("expression", "status != 'cancelled' && amount > 100")),
+                        Map.of("transformer", "sort",
+                                "params", Map.of("field", "amount", "order", "desc", "type", "number")),
+                        Map.of("transformer", "group_by",
+                                "params", Map.of("groupBy", "region", "aggregations", List.of(
+                                        Map.of("field", "amount", "function", "sum", "alias", "total"),
+                                        Map.of("field", "amount", "function", "avg", "alias", "average"),
+                                        Map.of("field", "customer", "function", "distinct_count",
+                                                "alias", "customers")))))));
+    }
+
+    @Benchmark
+    public ExecutionResult filterSortGroupBy() {
+        return executor.execute(config, context);
+    }
+}
@@ -0,0 +1,53 @@
+package org.phong.zenflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.ConfigTemplatePlan;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of a whole node config, both by walking the raw input and through its cached
+ * {@link ConfigTemplatePlan}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExecutionContextBenchmark {
+    private static final int NODE = 4;
+
+    private ExecutionContext context;
+    private String nodeKey;
+    private WorkflowConfig config;
+    private ConfigTemplatePlan plan;
+
+    @Setup
+    public void setUp() {
+        SyntheticWorkflow workflow = SyntheticWorkflow.chain(8, true);
+        RuntimeContextManager manager = new RuntimeContextManager();
+        TemplateService templateService = SyntheticWorkflow.templateService(manager);
+        context = workflow.populatedRun(manager, templateService);
+        nodeKey = SyntheticWorkflow.nodeKey(NODE);
+        config = workflow.node(NODE).getConfig();
+        plan = templateService.getConfigPlan(workflow.workflowId(), 1L, nodeKey, config.input());
+    }
+
+    @Benchmark
+    public WorkflowConfig resolveConfig() {
+        return context.resolveConfig(nodeKey, config);
+    }
+
+    @Benchmark
+    public WorkflowConfig resolveConfigWithPlan() {
+        return context.resolveConfig(nodeKey, config, plan);
+    }
+}
@@ -0,0 +1,92 @@
+package org.phong.zenflow.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.phong.zenflow.workflow.subdomain.logging.config.LoggingProperties;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.buffer.WorkflowBufferManager;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector.GlobalLogCollector;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.metrics.LoggingMetrics;
+import org.phong.zenflow.workflow.subdomain.logging.router.LogRouter;
+import org.phong.zenflow.workflow.subdomain.logging.util.CircuitBreaker;
+import org.phong.zenflow.workflow.subdomain.logging.util.SharedThreadPoolManager;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer-side throughput of {@link LogRouter#dispatch} with several node threads logging into the sharded
+ * pipeline at once. Persistence is a no-op so the numbers reflect routing, buffering and batching only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class LogRouterBenchmark {
+    @Param({"1", "64"})
+    public int runs;
+
+    private WorkflowBufferManager buffers;
+    private GlobalLogCollector collector;
+    private SharedThreadPoolManager threadPoolManager;
+    private LogEntry[] entries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LoggingProperties properties = new LoggingProperties();
+        LoggingMetrics metrics = new LoggingMetrics(new SimpleMeterRegistry());
+        LoggingProperties.PersistenceConfig persistence = properties.getPersistence();
+        collector = new GlobalLogCollector((runId, batch) -> {
+        }, null, persistence, new CircuitBreaker(persistence.getCircuitBreaker(), metrics), metrics, 2);
+        threadPoolManager = new SharedThreadPoolManager(properties);
+        buffers = new WorkflowBufferManager(collector, properties.getBuffer(), threadPoolManager, metrics, 4, 100_000,
+                e -> {
+                });
+        LogRouter.init(buffers);
+
+        entries = new LogEntry[1024];
+        UUID[] runIds = new UUID[runs];
+        for (int i = 0; i < runs; i++) {
+            runIds[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = LogEntry.builder()
+                    .workflowRunId(runIds[i % runs])
+                    .nodeKey(SyntheticWorkflow.nodeKey(i % 8))
+                    .level(LogLevel.INFO)
+                    .message("Processed item " + i)
+                    .timestamp(Instant.now())
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LogRouter.init(null);
+        buffers.shutdown();
+        collector.shutdown();
+        threadPoolManager.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public void dispatch(Cursor cursor) {
+        LogRouter.dispatch(entries[cursor.next++ & (entries.length - 1)]);
+    }
+}
@@ -0,0 +1,64 @@
+package org.phong.zenflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.phong.zenflow.workflow.subdomain.context.ContextSlotLayout;
+import org.phong.zenflow.workflow.subdomain.context.RuntimeContext;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full run through the context: every node stores its output, then its successor consumes the four
+ * references it depends on, which garbage collects them. Compares the map-backed store with slot layouts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RuntimeContextBenchmark {
+    private static final String[] REFS = {"id", "body.token", "body.count", "body.items"};
+
+    @Param({"10", "50"})
+    public int nodes;
+
+    @Param({"map", "slots"})
+    public String storage;
+
+    private SyntheticWorkflow workflow;
+    private ContextSlotLayout layout;
+
+    @Setup
+    public void setUp() {
+        workflow = SyntheticWorkflow.chain(nodes, false);
+        layout = ContextSlotLayout.build(workflow.metadata());
+    }
+
+    @Benchmark
+    public void workflowPass(Blackhole bh) {
+        RuntimeContext context = new RuntimeContext();
+        if ("slots".equals(storage)) {
+            context.initialize(new HashMap<>(), layout, new HashMap<>());
+        } else {
+            context.initialize(new HashMap<>(), workflow.consumers(), new HashMap<>());
+        }
+
+        for (int i = 0; i < nodes; i++) {
+            String nodeKey = SyntheticWorkflow.nodeKey(i);
+            if (i > 0) {
+                String prev = SyntheticWorkflow.outputKey(i - 1);
+                for (String ref : REFS) {
+                    bh.consume(context.getAndClean(nodeKey, prev + "." + ref));
+                }
+            }
+            context.processOutputWithMetadata(SyntheticWorkflow.outputKey(i), workflow.output(i));
+        }
+        bh.consume(context.getContextSize());
+    }
+}
@@ -0,0 +1,56 @@
+package org.phong.zenflow.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.phong.zenflow.plugin.subdomain.schema.services.SchemaRegistry;
+import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowDefinition;
+import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationError;
+import org.phong.zenflow.workflow.subdomain.schema_validator.service.schema.CompiledSchemaCache;
+import org.phong.zenflow.workflow.subdomain.schema_validator.service.schema.SchemaPlaceholderService;
+import org.phong.zenflow.workflow.subdomain.schema_validator.service.schema.SchemaTypeResolver;
+import org.phong.zenflow.workflow.subdomain.schema_validator.service.schema.SchemaValidationService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Structural validation of a whole workflow definition against the builtin workflow schema, as done on every
+ * definition update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchemaValidationBenchmark {
+    private static final String WORKFLOW_SCHEMA = "builtin:workflow_structure_schema";
+
+    @Param({"10", "100"})
+    public int nodes;
+
+    private SchemaValidationService validationService;
+    private WorkflowDefinition definition;
+
+    @Setup
+    public void setUp() {
+        TemplateService templateService = SyntheticWorkflow.templateService(new RuntimeContextManager());
+        SchemaTypeResolver typeResolver = new SchemaTypeResolver();
+        // Builtin schemas are read from the classpath; plugin lookups are never reached
+        SchemaRegistry registry = new SchemaRegistry(null, null, null, null, 3600, true);
+        validationService = new SchemaValidationService(registry, new ObjectMapper(), typeResolver, templateService,
+                new SchemaPlaceholderService(typeResolver, templateService), new CompiledSchemaCache(2000));
+        definition = SyntheticWorkflow.chain(nodes, false).definition();
+    }
+
+    @Benchmark
+    public List<ValidationError> validateWorkflowStructure() {
+        return validationService.validateAgainstSchema(null, definition, WORKFLOW_SCHEMA, "", null);
+    }
+}
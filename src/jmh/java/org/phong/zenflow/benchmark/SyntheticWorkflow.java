@@ -0,0 +1,201 @@
+package org.phong.zenflow.benchmark;
+
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.context.RuntimeContext;
+import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
+import org.phong.zenflow.workflow.subdomain.evaluator.functions.AviatorFunctionRegistry;
+import org.phong.zenflow.workflow.subdomain.evaluator.functions.core.ContextGetFunction;
+import org.phong.zenflow.workflow.subdomain.evaluator.functions.string.StringContainsFunction;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
+import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowDefinition;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.OutputUsage;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.plugin.PluginNodeIdentifier;
+import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A chain of HTTP-like plugin nodes where every node reads the id, token, counter and item list of its
+ * predecessor's output, the way typical API-to-API workflows are wired.
+ * <p>
+ * Every consumed output additionally lists {@link #OBSERVER} as a consumer when {@code retainOutputs} is set, so
+ * reads through {@link RuntimeContext#getAndClean} never garbage collect it and a benchmark can resolve the same
+ * node over and over.
+ */
+public final class SyntheticWorkflow {
+    public static final String OBSERVER = "observer";
+    private static final String[] CONSUMED_PATHS = {"id", "body.token", "body.count", "body.items"};
+
+    private final UUID workflowId = UUID.randomUUID();
+    private final List<BaseWorkflowNode> nodes;
+    private final Map<String, Set<String>> consumers;
+    private final WorkflowMetadata metadata;
+    private final List<Map<String, Object>> outputs;
+
+    private SyntheticWorkflow(List<BaseWorkflowNode> nodes, Map<String, Set<String>> consumers,
+                              WorkflowMetadata metadata, List<Map<String, Object>> outputs) {
+        this.nodes = nodes;
+        this.consumers = consumers;
+        this.metadata = metadata;
+        this.outputs = outputs;
+    }
+
+    public static SyntheticWorkflow chain(int size, boolean retainOutputs) {
+        List<BaseWorkflowNode> nodes = new ArrayList<>(size);
+        Map<String, Set<String>> consumers = new HashMap<>();
+        Map<String, OutputUsage> usages = new HashMap<>();
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        List<Map<String, Object>> outputs = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            String key = nodeKey(i);
+            List<String> next = i + 1 < size ? List.of(nodeKey(i + 1)) : List.of();
+            nodes.add(new BaseWorkflowNode(key, NodeType.PLUGIN,
+                    new PluginNodeIdentifier(UUID.randomUUID(), "core", "http.request", "1.0.0", "builtin"),
+                    next, new WorkflowConfig(sampleInput(i)), new HashMap<>(), new HashMap<>()));
+            outputs.add(sampleOutput(i));
+
+            if (i + 1 < size) {
+                Set<String> deps = new HashSet<>();
+                for (String path : CONSUMED_PATHS) {
+                    String ref = key + ".output." + path;
+                    Set<String> refConsumers = new HashSet<>();
+                    refConsumers.add(nodeKey(i + 1));
+                    if (retainOutputs) {
+                        refConsumers.add(OBSERVER);
+                    }
+                    consumers.put(ref, refConsumers);
+                    usages.put(ref, new OutputUsage(path.endsWith("items") ? "array" : "string",
+                            new HashSet<>(refConsumers), new ArrayList<>()));
+                    deps.add(ref);
+                }
+                dependencies.put(nodeKey(i + 1), deps);
+            }
+        }
+
+        WorkflowMetadata metadata = new WorkflowMetadata(new HashMap<>(), dependencies, usages, new HashMap<>(),
+                new HashMap<>(), new ArrayList<>());
+        return new SyntheticWorkflow(nodes, consumers, metadata, outputs);
+    }
+
+    public static String nodeKey(int i) {
+        return "node_" + i;
+    }
+
+    public static String outputKey(int i) {
+        return nodeKey(i) + ".output";
+    }
+
+    private static Map<String, Object> sampleInput(int i) {
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("method", "POST");
+        input.put("timeout", 30_000);
+        if (i == 0) {
+            input.put("url", "https://api.example.com/items");
+            input.put("headers", Map.of("Accept", "application/json"));
+            input.put("body", Map.of("page", 1));
+            return input;
+        }
+        String prev = outputKey(i - 1);
+        input.put("url", "https://api.example.com/items/{{" + prev + ".id}}/details");
+        input.put("headers", Map.of(
+                "Accept", "application/json",
+                "Authorization", "Bearer {{" + prev + ".body.token}}"));
+        input.put("body", Map.of(
+                "count", "{{" + prev + ".body.count}}",
+                "items", "{{" + prev + ".body.items}}",
+                "tags", List.of("synthetic", "{{" + prev + ".id}}"),
+                "flagged", "{{ fn:String.contains('api-response','resp') }}"));
+        return input;
+    }
+
+    private static Map<String, Object> sampleOutput(int i) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int j = 0; j < 10; j++) {
+            items.add(Map.of("sku", "sku-" + j, "qty", j, "price", j * 1.5));
+        }
+        return Map.of(
+                "id", "id-" + i,
+                "status", 200,
+                "headers", Map.of("content-type", "application/json", "x-request-id", "req-" + i),
+                "body", Map.of(
+                        "token", "tok-" + i + "-7f3c9a1e",
+                        "count", i,
+                        "name", "item " + i,
+                        "items", items));
+    }
+
+    public static TemplateService templateService(RuntimeContextManager manager) {
+        return new TemplateService(new AviatorFunctionRegistry(List.of(
+                new ContextGetFunction(manager), new StringContainsFunction())));
+    }
+
+    /**
+     * A run whose context already holds every node's output, stored through the map-backed store.
+     */
+    public ExecutionContext populatedRun(RuntimeContextManager manager, TemplateService templateService) {
+        UUID runId = UUID.randomUUID();
+        RuntimeContext context = new RuntimeContext();
+        context.initialize(new HashMap<>(), consumers, new HashMap<>());
+        for (int i = 0; i < outputs.size(); i++) {
+            context.processOutputWithMetadata(outputKey(i), outputs.get(i));
+        }
+        manager.assign(runId.toString(), context);
+        return ExecutionContext.builder()
+                .workflowId(workflowId)
+                .workflowRunId(runId)
+                .traceId("bench")
+                .contextManager(manager)
+                .logPublisher(NodeLogPublisher.builder()
+                        .publisher(event -> {
+                        })
+                        .workflowId(workflowId)
+                        .runId(runId)
+                        .build())
+                .templateService(templateService)
+                .build();
+    }
+
+    public UUID workflowId() {
+        return workflowId;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public List<BaseWorkflowNode> nodes() {
+        return nodes;
+    }
+
+    public BaseWorkflowNode node(int i) {
+        return nodes.get(i);
+    }
+
+    public Map<String, Object> output(int i) {
+        return outputs.get(i);
+    }
+
+    public Map<String, Set<String>> consumers() {
+        return consumers;
+    }
+
+    public WorkflowMetadata metadata() {
+        return metadata;
+    }
+
+    public WorkflowDefinition definition() {
+        return new WorkflowDefinition(nodes, metadata);
+    }
+}
@@ -0,0 +1,69 @@
+package org.phong.zenflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TemplateService#resolve} on the three template shapes found in node configs, and reference extraction
+ * as done while building workflow metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemplateBenchmark {
+    private static final String SINGLE_REF = "{{node_3.output.body.items}}";
+    private static final String INTERPOLATED =
+            "https://api.example.com/items/{{node_3.output.id}}/details?token={{node_3.output.body.token}}";
+    private static final String FUNCTION = "{{ fn:String.contains('api-response','resp') }}";
+
+    private TemplateService templateService;
+    private ExecutionContext context;
+    private Map<String, Object> config;
+
+    @Setup
+    public void setUp() {
+        SyntheticWorkflow workflow = SyntheticWorkflow.chain(8, true);
+        RuntimeContextManager manager = new RuntimeContextManager();
+        templateService = SyntheticWorkflow.templateService(manager);
+        context = workflow.populatedRun(manager, templateService);
+        context.setNodeKey(SyntheticWorkflow.nodeKey(4));
+        config = workflow.node(4).getConfig().input();
+    }
+
+    @Benchmark
+    public Object resolveSingleReference() {
+        return templateService.resolve(SINGLE_REF, context);
+    }
+
+    @Benchmark
+    public Object resolveInterpolated() {
+        return templateService.resolve(INTERPOLATED, context);
+    }
+
+    @Benchmark
+    public Object resolveFunction() {
+        return templateService.resolve(FUNCTION, context);
+    }
+
+    @Benchmark
+    public Set<String> extractRefsFromString() {
+        return templateService.extractRefs(INTERPOLATED);
+    }
+
+    @Benchmark
+    public Set<String> extractRefsFromConfig() {
+        return templateService.extractRefs(config);
+    }
+}
@@ -0,0 +1,52 @@
+package org.phong.zenflow.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node lookups the engine performs on every step of a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorkflowNodesBenchmark {
+    @Param({"20", "500"})
+    public int size;
+
+    private WorkflowNodes nodes;
+    private String middleKey;
+    private UUID middleNodeId;
+
+    @Setup
+    public void setUp() {
+        nodes = new WorkflowNodes(SyntheticWorkflow.chain(size, false).nodes()).freeze();
+        middleKey = SyntheticWorkflow.nodeKey(size / 2);
+        middleNodeId = nodes.get(middleKey).getPluginNode().getNodeId();
+    }
+
+    @Benchmark
+    public BaseWorkflowNode get() {
+        return nodes.get(middleKey);
+    }
+
+    @Benchmark
+    public BaseWorkflowNode findByNodeId() {
+        return nodes.findByNodeId(middleNodeId);
+    }
+
+    @Benchmark
+    public BaseWorkflowNode findByInstanceKey() {
+        return nodes.findByInstanceKey(middleKey);
+    }
+}
@@ -0,0 +1,87 @@
+package org.phong.zenflow.core.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records {@code zenflow.http.client.requests} per destination, method and outcome, measured until the
+ * response headers arrive (or the exchange fails).
+ * <p>
+ * Workflows can call any URL, so only hosts configured under {@code zenflow.http.client.hosts} get their own
+ * {@code host} tag; every other destination is recorded as {@code other} to keep the number of series bounded.
+ */
+final class DestinationMetricsFilter implements ExchangeFilterFunction {
+    private static final String METRIC = "zenflow.http.client.requests";
+    static final String OTHER_HOST = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> knownHosts;
+
+    /**
+     * @param destinations configured destinations, {@code host} or {@code host:port}
+     */
+    DestinationMetricsFilter(MeterRegistry meterRegistry, Collection<String> destinations) {
+        this.meterRegistry = meterRegistry;
+        this.knownHosts = destinations.stream()
+                .map(DestinationMetricsFilter::hostOf)
+                .map(host -> host.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnNext(response -> record(request, outcomeOf(response.statusCode().value()), start))
+                    .doOnError(error -> record(request, "IO_ERROR", start));
+        });
+    }
+
+    private void record(ClientRequest request, String outcome, long start) {
+        Timer.builder(METRIC)
+                .description("Outbound HTTP exchanges per configured destination host")
+                .tag("host", hostTag(request.url().getHost()))
+                .tag("method", request.method().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    String hostTag(String host) {
+        if (host == null) {
+            return OTHER_HOST;
+        }
+        String normalized = host.toLowerCase(Locale.ROOT);
+        return knownHosts.contains(normalized) ? normalized : OTHER_HOST;
+    }
+
+    private static String hostOf(String destination) {
+        int colon = destination.lastIndexOf(':');
+        return colon > 0 && destination.indexOf(']') < colon ? destination.substring(0, colon) : destination;
+    }
+
+    private static String outcomeOf(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        } else if (status >= 400) {
+            return "CLIENT_ERROR";
+        } else if (status >= 300) {
+            return "REDIRECTION";
+        } else if (status >= 200) {
+            return "SUCCESS";
+        }
+        return "INFORMATIONAL";
+    }
+}
@@ -0,0 +1,70 @@
+package org.phong.zenflow.core.http;
+
+import lombok.Getter;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+/**
+ * Outbound HTTP for nodes, polling triggers and run callbacks.
+ * <p>
+ * Wraps a {@link WebClient} on a dedicated, per-host pooled connector (see {@link OutboundHttpConfig}) and reads
+ * response bodies with a hard size limit, spilling bodies above the configured threshold to a temp file instead
+ * of buffering them in memory.
+ */
+public class OutboundHttpClient {
+    @Getter
+    private final WebClient webClient;
+    private final long maxResponseBytes;
+    private final int spillThresholdBytes;
+    private final Path spillDirectory;
+
+    public OutboundHttpClient(WebClient webClient, OutboundHttpProperties properties) {
+        this.webClient = webClient;
+        this.maxResponseBytes = properties.getMaxResponseBytes();
+        this.spillThresholdBytes = properties.getSpillThresholdBytes();
+        this.spillDirectory = Path.of(properties.getSpillDir());
+    }
+
+    /**
+     * Reads the whole body of {@code response}.
+     *
+     * @return the body, or an error of {@link ResponseTooLargeException} when it exceeds the size limit
+     */
+    public Mono<ResponseBody> readBody(ClientResponse response) {
+        OptionalLong declaredLength = response.headers().contentLength();
+        if (declaredLength.isPresent() && declaredLength.getAsLong() > maxResponseBytes) {
+            return response.releaseBody().then(Mono.error(new ResponseTooLargeException(maxResponseBytes)));
+        }
+        MediaType contentType = response.headers().contentType().orElse(null);
+
+        return Mono.defer(() -> {
+            ResponseBodyCollector collector =
+                    new ResponseBodyCollector(maxResponseBytes, spillThresholdBytes, spillDirectory, contentType);
+            return response.body(BodyExtractors.toDataBuffers())
+                    // Spilling writes to disk, keep it off the event loop
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnNext(buffer -> {
+                        try {
+                            collector.append(buffer);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .then(Mono.fromCallable(collector::finish))
+                    .doOnError(error -> collector.discard())
+                    .doOnCancel(collector::discard);
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package org.phong.zenflow.core.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.context.RunTempFiles;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Builds the pooled connector behind {@link OutboundHttpClient}.
+ * <p>
+ * Reactor Netty keeps one pool per remote address, so a slow upstream can only exhaust its own connections and
+ * pending-acquire slots. Reactor Netty's built-in meters are left off, since they are tagged with the remote
+ * address and URI, which workflows choose freely; request and pool metrics ({@code zenflow.http.client.*}) are
+ * tagged by configured destination instead.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+@Slf4j
+public class OutboundHttpConfig {
+    private final RunTempFiles runTempFiles;
+    private final String spillDir;
+
+    public OutboundHttpConfig(RunTempFiles runTempFiles, OutboundHttpProperties properties) {
+        this.runTempFiles = runTempFiles;
+        this.spillDir = properties.getSpillDir();
+    }
+
+    @Bean
+    DestinationMetricsFilter destinationMetricsFilter(MeterRegistry meterRegistry, OutboundHttpProperties properties) {
+        return new DestinationMetricsFilter(meterRegistry, properties.getHosts().keySet());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(OutboundHttpProperties properties,
+                                                         MeterRegistry meterRegistry,
+                                                         DestinationMetricsFilter destinationMetricsFilter) {
+        PoolMetricsRegistrar poolMetrics = new PoolMetricsRegistrar(meterRegistry, destinationMetricsFilter::hostTag);
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("zenflow-outbound")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .metrics(true, () -> poolMetrics);
+
+        properties.getHosts().forEach((destination, host) -> {
+            for (InetSocketAddress address : addressesOf(destination)) {
+                builder.forRemoteHost(address, spec -> {
+                    if (host.getMaxConnections() != null) {
+                        spec.maxConnections(host.getMaxConnections());
+                    }
+                    if (host.getPendingAcquireMaxCount() != null) {
+                        spec.pendingAcquireMaxCount(host.getPendingAcquireMaxCount());
+                    }
+                    if (host.getPendingAcquireTimeout() != null) {
+                        spec.pendingAcquireTimeout(host.getPendingAcquireTimeout());
+                    }
+                });
+            }
+            log.debug("Configured outbound connection pool override for {}", destination);
+        });
+        return builder.build();
+    }
+
+    @Bean
+    public OutboundHttpClient outboundHttpClient(WebClient.Builder webClientBuilder,
+                                                 ConnectionProvider outboundConnectionProvider,
+                                                 OutboundHttpProperties properties,
+                                                 DestinationMetricsFilter destinationMetricsFilter) {
+        HttpClient httpClient = HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis());
+        if (properties.getResponseTimeout() != null) {
+            httpClient = httpClient.responseTimeout(properties.getResponseTimeout());
+        }
+
+        WebClient webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.getSpillThresholdBytes()))
+                .filter(destinationMetricsFilter)
+                .build();
+        return new OutboundHttpClient(webClient, properties);
+    }
+
+    /**
+     * Removes spill files of runs that ended while this or another instance was down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepSpillDirectory() {
+        runTempFiles.sweepOrphans(Path.of(spillDir),
+                ResponseBodyCollector.SPILL_PREFIX + "*" + ResponseBodyCollector.SPILL_SUFFIX);
+    }
+
+    /**
+     * {@code host:port} maps to that address; a bare host covers both default ports.
+     */
+    static List<InetSocketAddress> addressesOf(String destination) {
+        int colon = destination.lastIndexOf(':');
+        if (colon > 0 && destination.indexOf(']') < colon) {
+            String host = destination.substring(0, colon);
+            int port = Integer.parseInt(destination.substring(colon + 1));
+            return List.of(InetSocketAddress.createUnresolved(host, port));
+        }
+        return List.of(InetSocketAddress.createUnresolved(destination, 80),
+                InetSocketAddress.createUnresolved(destination, 443));
+    }
+}
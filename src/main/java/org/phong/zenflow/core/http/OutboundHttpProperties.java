@@ -0,0 +1,45 @@
+package org.phong.zenflow.core.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the outbound HTTP client used by nodes, triggers and run callbacks.
+ * <p>
+ * Connection pools are kept per destination host, so the pool limits below apply to each host separately;
+ * {@link #hosts} overrides them for individual hosts ({@code host} or {@code host:port}).
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "zenflow.http.client")
+public class OutboundHttpProperties {
+    private int maxConnections = 50;
+    private int pendingAcquireMaxCount = 200;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    /** Client-wide response timeout; unset by default so long-running calls only time out where a node asks to. */
+    private Duration responseTimeout;
+
+    /** Responses larger than this are rejected. */
+    private long maxResponseBytes = 50L * 1024 * 1024;
+    /** Responses larger than this are written to a temp file instead of being held in memory. */
+    private int spillThresholdBytes = 1024 * 1024;
+    private String spillDir = System.getProperty("java.io.tmpdir");
+
+    private Map<String, HostConfig> hosts = new HashMap<>();
+
+    @Setter
+    @Getter
+    public static class HostConfig {
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+    }
+}
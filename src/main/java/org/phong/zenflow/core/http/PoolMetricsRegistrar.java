@@ -0,0 +1,72 @@
+package org.phong.zenflow.core.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Exports the outbound connection pools as {@code zenflow.http.client.pool.*} gauges with the same bounded
+ * {@code host} tag as {@link DestinationMetricsFilter}.
+ * <p>
+ * Reactor Netty keeps one pool per remote address and would tag its own pool meters with that address, which
+ * workflows choose freely. Here the pools of a tag are summed up instead, so every unconfigured destination ends
+ * up in {@code other}.
+ */
+final class PoolMetricsRegistrar implements ConnectionProvider.MeterRegistrar {
+    private static final String PREFIX = "zenflow.http.client.pool.";
+
+    private final MeterRegistry meterRegistry;
+    private final Function<String, String> hostTag;
+    // Live pools per host tag, keyed by pool id
+    private final Map<String, Map<String, ConnectionPoolMetrics>> poolsByHost = new ConcurrentHashMap<>();
+
+    PoolMetricsRegistrar(MeterRegistry meterRegistry, Function<String, String> hostTag) {
+        this.meterRegistry = meterRegistry;
+        this.hostTag = hostTag;
+    }
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                ConnectionPoolMetrics metrics) {
+        poolsByHost.computeIfAbsent(tagOf(remoteAddress), this::registerGauges).put(id, metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        Map<String, ConnectionPoolMetrics> pools = poolsByHost.get(tagOf(remoteAddress));
+        if (pools != null) {
+            pools.remove(id);
+        }
+    }
+
+    private String tagOf(SocketAddress remoteAddress) {
+        return hostTag.apply(remoteAddress instanceof InetSocketAddress address ? address.getHostString() : null);
+    }
+
+    private Map<String, ConnectionPoolMetrics> registerGauges(String host) {
+        Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+        gauge(host, pools, "active", "Connections acquired from the pool", ConnectionPoolMetrics::acquiredSize);
+        gauge(host, pools, "idle", "Idle connections in the pool", ConnectionPoolMetrics::idleSize);
+        gauge(host, pools, "total", "Connections allocated by the pool", ConnectionPoolMetrics::allocatedSize);
+        gauge(host, pools, "pending", "Requests waiting for a connection", ConnectionPoolMetrics::pendingAcquireSize);
+        gauge(host, pools, "max", "Connection limit of the pools", ConnectionPoolMetrics::maxAllocatedSize);
+        return pools;
+    }
+
+    private void gauge(String host, Map<String, ConnectionPoolMetrics> pools, String name, String description,
+                       ToIntFunction<ConnectionPoolMetrics> value) {
+        Gauge.builder(PREFIX + name, pools, p -> p.values().stream().mapToInt(value).sum())
+                .description(description)
+                .tag("host", host)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package org.phong.zenflow.core.http;
+
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * A fully read response body, held in memory or, above the spill threshold, in a temp file.
+ *
+ * @param content     the body bytes, or {@code null} when the body was spilled to {@code file}
+ * @param file        the spill file, or {@code null} when the body is in memory
+ * @param size        body size in bytes
+ * @param contentType declared content type, if any
+ */
+public record ResponseBody(@Nullable byte[] content, @Nullable Path file, long size, @Nullable MediaType contentType) {
+
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Decodes an in-memory body using the declared charset, UTF-8 by default.
+     */
+    public String asString() {
+        if (content == null) {
+            throw new IllegalStateException("Response body was spilled to " + file);
+        }
+        Charset charset = contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset()
+                : StandardCharsets.UTF_8;
+        return new String(content, charset);
+    }
+}
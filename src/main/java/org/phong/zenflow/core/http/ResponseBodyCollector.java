@@ -0,0 +1,93 @@
+package org.phong.zenflow.core.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Accumulates a response body chunk by chunk, switching from memory to a temp file once the body grows past
+ * the spill threshold and failing once it grows past the size limit. Not thread-safe; chunks arrive in order.
+ * <p>
+ * A spill file outlives the collector; whoever receives the {@link ResponseBody} deletes it.
+ */
+@Slf4j
+final class ResponseBodyCollector {
+    static final String SPILL_PREFIX = "zenflow-http-";
+    static final String SPILL_SUFFIX = ".body";
+
+    private final long maxBytes;
+    private final int spillThreshold;
+    private final Path spillDirectory;
+    @Nullable
+    private final MediaType contentType;
+
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private OutputStream fileOut;
+    private Path file;
+    private long size;
+
+    ResponseBodyCollector(long maxBytes, int spillThreshold, Path spillDirectory, @Nullable MediaType contentType) {
+        this.maxBytes = maxBytes;
+        this.spillThreshold = spillThreshold;
+        this.spillDirectory = spillDirectory;
+        this.contentType = contentType;
+    }
+
+    void append(DataBuffer buffer) throws IOException {
+        int length = buffer.readableByteCount();
+        if (size + length > maxBytes) {
+            throw new ResponseTooLargeException(maxBytes);
+        }
+        size += length;
+        if (fileOut == null && size > spillThreshold) {
+            spill();
+        }
+        try (InputStream in = buffer.asInputStream()) {
+            in.transferTo(fileOut != null ? fileOut : memory);
+        }
+    }
+
+    ResponseBody finish() throws IOException {
+        if (fileOut != null) {
+            fileOut.close();
+            return new ResponseBody(null, file, size, contentType);
+        }
+        return new ResponseBody(memory.toByteArray(), null, size, contentType);
+    }
+
+    /**
+     * Drops whatever was collected; used when the exchange fails or is cancelled.
+     */
+    void discard() {
+        memory = null;
+        if (fileOut != null) {
+            try {
+                fileOut.close();
+            } catch (IOException e) {
+                log.debug("Failed to close response spill file {}: {}", file, e.getMessage());
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete response spill file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void spill() throws IOException {
+        Files.createDirectories(spillDirectory);
+        file = Files.createTempFile(spillDirectory, SPILL_PREFIX, SPILL_SUFFIX);
+        fileOut = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        memory.writeTo(fileOut);
+        memory = null;
+    }
+}
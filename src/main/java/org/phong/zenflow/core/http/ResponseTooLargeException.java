@@ -0,0 +1,7 @@
+package org.phong.zenflow.core.http;
+
+public class ResponseTooLargeException extends RuntimeException {
+    public ResponseTooLargeException(long limitBytes) {
+        super("Response body exceeds the limit of " + limitBytes + " bytes");
+    }
+}
@@ -0,0 +1,35 @@
+package org.phong.zenflow.plugin.subdomain.execution.interfaces;
+
+import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Executor whose work completes asynchronously, typically on non-blocking I/O.
+ * <p>
+ * The returned stage must not depend on thread-bound state of the caller: it may complete on an I/O thread, so
+ * anything taken from the {@link ExecutionContext} (log publisher, secrets, node key) has to be read before
+ * returning. Errors should be reported as a failed {@link ExecutionResult} rather than an exceptional stage.
+ */
+public interface AsyncPluginNodeExecutor extends PluginNodeExecutor {
+
+    CompletionStage<ExecutionResult> executeAsync(WorkflowConfig config, ExecutionContext context);
+
+    /**
+     * Blocking bridge for callers that need a result on the current thread.
+     */
+    @Override
+    default ExecutionResult execute(WorkflowConfig config, ExecutionContext context) {
+        try {
+            return executeAsync(config, context).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.exceptions.ExecutorException;
+import org.phong.zenflow.plugin.subdomain.execution.interfaces.AsyncPluginNodeExecutor;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.ExternalPluginExecutor;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
 import org.phong.zenflow.plugin.subdomain.execution.registry.PluginNodeExecutorRegistry;
@@ -13,6 +14,10 @@ import org.phong.zenflow.workflow.subdomain.logging.core.LogContextManager;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
 @Service
 @AllArgsConstructor
 @Slf4j
@@ -21,6 +26,15 @@ public class PluginNodeExecutorDispatcher {
     private final PluginNodeExecutorRegistry registry;
 
     public ExecutionResult dispatch(String identifier, String executorType, WorkflowConfig config, ExecutionContext context) {
+        return await(dispatchAsync(identifier, executorType, config, context));
+    }
+
+    /**
+     * Starts the node and returns without waiting for {@link AsyncPluginNodeExecutor}s; synchronous executors
+     * run on the calling thread and yield an already completed stage.
+     */
+    public CompletionStage<ExecutionResult> dispatchAsync(String identifier, String executorType,
+                                                          WorkflowConfig config, ExecutionContext context) {
         PluginNodeExecutor executor;
         switch (executorType.toLowerCase()) {
             case "builtin" -> {
@@ -39,6 +53,23 @@ public class PluginNodeExecutorDispatcher {
             LogContext ctx = LogContextManager.snapshot();
             external.setLogContext(ctx);
         }
-        return executor.execute(config, context);
+        if (executor instanceof AsyncPluginNodeExecutor async) {
+            return async.executeAsync(config, context);
+        }
+        return CompletableFuture.completedFuture(executor.execute(config, context));
+    }
+
+    /**
+     * Waits for a dispatched node, rethrowing its failure unwrapped.
+     */
+    public static ExecutionResult await(CompletionStage<ExecutionResult> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ExecutorException("Node execution failed", e.getCause());
+        }
     }
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.node.infrastructure.persistence.entity.PluginNode;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.context.RunTempFiles;
 import org.phong.zenflow.workflow.subdomain.context.RuntimeContext;
 import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
 import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
@@ -38,6 +39,7 @@ public class SingleNodeExecutionService {
     private final RuntimeContextManager contextManager;
     private final ApplicationEventPublisher publisher;
     private final TemplateService templateService;
+    private final RunTempFiles runTempFiles;
 
     /**
      * Execute a pluginNode node with the provided configuration.
@@ -91,12 +93,18 @@ public class SingleNodeExecutionService {
                 log.info("[traceId={}] [hierarchy={}] Node finished", ctx.traceId(), ctx.hierarchy());
                 return ExecutionResult.validationError(validationResult, pluginNode.getCompositeKey());
             }
-            ExecutionResult result = executorDispatcher.dispatch(
-                    pluginNode.getId().toString(),
-                    pluginNode.getExecutorType(),
-                    resolvedConfig,
-                    execCtx
-            );
+            ExecutionResult result;
+            try {
+                result = executorDispatcher.dispatch(
+                        pluginNode.getId().toString(),
+                        pluginNode.getExecutorType(),
+                        resolvedConfig,
+                        execCtx
+                );
+            } finally {
+                // No later node can read files spilled by a single node run
+                runTempFiles.release(runId);
+            }
             log.info("[traceId={}] [hierarchy={}] Node finished", ctx.traceId(), ctx.hierarchy());
             return result;
         });
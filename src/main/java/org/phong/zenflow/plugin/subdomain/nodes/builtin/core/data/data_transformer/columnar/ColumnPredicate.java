@@ -0,0 +1,159 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Filter expression of the form {@code field <op> literal [&& field <op> literal ...]}, evaluated over encoded
+ * columns instead of through the expression engine once per record.
+ * <p>
+ * Results follow the expression engine: a missing or {@code null} value is smaller than any literal, so it
+ * passes {@code !=}, {@code <} and {@code <=} only. Anything else (or, parentheses, functions, literals that
+ * do not match the column type) is left to the row-by-row filter.
+ */
+final class ColumnPredicate {
+    private static final Pattern TERM = Pattern.compile(
+            "\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*(==|!=|>=|<=|>|<)\\s*(-?\\d+(?:\\.\\d+)?|'[^'\\\\]*'|\"[^\"\\\\]*\")\\s*");
+
+    private static final int MAX_NUMBER_LENGTH = 15;
+    // Literals of the expression language, and "item", which the filter binds to the whole record
+    private static final Set<String> RESERVED = Set.of("item", "nil", "true", "false");
+
+    private final List<Comparison> comparisons;
+
+    private ColumnPredicate(List<Comparison> comparisons) {
+        this.comparisons = comparisons;
+    }
+
+    /**
+     * @return the predicate, or {@code null} when the expression is not a conjunction of simple comparisons
+     */
+    static ColumnPredicate parse(String expression) {
+        if (expression == null || expression.isBlank() || expression.contains("||")) {
+            return null;
+        }
+        List<Comparison> comparisons = new ArrayList<>();
+        for (String term : expression.split("&&", -1)) {
+            Matcher m = TERM.matcher(term);
+            if (!m.matches() || RESERVED.contains(m.group(1))) {
+                return null;
+            }
+            String literal = m.group(3);
+            boolean string = literal.charAt(0) == '\'' || literal.charAt(0) == '"';
+            if (!string && literal.length() > MAX_NUMBER_LENGTH) {
+                // Would not survive the conversion to double exactly
+                return null;
+            }
+            comparisons.add(new Comparison(m.group(1), Op.of(m.group(2)),
+                    string ? literal.substring(1, literal.length() - 1) : null,
+                    string ? 0 : Double.parseDouble(literal)));
+        }
+        return new ColumnPredicate(List.copyOf(comparisons));
+    }
+
+    /**
+     * @return whether every compared field is encoded with a type matching its literal
+     */
+    boolean supports(ColumnarBatch batch) {
+        for (Comparison c : comparisons) {
+            boolean ok = c.text() != null ? batch.dictionary(c.field()) != null : batch.numeric(c.field()) != null;
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param exclude keep the records that do not match instead
+     * @return the records of {@code selection} to keep, in order
+     */
+    int[] retain(ColumnarBatch batch, int[] selection, boolean exclude) {
+        boolean[] keep = new boolean[selection.length];
+        Arrays.fill(keep, true);
+        for (Comparison c : comparisons) {
+            if (c.text() != null) {
+                applyText(batch.dictionary(c.field()), c, selection, keep);
+            } else {
+                applyNumeric(batch.numeric(c.field()), c, selection, keep);
+            }
+        }
+        int n = 0;
+        int[] result = new int[selection.length];
+        for (int i = 0; i < selection.length; i++) {
+            if (keep[i] != exclude) {
+                result[n++] = selection[i];
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static void applyNumeric(ColumnarBatch.NumericColumn column, Comparison c, int[] selection,
+                                     boolean[] keep) {
+        double[] values = column.values();
+        boolean nullResult = c.op().matchesNull();
+        for (int i = 0; i < selection.length; i++) {
+            if (!keep[i]) {
+                continue;
+            }
+            int row = selection[i];
+            keep[i] = column.isNull(row) ? nullResult : c.op().test(Double.compare(values[row], c.number()));
+        }
+    }
+
+    private static void applyText(ColumnarBatch.DictionaryColumn column, Comparison c, int[] selection,
+                                  boolean[] keep) {
+        // One comparison per distinct value, then a lookup per record
+        String[] dictionary = column.values();
+        boolean[] matches = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            matches[code] = c.op().test(dictionary[code].compareTo(c.text()));
+        }
+        int[] codes = column.codes();
+        boolean nullResult = c.op().matchesNull();
+        for (int i = 0; i < selection.length; i++) {
+            if (keep[i]) {
+                int code = codes[selection[i]];
+                keep[i] = code < 0 ? nullResult : matches[code];
+            }
+        }
+    }
+
+    private record Comparison(String field, Op op, String text, double number) {
+    }
+
+    private enum Op {
+        EQ, NE, GT, GE, LT, LE;
+
+        static Op of(String symbol) {
+            return switch (symbol) {
+                case "==" -> EQ;
+                case "!=" -> NE;
+                case ">" -> GT;
+                case ">=" -> GE;
+                case "<" -> LT;
+                default -> LE;
+            };
+        }
+
+        boolean test(int cmp) {
+            return switch (this) {
+                case EQ -> cmp == 0;
+                case NE -> cmp != 0;
+                case GT -> cmp > 0;
+                case GE -> cmp >= 0;
+                case LT -> cmp < 0;
+                case LE -> cmp <= 0;
+            };
+        }
+
+        boolean matchesNull() {
+            // null compares below every literal
+            return test(-1);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column view over a list of records.
+ * <p>
+ * The records themselves are kept as they are; a column is encoded lazily, and only for fields an operator
+ * actually reads. Numeric fields become a {@code double[]}, string fields a dictionary plus an {@code int[]} of
+ * codes, so operators scan primitive arrays instead of looking every value up in a map. Operators select
+ * records through {@code int[]} selections of record indexes, and only {@link #select} turns a selection back
+ * into a list, which holds the original records rather than copies.
+ */
+public final class ColumnarBatch {
+    // Integral values beyond this cannot be represented exactly as a double
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final Object MIXED = new Object();
+
+    private final List<Map<String, Object>> rows;
+    // field -> NumericColumn, DictionaryColumn or MIXED
+    private final Map<String, Object> columns = new HashMap<>();
+    private final Map<String, KeyColumn> keys = new HashMap<>();
+
+    private ColumnarBatch(List<Map<String, Object>> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * @return the batch, or {@code null} when some element is not a record
+     */
+    @SuppressWarnings("unchecked")
+    public static ColumnarBatch of(List<?> data) {
+        for (Object item : data) {
+            if (!(item instanceof Map<?, ?>)) {
+                return null;
+            }
+        }
+        return new ColumnarBatch((List<Map<String, Object>>) data);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public Map<String, Object> row(int index) {
+        return rows.get(index);
+    }
+
+    public int[] all() {
+        int[] selection = new int[rows.size()];
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] = i;
+        }
+        return selection;
+    }
+
+    public List<Map<String, Object>> select(int[] selection) {
+        List<Map<String, Object>> result = new ArrayList<>(selection.length);
+        for (int index : selection) {
+            result.add(rows.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * @return the field as a numeric column, or {@code null} when it holds anything but plain numbers and nulls
+     */
+    NumericColumn numeric(String field) {
+        return encode(field) instanceof NumericColumn column ? column : null;
+    }
+
+    /**
+     * @return the field as a dictionary column, or {@code null} when it holds anything but strings and nulls
+     */
+    DictionaryColumn dictionary(String field) {
+        return encode(field) instanceof DictionaryColumn column ? column : null;
+    }
+
+    /**
+     * Codes of the field's values by their {@code String.valueOf} form, which is what grouping and distinct
+     * compare on; {@code null} shares the code of {@code "null"}.
+     */
+    KeyColumn keys(String field) {
+        KeyColumn cached = keys.get(field);
+        if (cached != null) {
+            return cached;
+        }
+        Map<String, Integer> index = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        int[] codes = new int[rows.size()];
+        DictionaryColumn dictionary = dictionary(field);
+        if (dictionary != null) {
+            // Map dictionary codes once instead of hashing every row's value
+            int[] remap = new int[dictionary.values().length];
+            for (int c = 0; c < remap.length; c++) {
+                remap[c] = index.computeIfAbsent(dictionary.values()[c], v -> addKey(values, v));
+            }
+            int nullCode = -1;
+            for (int r = 0; r < codes.length; r++) {
+                int code = dictionary.codes()[r];
+                if (code < 0) {
+                    if (nullCode < 0) {
+                        nullCode = index.computeIfAbsent("null", v -> addKey(values, v));
+                    }
+                    codes[r] = nullCode;
+                } else {
+                    codes[r] = remap[code];
+                }
+            }
+        } else {
+            for (int r = 0; r < codes.length; r++) {
+                codes[r] = index.computeIfAbsent(String.valueOf(rows.get(r).get(field)), v -> addKey(values, v));
+            }
+        }
+        KeyColumn column = new KeyColumn(codes, values.toArray(String[]::new));
+        keys.put(field, column);
+        return column;
+    }
+
+    private static int addKey(List<String> values, String value) {
+        values.add(value);
+        return values.size() - 1;
+    }
+
+    private Object encode(String field) {
+        Object cached = columns.get(field);
+        if (cached != null) {
+            return cached;
+        }
+        Object column = encodeNumeric(field);
+        if (column == null) {
+            column = encodeDictionary(field);
+        }
+        if (column == null) {
+            column = MIXED;
+        }
+        columns.put(field, column);
+        return column;
+    }
+
+    private NumericColumn encodeNumeric(String field) {
+        double[] values = new double[rows.size()];
+        BitSet nulls = new BitSet();
+        for (int r = 0; r < values.length; r++) {
+            Object value = rows.get(r).get(field);
+            if (value == null) {
+                nulls.set(r);
+            } else if (value instanceof Double || value instanceof Float) {
+                values[r] = ((Number) value).doubleValue();
+            } else if (value instanceof Number n && !(value instanceof BigDecimal) && !(value instanceof BigInteger)) {
+                long l = n.longValue();
+                if (l > MAX_EXACT_DOUBLE || l < -MAX_EXACT_DOUBLE) {
+                    return null;
+                }
+                values[r] = l;
+            } else {
+                return null;
+            }
+        }
+        return new NumericColumn(values, nulls);
+    }
+
+    private DictionaryColumn encodeDictionary(String field) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        int[] codes = new int[rows.size()];
+        for (int r = 0; r < codes.length; r++) {
+            Object value = rows.get(r).get(field);
+            if (value == null) {
+                codes[r] = -1;
+            } else if (value instanceof String s) {
+                codes[r] = index.computeIfAbsent(s, v -> addKey(values, v));
+            } else {
+                return null;
+            }
+        }
+        return new DictionaryColumn(codes, values.toArray(String[]::new));
+    }
+
+    /**
+     * Numeric field; a set bit in {@code nulls} marks a missing or {@code null} value.
+     */
+    record NumericColumn(double[] values, BitSet nulls) {
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+    }
+
+    /**
+     * String field; a code of {@code -1} marks a missing or {@code null} value.
+     */
+    record DictionaryColumn(int[] codes, String[] values) {
+    }
+
+    record KeyColumn(int[] codes, String[] values) {
+    }
+}
@@ -0,0 +1,363 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar;
+
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.dto.TransformStep;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.AggregationUtils;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.FilterTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.SortTransformer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Runs consecutive {@code filter}, {@code sort}, {@code distinct}, {@code group_by} and {@code aggregate} steps
+ * over a {@link ColumnarBatch} in one pass.
+ * <p>
+ * Filter, sort and distinct only narrow or reorder an {@code int[]} selection of the input records, so no list
+ * is built between steps; a list of the selected records (the original objects) is materialized once at the
+ * end. Group-by and aggregate compute on encoded columns and record indexes instead of per-group record lists.
+ * Results match the row-by-row transformers, except that groups come out in order of first appearance.
+ * Comparisons and orders that cannot be evaluated over columns fall back to the transformers' own per-record
+ * logic within the same pass.
+ */
+@Component
+public class ColumnarPipeline {
+    private static final Set<String> FUSABLE = Set.of("filter", "sort", "distinct", "group_by", "aggregate");
+    private static final Set<String> AGGREGATIONS = Set.of("count", "sum", "avg", "average", "min", "max", "first",
+            "last", "concat", "distinct_count", "std_dev");
+
+    private final FilterTransformer filterTransformer;
+    private final SortTransformer sortTransformer;
+    private final boolean enabled;
+    private final int minRows;
+
+    public ColumnarPipeline(FilterTransformer filterTransformer,
+                            SortTransformer sortTransformer,
+                            @Value("${zenflow.transformer.columnar.enabled:true}") boolean enabled,
+                            @Value("${zenflow.transformer.columnar.min-rows:1000}") int minRows) {
+        this.filterTransformer = filterTransformer;
+        this.sortTransformer = sortTransformer;
+        this.enabled = enabled;
+        this.minRows = minRows;
+    }
+
+    /**
+     * @return how many steps, starting at {@code from}, can run as one columnar pass over {@code data};
+     * {@code 0} when the data is too small or not a list of records
+     */
+    public int fusableSteps(Object data, List<TransformStep> steps, int from) {
+        if (!enabled || !(data instanceof List<?> list) || list.size() < minRows || ColumnarBatch.of(list) == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = from; i < steps.size(); i++) {
+            TransformStep step = steps.get(i);
+            if (!supports(step.getTransformer(), step.getParams())) {
+                break;
+            }
+            count++;
+            if ("aggregate".equals(step.getTransformer())) {
+                // Yields a single record, nothing left to fuse with
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs steps previously accepted by {@link #fusableSteps}.
+     */
+    public Object run(List<?> data, List<TransformStep> steps) {
+        ColumnarBatch batch = ColumnarBatch.of(data);
+        int[] selection = batch.all();
+        for (TransformStep step : steps) {
+            Map<String, Object> params = step.getParams();
+            switch (step.getTransformer()) {
+                case "filter" -> selection = filter(batch, selection, params);
+                case "sort" -> selection = sort(batch, selection, params);
+                case "distinct" -> selection = distinct(batch, selection, fieldList(params.get("fields")));
+                case "group_by" -> {
+                    batch = ColumnarBatch.of(groupBy(batch, selection, fieldList(params.get("groupBy")),
+                            aggregations(params)));
+                    selection = batch.all();
+                }
+                case "aggregate" -> {
+                    return aggregate(batch, selection, aggregations(params));
+                }
+                default -> throw new IllegalArgumentException("Not a columnar transformer: " + step.getTransformer());
+            }
+        }
+        return batch.select(selection);
+    }
+
+    private boolean supports(String transformer, Map<String, Object> params) {
+        if (transformer == null || !FUSABLE.contains(transformer) || params == null) {
+            return false;
+        }
+        // Anything the row transformers would reject is left to them, so errors read the same
+        return switch (transformer) {
+            case "filter" -> params.get("expression") instanceof String
+                    && (params.get("mode") == null || params.get("mode") instanceof String);
+            case "sort" -> (params.containsKey("field") || params.containsKey("fields"))
+                    && (params.get("nullsFirst") == null || params.get("nullsFirst") instanceof Boolean);
+            case "distinct" -> !fieldList(params.get("fields")).isEmpty();
+            case "group_by" -> !fieldList(params.get("groupBy")).isEmpty()
+                    && validAggregations(params.get("aggregations"), true);
+            default -> validAggregations(params.get("aggregations"), false);
+        };
+    }
+
+    private int[] filter(ColumnarBatch batch, int[] selection, Map<String, Object> params) {
+        ColumnPredicate predicate = ColumnPredicate.parse((String) params.get("expression"));
+        if (predicate != null && predicate.supports(batch)) {
+            boolean exclude = "exclude".equalsIgnoreCase((String) params.getOrDefault("mode", "include"));
+            return predicate.retain(batch, selection, exclude);
+        }
+        Predicate<Object> test = filterTransformer.predicate(params);
+        int[] kept = new int[selection.length];
+        int n = 0;
+        for (int row : selection) {
+            if (test.test(batch.row(row))) {
+                kept[n++] = row;
+            }
+        }
+        return Arrays.copyOf(kept, n);
+    }
+
+    private int[] sort(ColumnarBatch batch, int[] selection, Map<String, Object> params) {
+        boolean nullsFirst = (Boolean) params.getOrDefault("nullsFirst", false);
+        IntSorter.IntComparator order = null;
+        for (Map<String, Object> spec : sortTransformer.sortFields(params)) {
+            IntSorter.IntComparator key = sortKey(batch, spec, nullsFirst);
+            if (key == null) {
+                // Some key has no column form; order by the transformer's comparator over the records
+                Comparator<Map<String, Object>> comparator = sortTransformer.comparator(params);
+                order = (a, b) -> comparator.compare(batch.row(a), batch.row(b));
+                break;
+            }
+            IntSorter.IntComparator previous = order;
+            order = previous == null ? key : (a, b) -> {
+                int c = previous.compare(a, b);
+                return c != 0 ? c : key.compare(a, b);
+            };
+        }
+        int[] sorted = selection.clone();
+        if (order != null) {
+            IntSorter.sort(sorted, order);
+        }
+        return sorted;
+    }
+
+    private IntSorter.IntComparator sortKey(ColumnarBatch batch, Map<String, Object> spec, boolean nullsFirst) {
+        String field = (String) spec.get("field");
+        String type = ((String) spec.getOrDefault("type", "string")).toLowerCase();
+        boolean caseSensitive = (Boolean) spec.getOrDefault("caseSensitive", true);
+        boolean descending = "desc".equalsIgnoreCase((String) spec.getOrDefault("order", "asc"));
+        if (field == null) {
+            return null;
+        }
+
+        IntSorter.IntComparator ascending;
+        switch (type) {
+            case "number", "integer", "int" -> {
+                ColumnarBatch.NumericColumn column = batch.numeric(field);
+                if (column == null) {
+                    return null;
+                }
+                double[] values = column.values();
+                ascending = (a, b) -> {
+                    int nulls = compareNulls(column.isNull(a), column.isNull(b), nullsFirst);
+                    return nulls != 2 ? nulls : Double.compare(values[a], values[b]);
+                };
+            }
+            case "boolean", "bool" -> {
+                return null;
+            }
+            default -> {
+                // Dates are compared as text, like the row transformer does
+                ColumnarBatch.DictionaryColumn column = batch.dictionary(field);
+                if (column == null) {
+                    return null;
+                }
+                boolean ignoreCase = !caseSensitive && !type.startsWith("date");
+                int[] ranks = ranks(column.values(), ignoreCase);
+                int[] codes = column.codes();
+                ascending = (a, b) -> {
+                    int nulls = compareNulls(codes[a] < 0, codes[b] < 0, nullsFirst);
+                    return nulls != 2 ? nulls : Integer.compare(ranks[codes[a]], ranks[codes[b]]);
+                };
+            }
+        }
+        IntSorter.IntComparator key = ascending;
+        return descending ? (a, b) -> key.compare(b, a) : key;
+    }
+
+    /**
+     * @return the null ordering of two values, or {@code 2} when neither is null
+     */
+    private static int compareNulls(boolean aNull, boolean bNull, boolean nullsFirst) {
+        if (aNull && bNull) return 0;
+        if (aNull) return nullsFirst ? -1 : 1;
+        if (bNull) return nullsFirst ? 1 : -1;
+        return 2;
+    }
+
+    /**
+     * Sort rank of every dictionary entry; entries that compare equal share a rank.
+     */
+    private static int[] ranks(String[] dictionary, boolean ignoreCase) {
+        Comparator<String> cmp = ignoreCase ? String::compareToIgnoreCase : String::compareTo;
+        Integer[] order = new Integer[dictionary.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> cmp.compare(dictionary[a], dictionary[b]));
+        int[] ranks = new int[dictionary.length];
+        int rank = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0 && cmp.compare(dictionary[order[i - 1]], dictionary[order[i]]) != 0) {
+                rank++;
+            }
+            ranks[order[i]] = rank;
+        }
+        return ranks;
+    }
+
+    private int[] distinct(ColumnarBatch batch, int[] selection, List<String> fields) {
+        int[] groupOf = Grouping.of(batch, fields, selection).groupOf();
+        int[] kept = new int[selection.length];
+        int n = 0;
+        int nextGroup = 0;
+        for (int i = 0; i < selection.length; i++) {
+            // Ids are handed out in order of first appearance
+            if (groupOf[i] == nextGroup) {
+                kept[n++] = selection[i];
+                nextGroup++;
+            }
+        }
+        return Arrays.copyOf(kept, n);
+    }
+
+    private List<Map<String, Object>> groupBy(ColumnarBatch batch, int[] selection, List<String> fields,
+                                              List<Map<String, Object>> aggregations) {
+        int[][] members = Grouping.of(batch, fields, selection).members(selection);
+        List<Map<String, Object>> result = new ArrayList<>(members.length);
+        for (int[] rows : members) {
+            Map<String, Object> group = new HashMap<>();
+            for (String field : fields) {
+                ColumnarBatch.KeyColumn keys = batch.keys(field);
+                group.put(field, keys.values()[keys.codes()[rows[0]]]);
+            }
+            applyAggregations(batch, rows, aggregations, group);
+            result.add(group);
+        }
+        return result;
+    }
+
+    private Map<String, Object> aggregate(ColumnarBatch batch, int[] selection,
+                                          List<Map<String, Object>> aggregations) {
+        Map<String, Object> result = new HashMap<>();
+        applyAggregations(batch, selection, aggregations, result);
+        return result;
+    }
+
+    private void applyAggregations(ColumnarBatch batch, int[] rows, List<Map<String, Object>> aggregations,
+                                   Map<String, Object> target) {
+        for (Map<String, Object> aggregation : aggregations) {
+            String field = (String) aggregation.get("field");
+            String function = (String) aggregation.get("function");
+            String alias = (String) aggregation.getOrDefault("alias", field + "_" + function);
+            target.put(alias, aggregateValue(batch, rows, field, function));
+        }
+    }
+
+    private Object aggregateValue(ColumnarBatch batch, int[] rows, String field, String function) {
+        String fn = function.toLowerCase();
+        if ("count".equals(fn)) {
+            return rows.length;
+        }
+        ColumnarBatch.NumericColumn column = field != null ? batch.numeric(field) : null;
+        if (column == null || !(fn.equals("sum") || fn.equals("avg") || fn.equals("average") || fn.equals("std_dev"))) {
+            return AggregationUtils.applyAggregation(records(batch, rows), field, function);
+        }
+        // Same compensated summation as the row path's DoubleStream, over the primitive column
+        DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
+        double[] values = column.values();
+        for (int row : rows) {
+            stats.accept(column.isNull(row) ? 0.0 : values[row]);
+        }
+        return switch (fn) {
+            case "sum" -> stats.getSum();
+            case "std_dev" -> {
+                double mean = stats.getAverage();
+                DoubleSummaryStatistics squares = new DoubleSummaryStatistics();
+                for (int row : rows) {
+                    squares.accept(Math.pow((column.isNull(row) ? 0.0 : values[row]) - mean, 2));
+                }
+                yield Math.sqrt(squares.getAverage());
+            }
+            default -> stats.getAverage();
+        };
+    }
+
+    /**
+     * The records at the given indexes, without copying them into a list.
+     */
+    private static List<Map<String, Object>> records(ColumnarBatch batch, int[] rows) {
+        return new AbstractList<>() {
+            @Override
+            public Map<String, Object> get(int index) {
+                return batch.row(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    private static List<String> fieldList(Object value) {
+        if (value instanceof String s) {
+            return List.of(s);
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(Object::toString).toList();
+        }
+        return List.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> aggregations(Map<String, Object> params) {
+        Object value = params.get("aggregations");
+        return value == null ? List.of() : (List<Map<String, Object>>) value;
+    }
+
+    private static boolean validAggregations(Object value, boolean optional) {
+        if (value == null) {
+            return optional;
+        }
+        if (!(value instanceof List<?> list)) {
+            return false;
+        }
+        for (Object item : list) {
+            if (!(item instanceof Map<?, ?> aggregation)
+                    || !(aggregation.get("function") instanceof String function)
+                    || !AGGREGATIONS.contains(function.toLowerCase())
+                    || (aggregation.get("field") != null && !(aggregation.get("field") instanceof String))
+                    || (aggregation.get("alias") != null && !(aggregation.get("alias") instanceof String))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dense group ids of a selection, keyed by the {@code String.valueOf} form of one or more fields.
+ * <p>
+ * Keys are combined one field at a time as {@code groupSoFar * cardinality + code}, which always fits a
+ * {@code long}, so no composite key objects or joined strings are built. Ids follow first appearance.
+ */
+final class Grouping {
+    private final int[] groupOf;
+    private final int groups;
+
+    private Grouping(int[] groupOf, int groups) {
+        this.groupOf = groupOf;
+        this.groups = groups;
+    }
+
+    static Grouping of(ColumnarBatch batch, List<String> fields, int[] selection) {
+        int[] ids = new int[selection.length];
+        int groups = 0;
+
+        ColumnarBatch.KeyColumn first = batch.keys(fields.getFirst());
+        int[] remap = new int[first.values().length];
+        Arrays.fill(remap, -1);
+        for (int i = 0; i < selection.length; i++) {
+            int code = first.codes()[selection[i]];
+            if (remap[code] < 0) {
+                remap[code] = groups++;
+            }
+            ids[i] = remap[code];
+        }
+
+        for (int f = 1; f < fields.size(); f++) {
+            ColumnarBatch.KeyColumn column = batch.keys(fields.get(f));
+            long cardinality = column.values().length;
+            LongIntMap combined = new LongIntMap(groups);
+            for (int i = 0; i < selection.length; i++) {
+                ids[i] = combined.getOrAssign(ids[i] * cardinality + column.codes()[selection[i]]);
+            }
+            groups = combined.size();
+        }
+        return new Grouping(ids, groups);
+    }
+
+    int groups() {
+        return groups;
+    }
+
+    /**
+     * @return group id of each selection position
+     */
+    int[] groupOf() {
+        return groupOf;
+    }
+
+    /**
+     * @return record indexes of every group, each in selection order
+     */
+    int[][] members(int[] selection) {
+        int[] counts = new int[groups];
+        for (int id : groupOf) {
+            counts[id]++;
+        }
+        int[][] members = new int[groups][];
+        for (int g = 0; g < groups; g++) {
+            members[g] = new int[counts[g]];
+            counts[g] = 0;
+        }
+        for (int i = 0; i < groupOf.length; i++) {
+            int g = groupOf[i];
+            members[g][counts[g]++] = selection[i];
+        }
+        return members;
+    }
+}
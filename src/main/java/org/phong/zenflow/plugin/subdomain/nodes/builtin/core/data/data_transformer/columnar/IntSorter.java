@@ -0,0 +1,56 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar;
+
+/**
+ * Stable merge sort of record indexes, so sorting a selection neither boxes indexes nor reorders equal records.
+ */
+final class IntSorter {
+    private static final int INSERTION_THRESHOLD = 16;
+
+    @FunctionalInterface
+    interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    private IntSorter() {
+    }
+
+    static void sort(int[] a, IntComparator cmp) {
+        if (a.length < 2) {
+            return;
+        }
+        int[] buffer = a.clone();
+        mergeSort(buffer, a, 0, a.length, cmp);
+    }
+
+    // Sorts src[from, to) into dst[from, to); both hold the same values on entry
+    private static void mergeSort(int[] src, int[] dst, int from, int to, IntComparator cmp) {
+        int length = to - from;
+        if (length <= INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int v = dst[i];
+                int j = i - 1;
+                while (j >= from && cmp.compare(dst[j], v) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, cmp);
+        mergeSort(dst, src, mid, to, cmp);
+
+        if (cmp.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, from, dst, from, length);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && cmp.compare(src[p], src[q]) <= 0)) {
+                dst[i] = src[p++];
+            } else {
+                dst[i] = src[q++];
+            }
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.executor;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
 import org.phong.zenflow.plugin.subdomain.node.registry.PluginNode;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar.ColumnarPipeline;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.dto.TransformStep;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.exception.DataTransformerExecutorException;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.registry.TransformerRegistry;
@@ -14,11 +14,13 @@ import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogContextManager;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 @PluginNode(
@@ -32,15 +34,36 @@ import java.util.Map;
         schemaPath = "../schema.json",
         docPath = "../doc.md"
 )
-@AllArgsConstructor
 @Slf4j
 public class DataTransformerExecutor implements PluginNodeExecutor {
     private final TransformerRegistry registry;
+    // Optional; without it every step runs row by row
+    private final ColumnarPipeline columnar;
+    // Optional; without it forEach always runs on the calling thread
+    private final ParallelForEach parallel;
+
+    public DataTransformerExecutor(TransformerRegistry registry) {
+        this(registry, null, null);
+    }
+
+    public DataTransformerExecutor(TransformerRegistry registry, ColumnarPipeline columnar) {
+        this(registry, columnar, null);
+    }
+
+    @Autowired
+    public DataTransformerExecutor(TransformerRegistry registry, ColumnarPipeline columnar, ParallelForEach parallel) {
+        this.registry = registry;
+        this.columnar = columnar;
+        this.parallel = parallel;
+    }
+
     @Override
     public ExecutionResult execute(WorkflowConfig config, ExecutionContext context) {
         NodeLogPublisher logPublisher = context.getLogPublisher();
         log.debug("Executing DataTransformerExecutor with config: {}", config);
-        logPublisher.info("Executing DataTransformerExecutor with config: " + config);
+        // Only the keys: the data itself can be hundreds of thousands of records
+        logPublisher.info("Executing DataTransformerExecutor with input keys: "
+                + (config.input() != null ? config.input().keySet() : "none"));
 
         try {
             Object rawInput = config.input();
@@ -72,7 +95,7 @@ public class DataTransformerExecutor implements PluginNodeExecutor {
             boolean forEach = Boolean.TRUE.equals(input.get("forEach"));
             Object result;
 
-            result = getResult(forEach, inputValue, logPublisher, input, isPipeline, transformerName, params);
+            result = getResult(context.getWorkflowRunId(), forEach, inputValue, logPublisher, input, isPipeline, transformerName, params);
 
             return ExecutionResult.success(Map.of("result", result));
         } catch (Exception e) {
@@ -82,20 +105,29 @@ public class DataTransformerExecutor implements PluginNodeExecutor {
         }
     }
 
-    private Object getResult(boolean forEach, Object inputValue, NodeLogPublisher logPublisher, Map<String, Object> input, boolean isPipeline, String transformerName, Map<String, Object> params) {
+    private Object getResult(UUID runId, boolean forEach, Object inputValue, NodeLogPublisher logPublisher, Map<String, Object> input, boolean isPipeline, String transformerName, Map<String, Object> params) {
         Object result;
         if (forEach) {
             if (!(inputValue instanceof List)) {
                 logPublisher.error("Input must be a List when 'forEach' is true.");
                 throw new DataTransformerExecutorException("Input must be a List when 'forEach' is true.");
             }
-            logPublisher.info(String.format("Executing pipeline for each of %d items.", ((List<?>) inputValue).size()));
-            List<Object> resultList = new ArrayList<>();
-            for (Object item : (List<?>) inputValue) {
-                Object transformedItem = getResultTransform(input, isPipeline, item, transformerName, params, logPublisher);
-                resultList.add(transformedItem);
+            List<?> items = (List<?>) inputValue;
+            logPublisher.info(String.format("Executing pipeline for each of %d items.", items.size()));
+            if (parallel != null && Boolean.TRUE.equals(input.get("parallel")) && parallel.shouldSplit(items.size())) {
+                // Workers have no log context of their own, so they log through a copy bound to this thread's
+                NodeLogPublisher workerPublisher = logPublisher.pinned();
+                result = parallel.map(runId, items,
+                        item -> getResultTransform(input, isPipeline, item, transformerName, params, workerPublisher),
+                        logPublisher);
+            } else {
+                List<Object> resultList = new ArrayList<>();
+                for (Object item : items) {
+                    Object transformedItem = getResultTransform(input, isPipeline, item, transformerName, params, logPublisher);
+                    resultList.add(transformedItem);
+                }
+                result = resultList;
             }
-            result = resultList;
 
         } else {
             result = getResultTransform(input, isPipeline, inputValue, transformerName, params, logPublisher);
@@ -136,7 +168,19 @@ public class DataTransformerExecutor implements PluginNodeExecutor {
                 }
             }
 
-            for (TransformStep step : steps) {
+            for (int i = 0; i < steps.size(); ) {
+                int fused = columnar != null ? columnar.fusableSteps(result, steps, i) : 0;
+                if (fused > 0) {
+                    List<TransformStep> run = steps.subList(i, i + fused);
+                    LogContextManager.push("columnar");
+                    result = columnar.run((List<?>) result, run);
+                    logPublisher.info(String.format("Applied transformers %s in one columnar pass",
+                            run.stream().map(TransformStep::getTransformer).toList()));
+                    LogContextManager.pop();
+                    i += fused;
+                    continue;
+                }
+                TransformStep step = steps.get(i++);
                 LogContextManager.push(step.getTransformer());
                 result = registry.getTransformer(step.getTransformer()).transform(result, step.getParams());
                 logPublisher.info(String.format("Applied transformer '%s' with params %s", step.getTransformer(), step.getParams()));
@@ -148,7 +192,12 @@ public class DataTransformerExecutor implements PluginNodeExecutor {
                 logPublisher.error("Transformer name is missing in the configuration.");
                 throw new DataTransformerExecutorException("Transformer name is missing in the configuration.");
             }
-            result = registry.getTransformer(transformerName).transform(inputValue, params);
+            List<TransformStep> single = List.of(new TransformStep(transformerName, params));
+            if (columnar != null && columnar.fusableSteps(inputValue, single, 0) > 0) {
+                result = columnar.run((List<?>) inputValue, single);
+            } else {
+                result = registry.getTransformer(transformerName).transform(inputValue, params);
+            }
             logPublisher.info(String.format("Applied transformer '%s' with params %s", transformerName, params));
         }
         return result;
@@ -0,0 +1,168 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.executor;
+
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.exception.DataTransformerExecutorException;
+import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the per-item transform of a {@code forEach} node over large lists on a shared, bounded fork-join pool.
+ * <p>
+ * A run may occupy at most {@code max-per-run} workers at once, shared by all of its nodes, so one run never takes
+ * over the pool however large its inputs are or however many of its branches transform at the same time. A list
+ * is split into as many contiguous chunks as the run has workers left; with none left it runs on the calling thread.
+ */
+@Component
+public class ParallelForEach implements DisposableBean {
+    private final ForkJoinPool pool;
+    private final int maxPerRun;
+    private final int minItems;
+    private final ConcurrentMap<UUID, Integer> inUse = new ConcurrentHashMap<>();
+
+    public ParallelForEach(@Value("${zenflow.transformer.parallel.pool-size:0}") int poolSize,
+                           @Value("${zenflow.transformer.parallel.max-per-run:4}") int maxPerRun,
+                           @Value("${zenflow.transformer.parallel.min-items:1000}") int minItems) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("transformer-worker-" + counter.incrementAndGet());
+            return t;
+        }, null, false);
+        this.maxPerRun = Math.max(1, Math.min(maxPerRun, threads));
+        this.minItems = minItems;
+    }
+
+    /**
+     * @return whether a list of this size is worth splitting
+     */
+    public boolean shouldSplit(int size) {
+        return maxPerRun > 1 && size >= Math.max(minItems, 2);
+    }
+
+    /**
+     * Applies {@code transform} to every item and reports the time each chunk took. The first failing item fails
+     * the whole call; chunks still running stop at their next item.
+     *
+     * Results keep the input order.
+     *
+     * @param runId        run whose worker budget the call draws from; {@code null} gives the call a budget of its own
+     * @param logPublisher receives the chunk timings, logged from the calling thread
+     */
+    public List<Object> map(UUID runId, List<?> items, Function<Object, Object> transform,
+                            NodeLogPublisher logPublisher) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int workers = reserve(runId, Math.min(maxPerRun, items.size()));
+        if (workers == 0) {
+            // The run's other nodes hold all of its workers
+            return map(items, 1, transform, logPublisher, true);
+        }
+        try {
+            return map(items, workers, transform, logPublisher, false);
+        } finally {
+            release(runId, workers);
+        }
+    }
+
+    private List<Object> map(List<?> items, int chunks, Function<Object, Object> transform,
+                             NodeLogPublisher logPublisher, boolean inline) {
+        int chunkSize = (items.size() + chunks - 1) / chunks;
+        AtomicBoolean failed = new AtomicBoolean();
+
+        List<CompletableFuture<Chunk>> futures = new ArrayList<>(chunks);
+        for (int from = 0, index = 0; from < items.size(); from += chunkSize, index++) {
+            int chunk = index;
+            List<?> slice = items.subList(from, Math.min(items.size(), from + chunkSize));
+            futures.add(inline
+                    ? CompletableFuture.completedFuture(runChunk(chunk, slice, transform, failed))
+                    : CompletableFuture.supplyAsync(() -> runChunk(chunk, slice, transform, failed), pool));
+        }
+
+        List<Chunk> done = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<Chunk> future : futures) {
+                done.add(future.join());
+            }
+        } catch (CompletionException e) {
+            // Let the other chunks wind down before surfacing the failure
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(t -> null).join();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new DataTransformerExecutorException("Parallel transform failed: " + e.getCause().getMessage());
+        }
+
+        List<Object> results = new ArrayList<>(items.size());
+        for (Chunk chunk : done) {
+            logPublisher.info("Chunk {} of {}: {} items in {} ms", chunk.index() + 1, done.size(),
+                    chunk.results().size(), TimeUnit.NANOSECONDS.toMillis(chunk.nanos()));
+            results.addAll(chunk.results());
+        }
+        return results;
+    }
+
+    private static Chunk runChunk(int index, List<?> items, Function<Object, Object> transform, AtomicBoolean failed) {
+        long start = System.nanoTime();
+        List<Object> results = new ArrayList<>(items.size());
+        try {
+            for (Object item : items) {
+                if (failed.get()) {
+                    break;
+                }
+                results.add(transform.apply(item));
+            }
+        } catch (RuntimeException e) {
+            failed.set(true);
+            throw e;
+        }
+        return new Chunk(index, results, System.nanoTime() - start);
+    }
+
+    /**
+     * @return how many of the {@code wanted} workers the run may use now, possibly none
+     */
+    private int reserve(UUID runId, int wanted) {
+        if (runId == null) {
+            return wanted;
+        }
+        int[] granted = new int[1];
+        inUse.compute(runId, (id, used) -> {
+            int current = used == null ? 0 : used;
+            granted[0] = Math.max(0, Math.min(wanted, maxPerRun - current));
+            int next = current + granted[0];
+            return next == 0 ? null : next;
+        });
+        return granted[0];
+    }
+
+    private void release(UUID runId, int workers) {
+        if (runId != null) {
+            inUse.computeIfPresent(runId, (id, used) -> used <= workers ? null : used - workers);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private record Chunk(int index, List<Object> results, long nanos) {
+    }
+}
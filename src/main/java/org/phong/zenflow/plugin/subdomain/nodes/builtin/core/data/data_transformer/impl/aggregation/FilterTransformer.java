@@ -1,19 +1,33 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation;
 
-import com.googlecode.aviator.AviatorEvaluatorInstance;
-import lombok.AllArgsConstructor;
+import com.googlecode.aviator.Expression;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.exception.DataTransformerExecutorException;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.interfaces.DataTransformer;
 import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
-@AllArgsConstructor
 public class FilterTransformer implements DataTransformer {
     private final TemplateService templateService;
+    private final int parallelThreshold;
+
+    public FilterTransformer(TemplateService templateService) {
+        this(templateService, 10_000);
+    }
+
+    @Autowired
+    public FilterTransformer(TemplateService templateService,
+                             @Value("${zenflow.transformer.filter.parallel-threshold:10000}") int parallelThreshold) {
+        this.templateService = templateService;
+        this.parallelThreshold = parallelThreshold;
+    }
 
     @Override
     public String getName() {
@@ -26,42 +40,43 @@ public class FilterTransformer implements DataTransformer {
             throw new DataTransformerExecutorException("Input must be a List for filter transformer.");
         }
 
+        // The compiled expression is shared and each item gets its own environment, so large lists can be split
+        Stream<?> items = list.size() >= parallelThreshold ? list.parallelStream() : list.stream();
+        return items
+                .filter(predicate(params))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The per-record test of the given filter params, shared with the columnar pipeline for expressions it
+     * cannot evaluate over columns.
+     */
+    public Predicate<Object> predicate(Map<String, Object> params) {
         if (params == null || !params.containsKey("expression")) {
             throw new DataTransformerExecutorException("Expression parameter is required for filter transformer.");
         }
 
         String expression = (String) params.get("expression");
         String mode = (String) params.getOrDefault("mode", "include");
+        boolean exclude = "exclude".equalsIgnoreCase(mode);
 
-        AviatorEvaluatorInstance evaluator = templateService.newChildEvaluator();
-
-        return list.stream()
-                .filter(item -> evaluateFilter(item, expression, mode, evaluator))
-                .collect(Collectors.toList());
+        Expression compiled;
+        try {
+            compiled = templateService.compileCached(expression);
+        } catch (Exception e) {
+            throw new DataTransformerExecutorException("Error evaluating filter expression: " + e.getMessage());
+        }
+        return item -> evaluateFilter(item, compiled, exclude);
     }
 
-    @SuppressWarnings("unchecked")
-    private boolean evaluateFilter(Object item, String expression, String mode, AviatorEvaluatorInstance evaluator) {
+    private boolean evaluateFilter(Object item, Expression expression, boolean exclude) {
         try {
-            Map<String, Object> context = new HashMap<>();
-
-            if (item instanceof Map<?, ?> map) {
-                // For maps, add all fields to context
-                context.putAll((Map<String, Object>) map);
-            } else {
-                // For primitive values, add as 'value' variable
-                context.put("value", item);
-            }
-
-            // Add common utility variables
-            context.put("item", item);
-
-            Object result = evaluator.execute(expression, context);
+            Object result = expression.execute(new ItemEnvironment(item));
             boolean matches = convertToBoolean(result);
 
             // Include mode: return items that match
             // Exclude mode: return items that don't match
-            return "exclude".equalsIgnoreCase(mode) != matches;
+            return exclude != matches;
 
         } catch (Exception e) {
             throw new DataTransformerExecutorException("Error evaluating filter expression: " + e.getMessage());
@@ -80,4 +95,69 @@ public class FilterTransformer implements DataTransformer {
         }
         return value != null;
     }
+
+    /**
+     * Expression environment of one item, read straight from the item instead of copying its fields: a record
+     * exposes its fields, any other value is exposed as {@code value}, and both are bound to {@code item}.
+     * Variables assigned by the expression are kept here and never written back to the item.
+     */
+    private static final class ItemEnvironment extends AbstractMap<String, Object> {
+        private final Object item;
+        private final Map<?, ?> record;
+        private Map<String, Object> assigned;
+
+        private ItemEnvironment(Object item) {
+            this.item = item;
+            this.record = item instanceof Map<?, ?> map ? map : null;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (assigned != null && assigned.containsKey(key)) {
+                return assigned.get(key);
+            }
+            if ("item".equals(key)) {
+                return item;
+            }
+            if (record != null) {
+                return record.get(key);
+            }
+            return "value".equals(key) ? item : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if ((assigned != null && assigned.containsKey(key)) || "item".equals(key)) {
+                return true;
+            }
+            return record != null ? record.containsKey(key) : "value".equals(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Object previous = get(key);
+            if (assigned == null) {
+                assigned = new HashMap<>();
+            }
+            assigned.put(key, value);
+            return previous;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Set<Entry<String, Object>> entrySet() {
+            // Only needed when the whole environment is inspected, so a snapshot is fine
+            Map<String, Object> snapshot = new HashMap<>();
+            if (record != null) {
+                snapshot.putAll((Map<String, Object>) record);
+            } else {
+                snapshot.put("value", item);
+            }
+            snapshot.put("item", item);
+            if (assigned != null) {
+                snapshot.putAll(assigned);
+            }
+            return snapshot.entrySet();
+        }
+    }
 }
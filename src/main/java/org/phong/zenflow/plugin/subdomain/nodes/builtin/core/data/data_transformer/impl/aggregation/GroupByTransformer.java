@@ -1,14 +1,31 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation;
 
+import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.exception.DataTransformerExecutorException;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.interfaces.DataTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill.SpillManager;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill.SpillPartitions;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
+@Slf4j
 public class GroupByTransformer implements DataTransformer {
+    // Optional; without it every input is grouped in memory
+    private final SpillManager spill;
+
+    public GroupByTransformer() {
+        this(null);
+    }
+
+    @Autowired
+    public GroupByTransformer(SpillManager spill) {
+        this.spill = spill;
+    }
 
     @Override
     public String getName() {
@@ -28,6 +45,10 @@ public class GroupByTransformer implements DataTransformer {
         List<String> groupByFields = extractGroupByFields(params);
         List<Map<String, Object>> aggregations = extractAggregations(params);
 
+        if (spill != null && spill.exceedsBudget(list)) {
+            return groupSpilled(list, groupByFields, aggregations);
+        }
+
         // Group the data
         Map<String, List<Map<String, Object>>> groups = groupData(list, groupByFields);
 
@@ -71,6 +92,49 @@ public class GroupByTransformer implements DataTransformer {
                 .collect(Collectors.groupingBy(item -> createGroupKey(item, groupByFields)));
     }
 
+    /**
+     * Groups an input too large to group in memory: records are partitioned by group key to disk, keeping only
+     * the aggregated fields, and each partition is grouped and aggregated on its own.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> groupSpilled(List<?> list, List<String> groupByFields,
+                                                   List<Map<String, Object>> aggregations) {
+        Set<String> fields = new HashSet<>();
+        for (Map<String, Object> aggregation : aggregations) {
+            if (aggregation.get("field") instanceof String field) {
+                fields.add(field);
+            }
+        }
+
+        try (SpillPartitions partitions = spill.open()) {
+            for (Object element : list) {
+                Map<String, Object> item = (Map<String, Object>) element;
+                Map<String, Object> values = new HashMap<>();
+                for (String field : fields) {
+                    if (item.containsKey(field)) {
+                        values.put(field, item.get(field));
+                    }
+                }
+                String key = createGroupKey(item, groupByFields);
+                partitions.add(key, new GroupedRecord(key, values));
+            }
+            log.debug("Spilled {} group_by records ({} bytes) into {} partitions",
+                    partitions.records(), partitions.bytes(), partitions.partitions());
+
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (int p = 0; p < partitions.partitions(); p++) {
+                Map<String, List<Map<String, Object>>> groups = new HashMap<>();
+                for (GroupedRecord record : partitions.read(p, GroupedRecord.class)) {
+                    groups.computeIfAbsent(record.key(), k -> new ArrayList<>()).add(record.values());
+                }
+                groups.forEach((key, items) -> results.add(createAggregatedResult(key, items, groupByFields, aggregations)));
+            }
+            return results;
+        } catch (IOException e) {
+            throw new DataTransformerExecutorException("Failed to spill group_by input: " + e.getMessage());
+        }
+    }
+
     private String createGroupKey(Map<String, Object> item, List<String> groupByFields) {
         return groupByFields.stream()
                 .map(field -> String.valueOf(item.get(field)))
@@ -99,4 +163,7 @@ public class GroupByTransformer implements DataTransformer {
 
         return result;
     }
+
+    record GroupedRecord(String key, Map<String, Object> values) {
+    }
 }
@@ -22,22 +22,34 @@ public class SortTransformer implements DataTransformer {
             throw new DataTransformerExecutorException("Input must be a List for sort transformer.");
         }
 
+        Comparator<Map<String, Object>> comparator = comparator(params);
+
+        return list.stream()
+                .map(ObjectConversion::convertObjectToMap)
+                .sorted(comparator)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The record order described by the given sort params.
+     */
+    public Comparator<Map<String, Object>> comparator(Map<String, Object> params) {
         if (params == null) {
             throw new DataTransformerExecutorException("Sort parameters are required.");
         }
 
         // Support both single field and multiple fields sorting
-        List<Map<String, Object>> sortFields = extractSortFields(params);
+        List<Map<String, Object>> sortFields = sortFields(params);
         boolean nullsFirst = (Boolean) params.getOrDefault("nullsFirst", false);
-
-        return list.stream()
-                .map(ObjectConversion::convertObjectToMap)
-                .sorted(createComparator(sortFields, nullsFirst))
-                .collect(Collectors.toList());
+        return createComparator(sortFields, nullsFirst);
     }
 
+    /**
+     * Normalizes the single {@code field} form and the {@code fields} list into one spec per sort key, each with
+     * {@code field}, {@code order}, {@code type} and {@code caseSensitive}.
+     */
     @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> extractSortFields(Map<String, Object> params) {
+    public List<Map<String, Object>> sortFields(Map<String, Object> params) {
         List<Map<String, Object>> sortFields = new ArrayList<>();
 
         if (params.containsKey("fields")) {
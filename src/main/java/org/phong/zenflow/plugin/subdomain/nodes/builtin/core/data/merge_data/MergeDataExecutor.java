@@ -83,7 +83,10 @@ public class MergeDataExecutor implements PluginNodeExecutor {
             return extractDirectSources(input, logPublisher);
         }
 
-        List<Map<String, Object>> sources = ObjectConversion.safeConvert(sourcesObj, new TypeReference<>() {});
+        List<Map<String, Object>> sources = asSourceList(sourcesObj);
+        if (sources == null) {
+            sources = ObjectConversion.safeConvert(sourcesObj, new TypeReference<>() {});
+        }
         if (sources == null) {
             logPublisher.error("Sources field is not in the expected format (List<Map<String, Object>>)");
             throw new IllegalArgumentException("Invalid sources format");
@@ -103,6 +106,23 @@ public class MergeDataExecutor implements PluginNodeExecutor {
         return validSources;
     }
 
+    /**
+     * Sources that are already a list of maps are used as they are; converting them would copy every source's
+     * data through Jackson.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> asSourceList(Object sourcesObj) {
+        if (!(sourcesObj instanceof List<?> list)) {
+            return null;
+        }
+        for (Object source : list) {
+            if (source != null && !(source instanceof Map<?, ?>)) {
+                return null;
+            }
+        }
+        return (List<Map<String, Object>>) list;
+    }
+
     private List<Map<String, Object>> extractDirectSources(Map<String, Object> input, NodeLogPublisher logPublisher) {
         List<Map<String, Object>> sources = new ArrayList<>();
 
@@ -262,6 +282,7 @@ public class MergeDataExecutor implements PluginNodeExecutor {
     }
 
     private Object deepMergeData(List<Object> dataList, MergeOptions options, NodeLogPublisher logPublisher) {
+        // Never spilled: the merged map is built in memory either way, and a JSON round trip would change value types
         Map<String, Object> result = options.preserveOrder ? new LinkedHashMap<>() : new HashMap<>();
         int mergedFields = 0;
 
@@ -312,7 +333,9 @@ public class MergeDataExecutor implements PluginNodeExecutor {
             case KEEP_LAST -> incoming;
             case MERGE_RECURSIVE -> {
                 if (existing instanceof Map && incoming instanceof Map && currentDepth < options.maxDepth) {
-                    Map<String, Object> merged = new HashMap<>(ObjectConversion.convertObjectToMap(existing));
+                    // Shallow copy: nested maps are only ever replaced, never modified in place
+                    Map<String, Object> merged = new HashMap<>();
+                    ((Map<?, ?>) existing).forEach((key, value) -> merged.put(String.valueOf(key), value));
                     mergeMapIntoResult(merged, (Map<?, ?>) incoming, options, currentDepth + 1);
                     yield merged;
                 } else {
@@ -321,8 +344,8 @@ public class MergeDataExecutor implements PluginNodeExecutor {
             }
             case COMBINE_ARRAYS -> {
                 if (existing instanceof List && incoming instanceof List) {
-                    List<Object> combined = new ArrayList<>(ObjectConversion.convertObjectToList(existing, Object.class));
-                    combined.addAll(ObjectConversion.convertObjectToList(incoming, Object.class));
+                    List<Object> combined = new ArrayList<>((List<?>) existing);
+                    combined.addAll((List<?>) incoming);
                     yield combined;
                 } else {
                     yield incoming; // Fallback to keeping last
@@ -0,0 +1,71 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Rough heap footprint of JSON-shaped data (maps, collections, strings, numbers), using typical 64-bit JVM
+ * object sizes. Only meant to decide whether data is large enough to process out of core.
+ */
+final class HeapEstimate {
+    private static final long MAP = 48;
+    private static final long MAP_ENTRY = 32;
+    private static final long COLLECTION = 40;
+    private static final long REFERENCE = 8;
+    private static final long STRING = 40;
+    private static final long BOXED = 16;
+
+    private HeapEstimate() {
+    }
+
+    /**
+     * Walks {@code data} until the estimate passes {@code budget}, so the cost is bounded by the budget rather
+     * than by the size of the data.
+     */
+    static boolean exceeds(Object data, long budget) {
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(data);
+        long total = 0;
+        while (!pending.isEmpty()) {
+            Object value = pending.pop();
+            total += shallowSize(value);
+            // Checked before queueing children, which keeps the queue within the budget too
+            if (total > budget) {
+                return true;
+            }
+            switch (value) {
+                case Map<?, ?> map -> map.forEach((key, element) -> {
+                    push(pending, key);
+                    push(pending, element);
+                });
+                case Collection<?> collection -> collection.forEach(element -> push(pending, element));
+                case Object[] array -> {
+                    for (Object element : array) {
+                        push(pending, element);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long shallowSize(Object value) {
+        return switch (value) {
+            case String s -> STRING + s.length();
+            case Map<?, ?> map -> MAP + map.size() * MAP_ENTRY;
+            case Collection<?> collection -> COLLECTION + collection.size() * REFERENCE;
+            default -> value.getClass().isArray() ? COLLECTION + Array.getLength(value) * REFERENCE : BOXED;
+        };
+    }
+
+    private static void push(Deque<Object> pending, Object value) {
+        if (value != null) {
+            pending.push(value);
+        }
+    }
+}
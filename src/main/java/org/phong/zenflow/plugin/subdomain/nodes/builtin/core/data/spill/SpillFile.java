@@ -0,0 +1,95 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only temporary file of length-prefixed records, written and read through memory-mapped windows so
+ * records are copied straight between the page cache and the heap. The file is deleted when closed.
+ */
+final class SpillFile implements AutoCloseable {
+    private static final int WINDOW_BYTES = 1 << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer window;
+    private long windowStart;
+    // Logical end of the records; the file itself may extend to the end of the last mapped window
+    private long size;
+
+    private SpillFile(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    static SpillFile create(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path path = Files.createTempFile(directory, "spill-", ".bin");
+        return new SpillFile(path, FileChannel.open(path,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE));
+    }
+
+    void append(byte[] payload) throws IOException {
+        int needed = Integer.BYTES + payload.length;
+        if (window == null || size + needed > windowStart + window.capacity()) {
+            windowStart = size;
+            window = channel.map(FileChannel.MapMode.READ_WRITE, size, Math.max(WINDOW_BYTES, needed));
+        }
+        int offset = (int) (size - windowStart);
+        window.putInt(offset, payload.length);
+        window.put(offset + Integer.BYTES, payload);
+        size += needed;
+    }
+
+    long size() {
+        return size;
+    }
+
+    Reader reader() {
+        return new Reader();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Reads the records back in the order they were appended.
+     */
+    final class Reader {
+        private MappedByteBuffer view;
+        private long viewStart;
+        private long position;
+
+        /**
+         * @return the next record, or {@code null} after the last one
+         */
+        byte[] next() throws IOException {
+            if (position >= size) {
+                return null;
+            }
+            ensureMapped(Integer.BYTES);
+            int length = view.getInt((int) (position - viewStart));
+            ensureMapped(Integer.BYTES + length);
+            byte[] payload = new byte[length];
+            view.get((int) (position - viewStart) + Integer.BYTES, payload);
+            position += Integer.BYTES + length;
+            return payload;
+        }
+
+        private void ensureMapped(int bytes) throws IOException {
+            if (view == null || position + bytes > viewStart + view.capacity()) {
+                viewStart = position;
+                long length = Math.min(Math.max(WINDOW_BYTES, bytes), size - position);
+                view = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            }
+        }
+    }
+}
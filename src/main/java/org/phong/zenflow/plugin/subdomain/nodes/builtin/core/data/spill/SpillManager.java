@@ -0,0 +1,39 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill;
+
+import org.phong.zenflow.core.utils.ObjectConversion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Decides when data nodes switch to out-of-core processing and opens the partition files they spill to.
+ */
+@Component
+public class SpillManager {
+    private final boolean enabled;
+    private final long budgetBytes;
+    private final int partitions;
+    private final Path directory;
+
+    public SpillManager(@Value("${zenflow.data.spill.enabled:true}") boolean enabled,
+                        @Value("${zenflow.data.spill.budget-bytes:67108864}") long budgetBytes,
+                        @Value("${zenflow.data.spill.partitions:16}") int partitions,
+                        @Value("${zenflow.data.spill.directory:${java.io.tmpdir}/zenflow-spill}") String directory) {
+        this.enabled = enabled;
+        this.budgetBytes = budgetBytes;
+        this.partitions = Math.max(1, partitions);
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * @return whether {@code data} is estimated to take more heap than the configured budget
+     */
+    public boolean exceedsBudget(Object data) {
+        return enabled && HeapEstimate.exceeds(data, budgetBytes);
+    }
+
+    public SpillPartitions open() {
+        return new SpillPartitions(directory, partitions, ObjectConversion.getObjectMapper());
+    }
+}
@@ -0,0 +1,90 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records hash-partitioned by key into temporary files, so an operator can process one partition at a time and
+ * only ever hold the records of a single partition. Every record with the same key lands in the same partition.
+ * <p>
+ * Records are stored as JSON, which round-trips the JSON-shaped data nodes exchange unchanged.
+ */
+public final class SpillPartitions implements AutoCloseable {
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final SpillFile[] files;
+    private long records;
+
+    SpillPartitions(Path directory, int partitions, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.files = new SpillFile[partitions];
+    }
+
+    public void add(Object key, Object record) throws IOException {
+        int h = Objects.hashCode(key);
+        int partition = Math.floorMod(h ^ (h >>> 16), files.length);
+        SpillFile file = files[partition];
+        if (file == null) {
+            file = SpillFile.create(directory);
+            files[partition] = file;
+        }
+        file.append(objectMapper.writeValueAsBytes(record));
+        records++;
+    }
+
+    public int partitions() {
+        return files.length;
+    }
+
+    public long records() {
+        return records;
+    }
+
+    public long bytes() {
+        long bytes = 0;
+        for (SpillFile file : files) {
+            bytes += file != null ? file.size() : 0;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the records of one partition, in the order they were added
+     */
+    public <T> List<T> read(int partition, Class<T> type) throws IOException {
+        List<T> result = new ArrayList<>();
+        SpillFile file = files[partition];
+        if (file == null) {
+            return result;
+        }
+        SpillFile.Reader reader = file.reader();
+        for (byte[] payload = reader.next(); payload != null; payload = reader.next()) {
+            result.add(objectMapper.readValue(payload, type));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (SpillFile file : files) {
+            if (file == null) {
+                continue;
+            }
+            try {
+                file.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
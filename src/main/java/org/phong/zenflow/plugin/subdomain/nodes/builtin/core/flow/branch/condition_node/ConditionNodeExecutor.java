@@ -1,13 +1,13 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.flow.branch.condition_node;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.googlecode.aviator.AviatorEvaluatorInstance;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.springframework.stereotype.Component;
@@ -40,7 +40,7 @@ public class ConditionNodeExecutor implements PluginNodeExecutor {
 
             log.info("Begin condition flow with cases: {}", cases.toString());
 
-            AviatorEvaluatorInstance evaluator = context.getEvaluator().cloneInstance();
+            TemplateService.ImmutableEvaluator evaluator = context.getEvaluator();
 
             for (ConditionalCase caseDef : cases) {
                 String rawCondition = caseDef.when();
@@ -51,7 +51,7 @@ public class ConditionNodeExecutor implements PluginNodeExecutor {
                 log.debug("Evaluating condition: {}", rawCondition);
 
                 try {
-                    Object result = evaluator.execute(rawCondition, Map.of("context", context));
+                    Object result = evaluator.compileCached(rawCondition).execute(Map.of("context", context));
                     Boolean isMatch = (Boolean) result;
                     if (Boolean.TRUE.equals(isMatch)) {
                         log.info("Condition matched: {} than next to {}", rawCondition, caseDef.then());
@@ -1,13 +1,13 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.flow.branch.if_node;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.googlecode.aviator.AviatorEvaluatorInstance;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.springframework.stereotype.Component;
@@ -51,7 +51,7 @@ public class IfNodeExecutor implements PluginNodeExecutor {
 
             log.debug("Evaluating IF condition: {}", condition);
 
-            AviatorEvaluatorInstance evaluator = context.getEvaluator().cloneInstance();
+            TemplateService.ImmutableEvaluator evaluator = context.getEvaluator();
             return getExpressionExecutionResult(condition, nextTrue, logCollector, nextFalse, context, evaluator);
         } catch (Exception e) {
             logCollector.withException(e).error("Failed to process if-node: {}", e.getMessage());
@@ -59,9 +59,9 @@ public class IfNodeExecutor implements PluginNodeExecutor {
         }
     }
 
-    private ExecutionResult getExpressionExecutionResult(String condition, List<String> nextTrue, NodeLogPublisher logCollector, List<String> nextFalse, ExecutionContext context, AviatorEvaluatorInstance evaluator) {
+    private ExecutionResult getExpressionExecutionResult(String condition, List<String> nextTrue, NodeLogPublisher logCollector, List<String> nextFalse, ExecutionContext context, TemplateService.ImmutableEvaluator evaluator) {
         try {
-            Object result = evaluator.execute(condition, Map.of("context", context));
+            Object result = evaluator.compileCached(condition).execute(Map.of("context", context));
             Boolean isMatch = (Boolean) result;
 
             String next;
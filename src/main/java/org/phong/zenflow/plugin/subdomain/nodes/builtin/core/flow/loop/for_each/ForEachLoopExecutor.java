@@ -1,13 +1,13 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.flow.loop.for_each;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.googlecode.aviator.AviatorEvaluatorInstance;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.springframework.stereotype.Component;
@@ -38,7 +38,7 @@ public class ForEachLoopExecutor implements PluginNodeExecutor {
             List<Object> items = ObjectConversion.safeConvert(input.get("items"), new TypeReference<>() {});
             int index = (int) input.getOrDefault("index", 0);
 
-            AviatorEvaluatorInstance evaluator = context.getEvaluator().cloneInstance();
+            TemplateService.ImmutableEvaluator evaluator = context.getEvaluator();
 
             if (index >= items.size()) {
                 List<String> loopEnd = ObjectConversion.safeConvert(input.get("loopEnd"), new TypeReference<>() {});
@@ -96,12 +96,12 @@ public class ForEachLoopExecutor implements PluginNodeExecutor {
         }
     }
 
-    private boolean evalCondition(Object rawExpr, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, AviatorEvaluatorInstance evaluator) {
+    private boolean evalCondition(Object rawExpr, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, TemplateService.ImmutableEvaluator evaluator) {
         if (rawExpr instanceof String expr && !expr.isBlank()) {
             try {
                 Map<String, Object> env = new HashMap<>(context);
                 env.put("context", execCtx);
-                Object result = evaluator.execute(expr, env);
+                Object result = evaluator.compileCached(expr).execute(env);
                 return Boolean.TRUE.equals(result);
             } catch (Exception e) {
                 log.warn("Failed to evaluate condition '{}': {}", rawExpr, e.getMessage());
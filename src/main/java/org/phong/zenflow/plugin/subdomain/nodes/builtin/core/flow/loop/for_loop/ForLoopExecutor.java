@@ -1,13 +1,13 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.flow.loop.for_loop;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.googlecode.aviator.AviatorEvaluatorInstance;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.springframework.stereotype.Component;
@@ -39,7 +39,7 @@ public class ForLoopExecutor implements PluginNodeExecutor {
             // Create output that includes ALL necessary data for next iteration
             Map<String, Object> output = new HashMap<>(input);
 
-            AviatorEvaluatorInstance evaluator = context.getEvaluator().cloneInstance();
+            TemplateService.ImmutableEvaluator evaluator = context.getEvaluator();
 
             if (isLoopComplete(input, output, logCollector, context, evaluator)) {
                 List<String> loopEnd = ObjectConversion.safeConvert(input.get("loopEnd"), new TypeReference<>() {});
@@ -85,7 +85,7 @@ public class ForLoopExecutor implements PluginNodeExecutor {
         }
     }
 
-    private boolean isLoopComplete(Map<String, Object> input, Map<String, Object> context, NodeLogPublisher logCollector, ExecutionContext execCtx, AviatorEvaluatorInstance evaluator) {
+    private boolean isLoopComplete(Map<String, Object> input, Map<String, Object> context, NodeLogPublisher logCollector, ExecutionContext execCtx, TemplateService.ImmutableEvaluator evaluator) {
         if (input.containsKey("endCondition")) {
             boolean end = evalCondition(input.get("endCondition"), context, execCtx, logCollector, evaluator);
             if (end) {
@@ -107,12 +107,12 @@ public class ForLoopExecutor implements PluginNodeExecutor {
         return false; // Should not be reached if validation passes
     }
 
-    private int getNewIndex(Map<String, Object> input, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, AviatorEvaluatorInstance evaluator) {
+    private int getNewIndex(Map<String, Object> input, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, TemplateService.ImmutableEvaluator evaluator) {
         String updateExpression = (String) input.get("updateExpression");
         try {
             Map<String, Object> env = new HashMap<>(context);
             env.put("context", execCtx);
-            Object newIndex = evaluator.execute(updateExpression, env);
+            Object newIndex = evaluator.compileCached(updateExpression).execute(env);
             return ((Number) newIndex).intValue();
         } catch (Exception e) {
             log.error("Failed to evaluate updateExpression '{}': {}", updateExpression, e.getMessage());
@@ -121,12 +121,12 @@ public class ForLoopExecutor implements PluginNodeExecutor {
         }
     }
 
-    private boolean evalCondition(Object rawExpr, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, AviatorEvaluatorInstance evaluator) {
+    private boolean evalCondition(Object rawExpr, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, TemplateService.ImmutableEvaluator evaluator) {
         if (rawExpr instanceof String expr && !expr.isBlank()) {
             try {
                 Map<String, Object> env = new HashMap<>(context);
                 env.put("context", execCtx);
-                Object result = evaluator.execute(expr, env);
+                Object result = evaluator.compileCached(expr).execute(env);
                 return Boolean.TRUE.equals(result);
             } catch (Exception e) {
                 log.warn("Failed to evaluate condition '{}': {}", rawExpr, e.getMessage());
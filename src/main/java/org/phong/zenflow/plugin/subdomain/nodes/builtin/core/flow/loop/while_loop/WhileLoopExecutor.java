@@ -1,13 +1,13 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.flow.loop.while_loop;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.googlecode.aviator.AviatorEvaluatorInstance;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.springframework.stereotype.Component;
@@ -36,7 +36,7 @@ public class WhileLoopExecutor implements PluginNodeExecutor {
         try {
             Map<String, Object> input = config.input();
 
-            AviatorEvaluatorInstance evaluator = context.getEvaluator().cloneInstance();
+            TemplateService.ImmutableEvaluator evaluator = context.getEvaluator();
 
             boolean shouldContinue = evalCondition(input.get("condition"), input, context, logCollector, evaluator);
             logCollector.info("While loop condition evaluated to [{}]", shouldContinue);
@@ -80,12 +80,12 @@ public class WhileLoopExecutor implements PluginNodeExecutor {
         }
     }
 
-    private boolean evalCondition(Object rawExpr, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, AviatorEvaluatorInstance evaluator) {
+    private boolean evalCondition(Object rawExpr, Map<String, Object> context, ExecutionContext execCtx, NodeLogPublisher logCollector, TemplateService.ImmutableEvaluator evaluator) {
         if (rawExpr instanceof String expr && !expr.isBlank()) {
             try {
                 Map<String, Object> env = new HashMap<>(context);
                 env.put("context", execCtx);
-                Object result = evaluator.execute(expr, env);
+                Object result = evaluator.compileCached(expr).execute(env);
                 return Boolean.TRUE.equals(result);
             } catch (Exception e) {
                 log.warn("Failed to evaluate condition '{}': {}", rawExpr, e.getMessage());
@@ -1,24 +1,34 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.http.executor;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.core.http.OutboundHttpClient;
+import org.phong.zenflow.core.http.ResponseBody;
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
-import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
+import org.phong.zenflow.plugin.subdomain.execution.interfaces.AsyncPluginNodeExecutor;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.http.exception.HttpExecutorException;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.context.RunTempFiles;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.ClientResponse;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.regex.Pattern;
 import org.phong.zenflow.plugin.subdomain.node.registry.PluginNode;
 
@@ -36,12 +46,17 @@ import org.phong.zenflow.plugin.subdomain.node.registry.PluginNode;
 )
 @AllArgsConstructor
 @Slf4j
-public class HttpRequestExecutor implements PluginNodeExecutor {
+public class HttpRequestExecutor implements AsyncPluginNodeExecutor {
     private static final Pattern VALID_HEADER_NAME = Pattern.compile("^[!#$%&'*+.^_`|~0-9a-zA-Z-]+$");
-    private final WebClient webClient;
+    private final OutboundHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final RunTempFiles runTempFiles;
+
     @Override
-    public ExecutionResult execute(WorkflowConfig config, ExecutionContext context) {
-        NodeLogPublisher logs = context.getLogPublisher();
+    public CompletionStage<ExecutionResult> executeAsync(WorkflowConfig config, ExecutionContext context) {
+        // The response is handled on a reactor thread, so log through a publisher bound to this node
+        NodeLogPublisher logs = context.getLogPublisher().pinned();
+        Mono<Map<String, Object>> request;
         try {
             Map<String, Object> input = config.input();
 
@@ -49,42 +64,82 @@ public class HttpRequestExecutor implements PluginNodeExecutor {
             HttpMethod method = HttpMethod.valueOf((String) input.get("method"));
             Object body = input.getOrDefault("body", Map.of());
             Map<String, Object> headers = ObjectConversion.convertObjectToMap(input.getOrDefault("headers", Map.of()));
+            Duration timeout = input.get("timeout") instanceof Number millis ? Duration.ofMillis(millis.longValue()) : null;
+            UUID runId = context.getWorkflowRunId();
 
             logs.info("Sending HTTP request to {} with method {}", url, method);
 
-            Map<String, Object> response = webClient.method(method)
+            request = httpClient.getWebClient().method(method)
                     .uri(url)
                     .bodyValue(body)
                     .headers(httpHeaders -> getHeaders(logs, httpHeaders, headers))
-                    .exchangeToMono(this::handleResponse)
-                    .block();
+                    .httpRequest(httpRequest -> {
+                        // No client-wide response timeout; only nodes that ask for one get it
+                        if (timeout != null) {
+                            HttpClientRequest nativeRequest = httpRequest.getNativeRequest();
+                            nativeRequest.responseTimeout(timeout);
+                        }
+                    })
+                    .exchangeToMono(response -> handleResponse(response, runId));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(handleError(logs, e));
+        }
 
-            logs.success("Received response successfully");
+        return request.toFuture()
+                .thenApply(response -> {
+                    logs.success("Received response successfully");
+                    return ExecutionResult.success(response);
+                })
+                .exceptionally(e -> handleError(logs, e instanceof CompletionException && e.getCause() != null
+                        ? e.getCause() : e));
+    }
 
-            return ExecutionResult.success(response);
-        } catch (WebClientResponseException e) {
-            logs.withException(e).error("HTTP error with status {}", e.getStatusCode());
-            log.debug("HTTP error with status {}", e.getStatusCode());
-            return ExecutionResult.error(e.getResponseBodyAsString());
-        } catch (Exception e) {
-            logs.withException(e).error("Unexpected error occurred: {}", e.getMessage());
-            log.debug("Unexpected error during HTTP request execution", e);
-            return ExecutionResult.error(e.getMessage());
+    private ExecutionResult handleError(NodeLogPublisher logs, Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            logs.withException(e).error("HTTP error with status {}", responseException.getStatusCode());
+            log.debug("HTTP error with status {}", responseException.getStatusCode());
+            return ExecutionResult.error(responseException.getResponseBodyAsString());
         }
+        logs.withException(e).error("Unexpected error occurred: {}", e.getMessage());
+        log.debug("Unexpected error during HTTP request execution", e);
+        return ExecutionResult.error(e.getMessage());
     }
 
-    private Mono<Map<String, Object>> handleResponse(ClientResponse response) {
-        return response.bodyToMono(Object.class)
-                .defaultIfEmpty("No response")
+    private Mono<Map<String, Object>> handleResponse(ClientResponse response, UUID runId) {
+        return httpClient.readBody(response)
                 .map(body -> {
                     Map<String, Object> result = new HashMap<>();
                     result.put("status_code", response.statusCode().value());
                     result.put("headers", response.headers().asHttpHeaders().toSingleValueMap());
-                    result.put("body", body);
+                    if (body.isSpilled()) {
+                        // Too large to keep in the context; downstream nodes of this run read it from the file
+                        runTempFiles.register(runId, body.file());
+                        result.put("body", null);
+                        result.put("body_file", body.file().toString());
+                        result.put("body_size", body.size());
+                    } else {
+                        result.put("body", decodeBody(body));
+                    }
                     return result;
                 });
     }
 
+    private Object decodeBody(ResponseBody body) {
+        if (body.isEmpty()) {
+            return "No response";
+        }
+        MediaType contentType = body.contentType();
+        if (contentType == null || contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                || contentType.getSubtype().endsWith("+json")) {
+            try {
+                return objectMapper.readValue(body.content(), Object.class);
+            } catch (Exception e) {
+                log.debug("Response body is not valid JSON, returning it as text: {}", e.getMessage());
+            }
+        }
+        return body.asString();
+    }
+
     private void getHeaders(NodeLogPublisher logs, HttpHeaders httpHeaders, Map<String, Object> headers) {
         if (headers != null) {
             headers.forEach((key, value) -> {
@@ -2,10 +2,11 @@ package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.phong.zenflow.core.services.SharedQuartzSchedulerService;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.node.registry.PluginNode;
-import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.quartz.PollingTriggerJob;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine.PollSubscription;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine.PollTarget;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine.PollingEngine;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.resource.PollingResponseCacheManager;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
@@ -16,7 +17,6 @@ import org.phong.zenflow.workflow.subdomain.trigger.interfaces.TriggerContextToo
 import org.phong.zenflow.workflow.subdomain.trigger.interfaces.TriggerExecutor;
 import org.phong.zenflow.plugin.subdomain.resource.NodeResourcePool;
 import org.phong.zenflow.plugin.subdomain.resource.ScopedNodeResource;
-import org.quartz.*;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
@@ -27,17 +27,17 @@ import java.util.*;
         key = "core:polling.trigger",
         name = "Polling Trigger",
         version = "1.0.0",
-        description = "Polls an HTTP endpoint at regular intervals using Quartz scheduler and triggers workflows when changes are detected. " +
-                "Uses generic resource management for efficient caching and cleanup.",
+        description = "Polls an HTTP endpoint at regular intervals and triggers workflows when changes are detected. " +
+                "Identical requests across triggers are coalesced into one conditional fetch on a shared timer wheel.",
         type = "trigger",
         triggerType = "polling",
-        tags = {"core", "trigger", "polling", "http", "schedule", "quartz"},
+        tags = {"core", "trigger", "polling", "http", "schedule"},
         icon = "ph:arrow-clockwise"
 )
 @Slf4j
 @AllArgsConstructor
 public class PollingTriggerExecutor implements TriggerExecutor {
-    private final SharedQuartzSchedulerService schedulerService;
+    private final PollingEngine pollingEngine;
     private final PollingResponseCacheManager cacheManager;
 
     @Override
@@ -53,7 +53,7 @@ public class PollingTriggerExecutor implements TriggerExecutor {
     @Override
     public RunningHandle start(TriggerContext triggerCtx, TriggerContextTool contextTool) throws Exception {
         WorkflowTrigger trigger = triggerCtx.trigger();
-        log.info("Starting Quartz-based polling trigger for workflow: {}", trigger.getWorkflowId());
+        log.info("Starting polling trigger for workflow: {}", trigger.getWorkflowId());
 
         Map<String, Object> config = trigger.getConfig();
 
@@ -79,49 +79,34 @@ public class PollingTriggerExecutor implements TriggerExecutor {
             throw new IllegalArgumentException("interval_seconds must be a positive integer");
         }
 
-        log.info("Polling trigger configured with Quartz: URL={}, interval={}s, method={}, detection={}",
+        log.info("Polling trigger configured: URL={}, interval={}s, method={}, detection={}",
                 url, intervalSeconds, httpMethod, changeDetectionStrategy);
 
-        // Register cache resource usage via scoped handle
+        // Register cache resource usage via scoped handle; it holds this trigger's last poll state
         String cacheKey = trigger.getId().toString();
         var cacheHandle = cacheManager.acquire(cacheKey, trigger.getId(), null);
         try {
-            // Create Quartz job with all necessary data
-            JobDetail job = JobBuilder.newJob(PollingTriggerJob.class)
-                    .withIdentity("polling-trigger-" + trigger.getId(), "polling-triggers")
-                    .usingJobData("triggerId", trigger.getId().toString())
-                    .usingJobData("workflowId", trigger.getWorkflowId().toString())
-                    .usingJobData("url", url)
-                    .usingJobData("httpMethod", httpMethod)
-                    .usingJobData("changeDetectionStrategy", changeDetectionStrategy)
-                    .usingJobData("jsonPath", jsonPath != null ? jsonPath : "")
-                    .usingJobData("timeoutSeconds", timeoutSeconds)
-                    .usingJobData("includeResponse", includeResponse)
-                    .usingJobData("triggerExecutorId", trigger.getTriggerExecutorId().toString())
+            PollSubscription subscription = PollSubscription.builder()
+                    .triggerId(trigger.getId())
+                    .workflowId(trigger.getWorkflowId())
+                    .triggerExecutorId(trigger.getTriggerExecutorId())
+                    .target(PollTarget.of(httpMethod, url, headers, requestBody))
+                    .intervalSeconds(intervalSeconds)
+                    .timeoutSeconds(timeoutSeconds)
+                    .changeDetectionStrategy(changeDetectionStrategy)
+                    .jsonPath(jsonPath)
+                    .includeResponse(includeResponse)
+                    .contextTool(contextTool)
+                    .cache(cacheHandle.getResource())
                     .build();
 
-            // Add complex objects to job data map
-            job.getJobDataMap().put("headers", headers);
-            job.getJobDataMap().put("requestBody", requestBody);
-            job.getJobDataMap().put("triggerContext", contextTool);
-
-            // Create Quartz trigger for scheduling
-            Trigger quartzTrigger = TriggerBuilder.newTrigger()
-                    .withIdentity("polling-trigger-" + trigger.getId(), "polling-triggers")
-                    .startNow()
-                    .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                            .withIntervalInSeconds(intervalSeconds)
-                            .repeatForever())
-                    .build();
-
-            // Schedule on the shared Quartz scheduler
-            schedulerService.scheduleJob(job, quartzTrigger);
+            // Identical requests from other triggers share one fetch on the engine's timer wheel
+            pollingEngine.register(subscription);
 
-            log.info("Quartz polling trigger started successfully for trigger: {}", trigger.getId());
+            log.info("Polling trigger started successfully for trigger: {}", trigger.getId());
 
-            return new QuartzPollingRunningHandle(quartzTrigger.getKey(), trigger.getId(),
-                                                url, intervalSeconds, httpMethod,
-                                                changeDetectionStrategy, schedulerService, cacheHandle);
+            return new PollingRunningHandle(subscription, url, intervalSeconds, httpMethod,
+                                            changeDetectionStrategy, pollingEngine, cacheHandle);
         } catch (Exception e) {
             cacheHandle.close();
             throw e;
@@ -144,7 +129,7 @@ public class PollingTriggerExecutor implements TriggerExecutor {
             output.put("trigger_type", "polling");
             output.put("triggered_at", OffsetDateTime.now().toString());
             output.put("trigger_source", "polling_change_detected");
-            output.put("scheduler_type", "quartz");
+            output.put("scheduler_type", "timer_wheel");
 
             if (pollingUrl != null) {
                 output.put("polling_url", pollingUrl);
@@ -170,7 +155,7 @@ public class PollingTriggerExecutor implements TriggerExecutor {
                 }
             });
 
-            logs.success("Polling trigger completed successfully using Quartz scheduler");
+            logs.success("Polling trigger completed successfully");
             return ExecutionResult.success(output);
         } catch (Exception e) {
             logs.withException(e).error("Unexpected error occurred during polling trigger execution: {}", e.getMessage());
@@ -179,31 +164,29 @@ public class PollingTriggerExecutor implements TriggerExecutor {
     }
 
     /**
-     * Running handle for Quartz-based polling triggers with generic resource management
+     * Running handle for engine-scheduled polling triggers with generic resource management
      */
-    private static class QuartzPollingRunningHandle implements RunningHandle {
-        private final TriggerKey triggerKey;
-        private final UUID triggerId;
+    private static class PollingRunningHandle implements RunningHandle {
+        private final PollSubscription subscription;
         private final String url;
         private final Integer intervalSeconds;
         private final String httpMethod;
         private final String changeDetectionStrategy;
-        private final SharedQuartzSchedulerService schedulerService;
+        private final PollingEngine pollingEngine;
         private final ScopedNodeResource<?> cacheHandle;
         private volatile boolean running = true;
 
-        public QuartzPollingRunningHandle(TriggerKey triggerKey, UUID triggerId, String url,
-                                        Integer intervalSeconds, String httpMethod,
-                                        String changeDetectionStrategy,
-                                        SharedQuartzSchedulerService schedulerService,
-                                        ScopedNodeResource<?> cacheHandle) {
-            this.triggerKey = triggerKey;
-            this.triggerId = triggerId;
+        public PollingRunningHandle(PollSubscription subscription, String url,
+                                    Integer intervalSeconds, String httpMethod,
+                                    String changeDetectionStrategy,
+                                    PollingEngine pollingEngine,
+                                    ScopedNodeResource<?> cacheHandle) {
+            this.subscription = subscription;
             this.url = url;
             this.intervalSeconds = intervalSeconds;
             this.httpMethod = httpMethod;
             this.changeDetectionStrategy = changeDetectionStrategy;
-            this.schedulerService = schedulerService;
+            this.pollingEngine = pollingEngine;
             this.cacheHandle = cacheHandle;
         }
 
@@ -212,28 +195,27 @@ public class PollingTriggerExecutor implements TriggerExecutor {
             if (running) {
                 running = false;
 
-                // Unschedule from Quartz
-                schedulerService.unscheduleJob(triggerKey);
+                pollingEngine.unregister(subscription);
 
                 // Cleanup cache resource using scoped handle
                 try (cacheHandle) {
-                    log.debug("Closed cacheHandle for trigger: {}", triggerId);
+                    log.debug("Closed cacheHandle for trigger: {}", subscription.getTriggerId());
                 }
 
-                log.info("Quartz polling trigger stopped: {} (URL: {}, interval: {}s, method: {}, detection: {})",
-                        triggerId, url, intervalSeconds, httpMethod, changeDetectionStrategy);
+                log.info("Polling trigger stopped: {} (URL: {}, interval: {}s, method: {}, detection: {})",
+                        subscription.getTriggerId(), url, intervalSeconds, httpMethod, changeDetectionStrategy);
             }
         }
 
         @Override
         public boolean isRunning() {
-            return running && schedulerService.isSchedulerHealthy();
+            return running && pollingEngine.isRunning();
         }
 
         @Override
         public String getStatus() {
             if (!running) return "STOPPED";
-            return schedulerService.isSchedulerHealthy() ? "RUNNING" : "UNHEALTHY";
+            return pollingEngine.isRunning() ? "RUNNING" : "UNHEALTHY";
         }
     }
 }
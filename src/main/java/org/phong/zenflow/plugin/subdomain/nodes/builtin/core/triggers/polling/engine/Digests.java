@@ -0,0 +1,58 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Streaming SHA-256 over response bytes, spill files and JSON values, so change detection never needs
+ * an extra in-memory copy of the compared data.
+ */
+final class Digests {
+    private static final int BUFFER_SIZE = 8192;
+
+    private Digests() {
+    }
+
+    static byte[] of(byte[] content) {
+        return newDigest().digest(content);
+    }
+
+    static byte[] of(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Hashes the JSON serialization of {@code value} as it is written, without buffering it.
+     */
+    static byte[] ofValue(ObjectMapper objectMapper, Object value) throws IOException {
+        MessageDigest digest = newDigest();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            objectMapper.writeValue(out, value);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
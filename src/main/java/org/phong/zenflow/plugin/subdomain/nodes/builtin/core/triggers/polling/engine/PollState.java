@@ -0,0 +1,23 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine;
+
+import java.security.MessageDigest;
+
+/**
+ * What a trigger remembers about the last data it saw: a content hash, an element count and the
+ * validators needed for a conditional request, instead of the response itself.
+ *
+ * @param hash         SHA-256 of the compared data
+ * @param size         collection size or string length of the compared data, {@code -1} if unknown
+ * @param etag         {@code ETag} of the response the hash was taken from, if any
+ * @param lastModified {@code Last-Modified} of that response, if any
+ */
+public record PollState(byte[] hash, int size, String etag, String lastModified) {
+
+    public boolean sameContent(PollState other) {
+        return other != null && MessageDigest.isEqual(hash, other.hash);
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+}
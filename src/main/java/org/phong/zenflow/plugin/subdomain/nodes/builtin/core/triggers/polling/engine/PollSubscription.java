@@ -0,0 +1,59 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.resource.PollingResponseCache;
+import org.phong.zenflow.workflow.subdomain.trigger.interfaces.TriggerContextTool;
+
+import java.util.UUID;
+
+/**
+ * A polling trigger registered with the {@link PollingEngine}. Its last {@link PollState} lives in the
+ * trigger's {@link PollingResponseCache}.
+ */
+@Getter
+@Builder
+public class PollSubscription {
+    private static final String STATE_KEY = "lastState";
+
+    private final UUID triggerId;
+    private final UUID workflowId;
+    private final UUID triggerExecutorId;
+    private final PollTarget target;
+    private final int intervalSeconds;
+    private final int timeoutSeconds;
+    private final String changeDetectionStrategy;
+    private final String jsonPath;
+    private final boolean includeResponse;
+    private final TriggerContextTool contextTool;
+    private final PollingResponseCache cache;
+
+    // Next time (System.nanoTime) this trigger wants fresh data; 0 means immediately
+    private volatile long nextDueNanos;
+
+    PollState state() {
+        return (PollState) cache.get(STATE_KEY);
+    }
+
+    void updateState(PollState state) {
+        cache.put(STATE_KEY, state);
+    }
+
+    boolean hasJsonPath() {
+        return jsonPath != null && !jsonPath.isBlank();
+    }
+
+    boolean isDue(long now) {
+        return now - nextDueNanos >= 0;
+    }
+
+    /**
+     * Moves the due time one interval past the previous one, so a fetch that fired late does not push back the
+     * following ones; after a pause longer than the interval it restarts from {@code now}.
+     */
+    void markPolled(long now) {
+        long interval = intervalSeconds * 1_000_000_000L;
+        long next = nextDueNanos + interval;
+        nextDueNanos = nextDueNanos != 0 && next - now > 0 ? next : now + interval;
+    }
+}
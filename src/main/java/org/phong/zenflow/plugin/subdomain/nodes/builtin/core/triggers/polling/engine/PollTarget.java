@@ -0,0 +1,34 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Identity of an upstream request. Triggers with equal targets share a single fetch per tick.
+ * <p>
+ * Header names are lower-cased and sorted, and the body is only kept for methods that send one, so
+ * cosmetically different trigger configs still coalesce.
+ */
+public record PollTarget(HttpMethod method, String url, Map<String, String> headers, Object body) {
+
+    public static PollTarget of(String httpMethod, String url, Map<String, Object> headers, Object body) {
+        HttpMethod method = HttpMethod.valueOf(httpMethod.toUpperCase(Locale.ROOT));
+
+        Map<String, String> normalized = new TreeMap<>();
+        if (headers != null) {
+            headers.forEach((key, value) -> {
+                if (value != null) {
+                    normalized.put(key.toLowerCase(Locale.ROOT), value.toString());
+                }
+            });
+        }
+
+        // Body is only sent for POST/PUT requests
+        Object effectiveBody = HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method) ? body : null;
+        return new PollTarget(method, url.trim(), Collections.unmodifiableMap(normalized), effectiveBody);
+    }
+}
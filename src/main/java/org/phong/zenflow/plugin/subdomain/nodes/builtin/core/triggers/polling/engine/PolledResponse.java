@@ -0,0 +1,87 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.core.http.ResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * One upstream response shared by every trigger of a poll group. The raw hash and the decoded value are
+ * computed at most once, and only if some trigger needs them.
+ */
+@Slf4j
+final class PolledResponse {
+    private final ResponseBody body;
+    private final String etag;
+    private final String lastModified;
+
+    private byte[] rawHash;
+    private boolean decoded;
+    private Object value;
+
+    PolledResponse(ResponseBody body, String etag, String lastModified) {
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    String etag() {
+        return etag;
+    }
+
+    String lastModified() {
+        return lastModified;
+    }
+
+    synchronized byte[] rawHash() {
+        if (rawHash == null) {
+            try {
+                rawHash = body.isSpilled() ? Digests.of(body.file()) : Digests.of(body.content());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return rawHash;
+    }
+
+    /**
+     * The body as JSON (maps, lists, scalars), falling back to text for non-JSON in-memory bodies.
+     */
+    synchronized Object value(ObjectMapper objectMapper) {
+        if (!decoded) {
+            decoded = true;
+            value = decode(objectMapper);
+        }
+        return value;
+    }
+
+    void discard() {
+        if (body.isSpilled()) {
+            try {
+                Files.deleteIfExists(body.file());
+            } catch (IOException e) {
+                log.warn("Failed to delete polling spill file {}: {}", body.file(), e.getMessage());
+            }
+        }
+    }
+
+    private Object decode(ObjectMapper objectMapper) {
+        if (body.isEmpty()) {
+            return null;
+        }
+        try {
+            return body.isSpilled()
+                    ? objectMapper.readValue(body.file().toFile(), Object.class)
+                    : objectMapper.readValue(body.content(), Object.class);
+        } catch (IOException e) {
+            if (body.isSpilled()) {
+                log.debug("Spilled polling response is not JSON, only its hash is used: {}", e.getMessage());
+                return null;
+            }
+            return body.asString();
+        }
+    }
+}
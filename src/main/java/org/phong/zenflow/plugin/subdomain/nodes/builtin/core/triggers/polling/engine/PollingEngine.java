@@ -0,0 +1,392 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.core.http.OutboundHttpClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs all polling triggers of this instance on one shared timer wheel.
+ * <p>
+ * Triggers with the same {@link PollTarget} form a group that is fetched once per tick, when its earliest member
+ * is due plus a little jitter; the members due at that point evaluate the response. A new group is fetched right away, and a member with a shorter interval brings the group's pending
+ * fetch forward. Members remember a {@link PollState} rather than the payload, and when all due members last saw the
+ * same {@code ETag}/{@code Last-Modified}, the fetch is sent as a conditional request.
+ */
+@Component
+@Slf4j
+public class PollingEngine {
+    // Upper bound of the random delay before a group's first fetch
+    private static final long MAX_START_JITTER_MS = 1000;
+
+    private final OutboundHttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final double jitterRatio;
+    private final HashedWheelTimer timer;
+    private final Map<PollTarget, PollGroup> groups = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    public PollingEngine(OutboundHttpClient httpClient,
+                         ObjectMapper objectMapper,
+                         @Qualifier("virtualThreadExecutor") Executor executor,
+                         @Value("${zenflow.polling.jitter-ratio:0.1}") double jitterRatio,
+                         @Value("${zenflow.polling.tick-duration:PT0.1S}") Duration tickDuration,
+                         @Value("${zenflow.polling.wheel-size:512}") int wheelSize) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.jitterRatio = Math.max(0, Math.min(jitterRatio, 0.5));
+        this.timer = new HashedWheelTimer(Thread.ofPlatform().name("polling-wheel").daemon().factory(),
+                tickDuration.toMillis(), TimeUnit.MILLISECONDS, wheelSize);
+    }
+
+    public void register(PollSubscription subscription) {
+        groups.compute(subscription.getTarget(), (target, group) -> {
+            PollGroup joined = group != null ? group : new PollGroup(target);
+            joined.members.put(subscription.getTriggerId(), subscription);
+            long intervalMillis = subscription.getIntervalSeconds() * 1000L;
+            if (group == null) {
+                schedule(joined, startDelayMillis(intervalMillis));
+            } else {
+                synchronized (joined) {
+                    // Only a pending fetch can be moved; one that already fired picks up the new interval when it
+                    // schedules the next fetch
+                    Timeout pending = joined.timeout;
+                    if (joined.millisUntilNextPoll() > intervalMillis && pending != null && pending.cancel()) {
+                        schedule(joined, startDelayMillis(intervalMillis));
+                    }
+                }
+            }
+            return joined;
+        });
+        log.debug("Registered polling trigger {} ({} {})", subscription.getTriggerId(),
+                subscription.getTarget().method(), subscription.getTarget().url());
+    }
+
+    public void unregister(PollSubscription subscription) {
+        groups.computeIfPresent(subscription.getTarget(), (target, group) -> {
+            group.members.remove(subscription.getTriggerId());
+            if (group.members.isEmpty()) {
+                group.cancel();
+                return null;
+            }
+            return group;
+        });
+    }
+
+    public boolean isRunning() {
+        return !stopped;
+    }
+
+    public int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * @return milliseconds until the next fetch of {@code target}'s group, or {@code -1} when it has no group
+     */
+    long millisUntilNextPoll(PollTarget target) {
+        PollGroup group = groups.get(target);
+        return group != null ? group.millisUntilNextPoll() : -1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        groups.values().forEach(PollGroup::cancel);
+        groups.clear();
+        timer.stop();
+    }
+
+    private void schedule(PollGroup group, long delayMillis) {
+        if (group.cancelled) {
+            return;
+        }
+        long delay = Math.max(delayMillis, 0);
+        group.nextPollNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+        // The wheel thread only hands off; fetching and evaluating run on a virtual thread
+        group.timeout = timer.newTimeout(t -> executor.execute(() -> poll(group)), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Delay before fetching a group right away: a little jitter, so the groups registered on startup do not all
+     * fire on the same tick.
+     */
+    private long startDelayMillis(long intervalMillis) {
+        double maxJitter = Math.min(intervalMillis * jitterRatio, MAX_START_JITTER_MS);
+        return (long) (ThreadLocalRandom.current().nextDouble() * maxJitter);
+    }
+
+    /**
+     * Delay until the group's earliest member is due, plus jitter. The jitter only ever delays, so the fetch never
+     * fires before anyone is due; members schedule their next due time from the previous one, so it does not add up.
+     */
+    private long nextDelayMillis(PollGroup group) {
+        long now = System.nanoTime();
+        long untilDue = Long.MAX_VALUE;
+        long intervalMillis = Long.MAX_VALUE;
+        for (PollSubscription member : group.members.values()) {
+            untilDue = Math.min(untilDue, member.getNextDueNanos() - now);
+            intervalMillis = Math.min(intervalMillis, member.getIntervalSeconds() * 1000L);
+        }
+        if (untilDue == Long.MAX_VALUE) {
+            return 1000L;
+        }
+        long jitter = (long) (ThreadLocalRandom.current().nextDouble() * intervalMillis * jitterRatio);
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(untilDue)) + jitter;
+    }
+
+    void poll(PollGroup group) {
+        long now = System.nanoTime();
+        List<PollSubscription> due = group.members.values().stream()
+                .filter(member -> member.isDue(now))
+                .toList();
+        try {
+            if (!due.isEmpty()) {
+                fetchAndEvaluate(group.target, due);
+            }
+        } catch (WebClientResponseException e) {
+            log.warn("HTTP error while polling {}: {} - {}", group.target.url(), e.getStatusCode(),
+                    e.getResponseBodyAsString());
+        } catch (Exception e) {
+            log.error("Error polling {}: {}", group.target.url(), e.getMessage(), e);
+        } finally {
+            // A failed fetch counts too, so an unreachable target is retried at its interval, not in a loop
+            due.forEach(member -> member.markPolled(now));
+            synchronized (group) {
+                schedule(group, nextDelayMillis(group));
+            }
+        }
+    }
+
+    private void fetchAndEvaluate(PollTarget target, List<PollSubscription> due) {
+        PollState common = commonValidators(due);
+        int timeoutSeconds = due.stream().mapToInt(PollSubscription::getTimeoutSeconds).max().orElse(30);
+
+        WebClient.RequestBodySpec request = httpClient.getWebClient()
+                .method(target.method())
+                .uri(target.url());
+        target.headers().forEach((name, value) -> request.header(name, value));
+        if (common != null) {
+            if (common.etag() != null) {
+                request.header(HttpHeaders.IF_NONE_MATCH, common.etag());
+            }
+            if (common.lastModified() != null) {
+                request.header(HttpHeaders.IF_MODIFIED_SINCE, common.lastModified());
+            }
+        }
+        WebClient.RequestHeadersSpec<?> finalRequest = target.body() != null ? request.bodyValue(target.body()) : request;
+
+        PolledResponse response = finalRequest
+                .<PolledResponse>exchangeToMono(clientResponse -> {
+                    if (clientResponse.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        return clientResponse.releaseBody().then(Mono.empty());
+                    }
+                    if (clientResponse.statusCode().isError()) {
+                        return clientResponse.createException().flatMap(Mono::<PolledResponse>error);
+                    }
+                    HttpHeaders headers = clientResponse.headers().asHttpHeaders();
+                    return httpClient.readBody(clientResponse)
+                            .map(body -> new PolledResponse(body, headers.getETag(),
+                                    headers.getFirst(HttpHeaders.LAST_MODIFIED)));
+                })
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .block();
+
+        if (response == null) {
+            log.debug("{} not modified, skipping {} trigger(s)", target.url(), due.size());
+            return;
+        }
+        try {
+            for (PollSubscription member : due) {
+                try {
+                    evaluate(member, response);
+                } catch (Exception e) {
+                    log.error("Failed to evaluate polling trigger {}: {}", member.getTriggerId(), e.getMessage(), e);
+                }
+            }
+        } finally {
+            response.discard();
+        }
+    }
+
+    /**
+     * Validators shared by every due member, or {@code null} when any member lacks a baseline or saw a
+     * different version; in that case a full fetch is needed.
+     */
+    private static PollState commonValidators(List<PollSubscription> due) {
+        PollState first = due.getFirst().state();
+        if (first == null || !first.hasValidators()) {
+            return null;
+        }
+        for (PollSubscription member : due) {
+            PollState state = member.state();
+            if (state == null || !Objects.equals(state.etag(), first.etag())
+                    || !Objects.equals(state.lastModified(), first.lastModified())) {
+                return null;
+            }
+        }
+        return first;
+    }
+
+    void evaluate(PollSubscription member, PolledResponse response) throws IOException {
+        boolean needsValue = member.hasJsonPath() || member.isIncludeResponse()
+                || "size_change".equalsIgnoreCase(member.getChangeDetectionStrategy());
+        Object value = needsValue ? response.value(objectMapper) : null;
+        Object compared = member.hasJsonPath() ? extractJsonPath(value, member.getJsonPath()) : value;
+
+        byte[] hash = member.hasJsonPath() ? Digests.ofValue(objectMapper, compared) : response.rawHash();
+        PollState current = new PollState(hash, sizeOf(compared), response.etag(), response.lastModified());
+        PollState previous = member.state();
+
+        if (!hasChanged(current, previous, member.getChangeDetectionStrategy())) {
+            // Still record the new validators so the next fetch can be conditional
+            member.updateState(current);
+            log.debug("No changes detected for polling trigger: {}", member.getTriggerId());
+            return;
+        }
+
+        log.info("Change detected for polling trigger: {}", member.getTriggerId());
+        member.updateState(current);
+
+        Map<String, Object> payload = createPayload(member, value, compared, needsValue, current, previous);
+        UUID triggerId = member.getTriggerId();
+        member.getContextTool().startWorkflow(member.getWorkflowId(), member.getTriggerExecutorId(), payload);
+        member.getContextTool().markTriggered(triggerId, Instant.now());
+    }
+
+    static boolean hasChanged(PollState current, PollState previous, String strategy) {
+        if (previous == null) {
+            return true;
+        }
+        if ("size_change".equalsIgnoreCase(strategy) && current.size() >= 0 && previous.size() >= 0) {
+            return current.size() != previous.size();
+        }
+        return !current.sameContent(previous);
+    }
+
+    private static int sizeOf(Object data) {
+        if (data instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (data instanceof String string) {
+            return string.length();
+        }
+        return -1;
+    }
+
+    private Map<String, Object> createPayload(PollSubscription member, Object response, Object compared,
+                                              boolean decoded, PollState current, PollState previous) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("polling_url", member.getTarget().url());
+        payload.put("change_type", determineChangeType(compared, decoded, current, previous));
+        payload.put("polling_method", member.getTarget().method().name());
+        payload.put("detection_strategy", member.getChangeDetectionStrategy());
+
+        if (member.isIncludeResponse()) {
+            payload.put("response_data", response);
+        }
+
+        if (member.hasJsonPath()) {
+            payload.put("extracted_data", compared);
+            payload.put("json_path", member.getJsonPath());
+        }
+
+        return payload;
+    }
+
+    private static String determineChangeType(Object compared, boolean decoded, PollState current,
+                                              PollState previous) {
+        if (previous == null) {
+            return "initial_data";
+        }
+        if (decoded && compared == null) {
+            return "data_removed";
+        }
+        if (current.size() >= 0 && previous.size() >= 0 && compared instanceof Collection<?>) {
+            if (current.size() > previous.size()) {
+                return "items_added";
+            } else if (current.size() < previous.size()) {
+                return "items_removed";
+            }
+            return "items_modified";
+        }
+        return "data_changed";
+    }
+
+    /**
+     * Simple JSON path extraction (basic implementation)
+     */
+    @SuppressWarnings("unchecked")
+    private static Object extractJsonPath(Object response, String jsonPath) {
+        try {
+            if (response instanceof Map && jsonPath.startsWith("$.")) {
+                String[] parts = jsonPath.substring(2).split("\\.");
+                Object current = response;
+                for (String part : parts) {
+                    if (current instanceof Map) {
+                        current = ((Map<String, Object>) current).get(part);
+                    } else {
+                        return null;
+                    }
+                }
+                return current;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to extract JSON path '{}': {}", jsonPath, e.getMessage());
+        }
+        return response; // Fallback to full response
+    }
+
+    /**
+     * Triggers sharing one upstream request.
+     */
+    final class PollGroup {
+        private final PollTarget target;
+        private final Map<UUID, PollSubscription> members = new ConcurrentHashMap<>();
+        private volatile Timeout timeout;
+        private volatile long nextPollNanos;
+        private volatile boolean cancelled;
+
+        PollGroup(PollTarget target) {
+            this.target = target;
+        }
+
+        long millisUntilNextPoll() {
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(nextPollNanos - System.nanoTime()));
+        }
+
+        void cancel() {
+            cancelled = true;
+            Timeout pending = timeout;
+            if (pending != null) {
+                pending.cancel();
+            }
+        }
+    }
+}
@@ -3,7 +3,7 @@ package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.r
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Cache for storing last polling responses for change detection.
+ * Per-trigger state for change detection (the last {@code PollState}, not the response itself).
  * Managed by {@link PollingResponseCacheManager} using the BaseNodeResourceManager pattern.
  */
 public class PollingResponseCache {
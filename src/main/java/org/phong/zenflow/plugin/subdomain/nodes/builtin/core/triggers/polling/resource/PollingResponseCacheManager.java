@@ -3,6 +3,7 @@ package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.r
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.plugin.subdomain.resource.BaseNodeResourceManager;
 import org.phong.zenflow.workflow.subdomain.trigger.resource.DefaultTriggerResourceConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -13,6 +14,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class PollingResponseCacheManager extends BaseNodeResourceManager<PollingResponseCache, DefaultTriggerResourceConfig> {
 
+    // One small cache per running trigger; sized so live triggers are never evicted
+    public PollingResponseCacheManager(@Value("${zenflow.polling.max-triggers:10000}") long maxTriggers) {
+        super(maxTriggers);
+    }
+
     @Override
     protected PollingResponseCache createResource(String resourceKey, DefaultTriggerResourceConfig config) {
         log.info("Creating polling response cache for key: {}", resourceKey);
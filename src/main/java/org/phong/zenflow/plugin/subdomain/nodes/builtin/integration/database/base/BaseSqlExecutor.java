@@ -1,22 +1,52 @@
 package org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.database.base;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.exceptions.ExecutorException;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.database.base.dto.ResolvedDbConfig;
+import org.phong.zenflow.workflow.subdomain.context.RunTempFiles;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.sql.*;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class BaseSqlExecutor {
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    private final ObjectMapper objectMapper;
+    private final RunTempFiles runTempFiles;
+    private final Path spoolDirectory;
+
+    public BaseSqlExecutor(ObjectMapper objectMapper,
+                           RunTempFiles runTempFiles,
+                           @Value("${zenflow.plugin.sql.spool-dir:${java.io.tmpdir}}") String spoolDirectory) {
+        this.objectMapper = objectMapper;
+        this.runTempFiles = runTempFiles;
+        this.spoolDirectory = Path.of(spoolDirectory);
+    }
+
+    /**
+     * Removes spools of runs that ended while this or another instance was down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepSpoolDirectory() {
+        runTempFiles.sweepOrphans(spoolDirectory, SqlRowSpool.DIRECTORY_PREFIX + "*");
+    }
 
     @FunctionalInterface
     public interface ParameterBinder {
@@ -34,9 +64,18 @@ public class BaseSqlExecutor {
 
     public ExecutionResult execute(ResolvedDbConfig config, NodeLogPublisher nodeLog,
                                    ParameterBinder parameterBinder, ResultProcessor resultProcessor) {
+        return execute(null, config, nodeLog, parameterBinder, resultProcessor);
+    }
+
+    /**
+     * @param runId run that owns the spool of a streamed query, deleted when the run finishes; without one the
+     *              spool is only removed by the startup sweep
+     */
+    public ExecutionResult execute(UUID runId, ResolvedDbConfig config, NodeLogPublisher nodeLog,
+                                   ParameterBinder parameterBinder, ResultProcessor resultProcessor) {
         try {
             nodeLog.info("Executing {} query with config: {}", config.getDriver(), config);
-            Map<String, Object> result = executeGeneric(config, nodeLog, parameterBinder);
+            Map<String, Object> result = executeGeneric(runId, config, nodeLog, parameterBinder);
 
             if (resultProcessor != null) {
                 result = resultProcessor.process(result, config, nodeLog);
@@ -49,20 +88,22 @@ public class BaseSqlExecutor {
         }
     }
 
-    private Map<String, Object> executeGeneric(ResolvedDbConfig config, NodeLogPublisher nodeLog, ParameterBinder parameterBinder) {
+    private Map<String, Object> executeGeneric(UUID runId, ResolvedDbConfig config, NodeLogPublisher nodeLog,
+                                               ParameterBinder parameterBinder) {
         String query = config.getQuery();
         boolean enableTransaction = config.getParams() != null && (boolean) config.getParams().getOrDefault("enableTransaction", false);
 
         try (Connection conn = config.getDataSource().getConnection()) {
-            return prepareAndExecute(config, nodeLog, conn, query, enableTransaction, parameterBinder);
+            return prepareAndExecute(runId, config, nodeLog, conn, query, enableTransaction, parameterBinder);
         } catch (SQLException e) {
             nodeLog.withException(e).error("SQL error: {}", e.getMessage());
             throw new ExecutorException("SQL error: " + e.getMessage(), e);
         }
     }
 
-    private Map<String, Object> prepareAndExecute(ResolvedDbConfig config, NodeLogPublisher nodeLog, Connection conn,
-                                                  String query, boolean enableTransaction, ParameterBinder parameterBinder) {
+    private Map<String, Object> prepareAndExecute(UUID runId, ResolvedDbConfig config, NodeLogPublisher nodeLog,
+                                                  Connection conn, String query, boolean enableTransaction,
+                                                  ParameterBinder parameterBinder) {
         try (PreparedStatement stmt = conn.prepareStatement(query)) {
             nodeLog.info("Preparing statement: {}", query);
             Instant start = Instant.now();
@@ -73,7 +114,18 @@ public class BaseSqlExecutor {
                 parameterBinder.bind(stmt, config, nodeLog, isBatch);
             }
 
-            if (enableTransaction) {
+            // Streaming needs a cursor, which the PostgreSQL driver only opens inside a transaction
+            boolean streaming = isStreaming(config);
+            if (streaming) {
+                stmt.setFetchSize(getIntParam(config, "fetchSize", DEFAULT_FETCH_SIZE));
+            }
+            // The driver stops reading after maxRows, inline or through the cursor
+            int maxRows = getIntParam(config, "maxRows", 0);
+            if (maxRows > 0) {
+                stmt.setMaxRows(maxRows);
+            }
+
+            if (enableTransaction || streaming) {
                 conn.setAutoCommit(false);
             }
 
@@ -90,15 +142,18 @@ public class BaseSqlExecutor {
                 isResult = stmt.execute();
                 affectedRows = stmt.getUpdateCount();
             }
-            if (enableTransaction) {
-                conn.commit();
-            }
             Instant end = Instant.now();
             nodeLog.info("Execution time: {} ms", Duration.between(start, end).toMillis());
 
-            return getOutputResult(nodeLog, query, isResult, stmt, start, end, affectedRows, batchCounts);
+            // Rows are read before committing so that a streaming cursor is still open
+            Map<String, Object> output = getOutputResult(runId, config, nodeLog, query, isResult, stmt, start, end,
+                    affectedRows, batchCounts, streaming);
+            if (enableTransaction || streaming) {
+                conn.commit();
+            }
+            return output;
         } catch (Exception e) {
-            if (enableTransaction && conn != null) {
+            if ((enableTransaction || isStreaming(config)) && conn != null) {
                 try {
                     nodeLog.info("Rolling back transaction due to error: {}", e.getMessage());
                     conn.rollback();
@@ -111,15 +166,18 @@ public class BaseSqlExecutor {
         }
     }
 
-    private Map<String, Object> getOutputResult(NodeLogPublisher nodeLog, String query, boolean isResult,
-                                               PreparedStatement stmt, Instant start, Instant end,
-                                               int affectedRows, int[] batchCounts) throws Exception {
-        if (isResult) {
+    private Map<String, Object> getOutputResult(UUID runId, ResolvedDbConfig config, NodeLogPublisher nodeLog,
+                                               String query, boolean isResult, PreparedStatement stmt, Instant start, Instant end,
+                                               int affectedRows, int[] batchCounts, boolean streaming) throws Exception {
+        if (isResult && streaming) {
+            return spoolRows(runId, config, nodeLog, query, stmt.getResultSet(), start);
+        } else if (isResult) {
             ResultSet resultSet = stmt.getResultSet();
             List<Object> results = extractRows(resultSet);
 
             return Map.of(
                     "query", query,
+                    "queryType", queryTypeOf(query),
                     "executionTime", getExecutionTime(start, end),
                     "rowCount", results.size(),
                     "results", results
@@ -129,6 +187,7 @@ public class BaseSqlExecutor {
 
             Map<String, Object> result = new HashMap<>();
             result.put("query", query);
+            result.put("queryType", queryTypeOf(query));
             result.put("executionTime", getExecutionTime(start, end));
             result.put("affectedRows", affectedRows);
             if (batchCounts != null) {
@@ -140,12 +199,12 @@ public class BaseSqlExecutor {
 
     private List<Object> extractRows(ResultSet rs) throws Exception {
         List<Object> results = new ArrayList<>();
-        int colCount = rs.getMetaData().getColumnCount();
+        String[] labels = columnLabels(rs.getMetaData());
 
         while (rs.next()) {
-            Map<String, Object> row = new HashMap<>();
-            for (int i = 1; i <= colCount; i++) {
-                row.put(rs.getMetaData().getColumnLabel(i), rs.getObject(i));
+            Map<String, Object> row = HashMap.newHashMap(labels.length);
+            for (int i = 0; i < labels.length; i++) {
+                row.put(labels[i], rs.getObject(i + 1));
             }
             results.add(row);
         }
@@ -153,6 +212,86 @@ public class BaseSqlExecutor {
         return results;
     }
 
+    /**
+     * Drains the cursor into a {@link SqlRowSpool} and returns chunk file descriptors instead of the rows,
+     * keeping heap usage independent of the result size. The spool belongs to {@code runId} and is deleted once
+     * the run finishes, or right away if reading the cursor fails.
+     */
+    private Map<String, Object> spoolRows(UUID runId, ResolvedDbConfig config, NodeLogPublisher nodeLog, String query,
+                                          ResultSet rs, Instant start) throws Exception {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] labels = columnLabels(metaData);
+        int chunkSize = getIntParam(config, "chunkSize", DEFAULT_CHUNK_SIZE);
+
+        SqlRowSpool spool = SqlRowSpool.open(objectMapper, spoolDirectory, labels, chunkSize);
+        List<Map<String, Object>> chunks;
+        try {
+            while (rs.next()) {
+                spool.write(rs);
+            }
+            chunks = spool.finish();
+        } catch (Exception e) {
+            spool.discard();
+            throw e;
+        }
+        if (runId != null) {
+            runTempFiles.register(runId, spool.directory());
+        }
+        nodeLog.info("Streamed {} rows into {} chunk(s) under {}", spool.rowCount(), chunks.size(), spool.directory());
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("query", query);
+        result.put("queryType", queryTypeOf(query));
+        result.put("executionTime", getExecutionTime(start, Instant.now()));
+        result.put("rowCount", spool.rowCount());
+        result.put("columns", describeColumns(metaData, labels));
+        result.put("streamed", true);
+        result.put("chunkSize", chunkSize);
+        result.put("chunks", chunks);
+        return result;
+    }
+
+    private String[] columnLabels(ResultSetMetaData metaData) throws SQLException {
+        String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        return labels;
+    }
+
+    private List<Map<String, Object>> describeColumns(ResultSetMetaData metaData, String[] labels) throws SQLException {
+        List<Map<String, Object>> columns = new ArrayList<>(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            columns.add(Map.of(
+                    "name", labels[i],
+                    "type", metaData.getColumnTypeName(i + 1),
+                    "nullable", metaData.isNullable(i + 1) != ResultSetMetaData.columnNoNulls
+            ));
+        }
+        return columns;
+    }
+
+    private boolean isStreaming(ResolvedDbConfig config) {
+        return config.getParams() != null && Boolean.TRUE.equals(config.getParams().get("streaming"));
+    }
+
+    private int getIntParam(ResolvedDbConfig config, String key, int defaultValue) {
+        Object value = config.getParams() != null ? config.getParams().get(key) : null;
+        return value instanceof Number number && number.intValue() > 0 ? number.intValue() : defaultValue;
+    }
+
+    /**
+     * Leading keyword of the statement, such as {@code SELECT}, {@code INSERT} or {@code WITH}.
+     */
+    static String queryTypeOf(String query) {
+        String trimmed = query == null ? "" : query.strip();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "UNKNOWN" : trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
     private String getExecutionTime(Instant start, Instant end) {
         return Duration.between(start, end).toMillis() + " ms";
     }
@@ -0,0 +1,143 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.database.base;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * File-backed row store for streamed query results.
+ * <p>
+ * Rows are written straight from the {@link ResultSet} cursor as newline-delimited JSON into chunk files of at most
+ * {@code chunkSize} rows, so only the row being written is held in memory. Downstream nodes receive the chunk file
+ * paths and can read them one at a time. Spool files live in a per-execution temp directory that the executor hands
+ * to {@link org.phong.zenflow.workflow.subdomain.context.RunTempFiles}, so it is deleted when the run finishes.
+ */
+@Slf4j
+final class SqlRowSpool implements Closeable {
+    static final String DIRECTORY_PREFIX = "zenflow-sql-";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final String[] columns;
+    private final int chunkSize;
+    private final List<Map<String, Object>> chunks = new ArrayList<>();
+
+    private JsonGenerator generator;
+    private Path currentChunk;
+    private int rowsInChunk;
+    private long rowCount;
+
+    private SqlRowSpool(ObjectMapper objectMapper, Path directory, String[] columns, int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.columns = columns;
+        this.chunkSize = chunkSize;
+    }
+
+    static SqlRowSpool open(ObjectMapper objectMapper, Path baseDirectory, String[] columns, int chunkSize)
+            throws IOException {
+        Files.createDirectories(baseDirectory);
+        Path directory = Files.createTempDirectory(baseDirectory, DIRECTORY_PREFIX);
+        return new SqlRowSpool(objectMapper, directory, columns, Math.max(1, chunkSize));
+    }
+
+    /**
+     * Writes the row the cursor currently points at.
+     */
+    void write(ResultSet rs) throws SQLException, IOException {
+        if (generator == null || rowsInChunk >= chunkSize) {
+            rollChunk();
+        }
+
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            generator.writeObject(toJsonValue(rs.getObject(i + 1)));
+        }
+        generator.writeEndObject();
+        rowsInChunk++;
+        rowCount++;
+    }
+
+    /**
+     * Flushes the open chunk and returns its descriptors ({@code index}, {@code path}, {@code rowCount}).
+     */
+    List<Map<String, Object>> finish() throws IOException {
+        closeChunk();
+        return List.copyOf(chunks);
+    }
+
+    long rowCount() {
+        return rowCount;
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    /**
+     * Deletes everything written so far; used when the query fails half-way through the cursor.
+     */
+    void discard() {
+        try {
+            closeChunk();
+        } catch (IOException e) {
+            log.debug("Failed to close spool chunk {}: {}", currentChunk, e.getMessage());
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Failed to delete SQL spool directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeChunk();
+    }
+
+    private void rollChunk() throws IOException {
+        closeChunk();
+        currentChunk = directory.resolve("chunk-%05d.ndjson".formatted(chunks.size()));
+        generator = objectMapper.createGenerator(new BufferedOutputStream(Files.newOutputStream(currentChunk), BUFFER_SIZE));
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        rowsInChunk = 0;
+    }
+
+    private void closeChunk() throws IOException {
+        if (generator == null) {
+            return;
+        }
+        generator.writeRaw('\n');
+        generator.close();
+        generator = null;
+        chunks.add(Map.of(
+                "index", chunks.size(),
+                "path", currentChunk.toString(),
+                "rowCount", rowsInChunk
+        ));
+    }
+
+    private static Object toJsonValue(Object value) throws SQLException {
+        if (value instanceof Array array) {
+            return array.getArray();
+        }
+        return value;
+    }
+}
@@ -79,6 +79,17 @@ public class ResolvedDbConfig {
                 extractedParams.put("enableTransaction", input.get("enableTransaction"));
             }
 
+            // Streaming result sets
+            if (input.containsKey("streaming")) {
+                extractedParams.put("streaming", input.get("streaming"));
+            }
+            if (input.containsKey("fetchSize")) {
+                extractedParams.put("fetchSize", input.get("fetchSize"));
+            }
+            if (input.containsKey("chunkSize")) {
+                extractedParams.put("chunkSize", input.get("chunkSize"));
+            }
+
             // Handle batch query parameters
             if (input.containsKey("batchValues")) {
                 extractedParams.put("batchValues", input.get("batchValues"));
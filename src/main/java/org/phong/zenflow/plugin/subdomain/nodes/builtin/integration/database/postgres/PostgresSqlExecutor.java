@@ -63,7 +63,8 @@ public class PostgresSqlExecutor implements PluginNodeExecutor {
             BaseSqlExecutor.ResultProcessor resultProcessor = postgresHandler.createResultProcessor();
 
             // Execute using BaseSqlExecutor with PostgreSQL-specific lambdas
-            return baseSqlExecutor.execute(dbConfig, logPublisher, parameterBinder, resultProcessor);
+            return baseSqlExecutor.execute(context.getWorkflowRunId(), dbConfig, logPublisher, parameterBinder,
+                    resultProcessor);
 
         } catch (Exception e) {
             logPublisher.withException(e).error("Postgres SQL execution failed: {}", e.getMessage());
@@ -3,13 +3,12 @@ package org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.discord.exe
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
 import net.dv8tion.jda.api.utils.messages.MessageCreateData;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
-import org.phong.zenflow.plugin.subdomain.execution.interfaces.PluginNodeExecutor;
+import org.phong.zenflow.plugin.subdomain.execution.interfaces.AsyncPluginNodeExecutor;
 import org.phong.zenflow.plugin.subdomain.node.registry.PluginNode;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.discord.core.DiscordJdaResourceManager;
 import org.phong.zenflow.plugin.subdomain.resource.ScopedNodeResource;
@@ -23,6 +22,9 @@ import java.awt.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 @Component
 @PluginNode(
@@ -36,14 +38,16 @@ import java.util.List;
 )
 @Slf4j
 @AllArgsConstructor
-public class DiscordMessageExecutor implements PluginNodeExecutor {
+public class DiscordMessageExecutor implements AsyncPluginNodeExecutor {
 
     private final DiscordJdaResourceManager jdaResourceManager;
     @Override
-    public ExecutionResult execute(WorkflowConfig config, ExecutionContext context) {
-        NodeLogPublisher logs = context.getLogPublisher();
+    public CompletionStage<ExecutionResult> executeAsync(WorkflowConfig config, ExecutionContext context) {
+        // JDA completes the send on its own threads, so log through a publisher bound to this node
+        NodeLogPublisher logs = context.getLogPublisher().pinned();
 
         String botToken;
+        ScopedNodeResource<JDA> handle = null;
         try {
             Map<String, Object> input = config.input();
 
@@ -54,13 +58,13 @@ public class DiscordMessageExecutor implements PluginNodeExecutor {
 
             // Validate required parameters
             if (botToken == null || botToken.trim().isEmpty()) {
-                return ExecutionResult.error("BOT_TOKEN is required");
+                return CompletableFuture.completedFuture(ExecutionResult.error("BOT_TOKEN is required"));
             }
             if (channelId == null || channelId.trim().isEmpty()) {
-                return ExecutionResult.error("channel_id is required");
+                return CompletableFuture.completedFuture(ExecutionResult.error("channel_id is required"));
             }
             if (message == null || message.trim().isEmpty()) {
-                return ExecutionResult.error("message is required");
+                return CompletableFuture.completedFuture(ExecutionResult.error("message is required"));
             }
 
             logs.info("Sending Discord message to channel: {}", channelId);
@@ -69,41 +73,53 @@ public class DiscordMessageExecutor implements PluginNodeExecutor {
             configMap.put("BOT_TOKEN", botToken);
             DefaultTriggerResourceConfig resourceConfig = new DefaultTriggerResourceConfig(configMap, "BOT_TOKEN");
 
-            try (ScopedNodeResource<JDA> handle = jdaResourceManager.acquire(botToken, context.getWorkflowRunId(), resourceConfig)) {
-                JDA jda = handle.getResource();
+            handle = jdaResourceManager.acquire(botToken, context.getWorkflowRunId(), resourceConfig);
+            JDA jda = handle.getResource();
 
-                // Get the text channel
-                TextChannel channel = jda.getTextChannelById(channelId);
-                if (channel == null) {
-                    logs.error("Channel not found or bot doesn't have access: {}", channelId);
-                    return ExecutionResult.error("Channel not found or bot doesn't have access to channel: " + channelId);
-                }
-
-                // Create message
-                MessageCreateData messageData = createMessage(input, message);
-
-                // Send message and get response
-                Message sentMessage = channel.sendMessage(messageData).complete();
-
-                logs.success("Message sent successfully to channel: {}", channelId);
-
-                // Return response with message details
-                Map<String, Object> output = new HashMap<>();
-                output.put("message_id", sentMessage.getId());
-                output.put("channel_id", channelId);
-                output.put("timestamp", sentMessage.getTimeCreated().toString());
-                output.put("content", sentMessage.getContentDisplay());
-
-                return ExecutionResult.success(output);
+            // Get the text channel
+            TextChannel channel = jda.getTextChannelById(channelId);
+            if (channel == null) {
+                handle.close();
+                logs.error("Channel not found or bot doesn't have access: {}", channelId);
+                return CompletableFuture.completedFuture(
+                        ExecutionResult.error("Channel not found or bot doesn't have access to channel: " + channelId));
             }
 
+            // Create message
+            MessageCreateData messageData = createMessage(input, message);
+
+            // Send without blocking; the resource handle is released once JDA answers
+            ScopedNodeResource<JDA> acquired = handle;
+            return channel.sendMessage(messageData).submit()
+                    .whenComplete((sent, error) -> acquired.close())
+                    .thenApply(sentMessage -> {
+                        logs.success("Message sent successfully to channel: {}", channelId);
+
+                        // Return response with message details
+                        Map<String, Object> output = new HashMap<>();
+                        output.put("message_id", sentMessage.getId());
+                        output.put("channel_id", channelId);
+                        output.put("timestamp", sentMessage.getTimeCreated().toString());
+                        output.put("content", sentMessage.getContentDisplay());
+
+                        return ExecutionResult.success(output);
+                    })
+                    .exceptionally(e -> handleError(logs, e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause() : e));
         } catch (Exception e) {
-            logs.withException(e).error("Failed to send Discord message: {}", e.getMessage());
-            log.error("Discord message send error", e);
-            return ExecutionResult.error("Failed to send Discord message: " + e.getMessage());
+            if (handle != null) {
+                handle.close();
+            }
+            return CompletableFuture.completedFuture(handleError(logs, e));
         }
     }
 
+    private ExecutionResult handleError(NodeLogPublisher logs, Throwable e) {
+        logs.withException(e).error("Failed to send Discord message: {}", e.getMessage());
+        log.error("Discord message send error", e);
+        return ExecutionResult.error("Failed to send Discord message: " + e.getMessage());
+    }
+
     /**
      * Creates a message with optional embed support
      */
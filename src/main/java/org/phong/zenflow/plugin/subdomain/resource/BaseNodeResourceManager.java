@@ -23,15 +23,28 @@ import java.util.concurrent.ConcurrentMap;
 @Slf4j
 public abstract class BaseNodeResourceManager<T, C> implements NodeResourcePool<T, C> {
 
-    private final Cache<String, T> resourceCache = Caffeine.newBuilder()
-            .maximumSize(500)
-            .removalListener(this::onResourceRemoval)
-            .build();
+    private static final long DEFAULT_MAXIMUM_SIZE = 500;
+
+    private final Cache<String, T> resourceCache;
 
     private final ConcurrentHashMap<String, Set<UUID>> resourceUsage = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Long> lastAccess = new ConcurrentHashMap<>();
     private final Duration idleEviction = Duration.ofMinutes(10);
 
+    protected BaseNodeResourceManager() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize upper bound on cached resources; in-use resources beyond it get evicted and recreated
+     */
+    protected BaseNodeResourceManager(long maximumSize) {
+        this.resourceCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .removalListener(this::onResourceRemoval)
+                .build();
+    }
+
     @Override
     public T getOrCreateResource(String resourceKey, C config) {
         T resource = resourceCache.get(resourceKey, k -> {
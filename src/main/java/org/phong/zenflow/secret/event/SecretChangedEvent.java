@@ -0,0 +1,10 @@
+package org.phong.zenflow.secret.event;
+
+import java.util.UUID;
+
+/**
+ * Published when secret values or profiles of a workflow are created, updated or removed.
+ * A {@code null} workflow id means the affected workflow is unknown.
+ */
+public record SecretChangedEvent(UUID workflowId) {
+}
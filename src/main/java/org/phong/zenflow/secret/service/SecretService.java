@@ -11,6 +11,7 @@ import org.phong.zenflow.secret.dto.CreateSecretBatchRequest;
 import org.phong.zenflow.secret.dto.CreateSecretRequest;
 import org.phong.zenflow.secret.dto.SecretDto;
 import org.phong.zenflow.secret.dto.UpdateSecretRequest;
+import org.phong.zenflow.secret.event.SecretChangedEvent;
 import org.phong.zenflow.secret.exception.SecretDomainException;
 import org.phong.zenflow.secret.exception.SecretNotFoundException;
 import org.phong.zenflow.secret.infrastructure.mapstruct.SecretMapper;
@@ -19,6 +20,7 @@ import org.phong.zenflow.secret.infrastructure.persistence.repository.SecretRepo
 import org.phong.zenflow.secret.util.AESUtil;
 import org.phong.zenflow.user.service.UserService;
 import org.phong.zenflow.workflow.infrastructure.persistence.repository.WorkflowRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -42,6 +44,7 @@ public class SecretService {
     private final WorkflowRepository workflowRepository;
     private final ProjectService projectService;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<SecretDto> getAllSecrets() {
@@ -79,6 +82,7 @@ public class SecretService {
             Secret secret = getSecretFromRequest(request);
 
             Secret savedSecret = secretRepository.save(secret);
+            publishChanged(savedSecret);
             return mapToDto(savedSecret);
         } catch (Exception e) {
             log.error("Failed to create secret: {}", e.getMessage(), e);
@@ -99,6 +103,7 @@ public class SecretService {
                     .collect(Collectors.toList());
 
             List<Secret> savedSecrets = secretRepository.saveAll(secrets);
+            savedSecrets.forEach(this::publishChanged);
             return savedSecrets.stream().map(this::mapToDto).collect(Collectors.toList());
         } catch (Exception e) {
             log.error("Failed to create secrets batch: {}", e.getMessage(), e);
@@ -133,6 +138,7 @@ public class SecretService {
                         secret.setEncryptedValue(aesUtil.encrypt(request.value()));
 
                         Secret updatedSecret = secretRepository.save(secret);
+                        publishChanged(updatedSecret);
                         return mapToDto(updatedSecret);
                     } catch (Exception e) {
                         log.error("Failed to update secret with id {}: {}", id, e.getMessage(), e);
@@ -158,6 +164,7 @@ public class SecretService {
         secret.setDeletedAt(OffsetDateTime.now());
 
         secretRepository.save(secret);
+        publishChanged(secret);
     }
 
     @AuditLog(
@@ -177,6 +184,7 @@ public class SecretService {
 
         secret.setDeletedAt(null);
         secretRepository.save(secret);
+        publishChanged(secret);
     }
 
     @AuditLog(
@@ -185,11 +193,12 @@ public class SecretService {
             targetIdExpression = "#id"
     )
     public void hardDeleteSecret(UUID id) {
-        if (!secretRepository.existsById(id)) {
+        Secret secret = secretRepository.findById(id).orElseThrow(() -> {
             log.error("Secret not found with id on hard delete: {}", id);
-            throw new SecretNotFoundException("Secret not found with id: " + id);
-        }
-        secretRepository.deleteById(id);
+            return new SecretNotFoundException("Secret not found with id: " + id);
+        });
+        secretRepository.delete(secret);
+        publishChanged(secret);
     }
 
     @Transactional(readOnly = true)
@@ -216,6 +225,11 @@ public class SecretService {
                 .collect(Collectors.toList());
     }
 
+    private void publishChanged(Secret secret) {
+        UUID workflowId = secret.getWorkflow() != null ? secret.getWorkflow().getId() : null;
+        eventPublisher.publishEvent(new SecretChangedEvent(workflowId));
+    }
+
     private SecretDto mapToDto(Secret secret) {
         try {
             SecretDto dto = secretMapper.toDto(secret);
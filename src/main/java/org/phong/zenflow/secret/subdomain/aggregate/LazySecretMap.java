@@ -0,0 +1,100 @@
+package org.phong.zenflow.secret.subdomain.aggregate;
+
+import org.phong.zenflow.secret.exception.SecretDomainException;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only secret key -> value map that decrypts each value on first access and remembers the plaintext.
+ * <p>
+ * Placed in the execution context instead of an eagerly decrypted map, so a run only pays for the secrets its
+ * nodes actually read. Iterating (e.g. when the context is serialized) decrypts the remaining values.
+ */
+public final class LazySecretMap extends AbstractMap<String, Object> {
+
+    @FunctionalInterface
+    public interface Decryptor {
+        String decrypt(String encrypted) throws Exception;
+    }
+
+    private final Map<String, String> encrypted;
+    private final Decryptor decryptor;
+    private final Map<String, String> decrypted = new ConcurrentHashMap<>();
+
+    public LazySecretMap(Map<String, String> encrypted, Decryptor decryptor) {
+        this.encrypted = encrypted;
+        this.decryptor = decryptor;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String secretKey)) {
+            return null;
+        }
+        String value = decrypted.get(secretKey);
+        if (value != null) {
+            return value;
+        }
+        String cipherText = encrypted.get(secretKey);
+        if (cipherText == null) {
+            return null;
+        }
+        return decrypted.computeIfAbsent(secretKey, k -> decrypt(k, cipherText));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return encrypted.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return encrypted.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(encrypted.keySet());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<String> keys = encrypted.keySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return keys.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        String key = keys.next();
+                        return new SimpleImmutableEntry<>(key, get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return encrypted.size();
+            }
+        };
+    }
+
+    private String decrypt(String key, String cipherText) {
+        try {
+            return decryptor.decrypt(cipherText);
+        } catch (Exception e) {
+            throw new SecretDomainException("Can't decrypt value for secret key: " + key, e);
+        }
+    }
+}
@@ -15,9 +15,11 @@ import org.phong.zenflow.secret.util.AESUtil;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,43 +31,88 @@ public class SecretAggregateService {
     private final SecretNodeLinkRepository secretNodeLinkRepository;
     private final SecretProfileRepository secretProfileRepository;
     private final AESUtil aesUtil;
+    private final SecretSnapshotCache snapshotCache;
 
     @Transactional(readOnly = true)
     public AggregatedSecretButchDto getAggregatedSecretsProfilesAndNodeIndex(UUID workflowId) {
-        // Secrets keyed by secretId to avoid collisions on duplicate keys
-        Map<String, String> secretsById = secretRepository.findByWorkflowId(workflowId)
-                .stream()
+        SecretSnapshot snapshot = getSnapshot(workflowId);
+
+        Map<String, String> secretsById = snapshot.encryptedSecrets().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> decrypt(workflowId, e.getValue())));
+
+        Map<String, Map<String, String>> profilesById = snapshot.profiles().entrySet().stream()
                 .collect(Collectors.toMap(
-                        s -> s.getId().toString(),
-                        s -> {
-                            try {
-                                return aesUtil.decrypt(s.getEncryptedValue());
-                            } catch (Exception e) {
-                                throw new SecretDomainException("Can't decrypt value for workflowId: " + workflowId, e);
-                            }
-                        },
-                        (existing, replacement) -> replacement
+                        Map.Entry::getKey,
+                        profile -> profile.getValue().entrySet().stream()
+                                .collect(Collectors.toMap(Map.Entry::getKey, e -> decrypt(workflowId, e.getValue())))
                 ));
 
+        return new AggregatedSecretButchDto(secretsById, profilesById, snapshot.nodeProfiles(),
+                snapshot.nodeSecrets(), snapshot.profileNames(), snapshot.secretKeys());
+    }
+
+    /**
+     * Builds the per-node secret and profile views read by {@code ExecutionContext.getSecret} and
+     * {@code getProfileSecret}. Values are decrypted lazily, on first access within the run.
+     */
+    @Transactional(readOnly = true)
+    public NodeSecretContext getNodeSecretContext(UUID workflowId) {
+        SecretSnapshot snapshot = getSnapshot(workflowId);
+        LazySecretMap.Decryptor decryptor = aesUtil::decrypt;
+
+        Map<String, Object> profilesByNodeKey = new HashMap<>();
+        snapshot.nodeProfiles().forEach((nodeKey, profileId) -> {
+            Map<String, Object> profile = new ConcurrentHashMap<>();
+            profile.put("secrets", new LazySecretMap(snapshot.profiles().getOrDefault(profileId, Map.of()), decryptor));
+            profile.put("profileId", profileId);
+            String profileName = snapshot.profileNames().get(profileId);
+            if (profileName != null) {
+                profile.put("profileName", profileName);
+            }
+            profilesByNodeKey.put(nodeKey, profile);
+        });
+
+        Map<String, Object> secretsByNodeKey = new HashMap<>();
+        snapshot.nodeSecrets().forEach((nodeKey, secretIds) -> {
+            Map<String, String> nodeSecrets = new HashMap<>();
+            for (String secretId : secretIds) {
+                String encrypted = snapshot.encryptedSecrets().get(secretId);
+                if (encrypted != null) {
+                    nodeSecrets.put(snapshot.secretKeys().getOrDefault(secretId, secretId), encrypted);
+                }
+            }
+            secretsByNodeKey.put(nodeKey, new LazySecretMap(nodeSecrets, decryptor));
+        });
+
+        return new NodeSecretContext(secretsByNodeKey, profilesByNodeKey);
+    }
+
+    private SecretSnapshot getSnapshot(UUID workflowId) {
+        // Loaded inside the caller's read-only transaction, so lazy associations resolve
+        return snapshotCache.get(workflowId, this::loadSnapshot);
+    }
+
+    private SecretSnapshot loadSnapshot(UUID workflowId) {
+        List<Secret> secrets = secretRepository.findByWorkflowId(workflowId);
+
+        // Secrets keyed by secretId to avoid collisions on duplicate keys
+        Map<String, String> encryptedById = secrets.stream()
+                .filter(s -> s.getEncryptedValue() != null)
+                .collect(Collectors.toMap(s -> s.getId().toString(), Secret::getEncryptedValue, (a, b) -> b));
+
         // Secret id -> key for reconstructing per-node key maps
-        Map<String, String> secretKeys = secretRepository.findByWorkflowId(workflowId)
-                .stream()
+        Map<String, String> secretKeys = secrets.stream()
                 .collect(Collectors.toMap(s -> s.getId().toString(), Secret::getKey, (a, b) -> b));
 
-        // Profiles keyed by profileId, values map secretKey -> decrypted value for that profile
+        // Profiles keyed by profileId, values map secretKey -> encrypted value for that profile
         Map<String, Map<String, String>> profilesById = profileSecretLinkRepository.findByWorkflowId(workflowId)
                 .stream()
+                .filter(link -> link.getSecret().getEncryptedValue() != null)
                 .collect(Collectors.groupingBy(
                         link -> link.getProfile().getId().toString(),
                         Collectors.toMap(
                                 link -> link.getSecret().getKey(),
-                                link -> {
-                                    try {
-                                        return aesUtil.decrypt(link.getSecret().getEncryptedValue());
-                                    } catch (Exception e) {
-                                        throw new SecretDomainException("Can't decrypt value for workflowId: " + workflowId, e);
-                                    }
-                                },
+                                link -> link.getSecret().getEncryptedValue(),
                                 (existing, replacement) -> replacement
                         )
                 ));
@@ -91,10 +138,25 @@ public class SecretAggregateService {
                 ));
 
         // Also expose profileId -> profileName for display purposes
-        Map<String, String> profileNames = secretProfileRepository.findAll().stream()
-                .filter(p -> p.getWorkflow() != null && workflowId.equals(p.getWorkflow().getId()))
+        Map<String, String> profileNames = secretProfileRepository.findByWorkflowId(workflowId).stream()
+                .filter(p -> p.getName() != null)
                 .collect(Collectors.toMap(p -> p.getId().toString(), SecretProfile::getName, (a, b) -> b));
 
-        return new AggregatedSecretButchDto(secretsById, profilesById, nodeProfiles, nodeSecrets, profileNames, secretKeys);
+        return new SecretSnapshot(encryptedById, secretKeys, profilesById, nodeProfiles, nodeSecrets, profileNames);
+    }
+
+    private String decrypt(UUID workflowId, String encrypted) {
+        try {
+            return aesUtil.decrypt(encrypted);
+        } catch (Exception e) {
+            throw new SecretDomainException("Can't decrypt value for workflowId: " + workflowId, e);
+        }
+    }
+
+    /**
+     * Execution context views: nodeKey -> (secret key -> value) and nodeKey -> profile descriptor
+     * ({@code secrets}, {@code profileId}, {@code profileName}).
+     */
+    public record NodeSecretContext(Map<String, Object> secretsByNodeKey, Map<String, Object> profilesByNodeKey) {
     }
 }
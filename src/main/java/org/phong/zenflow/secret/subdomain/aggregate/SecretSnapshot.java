@@ -0,0 +1,38 @@
+package org.phong.zenflow.secret.subdomain.aggregate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, still encrypted view of a workflow's secrets, profiles and node links.
+ * <p>
+ * Uses the same stable identifiers as {@link AggregatedSecretButchDto}, but holds ciphertext so it can be cached
+ * across runs and decrypted only for the values a run actually reads.
+ *
+ * @param encryptedSecrets secretId -> encrypted value
+ * @param secretKeys       secretId -> secret key
+ * @param profiles         profileId -> (secret key -> encrypted value)
+ * @param nodeProfiles     nodeKey -> profileId
+ * @param nodeSecrets      nodeKey -> [secretId]
+ * @param profileNames     profileId -> profile name
+ */
+public record SecretSnapshot(
+        Map<String, String> encryptedSecrets,
+        Map<String, String> secretKeys,
+        Map<String, Map<String, String>> profiles,
+        Map<String, String> nodeProfiles,
+        Map<String, List<String>> nodeSecrets,
+        Map<String, String> profileNames
+) {
+    public SecretSnapshot {
+        encryptedSecrets = Map.copyOf(encryptedSecrets);
+        secretKeys = Map.copyOf(secretKeys);
+        profiles = profiles.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Map.copyOf(e.getValue())));
+        nodeProfiles = Map.copyOf(nodeProfiles);
+        nodeSecrets = nodeSecrets.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> List.copyOf(e.getValue())));
+        profileNames = Map.copyOf(profileNames);
+    }
+}
@@ -0,0 +1,63 @@
+package org.phong.zenflow.secret.subdomain.aggregate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.secret.event.SecretChangedEvent;
+import org.phong.zenflow.secret.subdomain.link.event.SecretLinkedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Per-workflow cache of {@link SecretSnapshot}s, so fresh runs do not reload secrets, profiles and links.
+ * <p>
+ * Entries are dropped once the transaction that re-linked or changed a workflow's secrets commits; the
+ * time-to-live only bounds staleness for changes made outside those paths.
+ */
+@Component
+@Slf4j
+public class SecretSnapshotCache {
+    private final Cache<UUID, SecretSnapshot> cache;
+
+    public SecretSnapshotCache(@Value("${zenflow.secret.snapshot-cache.max-size:1000}") long maxSize,
+                               @Value("${zenflow.secret.snapshot-cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public SecretSnapshot get(UUID workflowId, Function<UUID, SecretSnapshot> loader) {
+        return cache.get(workflowId, loader);
+    }
+
+    public void invalidate(UUID workflowId) {
+        if (workflowId == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(workflowId);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSecretLinked(SecretLinkedEvent event) {
+        log.debug("Secret links of workflow {} changed, dropping cached snapshot", event.workflowId());
+        invalidate(event.workflowId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSecretChanged(SecretChangedEvent event) {
+        log.debug("Secrets of workflow {} changed, dropping cached snapshot", event.workflowId());
+        invalidate(event.workflowId());
+    }
+}
@@ -3,6 +3,7 @@ package org.phong.zenflow.secret.subdomain.link.service;
 import lombok.AllArgsConstructor;
 import org.phong.zenflow.secret.subdomain.link.infrastructure.projection.SecretProfileNodeLinkInfo;
 import org.phong.zenflow.secret.subdomain.profile.dto.ProfileSecretListDto;
+import org.phong.zenflow.secret.event.SecretChangedEvent;
 import org.phong.zenflow.secret.exception.SecretDomainException;
 import org.phong.zenflow.secret.infrastructure.persistence.repository.SecretProfileRepository;
 import org.phong.zenflow.secret.infrastructure.persistence.repository.SecretRepository;
@@ -19,6 +20,7 @@ import org.phong.zenflow.secret.subdomain.link.infrastructure.repository.SecretN
 import org.phong.zenflow.secret.subdomain.link.infrastructure.repository.SecretProfileNodeLinkRepository;
 import org.phong.zenflow.secret.util.AESUtil;
 import org.phong.zenflow.workflow.infrastructure.persistence.repository.WorkflowRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,6 +42,7 @@ public class SecretLinkService {
     private final AESUtil aesUtil;
     private final SecretProfileRepository secretProfileRepository;
     private final SecretProfileNodeLinkRepository secretProfileNodeLinkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<SecretNodeLinkInfo> getLinkedSecretIdsByWorkflowId(UUID workflowId) {
@@ -131,10 +134,12 @@ public class SecretLinkService {
 
     public void unlinkSecretFromNode(UUID workflowId, String nodeKey, UUID secretId) {
         secretNodeLinkRepository.deleteByWorkflowIdAndNodeKeyAndSecretId(workflowId, nodeKey, secretId);
+        eventPublisher.publishEvent(new SecretChangedEvent(workflowId));
     }
 
     public void unlinkAllSecretsFromNode(UUID workflowId, String nodeKey) {
         secretNodeLinkRepository.deleteByWorkflowIdAndNodeKey(workflowId, nodeKey);
+        eventPublisher.publishEvent(new SecretChangedEvent(workflowId));
     }
 
     @Transactional(readOnly = true)
@@ -166,6 +171,7 @@ public class SecretLinkService {
         link.setNodeKey(request.nodeKey());
         link.setProfile(profile);
         secretProfileNodeLinkRepository.save(link);
+        eventPublisher.publishEvent(new SecretChangedEvent(workflowId));
     }
 
     @Transactional
@@ -212,6 +218,7 @@ public class SecretLinkService {
         link.setNodeKey(request.nodeKey());
         link.setSecret(secret);
         secretNodeLinkRepository.save(link);
+        eventPublisher.publishEvent(new SecretChangedEvent(workflowId));
     }
 
     @Transactional(readOnly = true)
@@ -236,6 +243,7 @@ public class SecretLinkService {
 
     public void unlinkProfileFromNode(UUID workflowId, String nodeKey) {
         secretProfileNodeLinkRepository.deleteByWorkflowIdAndNodeKey(workflowId, nodeKey);
+        eventPublisher.publishEvent(new SecretChangedEvent(workflowId));
     }
 
     @Transactional(readOnly = true)
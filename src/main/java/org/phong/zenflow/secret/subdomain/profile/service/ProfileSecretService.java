@@ -6,6 +6,7 @@ import org.phong.zenflow.core.services.AuthService;
 import org.phong.zenflow.plugin.services.PluginService;
 import org.phong.zenflow.plugin.subdomain.node.service.PluginNodeService;
 import org.phong.zenflow.secret.enums.SecretScope;
+import org.phong.zenflow.secret.event.SecretChangedEvent;
 import org.phong.zenflow.secret.exception.SecretDomainException;
 import org.phong.zenflow.secret.infrastructure.persistence.entity.Secret;
 import org.phong.zenflow.secret.infrastructure.persistence.repository.SecretProfileRepository;
@@ -19,6 +20,7 @@ import org.phong.zenflow.secret.subdomain.profile.dto.ProfileSecretListDto;
 import org.phong.zenflow.secret.subdomain.profile.entity.SecretProfile;
 import org.phong.zenflow.secret.util.AESUtil;
 import org.phong.zenflow.workflow.infrastructure.persistence.repository.WorkflowRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,6 +42,7 @@ public class ProfileSecretService {
     private final AuthService authService;
     private final AESUtil aesUtil;
     private final ProfilePreparationService profilePreparationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProfileSecretCreationResult createProfileSecrets(UUID workflowId, CreateProfileSecretsRequest request) {
@@ -67,6 +70,7 @@ public class ProfileSecretService {
         SecretProfile finalProfile = saveProfileSecret(workflowId, request);
         List<Secret> savedSecrets = saveSecrets(preparationResult.preparedSecrets(), finalProfile);
         linkSecretsToProfile(savedSecrets, finalProfile);
+        eventPublisher.publishEvent(new SecretChangedEvent(workflowId));
 
         Map<String, Map<String, String>> profileMap = Map.of(
                 finalProfile.getName(),
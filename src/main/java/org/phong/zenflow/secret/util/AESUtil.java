@@ -6,29 +6,60 @@ import org.springframework.stereotype.Component;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * AES helper for secret values.
+ * <p>
+ * {@link Cipher} instances are not thread-safe and expensive to look up. Callers mostly run on short-lived virtual
+ * threads, so initialised ciphers are kept in a small pool per mode instead of per thread; {@code doFinal} resets a
+ * cipher to its initialised state after every call, so a returned cipher is ready for the next caller.
+ */
 @Component
 public class AESUtil {
     private static final String ALGORITHM = "AES";
 
-    @Value("${app.secret.key}")
-    private String secretKey;
+    private final SecretKeySpec key;
+    private final BlockingQueue<Cipher> encryptCiphers;
+    private final BlockingQueue<Cipher> decryptCiphers;
+
+    public AESUtil(@Value("${app.secret.key}") String secretKey) {
+        this.key = new SecretKeySpec(secretKey.getBytes(), ALGORITHM);
+        // Idle ciphers kept per mode; concurrent callers beyond that create a cipher and drop it afterwards
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        this.encryptCiphers = new ArrayBlockingQueue<>(poolSize);
+        this.decryptCiphers = new ArrayBlockingQueue<>(poolSize);
+    }
 
     public String encrypt(String value) throws Exception {
-        SecretKeySpec key = new SecretKeySpec(secretKey.getBytes(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, key);
-        byte[] encrypted = cipher.doFinal(value.getBytes());
+        byte[] encrypted = doFinal(encryptCiphers, Cipher.ENCRYPT_MODE, value.getBytes());
         return Base64.getEncoder().encodeToString(encrypted);
     }
 
     public String decrypt(String encrypted) throws Exception {
-        SecretKeySpec key = new SecretKeySpec(secretKey.getBytes(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, key);
-        byte[] original = cipher.doFinal(Base64.getDecoder().decode(encrypted));
+        byte[] original = doFinal(decryptCiphers, Cipher.DECRYPT_MODE, Base64.getDecoder().decode(encrypted));
         return new String(original);
     }
-}
 
+    private byte[] doFinal(BlockingQueue<Cipher> pool, int mode, byte[] input) throws Exception {
+        Cipher cipher = pool.poll();
+        if (cipher == null) {
+            cipher = newCipher(mode);
+        }
+        // A failed doFinal can leave the cipher mid-operation, so only a successful one goes back to the pool
+        byte[] output = cipher.doFinal(input);
+        pool.offer(cipher);
+        return output;
+    }
 
+    private Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(ALGORITHM);
+            cipher.init(mode, key);
+            return cipher;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to initialise " + ALGORITHM + " cipher", e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.phong.zenflow.workflow.cache;
+
+import org.phong.zenflow.workflow.infrastructure.persistence.entity.Workflow;
+import org.phong.zenflow.workflow.subdomain.context.ContextSlotLayout;
+import org.phong.zenflow.workflow.subdomain.engine.graph.WorkflowDependencyGraph;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowDefinition;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Run-ready view of a workflow: the loaded entity, a frozen copy of its nodes and the tables every run
+ * derives from the definition (consumer and alias maps, context slot layout, dependency graph).
+ * Shared between concurrent runs, so none of it may be mutated.
+ *
+ * @param version {@code updatedAt} of the workflow in epoch millis, bumped by every definition update
+ */
+public record PreparedWorkflow(
+        Workflow workflow,
+        UUID projectId,
+        long version,
+        WorkflowNodes nodes,
+        Map<String, Set<String>> consumers,
+        Map<String, String> aliases,
+        ContextSlotLayout slotLayout,
+        WorkflowDependencyGraph graph
+) {
+    public static PreparedWorkflow prepare(Workflow workflow) {
+        WorkflowDefinition definition = workflow.getDefinition();
+        WorkflowNodes nodes = definition != null && definition.nodes() != null ? definition.nodes().freeze() : null;
+        WorkflowMetadata metadata = definition != null ? definition.metadata() : null;
+
+        Map<String, Set<String>> consumers = new HashMap<>();
+        Map<String, String> aliases = new HashMap<>();
+        if (metadata != null) {
+            metadata.nodeConsumers().forEach((key, usage) -> consumers.put(key, Set.of(usage.toString())));
+            if (metadata.aliases() != null) {
+                aliases.putAll(metadata.aliases());
+            }
+        }
+
+        long version = workflow.getUpdatedAt() != null ? workflow.getUpdatedAt().toInstant().toEpochMilli() : 0L;
+        UUID projectId = workflow.getProject() != null ? workflow.getProject().getId() : null;
+        return new PreparedWorkflow(
+                workflow,
+                projectId,
+                version,
+                nodes,
+                Collections.unmodifiableMap(consumers),
+                Collections.unmodifiableMap(aliases),
+                ContextSlotLayout.build(metadata),
+                nodes != null ? WorkflowDependencyGraph.build(nodes, metadata) : null
+        );
+    }
+
+    public UUID workflowId() {
+        return workflow.getId();
+    }
+
+    /**
+     * @return key of the node instance with the given plugin node id, or {@code null} when there is none
+     */
+    public String startNodeKeyFor(UUID triggerExecutorId) {
+        BaseWorkflowNode node = nodes != null ? nodes.findByNodeId(triggerExecutorId) : null;
+        return node != null ? node.getKey() : null;
+    }
+}
@@ -0,0 +1,43 @@
+package org.phong.zenflow.workflow.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.phong.zenflow.workflow.event.WorkflowChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Cache of {@link PreparedWorkflow}s so high-frequency triggers don't reload and deserialize the same definition
+ * for every run. Entries are invalidated once a {@link WorkflowChangedEvent} committed, so a run racing the update
+ * cannot cache the old definition again; the TTL bounds staleness for changes made through another instance.
+ */
+@Component
+public class PreparedWorkflowCache {
+    private final Cache<UUID, PreparedWorkflow> cache;
+
+    public PreparedWorkflowCache(@Value("${zenflow.workflow.prepared-cache.max-size:1000}") long maxSize,
+                                 @Value("${zenflow.workflow.prepared-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public PreparedWorkflow get(UUID workflowId, Function<UUID, PreparedWorkflow> loader) {
+        return cache.get(workflowId, loader);
+    }
+
+    public void invalidate(UUID workflowId) {
+        cache.invalidate(workflowId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkflowChanged(WorkflowChangedEvent event) {
+        invalidate(event.workflowId());
+    }
+}
@@ -0,0 +1,9 @@
+package org.phong.zenflow.workflow.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a workflow row or its definition changes; listeners act after the change committed.
+ */
+public record WorkflowChangedEvent(UUID workflowId) {
+}
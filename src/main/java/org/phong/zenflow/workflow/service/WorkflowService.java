@@ -21,6 +21,9 @@ import org.phong.zenflow.workflow.subdomain.runner.dto.WorkflowRunnerRequest;
 import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationError;
 import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationResult;
 import org.phong.zenflow.workflow.dto.WorkflowDefinitionUpdateResult;
+import org.phong.zenflow.workflow.cache.PreparedWorkflow;
+import org.phong.zenflow.workflow.cache.PreparedWorkflowCache;
+import org.phong.zenflow.workflow.event.WorkflowChangedEvent;
 import org.phong.zenflow.workflow.cache.WorkflowValidationCache;
 import org.phong.zenflow.workflow.subdomain.trigger.dto.WorkflowTriggerEvent;
 import org.phong.zenflow.workflow.event.WorkflowDefinitionUpdatedEvent;
@@ -44,6 +47,7 @@ import java.util.UUID;
 public class WorkflowService {
     private final WorkflowRepository workflowRepository;
     private final WorkflowValidationCache validationCache;
+    private final PreparedWorkflowCache preparedWorkflowCache;
     private final ProjectRepository projectRepository;
     private final WorkflowMapper workflowMapper;
     private final WorkflowDefinitionService definitionService;
@@ -146,6 +150,7 @@ public class WorkflowService {
 
         WorkflowDefinitionUpdateResult result = new WorkflowDefinitionUpdateResult(currentDefinition, validationResult, publishAttempt, workflow.getIsActive(), validatedAt);
         validationCache.put(workflowId, result);
+        eventPublisher.publishEvent(new WorkflowChangedEvent(workflowId));
 
         eventPublisher.publishEvent(new WorkflowDefinitionUpdatedEvent(workflowId, currentDefinition));
 
@@ -200,6 +205,7 @@ public class WorkflowService {
         workflow.setLastValidationAt(null);
         workflow.setLastValidationPublishAttempt(null);
         validationCache.invalidate(workflowId);
+        eventPublisher.publishEvent(new WorkflowChangedEvent(workflowId));
         workflowRepository.save(workflow);
         log.debug("Workflow with ID: {} has been updated by clearing all nodes", workflowId);
 
@@ -211,6 +217,14 @@ public class WorkflowService {
                 .orElseThrow(() -> new WorkflowException("Workflow not found with id: " + id));
     }
 
+    /**
+     * Get the run-ready form of a workflow, served from {@link PreparedWorkflowCache} when possible.
+     * The returned workflow is shared and must be treated as read-only.
+     */
+    public PreparedWorkflow getPreparedWorkflow(UUID id) {
+        return preparedWorkflowCache.get(id, key -> PreparedWorkflow.prepare(getWorkflow(key)));
+    }
+
     /**
      * Find workflow by ID
      */
@@ -279,6 +293,7 @@ public class WorkflowService {
 
         Workflow updated = workflowMapper.partialUpdate(request, existingWorkflow);
         Workflow updatedWorkflow = workflowRepository.save(updated);
+        eventPublisher.publishEvent(new WorkflowChangedEvent(id));
         return workflowMapper.toDto(updatedWorkflow);
     }
 
@@ -298,6 +313,7 @@ public class WorkflowService {
 
         workflow.setIsActive(true);
         Workflow updatedWorkflow = workflowRepository.save(workflow);
+        eventPublisher.publishEvent(new WorkflowChangedEvent(id));
         return workflowMapper.toDto(updatedWorkflow);
     }
 
@@ -312,6 +328,7 @@ public class WorkflowService {
 
         workflow.setIsActive(false);
         Workflow updatedWorkflow = workflowRepository.save(workflow);
+        eventPublisher.publishEvent(new WorkflowChangedEvent(id));
         return workflowMapper.toDto(updatedWorkflow);
     }
 
@@ -327,6 +344,7 @@ public class WorkflowService {
         workflow.setDeletedAt(OffsetDateTime.now());
         workflow.setIsActive(false); // Deactivate when deleting
         workflowRepository.save(workflow);
+        eventPublisher.publishEvent(new WorkflowChangedEvent(id));
     }
 
     /**
@@ -339,6 +357,7 @@ public class WorkflowService {
             throw new WorkflowException("Workflow not found with id: " + id);
         }
         workflowRepository.deleteById(id);
+        eventPublisher.publishEvent(new WorkflowChangedEvent(id));
     }
 
     /**
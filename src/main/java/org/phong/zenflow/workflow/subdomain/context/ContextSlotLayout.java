@@ -0,0 +1,166 @@
+package org.phong.zenflow.workflow.subdomain.context;
+
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.OutputUsage;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable slot layout of a workflow's runtime context, derived once from {@link WorkflowMetadata#nodeConsumers()}.
+ * <p>
+ * Every consumed key path (e.g. {@code node.output.a.b}) is interned into an integer slot id and every consuming
+ * node into a consumer index. Key paths are also arranged in a trie of dot-separated segments so that node outputs
+ * can be matched against consumed paths without building a key string per nested entry.
+ * A layout can be shared by any number of runs of the same workflow definition.
+ */
+public final class ContextSlotLayout {
+    private final Map<String, Integer> slotIds;
+    private final String[] slotKeys;
+    private final Map<String, Integer> consumerIds;
+    private final String[] consumerKeys;
+    private final int[][] slotConsumers;
+    private final PathNode root;
+
+    private ContextSlotLayout(Map<String, Integer> slotIds,
+                              String[] slotKeys,
+                              Map<String, Integer> consumerIds,
+                              String[] consumerKeys,
+                              int[][] slotConsumers,
+                              PathNode root) {
+        this.slotIds = slotIds;
+        this.slotKeys = slotKeys;
+        this.consumerIds = consumerIds;
+        this.consumerKeys = consumerKeys;
+        this.slotConsumers = slotConsumers;
+        this.root = root;
+    }
+
+    public static ContextSlotLayout build(WorkflowMetadata metadata) {
+        Map<String, Integer> slotIds = new LinkedHashMap<>();
+        Map<String, Integer> consumerIds = new LinkedHashMap<>();
+        List<int[]> slotConsumers = new ArrayList<>();
+        PathNode root = new PathNode();
+
+        Map<String, OutputUsage> usages = metadata != null && metadata.nodeConsumers() != null
+                ? metadata.nodeConsumers()
+                : Map.of();
+
+        for (Map.Entry<String, OutputUsage> entry : usages.entrySet()) {
+            Set<String> consumers = entry.getValue() != null ? entry.getValue().getConsumers() : null;
+            if (consumers == null || consumers.isEmpty() || slotIds.containsKey(entry.getKey())) {
+                continue;
+            }
+
+            int slot = slotIds.size();
+            slotIds.put(entry.getKey(), slot);
+            slotConsumers.add(consumers.stream()
+                    .mapToInt(c -> consumerIds.computeIfAbsent(c, k -> consumerIds.size()))
+                    .toArray());
+
+            PathNode node = root;
+            for (String segment : entry.getKey().split("\\.")) {
+                node = node.children.computeIfAbsent(segment, k -> new PathNode());
+            }
+            node.slot = slot;
+        }
+
+        root.freeze();
+        return new ContextSlotLayout(
+                Collections.unmodifiableMap(new HashMap<>(slotIds)),
+                slotIds.keySet().toArray(String[]::new),
+                Collections.unmodifiableMap(new HashMap<>(consumerIds)),
+                consumerIds.keySet().toArray(String[]::new),
+                slotConsumers.toArray(int[][]::new),
+                root
+        );
+    }
+
+    /**
+     * @return the slot id of the key path, or {@code -1} when nothing consumes it
+     */
+    public int slotOf(String key) {
+        Integer slot = slotIds.get(key);
+        return slot != null ? slot : -1;
+    }
+
+    public String keyOf(int slot) {
+        return slotKeys[slot];
+    }
+
+    public int size() {
+        return slotKeys.length;
+    }
+
+    int consumerIndexOf(String nodeKey) {
+        Integer index = consumerIds.get(nodeKey);
+        return index != null ? index : -1;
+    }
+
+    String consumerAt(int index) {
+        return consumerKeys[index];
+    }
+
+    int consumerCount() {
+        return consumerKeys.length;
+    }
+
+    int[] consumersOf(int slot) {
+        return slotConsumers[slot];
+    }
+
+    /**
+     * Trie node for a dot-separated key prefix such as {@code node.output}, or {@code null} when
+     * no consumed key path starts with it.
+     */
+    PathNode path(String prefix) {
+        return root.descend(prefix);
+    }
+
+    static final class PathNode {
+        private Map<String, PathNode> children = new HashMap<>();
+        private int slot = -1;
+
+        int slot() {
+            return slot;
+        }
+
+        boolean isLeaf() {
+            return children.isEmpty();
+        }
+
+        /**
+         * Child for a single map key. Keys that themselves contain dots are matched segment by segment,
+         * the same way they would have been flattened into a key path.
+         */
+        PathNode descend(String key) {
+            PathNode child = children.get(key);
+            if (child != null || key.indexOf('.') < 0) {
+                return child;
+            }
+
+            PathNode node = this;
+            int start = 0;
+            while (node != null) {
+                int dot = key.indexOf('.', start);
+                String segment = dot < 0 ? key.substring(start) : key.substring(start, dot);
+                node = node.children.get(segment);
+                if (dot < 0) {
+                    break;
+                }
+                start = dot + 1;
+            }
+            return node;
+        }
+
+        private void freeze() {
+            children.values().forEach(PathNode::freeze);
+            children = children.isEmpty() ? Map.of() : Map.copyOf(children);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.phong.zenflow.workflow.subdomain.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-run value storage for a {@link ContextSlotLayout}.
+ * <p>
+ * Values live in a slot array and the consumers still pending on each slot are tracked as a bitmask over the
+ * layout's consumer indices, so consuming a value is a CAS on a single word and the remaining reference count
+ * is a popcount. All operations are lock-free and safe for concurrently executing branches.
+ */
+final class ContextSlotStore {
+    private final ContextSlotLayout layout;
+    private final int words;
+    private final AtomicReferenceArray<Object> values;
+    private final AtomicLongArray pending;
+
+    ContextSlotStore(ContextSlotLayout layout) {
+        this.layout = layout;
+        this.words = Math.max(1, (layout.consumerCount() + 63) >>> 6);
+        this.values = new AtomicReferenceArray<>(layout.size());
+        this.pending = new AtomicLongArray(layout.size() * words);
+        resetConsumers();
+    }
+
+    ContextSlotLayout layout() {
+        return layout;
+    }
+
+    Object get(int slot) {
+        return values.get(slot);
+    }
+
+    void set(int slot, Object value) {
+        values.set(slot, value);
+    }
+
+    Object clear(int slot) {
+        return values.getAndSet(slot, null);
+    }
+
+    boolean hasConsumers(int slot) {
+        int base = slot * words;
+        for (int w = 0; w < words; w++) {
+            if (pending.get(base + w) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int consumerCount(int slot) {
+        int base = slot * words;
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(pending.get(base + w));
+        }
+        return count;
+    }
+
+    List<String> consumers(int slot) {
+        List<String> result = new ArrayList<>();
+        int base = slot * words;
+        for (int w = 0; w < words; w++) {
+            long bits = pending.get(base + w);
+            while (bits != 0L) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                result.add(layout.consumerAt((w << 6) + bit));
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Marks {@code nodeKey} as no longer needing the slot. Releasing a consumer twice, or one that
+     * never consumed the slot, is a no-op.
+     */
+    void release(int slot, String nodeKey) {
+        int index = layout.consumerIndexOf(nodeKey);
+        if (index < 0) {
+            return;
+        }
+        int i = slot * words + (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = pending.get(i);
+            if ((current & mask) == 0L) {
+                return;
+            }
+        } while (!pending.compareAndSet(i, current, current & ~mask));
+    }
+
+    void dropConsumers(int slot) {
+        int base = slot * words;
+        for (int w = 0; w < words; w++) {
+            pending.set(base + w, 0L);
+        }
+    }
+
+    int activeConsumerSlots() {
+        int count = 0;
+        for (int slot = 0; slot < layout.size(); slot++) {
+            if (hasConsumers(slot)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        int count = 0;
+        for (int slot = 0; slot < layout.size(); slot++) {
+            if (values.get(slot) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    void forEachValue(BiConsumer<String, Object> action) {
+        for (int slot = 0; slot < layout.size(); slot++) {
+            Object value = values.get(slot);
+            if (value != null) {
+                action.accept(layout.keyOf(slot), value);
+            }
+        }
+    }
+
+    void clearAll() {
+        for (int slot = 0; slot < layout.size(); slot++) {
+            values.set(slot, null);
+            dropConsumers(slot);
+        }
+    }
+
+    private void resetConsumers() {
+        for (int slot = 0; slot < layout.size(); slot++) {
+            int base = slot * words;
+            for (int index : layout.consumersOf(slot)) {
+                int i = base + (index >>> 6);
+                pending.set(i, pending.get(i) | (1L << index));
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.util.stream.Collectors;
 
 import org.phong.zenflow.core.utils.ObjectConversion;
 import org.phong.zenflow.secret.exception.SecretDomainException;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.ConfigTemplatePlan;
 import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
@@ -125,6 +126,22 @@ public class ExecutionContext {
         return new WorkflowConfig(resolvedInput, config.profile(), config.output());
     }
 
+    /**
+     * Resolves a node config with a pre-compiled {@link ConfigTemplatePlan}, skipping template
+     * detection and expression compilation entirely.
+     */
+    public WorkflowConfig resolveConfig(String nodeKey, WorkflowConfig config, ConfigTemplatePlan plan) {
+        if (config == null || config.input() == null || plan == null) {
+            return resolveConfig(nodeKey, config);
+        }
+        String previous = this.nodeKey;
+        this.nodeKey = nodeKey;
+        Map<String, Object> resolvedInput = plan.resolve(this);
+        this.nodeKey = previous;
+
+        return new WorkflowConfig(resolvedInput, config.profile(), config.output());
+    }
+
     private Map<String, Object> resolveMap(Map<String, Object> map) {
         if (map == null || map.isEmpty()) {
             return map;
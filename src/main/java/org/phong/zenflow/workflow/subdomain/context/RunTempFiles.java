@@ -0,0 +1,88 @@
+package org.phong.zenflow.workflow.subdomain.context;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Temp files and directories that nodes hand to later nodes of the same run by path, such as spilled HTTP
+ * bodies or SQL row spools.
+ * <p>
+ * They are deleted once the run finished; a halted run keeps its files until it is resumed and finishes.
+ * Files left behind by a crashed instance are removed by their owners on startup through {@link #sweepOrphans}.
+ */
+@Component
+@Slf4j
+public class RunTempFiles {
+    private final ConcurrentMap<UUID, Set<Path>> files = new ConcurrentHashMap<>();
+    private final long orphanAgeMs;
+
+    public RunTempFiles(@Value("${zenflow.engine.temp-files.orphan-age-ms:86400000}") long orphanAgeMs) {
+        this.orphanAgeMs = orphanAgeMs;
+    }
+
+    public void register(UUID runId, Path path) {
+        files.computeIfAbsent(runId, id -> ConcurrentHashMap.newKeySet()).add(path);
+    }
+
+    /**
+     * Deletes everything registered for {@code runId}.
+     */
+    public void release(UUID runId) {
+        Set<Path> paths = files.remove(runId);
+        if (paths != null) {
+            paths.forEach(RunTempFiles::delete);
+        }
+    }
+
+    /**
+     * Deletes entries of {@code directory} matching {@code glob} that no live run owns and that were not
+     * modified for {@code orphan-age-ms}. The age check keeps files of other instances sharing the directory.
+     */
+    public void sweepOrphans(Path directory, String glob) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - orphanAgeMs;
+        int swept = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, glob)) {
+            for (Path entry : entries) {
+                if (Files.getLastModifiedTime(entry).toMillis() < cutoff && !isRegistered(entry)) {
+                    delete(entry);
+                    swept++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to sweep temp files in {}: {}", directory, e.getMessage());
+        }
+        if (swept > 0) {
+            log.info("Removed {} orphaned temp file(s) from {}", swept, directory);
+        }
+    }
+
+    private boolean isRegistered(Path path) {
+        return files.values().stream().anyMatch(paths -> paths.contains(path));
+    }
+
+    private static void delete(Path path) {
+        try (Stream<Path> tree = Files.walk(path)) {
+            tree.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (NoSuchFileException e) {
+            // Already gone
+        } catch (IOException e) {
+            log.warn("Failed to delete run temp file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,10 @@
 package org.phong.zenflow.workflow.subdomain.context;
 
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,14 +17,19 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Slf4j
 public class RuntimeContext {
-    @Getter
     private final Map<String, Object> context = new ConcurrentHashMap<>();
     private final Map<String, Set<String>> consumers = new ConcurrentHashMap<>();
     private final Map<String, String> aliases = new ConcurrentHashMap<>();
 
     // Loop-aware cleanup management
     private final Map<String, Map<String, Set<String>>> pendingLoopCleanup = new ConcurrentHashMap<>();
-    private final Set<String> activeLoops = new HashSet<>();
+    private final Set<String> activeLoops = ConcurrentHashMap.newKeySet();
+    // Parallel branches each bind their own set of active loops, so one branch's loop never defers or ends
+    // cleanup for another; sequential runs use the shared set above
+    private final ThreadLocal<Set<String>> branchLoops = new ThreadLocal<>();
+
+    // Slot-backed storage for consumed key paths; null when running with the map-only store
+    private volatile ContextSlotStore slots;
 
     public void initialize(Map<String, Object> initialContext,
                            Map<String, Set<String>> initialConsumers,
@@ -34,7 +37,9 @@ public class RuntimeContext {
         if (initialConsumers != null) {
             initialConsumers.forEach((key, value) -> {
                 if (value != null) {
-                    consumers.put(key, new HashSet<>(value));
+                    Set<String> keyConsumers = ConcurrentHashMap.newKeySet();
+                    keyConsumers.addAll(value);
+                    consumers.put(key, keyConsumers);
                 }
             });
         }
@@ -54,18 +59,60 @@ public class RuntimeContext {
         }
     }
 
+    /**
+     * Initialize the context with a precomputed {@link ContextSlotLayout}. Every key path the layout knows about is
+     * stored in a slot with its consumers tracked as reference counts; any other key (secrets, profiles, callback
+     * URL) stays in the plain map without consumers.
+     */
+    public void initialize(Map<String, Object> initialContext,
+                           ContextSlotLayout layout,
+                           Map<String, String> initialAliases) {
+        this.slots = new ContextSlotStore(layout);
+        initialize(null, (Map<String, Set<String>>) null, initialAliases);
+        putAll(initialContext);
+    }
+
+    /**
+     * Current context entries. With a slot layout this is a snapshot merging slot values into the map entries,
+     * otherwise the live backing map.
+     */
+    public Map<String, Object> getContext() {
+        ContextSlotStore store = slots;
+        if (store == null) {
+            return context;
+        }
+        Map<String, Object> snapshot = new HashMap<>(context);
+        store.forEachValue(snapshot::put);
+        return snapshot;
+    }
+
     public void put(String key, Object value) {
-        context.put(key, value);
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            slots.set(slot, value);
+        } else {
+            context.put(key, value);
+        }
     }
 
     public void putAll(Map<String, Object> entries) {
         if (entries != null) {
-            context.putAll(entries);
+            if (slots == null) {
+                context.putAll(entries);
+            } else {
+                entries.forEach(this::put);
+            }
         }
     }
 
     public Object get(String key) {
-        return context.get(key);
+        int slot = slotOf(key);
+        return slot >= 0 ? slots.get(slot) : context.get(key);
+    }
+
+    private int slotOf(String key) {
+        ContextSlotStore store = slots;
+        return store != null ? store.layout().slotOf(key) : -1;
     }
 
     /**
@@ -84,6 +131,15 @@ public class RuntimeContext {
 
         log.debug("Processing context-guided output for node '{}' with {} values", outputKey, output.size());
 
+        ContextSlotStore store = slots;
+        if (store != null) {
+            ContextSlotLayout.PathNode path = store.layout().path(outputKey);
+            if (path != null) {
+                storeOutput(store, path, output);
+            }
+            return;
+        }
+
         for (Map.Entry<String, Object> entry : output.entrySet()) {
             String outputProperty = entry.getKey();
             String currentOutputKey = outputKey.concat(".").concat(outputProperty);
@@ -106,6 +162,29 @@ public class RuntimeContext {
         }
     }
 
+    /**
+     * Slot-store variant of {@link #processOutputWithMetadata}: walks the output alongside the layout's key-path
+     * trie so only consumed paths are visited and no key strings are built.
+     */
+    private void storeOutput(ContextSlotStore store, ContextSlotLayout.PathNode path, Map<String, Object> output) {
+        for (Map.Entry<String, Object> entry : output.entrySet()) {
+            ContextSlotLayout.PathNode child = path.descend(entry.getKey());
+            if (child == null) {
+                continue;
+            }
+
+            Object value = entry.getValue();
+            if (value instanceof Map<?, ?> map && !child.isLeaf()) {
+                storeOutput(store, child, ObjectConversion.convertObjectToMap(map));
+            }
+
+            int slot = child.slot();
+            if (slot >= 0 && store.hasConsumers(slot)) {
+                store.set(slot, value);
+            }
+        }
+    }
+
     /**
      * Get a value from the context and mark it as consumed by the specified node.
      * This method also triggers garbage collection for the key if there are no more consumers.
@@ -133,6 +212,19 @@ public class RuntimeContext {
      * @return The value, or null if not found
      */
     private Object getAndMarkConsumed(String nodeKey, String key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            Object value = slots.get(slot);
+            if (value != null) {
+                slots.release(slot, nodeKey);
+                if (!slots.hasConsumers(slot)) {
+                    slots.clear(slot);
+                    log.debug("Garbage collected key '{}' from context", key);
+                }
+            }
+            return value;
+        }
+
         if (!context.containsKey(key)) {
             return null;
         }
@@ -157,16 +249,16 @@ public class RuntimeContext {
      * @return The value, or null if not found
      */
     private Object getAndMarkConsumedInLoop(String nodeKey, String key) {
-        if (!context.containsKey(key)) {
+        Object value = get(key);
+        if (value == null) {
             return null;
         }
 
-        Object value = context.get(key);
         String activeLoop = getActiveLoop();
         if (activeLoop != null) {
             pendingLoopCleanup
                     .computeIfAbsent(activeLoop, k -> new ConcurrentHashMap<>())
-                    .computeIfAbsent(key, k -> new HashSet<>())
+                    .computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
                     .add(nodeKey);
         }
         return value;
@@ -192,17 +284,18 @@ public class RuntimeContext {
      * Remove a specific consumer from a key's consumer list
      */
     private void removeConsumer(String key, String nodeKey) {
-        Set<String> keyConsumers = consumers.get(key);
-        if (keyConsumers != null) {
+        // Atomic per key so concurrent branches consuming the same key cannot resurrect an emptied set
+        consumers.computeIfPresent(key, (k, keyConsumers) -> {
             keyConsumers.remove(nodeKey);
             log.debug("Removed consumer '{}' from key '{}'", nodeKey, key);
 
             // If no more consumers, remove the entry completely
             if (keyConsumers.isEmpty()) {
-                consumers.remove(key);
                 log.debug("No more consumers for key '{}', removed from consumers map", key);
+                return null;
             }
-        }
+            return keyConsumers;
+        });
     }
 
     /**
@@ -224,6 +317,10 @@ public class RuntimeContext {
      * Check if a key has any remaining consumers
      */
     public boolean isConsumersEmpty(String key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return !slots.hasConsumers(slot);
+        }
         Set<String> keyConsumers = consumers.get(key);
         return keyConsumers == null || keyConsumers.isEmpty();
     }
@@ -232,6 +329,10 @@ public class RuntimeContext {
      * Get the list of consumers for a specific key
      */
     public List<String> getConsumers(String key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return slots.consumers(slot);
+        }
         Set<String> keyConsumers = consumers.get(key);
         return keyConsumers != null ? new ArrayList<>(keyConsumers) : new ArrayList<>();
     }
@@ -253,6 +354,15 @@ public class RuntimeContext {
             log.debug("Manual garbage collection removed key '{}'", key);
         }
 
+        ContextSlotStore store = slots;
+        if (store != null) {
+            for (int slot = 0; slot < store.layout().size(); slot++) {
+                if (!store.hasConsumers(slot) && store.clear(slot) != null) {
+                    keysToRemove.add(store.layout().keyOf(slot));
+                }
+            }
+        }
+
         if (!keysToRemove.isEmpty()) {
             log.info("Manual garbage collection removed {} unused context entries", keysToRemove.size());
         }
@@ -262,14 +372,16 @@ public class RuntimeContext {
      * Get current context size for monitoring
      */
     public int getContextSize() {
-        return context.size();
+        ContextSlotStore store = slots;
+        return store != null ? context.size() + store.size() : context.size();
     }
 
     /**
      * Get current consumers map size for monitoring
      */
     public int getConsumersSize() {
-        return consumers.size();
+        ContextSlotStore store = slots;
+        return store != null ? consumers.size() + store.activeConsumerSlots() : consumers.size();
     }
 
     /**
@@ -278,6 +390,11 @@ public class RuntimeContext {
      * @param key The key to remove
      */
     public void remove(String key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            slots.clear(slot);
+            slots.dropConsumers(slot);
+        }
         context.remove(key);
         consumers.remove(key);
         log.debug("Removed key '{}' from context and consumers", key);
@@ -291,11 +408,42 @@ public class RuntimeContext {
         consumers.clear();
         pendingLoopCleanup.clear();
         activeLoops.clear();
+        branchLoops.remove();
+        ContextSlotStore store = slots;
+        if (store != null) {
+            store.clearAll();
+        }
         log.debug("RuntimeContext cleared");
     }
 
     // ========== Loop-aware context management methods ==========
 
+    /**
+     * Binds a loop scope for a parallel branch to the calling thread, starting with the loops the branch
+     * was forked inside. Must be paired with {@link #unbindBranch()} on the same thread.
+     */
+    public void bindBranch(Set<String> inheritedLoops) {
+        Set<String> loops = ConcurrentHashMap.newKeySet();
+        loops.addAll(inheritedLoops);
+        branchLoops.set(loops);
+    }
+
+    public void unbindBranch() {
+        branchLoops.remove();
+    }
+
+    /**
+     * @return snapshot of the loops active on the calling branch
+     */
+    public Set<String> activeLoopKeys() {
+        return Set.copyOf(loops());
+    }
+
+    private Set<String> loops() {
+        Set<String> loops = branchLoops.get();
+        return loops != null ? loops : activeLoops;
+    }
+
     /**
      * Start a loop context. This tells the RuntimeContext to defer cleanup operations
      * for context values accessed within this loop until the loop completes.
@@ -303,7 +451,7 @@ public class RuntimeContext {
      * @param loopNodeKey The unique identifier for the loop node
      */
     public void startLoop(String loopNodeKey) {
-        activeLoops.add(loopNodeKey);
+        loops().add(loopNodeKey);
         pendingLoopCleanup.put(loopNodeKey, new ConcurrentHashMap<>());
         log.debug("Started loop context for node: {}", loopNodeKey);
     }
@@ -316,12 +464,13 @@ public class RuntimeContext {
      * @param loopNodeKey The unique identifier for the loop node
      */
     public void endLoop(String loopNodeKey) {
-        if (!activeLoops.contains(loopNodeKey)) {
+        Set<String> loops = loops();
+        if (!loops.contains(loopNodeKey)) {
             log.warn("Attempted to end loop '{}' that was not started", loopNodeKey);
             return;
         }
 
-        activeLoops.remove(loopNodeKey);
+        loops.remove(loopNodeKey);
         Map<String, Set<String>> pendingCleanup = pendingLoopCleanup.remove(loopNodeKey);
 
         if (pendingCleanup != null) {
@@ -330,15 +479,22 @@ public class RuntimeContext {
                 String key = entry.getKey();
                 Set<String> consumersToRemove = entry.getValue();
 
-                // Remove all pending consumers for this key
-                Set<String> keyConsumers = consumers.get(key);
-                if (keyConsumers != null) {
-                    keyConsumers.removeAll(consumersToRemove);
-                    if (keyConsumers.isEmpty()) {
-                        consumers.remove(key);
+                int slot = slotOf(key);
+                if (slot >= 0) {
+                    consumersToRemove.forEach(nodeKey -> slots.release(slot, nodeKey));
+                    if (!slots.hasConsumers(slot) && slots.clear(slot) != null) {
+                        cleanedCount++;
+                        log.debug("Loop cleanup removed key '{}' from context", key);
                     }
+                    continue;
                 }
 
+                // Remove all pending consumers for this key
+                consumers.computeIfPresent(key, (k, keyConsumers) -> {
+                    keyConsumers.removeAll(consumersToRemove);
+                    return keyConsumers.isEmpty() ? null : keyConsumers;
+                });
+
                 // Perform garbage collection for this key
                 if (isConsumersEmpty(key)) {
                     Object removedValue = context.remove(key);
@@ -363,7 +519,7 @@ public class RuntimeContext {
      * @return true if there are active loops
      */
     public boolean isInLoop() {
-        return !activeLoops.isEmpty();
+        return !loops().isEmpty();
     }
 
     /**
@@ -372,7 +528,7 @@ public class RuntimeContext {
      * @return The loop node key if in a loop, null otherwise
      */
     public String getActiveLoop() {
-        return activeLoops.stream().findFirst().orElse(null);
+        return loops().stream().findFirst().orElse(null);
     }
 
     public void endLoopIfActive() {
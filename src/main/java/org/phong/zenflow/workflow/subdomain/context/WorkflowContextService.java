@@ -283,6 +283,7 @@ public class WorkflowContextService {
                 );
             }
         }
+        workflowDefinition.nodes().reindex();
     }
 
     private void resolveProfileAssignments(WorkflowDefinition def,
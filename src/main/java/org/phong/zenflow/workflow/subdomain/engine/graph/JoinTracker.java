@@ -0,0 +1,87 @@
+package org.phong.zenflow.workflow.subdomain.engine.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Positions of the live branches of one parallel run and the joins they are parked at.
+ * <p>
+ * A parked join is released once neither a live branch nor another parked join can still reach it, so
+ * joins are released in dependency order and a join never runs while an upstream join is still pending.
+ * Not thread-safe; the caller guards every call with the run's monitor.
+ */
+public final class JoinTracker {
+    private final WorkflowDependencyGraph graph;
+    private final Map<Integer, String> livePositions = new HashMap<>();
+    // Join key -> loops active on the branch that parked there, handed to the branch that runs the join
+    private final Map<String, Set<String>> parkedJoins = new LinkedHashMap<>();
+
+    public JoinTracker(WorkflowDependencyGraph graph) {
+        this.graph = graph;
+    }
+
+    public void moveTo(int branchId, String nodeKey) {
+        livePositions.put(branchId, nodeKey);
+    }
+
+    public void park(int branchId, String joinKey, Set<String> activeLoops) {
+        parkedJoins.putIfAbsent(joinKey, activeLoops);
+        livePositions.remove(branchId);
+    }
+
+    public void finish(int branchId) {
+        livePositions.remove(branchId);
+    }
+
+    public boolean hasLiveBranches() {
+        return !livePositions.isEmpty();
+    }
+
+    public boolean hasParkedJoins() {
+        return !parkedJoins.isEmpty();
+    }
+
+    /**
+     * Removes and returns the joins that can run now. The caller must start a branch at each of them,
+     * registering it through {@link #moveTo}, before the next call.
+     */
+    public List<Released> release() {
+        List<Released> released = new ArrayList<>();
+        List<String> blockers = new ArrayList<>(livePositions.values());
+        for (String joinKey : List.copyOf(parkedJoins.keySet())) {
+            if (!isReachable(joinKey, blockers)) {
+                released.add(new Released(joinKey, parkedJoins.remove(joinKey)));
+                // A released join is a live position for the joins after it
+                blockers.add(joinKey);
+            }
+        }
+
+        if (released.isEmpty() && livePositions.isEmpty() && !parkedJoins.isEmpty()) {
+            // Only joins on a cycle the graph could not break are left; run the oldest rather than hang
+            String joinKey = parkedJoins.keySet().iterator().next();
+            released.add(new Released(joinKey, parkedJoins.remove(joinKey)));
+        }
+        return released;
+    }
+
+    private boolean isReachable(String joinKey, List<String> blockers) {
+        for (String position : blockers) {
+            if (graph.canReach(position, joinKey)) {
+                return true;
+            }
+        }
+        for (String parked : parkedJoins.keySet()) {
+            if (!parked.equals(joinKey) && graph.canReach(parked, joinKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Released(String joinKey, Set<String> activeLoops) {
+    }
+}
@@ -0,0 +1,143 @@
+package org.phong.zenflow.workflow.subdomain.engine.graph;
+
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.OutputUsage;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable dependency graph of a workflow used by the parallel execution mode.
+ * <p>
+ * Edges come from two sources: the {@code next} lists of every node (control flow) and
+ * the {@link WorkflowMetadata#nodeConsumers()} table (data flow, producer → consumer).
+ * A node with more than one incoming edge is a <em>join</em>: branches arriving there are parked
+ * until no other live branch can still reach it.
+ * <p>
+ * Edges from a loop body back into its loop node do not count as incoming edges, so every iteration re-enters
+ * the loop node on the same branch instead of parking it as a join. They still count for reachability: a branch
+ * inside the body can reach whatever follows the loop.
+ */
+public final class WorkflowDependencyGraph {
+    private final Map<String, Set<String>> successors;
+    private final Map<String, Set<String>> predecessors;
+    private final Map<String, Set<String>> reachableCache = new ConcurrentHashMap<>();
+
+    private WorkflowDependencyGraph(Map<String, Set<String>> successors, Map<String, Set<String>> predecessors) {
+        this.successors = successors;
+        this.predecessors = predecessors;
+    }
+
+    public static WorkflowDependencyGraph build(WorkflowNodes nodes, WorkflowMetadata metadata) {
+        Map<String, Set<String>> successors = new HashMap<>();
+        Map<String, Set<String>> predecessors = new HashMap<>();
+
+        for (BaseWorkflowNode node : nodes.values()) {
+            successors.computeIfAbsent(node.getKey(), k -> new LinkedHashSet<>());
+            predecessors.computeIfAbsent(node.getKey(), k -> new LinkedHashSet<>());
+            if (node.getNext() == null) {
+                continue;
+            }
+            for (String next : node.getNext()) {
+                if (nodes.get(next) != null) {
+                    addEdge(successors, predecessors, node.getKey(), next);
+                }
+            }
+        }
+
+        if (metadata != null && metadata.nodeConsumers() != null) {
+            for (Map.Entry<String, OutputUsage> entry : metadata.nodeConsumers().entrySet()) {
+                String[] parts = entry.getKey().split("\\.output\\.", 2);
+                String producer = parts[0];
+                if (parts.length != 2 || nodes.get(producer) == null || entry.getValue() == null) {
+                    continue;
+                }
+                for (String consumer : entry.getValue().getConsumers()) {
+                    if (!producer.equals(consumer) && nodes.get(consumer) != null) {
+                        addEdge(successors, predecessors, producer, consumer);
+                    }
+                }
+            }
+        }
+
+        removeLoopBackEdges(nodes, successors, predecessors);
+
+        successors.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+        predecessors.replaceAll((k, v) -> Collections.unmodifiableSet(v));
+        return new WorkflowDependencyGraph(successors, predecessors);
+    }
+
+    // Only the predecessor side is dropped; successors keep the back edge for reachability
+    private static void removeLoopBackEdges(WorkflowNodes nodes,
+                                            Map<String, Set<String>> successors,
+                                            Map<String, Set<String>> predecessors) {
+        for (BaseWorkflowNode node : nodes.values()) {
+            if (node.getType() == null || !NodeType.getLoopStatefulTypes().contains(node.getType())) {
+                continue;
+            }
+            String loopKey = node.getKey();
+            Set<String> body = reachable(successors, loopKey);
+            for (String predecessor : List.copyOf(predecessors.get(loopKey))) {
+                if (predecessor.equals(loopKey) || body.contains(predecessor)) {
+                    predecessors.get(loopKey).remove(predecessor);
+                }
+            }
+        }
+    }
+
+    private static Set<String> reachable(Map<String, Set<String>> successors, String from) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(successors.getOrDefault(from, Set.of()));
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            if (visited.add(current)) {
+                queue.addAll(successors.getOrDefault(current, Set.of()));
+            }
+        }
+        return visited;
+    }
+
+    private static void addEdge(Map<String, Set<String>> successors,
+                                Map<String, Set<String>> predecessors,
+                                String from,
+                                String to) {
+        successors.computeIfAbsent(from, k -> new LinkedHashSet<>()).add(to);
+        predecessors.computeIfAbsent(to, k -> new LinkedHashSet<>()).add(from);
+    }
+
+    public Set<String> successorsOf(String nodeKey) {
+        return successors.getOrDefault(nodeKey, Set.of());
+    }
+
+    public Set<String> predecessorsOf(String nodeKey) {
+        return predecessors.getOrDefault(nodeKey, Set.of());
+    }
+
+    public boolean isJoin(String nodeKey) {
+        return predecessorsOf(nodeKey).size() > 1;
+    }
+
+    /**
+     * Whether {@code target} can be reached from {@code from} by following at least one edge,
+     * or is {@code from} itself.
+     */
+    public boolean canReach(String from, String target) {
+        return from.equals(target) || reachableFrom(from).contains(target);
+    }
+
+    private Set<String> reachableFrom(String from) {
+        return reachableCache.computeIfAbsent(from,
+                start -> Collections.unmodifiableSet(reachable(successors, start)));
+    }
+}
@@ -1,15 +1,16 @@
 package org.phong.zenflow.workflow.subdomain.engine.service;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.enums.ExecutionStatus;
 import org.phong.zenflow.plugin.subdomain.execution.services.PluginNodeExecutorDispatcher;
+import org.phong.zenflow.workflow.cache.PreparedWorkflow;
 import org.phong.zenflow.workflow.infrastructure.persistence.entity.Workflow;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContextKey;
 import org.phong.zenflow.workflow.subdomain.context.RuntimeContext;
 import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.ConfigTemplatePlan;
 import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogContextManager;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogContext;
@@ -17,76 +18,143 @@ import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
 import org.phong.zenflow.workflow.subdomain.engine.dto.WorkflowExecutionStatus;
 import org.phong.zenflow.workflow.subdomain.engine.event.NodeCommitEvent;
 import org.phong.zenflow.workflow.subdomain.engine.exception.WorkflowEngineException;
+import org.phong.zenflow.workflow.subdomain.engine.graph.JoinTracker;
+import org.phong.zenflow.workflow.subdomain.engine.graph.WorkflowDependencyGraph;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowDefinition;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
-import org.phong.zenflow.workflow.subdomain.node_execution.service.NodeExecutionService;
+import org.phong.zenflow.workflow.subdomain.node_execution.service.NodeExecutionJournal;
 import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationResult;
 import org.phong.zenflow.workflow.subdomain.schema_validator.service.WorkflowValidationService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
-@AllArgsConstructor
 @Slf4j
 public class WorkflowEngineService {
-    private final NodeExecutionService nodeExecutionService;
+    private final NodeExecutionJournal nodeExecutionJournal;
     private final WorkflowValidationService workflowValidationService;
     private final PluginNodeExecutorDispatcher executorDispatcher;
     private final WorkflowNavigatorService workflowNavigatorService;
     private final ApplicationEventPublisher publisher;
     private final RuntimeContextManager contextManager;
     private final TemplateService templateService;
-    
+    private final Executor executor;
+    private final boolean parallelEnabled;
+    private final int maxParallelBranches;
+
+    public WorkflowEngineService(NodeExecutionJournal nodeExecutionJournal,
+                                 WorkflowValidationService workflowValidationService,
+                                 PluginNodeExecutorDispatcher executorDispatcher,
+                                 WorkflowNavigatorService workflowNavigatorService,
+                                 ApplicationEventPublisher publisher,
+                                 RuntimeContextManager contextManager,
+                                 TemplateService templateService,
+                                 @Qualifier("virtualThreadExecutor") Executor executor,
+                                 @Value("${zenflow.engine.parallel.enabled:false}") boolean parallelEnabled,
+                                 @Value("${zenflow.engine.parallel.max-branches:16}") int maxParallelBranches) {
+        this.nodeExecutionJournal = nodeExecutionJournal;
+        this.workflowValidationService = workflowValidationService;
+        this.executorDispatcher = executorDispatcher;
+        this.workflowNavigatorService = workflowNavigatorService;
+        this.publisher = publisher;
+        this.contextManager = contextManager;
+        this.templateService = templateService;
+        this.executor = executor;
+        this.parallelEnabled = parallelEnabled;
+        this.maxParallelBranches = Math.max(1, maxParallelBranches);
+    }
 
     @Transactional
     public WorkflowExecutionStatus runWorkflow(Workflow workflow,
                                                UUID workflowRunId,
                                                String startFromNodeKey,
                                                RuntimeContext context) {
+        WorkflowDefinition definition = workflow.getDefinition();
+        return runWorkflow(workflow.getId(), definition, definition != null ? definition.nodes() : null, null,
+                definitionVersion(workflow), workflowRunId, startFromNodeKey, context);
+    }
+
+    /**
+     * Runs a cached {@link PreparedWorkflow}, executing against its frozen node view and dependency graph.
+     */
+    @Transactional
+    public WorkflowExecutionStatus runWorkflow(PreparedWorkflow prepared,
+                                               UUID workflowRunId,
+                                               String startFromNodeKey,
+                                               RuntimeContext context) {
+        return runWorkflow(prepared.workflowId(), prepared.workflow().getDefinition(), prepared.nodes(),
+                prepared.graph(), prepared.version(), workflowRunId, startFromNodeKey, context);
+    }
+
+    private WorkflowExecutionStatus runWorkflow(UUID workflowId,
+                                                WorkflowDefinition definition,
+                                                WorkflowNodes workflowNodes,
+                                                WorkflowDependencyGraph preparedGraph,
+                                                long definitionVersion,
+                                                UUID workflowRunId,
+                                                String startFromNodeKey,
+                                                RuntimeContext context) {
         try {
-            WorkflowDefinition definition = workflow.getDefinition();
-            if (definition == null || definition.nodes() == null) {
-                throw new WorkflowEngineException("Workflow definition or nodes are missing for workflow ID: " + workflow.getId());
+            if (definition == null || workflowNodes == null) {
+                throw new WorkflowEngineException("Workflow definition or nodes are missing for workflow ID: " + workflowId);
             }
-            WorkflowNodes workflowNodes = definition.nodes();
 
             if (startFromNodeKey == null) {
                 throw new WorkflowEngineException("Start node key is required");
             }
             BaseWorkflowNode workingNode = workflowNodes.findByInstanceKey(startFromNodeKey);
 
-            NodeLogPublisher logPublisher = NodeLogPublisher.builder()
-                    .publisher(publisher)
-                    .workflowId(workflow.getId())
-                    .runId(workflowRunId)
-                    .userId(null)
-                    .build();
-
-            ExecutionContext execCtx = ExecutionContext.builder()
-                    .workflowId(workflow.getId())
-                    .workflowRunId(workflowRunId)
-                    .traceId(LogContextManager.snapshot().traceId())
-                    .userId(null)
-                    .contextManager(contextManager)
-                    .logPublisher(logPublisher)
-                    .templateService(templateService)
-                    .build();
-
-            return getWorkflowExecutionStatus(workflow.getId(), workflowRunId, context, workingNode, workflowNodes, execCtx);
+            String traceId = LogContextManager.snapshot().traceId();
+            ExecutionContext execCtx = newExecutionContext(workflowId, workflowRunId, traceId);
+
+            if (parallelEnabled) {
+                WorkflowDependencyGraph graph = preparedGraph != null
+                        ? preparedGraph
+                        : WorkflowDependencyGraph.build(workflowNodes, definition.metadata());
+                return getParallelWorkflowExecutionStatus(workflowId, workflowRunId, definitionVersion, traceId,
+                        context, workingNode, workflowNodes, graph);
+            }
+            return getWorkflowExecutionStatus(workflowId, workflowRunId, definitionVersion, context, workingNode,
+                    workflowNodes, execCtx);
         } catch (Exception e) {
-            log.warn("Error running workflow with ID: {}", workflow.getId(), e);
+            log.warn("Error running workflow with ID: {}", workflowId, e);
             throw new WorkflowEngineException("Workflow failed", e);
+        } finally {
+            // A failing flush must not replace the run's own outcome or exception
+            try {
+                nodeExecutionJournal.flushRun(workflowRunId);
+            } catch (Exception e) {
+                log.error("Failed to flush node executions of run {}", workflowRunId, e);
+            }
         }
     }
 
+    /**
+     * Version used to key compiled template plans; the definition is only ever changed through
+     * a workflow update, which bumps {@code updatedAt}.
+     */
+    private static long definitionVersion(Workflow workflow) {
+        return workflow.getUpdatedAt() != null ? workflow.getUpdatedAt().toInstant().toEpochMilli() : 0L;
+    }
+
     private WorkflowExecutionStatus getWorkflowExecutionStatus(UUID workflowId,
                                                                UUID workflowRunId,
+                                                               long definitionVersion,
                                                                RuntimeContext context,
                                                                BaseWorkflowNode workingNode,
                                                                WorkflowNodes workflowNodes,
@@ -95,7 +163,7 @@ public class WorkflowEngineService {
         ExecutionResult result;
 
         while (workingNode != null) {
-            result = setupAndExecutionWorkflow(workflowId, workflowRunId, context, workingNode, execCtx);
+            result = setupAndExecutionWorkflow(workflowId, workflowRunId, definitionVersion, context, workingNode, execCtx);
             WorkflowNavigatorService.ExecutionStepOutcome outcome = workflowNavigatorService.handleExecutionResult(workflowId, workflowRunId, workingNode, result, workflowNodes, context);
             workingNode = outcome.nextNode();
             executionStatus = outcome.status();
@@ -104,20 +172,315 @@ public class WorkflowEngineService {
         return executionStatus;
     }
 
+    private ExecutionContext newExecutionContext(UUID workflowId, UUID workflowRunId, String traceId) {
+        NodeLogPublisher logPublisher = NodeLogPublisher.builder()
+                .publisher(publisher)
+                .workflowId(workflowId)
+                .runId(workflowRunId)
+                .userId(null)
+                .build();
+
+        return ExecutionContext.builder()
+                .workflowId(workflowId)
+                .workflowRunId(workflowRunId)
+                .traceId(traceId)
+                .userId(null)
+                .contextManager(contextManager)
+                .logPublisher(logPublisher)
+                .templateService(templateService)
+                .build();
+    }
+
+    /**
+     * Parallel counterpart of {@link #getWorkflowExecutionStatus}. Every fan-out (a node completing with
+     * more than one {@code next}) spawns a branch on the virtual thread executor; branches arriving at a join
+     * of the {@link WorkflowDependencyGraph} are parked until no live branch or pending upstream join can still
+     * reach it (see {@link JoinTracker}), then the join runs once. Each branch gets its own {@link ExecutionContext}
+     * since node key and log publisher are mutable, and its own loop scope in the shared {@link RuntimeContext}.
+     * <p>
+     * Branches run on their own threads, outside the transaction of {@code runWorkflow}: what a node persists is
+     * committed on its own, and is not rolled back if the run fails. A failing or halting branch stops the others
+     * at their next node.
+     */
+    private WorkflowExecutionStatus getParallelWorkflowExecutionStatus(UUID workflowId,
+                                                                       UUID workflowRunId,
+                                                                       long definitionVersion,
+                                                                       String traceId,
+                                                                       RuntimeContext context,
+                                                                       BaseWorkflowNode startNode,
+                                                                       WorkflowNodes workflowNodes,
+                                                                       WorkflowDependencyGraph graph) {
+        ParallelRun run = new ParallelRun(workflowId, workflowRunId, definitionVersion, traceId, context,
+                workflowNodes, graph);
+        if (startNode == null) {
+            return WorkflowExecutionStatus.COMPLETED;
+        }
+        run.spawn(startNode, true, Set.of());
+        run.done.join();
+
+        Throwable failure = run.failure;
+        if (failure != null) {
+            if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new WorkflowEngineException("Parallel branch failed", failure);
+        }
+        return run.halted ? WorkflowExecutionStatus.HALTED : WorkflowExecutionStatus.COMPLETED;
+    }
+
+    /**
+     * Scheduling state of a single parallel run. All bookkeeping is guarded by the instance monitor;
+     * node execution itself happens outside the lock.
+     */
+    private final class ParallelRun {
+        private final UUID workflowId;
+        private final UUID workflowRunId;
+        private final long definitionVersion;
+        private final String traceId;
+        private final RuntimeContext context;
+        private final WorkflowNodes workflowNodes;
+        private final WorkflowDependencyGraph graph;
+        private final Semaphore permits = new Semaphore(maxParallelBranches);
+        private final AtomicInteger branchIds = new AtomicInteger();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private final JoinTracker joins;
+        private volatile Throwable failure;
+        private volatile boolean halted;
+
+        private ParallelRun(UUID workflowId,
+                            UUID workflowRunId,
+                            long definitionVersion,
+                            String traceId,
+                            RuntimeContext context,
+                            WorkflowNodes workflowNodes,
+                            WorkflowDependencyGraph graph) {
+            this.workflowId = workflowId;
+            this.workflowRunId = workflowRunId;
+            this.definitionVersion = definitionVersion;
+            this.traceId = traceId;
+            this.context = context;
+            this.workflowNodes = workflowNodes;
+            this.graph = graph;
+            this.joins = new JoinTracker(graph);
+        }
+
+        /**
+         * @param loops loops active where the branch starts; each branch tracks its own loop scope in the
+         *              shared {@link RuntimeContext}
+         */
+        private synchronized void spawn(BaseWorkflowNode startNode, boolean joinReleased, Set<String> loops) {
+            int branchId = branchIds.incrementAndGet();
+            joins.moveTo(branchId, startNode.getKey());
+            try {
+                executor.execute(() -> runBranch(branchId, startNode, joinReleased, loops));
+            } catch (RuntimeException e) {
+                joins.finish(branchId);
+                fail(e);
+            }
+        }
+
+        private void runBranch(int branchId, BaseWorkflowNode startNode, boolean joinReleased, Set<String> loops) {
+            ExecutionContext execCtx = newExecutionContext(workflowId, workflowRunId, traceId);
+            advance(branchId, execCtx, startNode, joinReleased, loops, null);
+        }
+
+        /**
+         * Drives a branch on the current thread until it ends, parks at a join or reaches an asynchronous node
+         * that is still in flight. In the latter case the thread is handed back and the branch is resumed on the
+         * executor from the node's stage; the branch keeps its permit while the node is in flight.
+         *
+         * @param pending stage of {@code workingNode} to continue from, or {@code null} to start {@code workingNode}
+         */
+        private void advance(int branchId,
+                             ExecutionContext execCtx,
+                             BaseWorkflowNode workingNode,
+                             boolean skipJoinCheck,
+                             Set<String> loops,
+                             CompletionStage<ExecutionResult> pending) {
+            String runId = workflowRunId.toString();
+            LogContextManager.init(runId, traceId);
+            context.bindBranch(loops);
+            boolean suspended = false;
+
+            try {
+                while (workingNode != null && failure == null && !halted) {
+                    if (pending == null) {
+                        if (!skipJoinCheck && graph.isJoin(workingNode.getKey())) {
+                            park(branchId, workingNode.getKey());
+                            return;
+                        }
+                        moveTo(branchId, workingNode.getKey());
+
+                        permits.acquire();
+                        try {
+                            pending = startWorkingNode(workflowId, workflowRunId, definitionVersion, workingNode,
+                                    execCtx);
+                        } catch (Throwable t) {
+                            permits.release();
+                            throw t;
+                        }
+                        if (!pending.toCompletableFuture().isDone()) {
+                            suspended = true;
+                            suspend(branchId, execCtx, workingNode, context.activeLoopKeys(), pending);
+                            return;
+                        }
+                    }
 
+                    ExecutionResult result;
+                    try {
+                        result = PluginNodeExecutorDispatcher.await(pending);
+                    } finally {
+                        pending = null;
+                        permits.release();
+                    }
+                    result = completeWorkingNode(workflowId, workflowRunId, context, workingNode, execCtx, result);
+                    WorkflowNavigatorService.ExecutionStepOutcome outcome = workflowNavigatorService.handleExecutionResult(
+                            workflowId, workflowRunId, workingNode, result, workflowNodes, context);
+
+                    if (outcome.status() == WorkflowExecutionStatus.HALTED) {
+                        halted = true;
+                        break;
+                    }
+
+                    BaseWorkflowNode nextNode = outcome.nextNode();
+                    if (isFanOut(workingNode, result)) {
+                        forkRemaining(workingNode.getNext());
+                    }
+                    // Staying on the same node (LOOP_CONTINUE) never re-enters the join check
+                    skipJoinCheck = nextNode == workingNode;
+                    workingNode = nextNode;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } catch (Throwable t) {
+                fail(t);
+            } finally {
+                if (!suspended) {
+                    if (pending != null) {
+                        // Resumed after another branch failed or halted; the node's result is dropped with the run
+                        permits.release();
+                    }
+                    finish(branchId);
+                }
+                context.unbindBranch();
+                LogContextManager.cleanup(runId);
+            }
+        }
+
+        private void suspend(int branchId,
+                             ExecutionContext execCtx,
+                             BaseWorkflowNode workingNode,
+                             Set<String> loops,
+                             CompletionStage<ExecutionResult> pending) {
+            pending.whenComplete((result, error) -> {
+                try {
+                    executor.execute(() -> advance(branchId, execCtx, workingNode, true, loops, pending));
+                } catch (RuntimeException e) {
+                    permits.release();
+                    fail(e);
+                    finish(branchId);
+                }
+            });
+        }
+
+        private boolean isFanOut(BaseWorkflowNode node, ExecutionResult result) {
+            ExecutionStatus status = result.getStatus();
+            return (status == ExecutionStatus.SUCCESS || status == ExecutionStatus.COMMIT)
+                    && node.getNext() != null
+                    && node.getNext().size() > 1;
+        }
+
+        private void forkRemaining(List<String> nextKeys) {
+            // The first successor stays on the current branch, mirroring the sequential navigator
+            for (String nextKey : nextKeys.subList(1, nextKeys.size())) {
+                BaseWorkflowNode nextNode = workflowNodes.findByInstanceKey(nextKey);
+                if (nextNode != null) {
+                    spawn(nextNode, false, context.activeLoopKeys());
+                }
+            }
+        }
+
+        private synchronized void moveTo(int branchId, String nodeKey) {
+            joins.moveTo(branchId, nodeKey);
+        }
+
+        private synchronized void park(int branchId, String joinKey) {
+            log.debug("Branch {} parked at join node {} for run {}", branchId, joinKey, workflowRunId);
+            joins.park(branchId, joinKey, context.activeLoopKeys());
+        }
+
+        private synchronized void finish(int branchId) {
+            joins.finish(branchId);
+            if (failure == null && !halted) {
+                for (JoinTracker.Released released : joins.release()) {
+                    log.debug("Releasing join node {} for run {}", released.joinKey(), workflowRunId);
+                    spawn(workflowNodes.findByInstanceKey(released.joinKey()), true, released.activeLoops());
+                }
+            }
+            if (!joins.hasLiveBranches() && (!joins.hasParkedJoins() || failure != null || halted)) {
+                done.complete(null);
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (failure == null) {
+                failure = t;
+            }
+        }
+    }
+
+
+    /**
+     * Runs a node to completion on the calling thread. The sequential loop stays on its thread since the run's
+     * transaction and log context are bound to it, so an asynchronous node parks this (virtual) thread until its
+     * stage completes; parallel branches continue from the stage instead, see {@link ParallelRun}.
+     */
     private ExecutionResult setupAndExecutionWorkflow(UUID workflowId,
                                                       UUID workflowRunId,
+                                                      long definitionVersion,
                                                       RuntimeContext context,
                                                       BaseWorkflowNode workingNode,
                                                       ExecutionContext execCtx) {
-        ExecutionResult result;
-        nodeExecutionService.startNode(workflowRunId, workingNode.getKey());
+        CompletionStage<ExecutionResult> pending = startWorkingNode(workflowId, workflowRunId, definitionVersion,
+                workingNode, execCtx);
+        return completeWorkingNode(workflowId, workflowRunId, context, workingNode, execCtx,
+                PluginNodeExecutorDispatcher.await(pending));
+    }
+
+    /**
+     * Resolves the node's config and dispatches it, returning as soon as an asynchronous executor has started its
+     * I/O. The returned stage has to be passed to {@link #completeWorkingNode} once done.
+     */
+    private CompletionStage<ExecutionResult> startWorkingNode(UUID workflowId,
+                                                              UUID workflowRunId,
+                                                              long definitionVersion,
+                                                              BaseWorkflowNode workingNode,
+                                                              ExecutionContext execCtx) {
+        nodeExecutionJournal.startNode(workflowRunId, workingNode.getKey());
 
         execCtx.setNodeKey(workingNode.getKey());
         WorkflowConfig config = workingNode.getConfig() != null ? workingNode.getConfig() : new WorkflowConfig();
-        WorkflowConfig resolvedConfig = execCtx.resolveConfig(workingNode.getKey(), config);
+        ConfigTemplatePlan plan = config.input() != null
+                ? templateService.getConfigPlan(workflowId, definitionVersion, workingNode.getKey(), config.input())
+                : null;
+        WorkflowConfig resolvedConfig = execCtx.resolveConfig(workingNode.getKey(), config, plan);
+
+        return executeWorkingNode(workingNode, resolvedConfig, execCtx);
+    }
 
-        result = executeWorkingNode(workingNode, resolvedConfig, execCtx);
+    private ExecutionResult completeWorkingNode(UUID workflowId,
+                                                UUID workflowRunId,
+                                                RuntimeContext context,
+                                                BaseWorkflowNode workingNode,
+                                                ExecutionContext execCtx,
+                                                ExecutionResult result) {
+        LogContextManager.withComponent(workingNode.getKey(), () -> {
+            LogContext ctx = LogContextManager.snapshot();
+            log.info("[traceId={}] [hierarchy={}] Node finished", ctx.traceId(), ctx.hierarchy());
+            return null;
+        });
 
         Map<String, Object> output = result.getOutput();
         if (output != null) {
@@ -125,7 +488,7 @@ public class WorkflowEngineService {
         } else {
             log.warn("Output of node {} is null, skipping putting into context", workingNode.getKey());
         }
-        nodeExecutionService.resolveNodeExecution(
+        nodeExecutionJournal.resolveNodeExecution(
                 workflowId,
                 workflowRunId,
                 workingNode,
@@ -140,9 +503,9 @@ public class WorkflowEngineService {
         return result;
     }
 
-    private ExecutionResult executeWorkingNode(BaseWorkflowNode workingNode,
-                                               WorkflowConfig resolvedConfig,
-                                               ExecutionContext execCtx) {
+    private CompletionStage<ExecutionResult> executeWorkingNode(BaseWorkflowNode workingNode,
+                                                                WorkflowConfig resolvedConfig,
+                                                                ExecutionContext execCtx) {
         return LogContextManager.withComponent(workingNode.getKey(), () -> {
             LogContext ctx = LogContextManager.snapshot();
             log.info("[traceId={}] [hierarchy={}] Node started", ctx.traceId(), ctx.hierarchy());
@@ -159,8 +522,8 @@ public class WorkflowEngineService {
                     execCtx
             );
             if (!validationResult.isValid()) {
-                log.info("[traceId={}] [hierarchy={}] Node finished", ctx.traceId(), ctx.hierarchy());
-                return ExecutionResult.validationError(validationResult, workingNode.getKey());
+                return CompletableFuture.completedFuture(
+                        ExecutionResult.validationError(validationResult, workingNode.getKey()));
             }
 
             execCtx.setNodeKey(workingNode.getKey());
@@ -175,14 +538,12 @@ public class WorkflowEngineService {
                 throw new WorkflowEngineException("Executor type is not defined for node: " + workingNode.getKey());
             }
 
-            ExecutionResult result = executorDispatcher.dispatch(
+            return executorDispatcher.dispatchAsync(
                     executorKey,
                     workingNode.getPluginNode().getExecutorType(),
                     resolvedConfig,
                     execCtx
             );
-            log.info("[traceId={}] [hierarchy={}] Node finished", ctx.traceId(), ctx.hierarchy());
-            return result;
         });
     }
 }
@@ -0,0 +1,89 @@
+package org.phong.zenflow.workflow.subdomain.evaluator.services;
+
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-compiled resolution plan for a whole node input map, built once per node and workflow version
+ * by {@link TemplateService#getConfigPlan}.
+ * <p>
+ * Mirrors the shape of the input: nested maps and lists become container steps, template strings
+ * become {@link TemplatePlan}s and everything else is kept as a constant. Resolving the plan always
+ * produces fresh containers so the cached definition is never handed out for mutation.
+ */
+public final class ConfigTemplatePlan {
+    private final Step root;
+
+    private ConfigTemplatePlan(Step root) {
+        this.root = root;
+    }
+
+    static ConfigTemplatePlan compile(Map<?, ?> input, TemplateService templateService) {
+        return new ConfigTemplatePlan(compileValue(input, templateService));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> resolve(ExecutionContext context) {
+        return (Map<String, Object>) root.resolve(context);
+    }
+
+    private static Step compileValue(Object value, TemplateService templateService) {
+        if (value instanceof String str) {
+            if (templateService.isTemplate(str)) {
+                return new TemplateStep(templateService.compile(str));
+            }
+            return new ConstantStep(str);
+        } else if (value instanceof Map<?, ?> map) {
+            Map<String, Step> entries = new LinkedHashMap<>(map.size());
+            map.forEach((k, v) -> entries.put(String.valueOf(k), compileValue(v, templateService)));
+            return new MapStep(entries);
+        } else if (value instanceof List<?> list) {
+            List<Step> items = new ArrayList<>(list.size());
+            list.forEach(item -> items.add(compileValue(item, templateService)));
+            return new ListStep(items);
+        }
+        return new ConstantStep(value);
+    }
+
+    private sealed interface Step permits ConstantStep, TemplateStep, MapStep, ListStep {
+        Object resolve(ExecutionContext context);
+    }
+
+    private record ConstantStep(Object value) implements Step {
+        @Override
+        public Object resolve(ExecutionContext context) {
+            return value;
+        }
+    }
+
+    private record TemplateStep(TemplatePlan plan) implements Step {
+        @Override
+        public Object resolve(ExecutionContext context) {
+            return plan.evaluate(context);
+        }
+    }
+
+    private record MapStep(Map<String, Step> entries) implements Step {
+        @Override
+        public Object resolve(ExecutionContext context) {
+            Map<String, Object> resolved = new LinkedHashMap<>(entries.size());
+            entries.forEach((key, step) -> resolved.put(key, step.resolve(context)));
+            return resolved;
+        }
+    }
+
+    private record ListStep(List<Step> items) implements Step {
+        @Override
+        public Object resolve(ExecutionContext context) {
+            List<Object> resolved = new ArrayList<>(items.size());
+            for (Step item : items) {
+                resolved.add(item.resolve(context));
+            }
+            return resolved;
+        }
+    }
+}
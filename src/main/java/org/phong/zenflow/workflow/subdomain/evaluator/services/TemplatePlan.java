@@ -0,0 +1,100 @@
+package org.phong.zenflow.workflow.subdomain.evaluator.services;
+
+import com.googlecode.aviator.Expression;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-compiled form of a single template string produced by {@link TemplateService#compile(String)}.
+ * <p>
+ * Holds the literal segments and the compiled Aviator {@link Expression}s in source order, so
+ * evaluating it performs no regex matching, string formatting or expression compilation.
+ * A template made of exactly one {@code {{...}}} expression keeps the result type intact;
+ * otherwise the results are concatenated with the literals into a string.
+ */
+@Slf4j
+public final class TemplatePlan {
+    private final String source;
+    private final boolean single;
+    private final String[] literals;
+    private final CompiledExpression[] expressions;
+
+    private TemplatePlan(String source, boolean single, String[] literals, CompiledExpression[] expressions) {
+        this.source = source;
+        this.single = single;
+        this.literals = literals;
+        this.expressions = expressions;
+    }
+
+    static TemplatePlan literal(String source, String value) {
+        return new TemplatePlan(source, false, new String[]{value}, new CompiledExpression[0]);
+    }
+
+    static TemplatePlan single(String source, CompiledExpression expression) {
+        return new TemplatePlan(source, true, new String[0], new CompiledExpression[]{expression});
+    }
+
+    /**
+     * @param literals one more element than {@code expressions}: the text before, between and after them
+     */
+    static TemplatePlan segments(String source, List<String> literals, List<CompiledExpression> expressions) {
+        return new TemplatePlan(source, false,
+                literals.toArray(String[]::new),
+                expressions.toArray(CompiledExpression[]::new));
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public boolean hasExpressions() {
+        return expressions.length > 0;
+    }
+
+    public Object evaluate(ExecutionContext context) {
+        if (single) {
+            return expressions[0].evaluate(context);
+        }
+        if (expressions.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < expressions.length; i++) {
+            sb.append(literals[i]);
+            Object result = expressions[i].evaluate(context);
+            sb.append(result != null ? result.toString() : "null");
+        }
+        sb.append(literals[expressions.length]);
+        return sb.toString();
+    }
+
+    /**
+     * A compiled expression, or the fallback token returned when compilation or execution fails.
+     * A {@code null} expression stands for an empty {@code {{}}} and evaluates to {@code null}.
+     */
+    record CompiledExpression(String text, Expression expression, boolean compiled) {
+
+        Object evaluate(ExecutionContext context) {
+            if (text == null) {
+                return null;
+            }
+            if (!compiled) {
+                return fallback();
+            }
+            try {
+                return expression.execute(Map.of("context", context));
+            } catch (Exception e) {
+                log.error("Failed to evaluate expression: {} - Error: {}", text, e.getMessage());
+                return fallback();
+            }
+        }
+
+        private String fallback() {
+            return "{{" + text + "}}";
+        }
+    }
+}
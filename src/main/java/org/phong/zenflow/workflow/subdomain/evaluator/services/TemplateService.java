@@ -1,17 +1,23 @@
 package org.phong.zenflow.workflow.subdomain.evaluator.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.googlecode.aviator.AviatorEvaluator;
 import com.googlecode.aviator.AviatorEvaluatorInstance;
 import com.googlecode.aviator.Expression;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.core.utils.ObjectConversion;
+import org.phong.zenflow.workflow.event.WorkflowDefinitionUpdatedEvent;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
 import org.phong.zenflow.workflow.subdomain.evaluator.PrefixFunctionEvaluator;
 import org.phong.zenflow.workflow.subdomain.evaluator.functions.AviatorFunctionRegistry;
 import org.phong.zenflow.workflow.subdomain.node_definition.constraints.WorkflowConstraints;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +34,8 @@ import java.util.regex.Pattern;
  * - Definition-phase resolution resolves only reserved references (e.g., {@code zenflow.secrets.*},
  *   {@code zenflow.profiles.*}) via a typed {@link ReservedValueResolver}; this is ideal for
  *   preparing trigger configurations without requiring an {@code ExecutionContext}.
+ * - Templates are compiled once into {@link TemplatePlan}s; node inputs are compiled into
+ *   {@link ConfigTemplatePlan}s cached per workflow version and dropped when the definition changes.
  */
 @Service
 @Slf4j
@@ -50,6 +58,17 @@ public class TemplateService {
     private final ImmutableEvaluator evaluator;
     private final AviatorFunctionRegistry functionRegistry;
 
+    private final Cache<String, TemplatePlan> templatePlans = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+    private final Cache<ConfigPlanKey, ConfigTemplatePlan> configPlans = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+    private final Cache<String, Expression> compiledExpressions = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
     public TemplateService(AviatorFunctionRegistry functionRegistry) {
         this.functionRegistry = functionRegistry;
         this.baseEvaluator = AviatorEvaluator.newInstance();
@@ -68,34 +87,82 @@ public class TemplateService {
         return instance;
     }
 
+    /**
+     * Compiles a plain expression (no {@code {{ }}} markers) against the shared functions, reusing the
+     * compiled form of the same text. Compiled expressions are immutable and can be executed concurrently,
+     * each call with its own environment.
+     */
+    public Expression compileCached(String expression) {
+        return compiledExpressions.get(expression, e -> baseEvaluator.compile(e, false));
+    }
+
     public boolean isTemplate(String value) {
         return value != null && EXPRESSION_PATTERN.matcher(value).find();
     }
 
     public Object resolve(String template, ExecutionContext context) {
-        // Step 1: Ignore blank templates
+        // Ignore blank templates
         if (template == null || template.trim().isEmpty()) {
             return template;
         }
 
-        Matcher matcher = EXPRESSION_PATTERN.matcher(template.trim());
+        return templatePlans.get(template, this::compile).evaluate(context);
+    }
+
+    /**
+     * Compiles a template into a {@link TemplatePlan}. Parsing follows the same rules as runtime
+     * resolution: a template that is exactly one expression keeps the result type intact, otherwise
+     * each embedded expression is resolved and joined with the surrounding text.
+     */
+    public TemplatePlan compile(String template) {
+        // Step 1: Blank templates resolve to themselves
+        if (template == null || template.trim().isEmpty()) {
+            return TemplatePlan.literal(template, template);
+        }
+
+        String trimmed = template.trim();
+        Matcher matcher = EXPRESSION_PATTERN.matcher(trimmed);
 
         // Step 2: If the whole string is a single expression, keep the result type intact
         if (matcher.matches()) {
-            String expression = matcher.group(1).trim();
-            return evaluateExpression(expression, context);
+            return TemplatePlan.single(template, compileExpression(matcher.group(1).trim()));
         }
 
-        // Step 3: Otherwise, resolve each embedded expression and build a final string
-        StringBuilder sb = new StringBuilder();
+        // Step 3: Otherwise, split into literal segments and embedded expressions
+        List<String> literals = new ArrayList<>();
+        List<TemplatePlan.CompiledExpression> expressions = new ArrayList<>();
+        int last = 0;
         matcher.reset();
         while (matcher.find()) {
-            String expression = matcher.group(1).trim();
-            Object result = evaluateExpression(expression, context);
-            matcher.appendReplacement(sb, result != null ? Matcher.quoteReplacement(result.toString()) : "null");
+            literals.add(trimmed.substring(last, matcher.start()));
+            expressions.add(compileExpression(matcher.group(1).trim()));
+            last = matcher.end();
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        literals.add(trimmed.substring(last));
+        return TemplatePlan.segments(template, literals, expressions);
+    }
+
+    /**
+     * Returns the compiled resolution plan of a node input map, compiling it on first use.
+     * Plans are keyed by workflow version, so a changed definition never reuses a stale plan.
+     *
+     * @param workflowId      owning workflow
+     * @param workflowVersion version of the definition the input belongs to
+     * @param nodeKey         node instance key
+     * @param input           the node's unresolved input map
+     */
+    public ConfigTemplatePlan getConfigPlan(UUID workflowId, long workflowVersion, String nodeKey, Map<String, Object> input) {
+        return configPlans.get(new ConfigPlanKey(workflowId, workflowVersion, nodeKey),
+                k -> ConfigTemplatePlan.compile(input, this));
+    }
+
+    public void invalidateConfigPlans(UUID workflowId) {
+        configPlans.asMap().keySet().removeIf(key -> key.workflowId().equals(workflowId));
+    }
+
+    @EventListener
+    public void onWorkflowDefinitionUpdated(WorkflowDefinitionUpdatedEvent event) {
+        invalidateConfigPlans(event.workflowId());
     }
 
     public Set<String> extractRefs(String template) {
@@ -159,23 +226,23 @@ public class TemplateService {
         return templateExpression.split("\\.")[0];
     }
 
-    private Object evaluateExpression(String expression, ExecutionContext context) {
-        try {
-            if (expression == null || expression.isEmpty()) {
-                return null;
-            }
+    private TemplatePlan.CompiledExpression compileExpression(String expression) {
+        if (expression == null || expression.isEmpty()) {
+            return new TemplatePlan.CompiledExpression(null, null, false);
+        }
 
-            if (PrefixFunctionEvaluator.isFunction(expression)) {
-                expression = PrefixFunctionEvaluator.stripPrefix(expression);
-            } else {
-                expression = String.format("get(\"%s\")", expression);
-            }
+        if (PrefixFunctionEvaluator.isFunction(expression)) {
+            expression = PrefixFunctionEvaluator.stripPrefix(expression);
+        } else {
+            expression = "get(\"" + expression + "\")";
+        }
 
+        try {
             Expression compiledExp = baseEvaluator.compile(expression, true);
-            return compiledExp.execute(Map.of("context", context));
+            return new TemplatePlan.CompiledExpression(expression, compiledExp, true);
         } catch (Exception e) {
-            log.error("Failed to evaluate expression: {} - Error: {}", expression, e.getMessage());
-            return "{{" + expression + "}}";
+            log.error("Failed to compile expression: {} - Error: {}", expression, e.getMessage());
+            return new TemplatePlan.CompiledExpression(expression, null, false);
         }
     }
 
@@ -281,6 +348,17 @@ public class TemplateService {
         public AviatorEvaluatorInstance cloneInstance() {
             return newChildEvaluator();
         }
+
+        /**
+         * Compiled form of an expression, shared by every caller evaluating the same text.
+         * Prefer this over {@link #cloneInstance()} when no custom functions are needed.
+         */
+        public Expression compileCached(String expression) {
+            return TemplateService.this.compileCached(expression);
+        }
+    }
+
+    private record ConfigPlanKey(UUID workflowId, long workflowVersion, String nodeKey) {
     }
 
     /**
@@ -5,17 +5,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.phong.zenflow.workflow.subdomain.logging.api.dto.CreateNodeLogRequest;
+import org.phong.zenflow.workflow.subdomain.logging.api.dto.NodeLogCursorPage;
 import org.phong.zenflow.workflow.subdomain.logging.api.dto.NodeLogDto;
 import org.phong.zenflow.workflow.subdomain.logging.api.dto.UpdateNodeLogRequest;
 import org.phong.zenflow.workflow.subdomain.logging.api.enums.LogLevel;
 import org.phong.zenflow.workflow.subdomain.logging.api.service.NodeLogService;
+import org.phong.zenflow.workflow.subdomain.logging.api.service.NodeLogStreamService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -28,6 +32,7 @@ import java.util.UUID;
 public class NodeLogController {
 
     private final NodeLogService nodeLogService;
+    private final NodeLogStreamService nodeLogStreamService;
 
     @PostMapping
     @Operation(summary = "Create a new node log entry")
@@ -78,6 +83,26 @@ public class NodeLogController {
         return ResponseEntity.ok(logs);
     }
 
+    @GetMapping("/workflow-run/{workflowRunId}/cursor")
+    @Operation(summary = "Get node logs for a workflow run with cursor pagination, filtered by node and levels")
+    public ResponseEntity<NodeLogCursorPage> getNodeLogsByCursor(
+            @PathVariable UUID workflowRunId,
+            @RequestParam(required = false) String nodeKey,
+            @RequestParam(required = false) List<LogLevel> level,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        NodeLogCursorPage logs = nodeLogService.getNodeLogsAfter(workflowRunId, nodeKey, level, cursor, limit);
+        return ResponseEntity.ok(logs);
+    }
+
+    @GetMapping(path = "/workflow-run/{workflowRunId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live node logs for a workflow run (recent entries first, then new ones)")
+    public SseEmitter streamNodeLogs(
+            @PathVariable UUID workflowRunId,
+            @RequestParam(defaultValue = "200") int replay) {
+        return nodeLogStreamService.stream(workflowRunId, replay);
+    }
+
     @GetMapping("/workflow-run/{workflowRunId}/node/{nodeKey}")
     @Operation(summary = "Get node logs for specific node in workflow run")
     public ResponseEntity<Page<NodeLogDto>> getNodeLogsByWorkflowRunAndNode(
@@ -0,0 +1,36 @@
+package org.phong.zenflow.workflow.subdomain.logging.api.dto;
+
+import org.phong.zenflow.workflow.subdomain.logging.api.exception.NodeLogException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last returned log, in {@code (timestamp, id)} order. Encoded as an opaque URL-safe token
+ * holding the timestamp in epoch microseconds (the database precision) and the id.
+ */
+public record NodeLogCursor(OffsetDateTime timestamp, UUID id) {
+
+    public String encode() {
+        Instant instant = timestamp.toInstant();
+        long micros = Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+        String raw = micros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static NodeLogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, separator));
+            Instant instant = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+            return new NodeLogCursor(instant.atOffset(ZoneOffset.UTC), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new NodeLogException("Invalid cursor: " + token);
+        }
+    }
+}
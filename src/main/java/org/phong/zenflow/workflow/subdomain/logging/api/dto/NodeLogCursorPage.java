@@ -0,0 +1,12 @@
+package org.phong.zenflow.workflow.subdomain.logging.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated log query; pass {@code nextCursor} back to continue after the last item.
+ */
+public record NodeLogCursorPage(
+        List<NodeLogDto> items,
+        String nextCursor,
+        boolean hasMore
+) {}
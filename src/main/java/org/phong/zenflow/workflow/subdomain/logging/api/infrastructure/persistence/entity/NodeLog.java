@@ -27,9 +27,10 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
+// Partitioned by day on "timestamp" (see V16_1); the primary key is (id, timestamp)
 @Table(name = "node_logs", indexes = {
-        @Index(name = "idx_node_log_workflow_run_id", columnList = "workflow_run_id"),
-        @Index(name = "idx_node_log_node_key", columnList = "node_key")
+        @Index(name = "idx_node_log_run_ts_id", columnList = "workflow_run_id, timestamp, id"),
+        @Index(name = "idx_node_log_run_node_ts_id", columnList = "workflow_run_id, node_key, timestamp, id")
 })
 public class NodeLog extends BaseIdEntity {
     @NotNull
@@ -14,7 +14,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface NodeLogRepository extends JpaRepository<NodeLog, UUID> {
+public interface NodeLogRepository extends JpaRepository<NodeLog, UUID>, NodeLogRepositoryCustom {
 
     Page<NodeLog> findByWorkflowRunId(UUID workflowRunId, Pageable pageable);
 
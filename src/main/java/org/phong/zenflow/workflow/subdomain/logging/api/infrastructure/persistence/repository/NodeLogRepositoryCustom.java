@@ -0,0 +1,23 @@
+package org.phong.zenflow.workflow.subdomain.logging.api.infrastructure.persistence.repository;
+
+import org.phong.zenflow.workflow.subdomain.logging.api.dto.NodeLogCursor;
+import org.phong.zenflow.workflow.subdomain.logging.api.enums.LogLevel;
+import org.phong.zenflow.workflow.subdomain.logging.api.infrastructure.persistence.entity.NodeLog;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface NodeLogRepositoryCustom {
+
+    /**
+     * Logs of a run in {@code (timestamp, id)} order, strictly after {@code after} when given.
+     *
+     * @param notBefore lower bound on the timestamp, used to prune partitions older than the run; may be null
+     * @param nodeKey   only logs of this node; may be null
+     * @param levels    only logs with one of these levels; may be null or empty
+     */
+    List<NodeLog> findPageAfter(UUID workflowRunId, OffsetDateTime notBefore, String nodeKey,
+                                Collection<LogLevel> levels, NodeLogCursor after, int limit);
+}
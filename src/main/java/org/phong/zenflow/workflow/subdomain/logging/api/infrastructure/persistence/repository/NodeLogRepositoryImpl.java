@@ -0,0 +1,62 @@
+package org.phong.zenflow.workflow.subdomain.logging.api.infrastructure.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.phong.zenflow.workflow.subdomain.logging.api.dto.NodeLogCursor;
+import org.phong.zenflow.workflow.subdomain.logging.api.enums.LogLevel;
+import org.phong.zenflow.workflow.subdomain.logging.api.infrastructure.persistence.entity.NodeLog;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+class NodeLogRepositoryImpl implements NodeLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Built per filter combination so each shape gets its own plan and uses the (run, [node,] timestamp, id)
+     * indexes; the row-value comparison seeks straight to the cursor instead of skipping an offset.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<NodeLog> findPageAfter(UUID workflowRunId, OffsetDateTime notBefore, String nodeKey,
+                                       Collection<LogLevel> levels, NodeLogCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM node_logs WHERE workflow_run_id = :runId");
+        if (notBefore != null) {
+            sql.append(" AND \"timestamp\" >= :notBefore");
+        }
+        if (nodeKey != null) {
+            sql.append(" AND node_key = :nodeKey");
+        }
+        boolean filterLevels = levels != null && !levels.isEmpty();
+        if (filterLevels) {
+            sql.append(" AND level IN (:levels)");
+        }
+        if (after != null) {
+            sql.append(" AND (\"timestamp\", id) > (:afterTimestamp, :afterId)");
+        }
+        sql.append(" ORDER BY \"timestamp\", id LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), NodeLog.class)
+                .setParameter("runId", workflowRunId)
+                .setParameter("limit", limit);
+        if (notBefore != null) {
+            query.setParameter("notBefore", notBefore);
+        }
+        if (nodeKey != null) {
+            query.setParameter("nodeKey", nodeKey);
+        }
+        if (filterLevels) {
+            query.setParameter("levels", levels.stream().map(Enum::name).toList());
+        }
+        if (after != null) {
+            query.setParameter("afterTimestamp", after.timestamp());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+}
@@ -7,6 +7,8 @@ import org.phong.zenflow.log.auditlog.enums.AuditAction;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector.GlobalLogCollector;
 import org.phong.zenflow.workflow.subdomain.logging.api.dto.CreateNodeLogRequest;
+import org.phong.zenflow.workflow.subdomain.logging.api.dto.NodeLogCursor;
+import org.phong.zenflow.workflow.subdomain.logging.api.dto.NodeLogCursorPage;
 import org.phong.zenflow.workflow.subdomain.logging.api.dto.NodeLogDto;
 import org.phong.zenflow.workflow.subdomain.logging.api.dto.UpdateNodeLogRequest;
 import org.phong.zenflow.workflow.subdomain.logging.api.enums.LogLevel;
@@ -21,6 +23,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +39,9 @@ public class NodeLogService {
     private final NodeLogMapper mapper;
     private final GlobalLogCollector globalLogCollector; // Use GlobalLogCollector instead
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final Duration RUN_START_SKEW = Duration.ofMinutes(1);
+
     /**
      * Create a new node log entry using JPA (for single entries with validation)
      */
@@ -122,6 +128,32 @@ public class NodeLogService {
                 .map(mapper::toDto);
     }
 
+    /**
+     * Keyset-paginated logs of a workflow run in chronological order, optionally narrowed to a node and levels.
+     * Unlike offset pages, the cost of a page does not grow with how far into the run it is.
+     */
+    public NodeLogCursorPage getNodeLogsAfter(UUID workflowRunId, String nodeKey, List<LogLevel> levels,
+                                              String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_CURSOR_PAGE_SIZE);
+        NodeLogCursor after = cursor == null || cursor.isBlank() ? null : NodeLogCursor.decode(cursor);
+        // Nothing of a run is logged before it started, so older partitions can be skipped
+        OffsetDateTime notBefore = workflowRunRepository.findStartedAtById(workflowRunId)
+                .map(startedAt -> startedAt.minus(RUN_START_SKEW))
+                .orElse(null);
+
+        List<NodeLog> rows = nodeLogRepository.findPageAfter(workflowRunId, notBefore, nodeKey, levels, after,
+                pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<NodeLog> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            NodeLog last = page.getLast();
+            nextCursor = new NodeLogCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new NodeLogCursorPage(page.stream().map(mapper::toDto).toList(), nextCursor, hasMore);
+    }
+
     /**
      * Get node logs for specific node in workflow run
      */
@@ -0,0 +1,67 @@
+package org.phong.zenflow.workflow.subdomain.logging.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.buffer.WorkflowBufferManager;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher.LiveLogSubscription;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher.WebsocketNotifierImpl;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Live log tails served as server-sent events, straight from the in-memory log pipeline.
+ * <p>
+ * A new stream first replays the run's recent-entries ring from {@link WorkflowBufferManager} and then follows
+ * new entries as they pass the log router. Each stream has its own bounded queue; when a client cannot keep up,
+ * the oldest entries are dropped and a {@code dropped} event tells it how many were skipped.
+ */
+@Service
+@Slf4j
+public class NodeLogStreamService {
+    private final WebsocketNotifierImpl notifier;
+    private final WorkflowBufferManager bufferManager;
+    private final Executor executor;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    public NodeLogStreamService(WebsocketNotifierImpl notifier,
+                                WorkflowBufferManager bufferManager,
+                                @Qualifier("virtualThreadExecutor") Executor executor,
+                                @Value("${zenflow.logging.live.subscriber-queue-capacity:1000}") int queueCapacity,
+                                @Value("${zenflow.logging.live.timeout-ms:1800000}") long timeoutMs) {
+        this.notifier = notifier;
+        this.bufferManager = bufferManager;
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public SseEmitter stream(UUID workflowRunId, int replayLimit) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        LiveLogSubscription subscription = notifier.subscribe(workflowRunId, queueCapacity, executor,
+                (entries, dropped) -> send(emitter, entries, dropped));
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        // Subscribe before reading the ring so no entry falls between history and live tail
+        subscription.replay(replayLimit > 0 ? bufferManager.recent(workflowRunId, replayLimit) : List.of());
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, List<LogEntry> entries, long dropped) throws Exception {
+        if (dropped > 0) {
+            emitter.send(SseEmitter.event().name("dropped").data(dropped));
+        }
+        for (LogEntry entry : entries) {
+            emitter.send(SseEmitter.event().name("log").data(entry));
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package org.phong.zenflow.workflow.subdomain.logging.config;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevelFilter;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.metrics.LoggingMetrics;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher.KafkaImpl;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher.KafkaPublisher;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher.LogSink;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher.WebSocketNotifier;
 import org.phong.zenflow.workflow.subdomain.logging.router.LogRouter;
 import org.phong.zenflow.workflow.subdomain.logging.util.CircuitBreaker;
 import org.phong.zenflow.workflow.subdomain.logging.util.SharedThreadPoolManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,8 +20,11 @@ import org.phong.zenflow.workflow.subdomain.logging.infrastructure.persistence.J
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.persistence.PersistenceService;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector.GlobalLogCollector;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.buffer.WorkflowBufferManager;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.spool.MappedLogSpool;
 import javax.sql.DataSource;
+import java.nio.file.Path;
 
+@Slf4j
 @Configuration
 @EnableConfigurationProperties(LoggingProperties.class)
 public class LoggingConfig {
@@ -38,13 +45,13 @@ public class LoggingConfig {
     }
 
     @Bean
-    public PersistenceService persistenceService(DataSource dataSource) {
-        return new JdbcPersistenceService(dataSource);
+    public PersistenceService persistenceService(DataSource dataSource, LoggingProperties properties) {
+        return new JdbcPersistenceService(dataSource, properties.getPersistence().isCopyEnabled());
     }
 
     @Bean
-    public KafkaPublisher kafkaPublisher() {
-        return new KafkaImpl();
+    public KafkaPublisher kafkaPublisher(ObjectProvider<LogSink> sinks) {
+        return new KafkaImpl(sinks.orderedStream().toList());
     }
 
     @Bean
@@ -61,36 +68,50 @@ public class LoggingConfig {
                 properties.getPersistence(),
                 circuitBreaker,
                 metrics,
-                properties.getRouter().getWorkers()
+                properties.getRouter().getWorkers(),
+                openSpool(properties.getPersistence().getSpool())
         );
     }
 
+    private MappedLogSpool openSpool(LoggingProperties.PersistenceConfig.SpoolConfig config) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        try {
+            return MappedLogSpool.open(Path.of(config.getPath()), config.getCapacityBytes());
+        } catch (Exception e) {
+            // Logging must keep working without the spool; batches are dropped while persistence is down
+            log.warn("Log spool {} unavailable, continuing without it: {}", config.getPath(), e.getMessage());
+            return null;
+        }
+    }
+
     @Bean
     public WorkflowBufferManager workflowBufferManager(
             GlobalLogCollector collector,
             LoggingProperties properties,
-            SharedThreadPoolManager threadPoolManager) {
+            SharedThreadPoolManager threadPoolManager,
+            LoggingMetrics metrics,
+            WebSocketNotifier webSocketNotifier) {
 
         return new WorkflowBufferManager(
                 collector,
                 properties.getBuffer(),
-                threadPoolManager
+                threadPoolManager,
+                metrics,
+                properties.getRouter().getShards(),
+                properties.getRouter().getQueueCapacity(),
+                webSocketNotifier::onLog
         );
     }
 
     @Bean
     public LogRouter logRouter(
-            WebSocketNotifier webSocketNotifier,
             WorkflowBufferManager bufferManager,
             LoggingProperties properties) {
 
-        // Initialize LogRouter using the static method since getInstance() doesn't exist
-        LogRouter.init(
-                webSocketNotifier,
-                bufferManager,
-                null, // TODO: Implement health check callback
-                properties.getRouter().getWorkers()
-        );
+        LogLevelFilter.setMinimum(properties.getMinLevel());
+        LogRouter.init(bufferManager);
 
         // Return a placeholder or null since LogRouter.init is static
         // This bean definition ensures proper initialization order
@@ -3,6 +3,7 @@ package org.phong.zenflow.workflow.subdomain.logging.config;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
@@ -11,6 +12,9 @@ import org.springframework.boot.context.properties.NestedConfigurationProperty;
 @ConfigurationProperties(prefix = "zenflow.logging.durable")
 public class LoggingProperties {
 
+    // Node log entries below this level are skipped before they are formatted
+    private LogLevel minLevel = LogLevel.DEBUG;
+
     // Getters and setters
     @NestedConfigurationProperty
     private RouterConfig router = new RouterConfig();
@@ -30,7 +34,11 @@ public class LoggingProperties {
     @Setter
     @Getter
     public static class RouterConfig {
+        // Total inbox capacity, split evenly over the shards
         private int queueCapacity = 100000;
+        // Runs are hashed to this many single-consumer shards
+        private int shards = 4;
+        // Persistence workers of the global collector; runs are hashed to a worker, which writes them in order
         private int workers = 2;
         private BackpressureConfig backpressure = new BackpressureConfig();
 
@@ -60,7 +68,12 @@ public class LoggingProperties {
         private long batchTimeoutMs = 5000;
         private int retryAttempts = 3;
         private long retryBackoffMs = 1000;
+        // Bulk-load batches with COPY FROM STDIN instead of batched INSERTs (PostgreSQL only)
+        private boolean copyEnabled = true;
         private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+        private SpoolConfig spool = new SpoolConfig();
+        private PartitionConfig partitions = new PartitionConfig();
+        private CoalesceConfig coalesce = new CoalesceConfig();
 
         @Setter
         @Getter
@@ -68,6 +81,34 @@ public class LoggingProperties {
             private int failureThreshold = 10;
             private long recoveryTimeMs = 30000;
         }
+
+        @Setter
+        @Getter
+        public static class SpoolConfig {
+            private boolean enabled = true;
+            // Outside java.io.tmpdir, which may be a tmpfs or cleaned on reboot and would lose the spooled logs
+            private String path = System.getProperty("user.home") + "/.zenflow/log-spool.dat";
+            private long capacityBytes = 64L * 1024 * 1024; // 64 MB
+            private int replayBatchLimit = 50;
+        }
+
+        @Setter
+        @Getter
+        public static class PartitionConfig {
+            private boolean enabled = true;
+            private int precreateDays = 7;
+            private int retentionDays = 0; // 0 keeps every partition
+            private long maintenanceIntervalMs = 3600000; // 1 hour
+        }
+
+        @Setter
+        @Getter
+        public static class CoalesceConfig {
+            // Merge queued batches of many runs into one write instead of one write per run batch
+            private boolean enabled = true;
+            private int maxEntries = 2000;
+            private long maxDelayMs = 250;
+        }
     }
 
     @Setter
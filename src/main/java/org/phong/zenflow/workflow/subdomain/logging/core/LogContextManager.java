@@ -12,14 +12,49 @@ public class LogContextManager {
         ThreadLocal.withInitial(HashMap::new);
     private static final ThreadLocal<String> activeContextId = new ThreadLocal<>();
 
-    private record ContextData(String traceId, Deque<String> stack) {}
+    private static final LogContext EMPTY = new LogContext(null, "");
+
+    /**
+     * Trace id and component stack of one context. The snapshot is built once and reused until the stack
+     * changes, so repeated {@link #snapshot()} calls while a node runs do not allocate.
+     */
+    private static final class ContextData {
+        private final String traceId;
+        private final Deque<String> stack = new ArrayDeque<>();
+        private LogContext snapshot;
+
+        private ContextData(String traceId) {
+            this.traceId = traceId;
+        }
+
+        void push(String component) {
+            stack.push(component);
+            snapshot = null;
+        }
+
+        void pop() {
+            if (!stack.isEmpty()) {
+                stack.pop();
+                snapshot = null;
+            }
+        }
+
+        LogContext snapshot() {
+            LogContext current = snapshot;
+            if (current == null) {
+                current = new LogContext(traceId, String.join("->", (Iterable<String>) stack::descendingIterator));
+                snapshot = current;
+            }
+            return current;
+        }
+    }
 
     /**
      * Initialize a new context with a unique context ID (typically workflow run ID)
      */
     public static void init(String contextId, String traceId) {
         Map<String, ContextData> threadContexts = contexts.get();
-        threadContexts.put(contextId, new ContextData(traceId, new ArrayDeque<>()));
+        threadContexts.put(contextId, new ContextData(traceId));
         activeContextId.set(contextId);
     }
 
@@ -60,26 +95,20 @@ public class LogContextManager {
     public static void push(String component) {
         ContextData context = getCurrentContext();
         if (context != null) {
-            context.stack().push(component);
+            context.push(component);
         }
     }
 
     public static void pop() {
         ContextData context = getCurrentContext();
-        if (context != null && !context.stack().isEmpty()) {
-            context.stack().pop();
+        if (context != null) {
+            context.pop();
         }
     }
 
     public static LogContext snapshot() {
         ContextData context = getCurrentContext();
-        if (context == null) {
-            return new LogContext(null, "");
-        }
-        return new LogContext(
-            context.traceId(),
-            String.join("->", (Iterable<String>) () -> context.stack().descendingIterator())
-        );
+        return context != null ? context.snapshot() : EMPTY;
     }
 
     /**
@@ -2,12 +2,14 @@ package org.phong.zenflow.workflow.subdomain.logging.core;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
 @Builder
+@Jacksonized
 @Data
 public class LogEntry {
     UUID workflowId;
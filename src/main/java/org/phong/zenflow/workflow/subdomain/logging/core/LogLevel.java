@@ -1,10 +1,21 @@
 package org.phong.zenflow.workflow.subdomain.logging.core;
 
 public enum LogLevel {
-    INFO,
-    SUCCESS,
-    WARNING,
-    ERROR, DEBUG;
+    INFO(20),
+    SUCCESS(25),
+    WARNING(30),
+    ERROR(40), DEBUG(10);
+
+    // Declaration order is not by importance, compare severities instead
+    private final int severity;
+
+    LogLevel(int severity) {
+        this.severity = severity;
+    }
+
+    public boolean isAtLeast(LogLevel other) {
+        return severity >= other.severity;
+    }
 
     public String getName() {
         return name().toLowerCase();
@@ -0,0 +1,24 @@
+package org.phong.zenflow.workflow.subdomain.logging.core;
+
+/**
+ * Process-wide minimum level for node logs. Checked by {@link NodeLogPublisher} before a message is formatted
+ * or an entry is built, so disabled levels cost a field read.
+ */
+public final class LogLevelFilter {
+    private static volatile LogLevel minimum = LogLevel.DEBUG;
+
+    private LogLevelFilter() {
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.isAtLeast(minimum);
+    }
+
+    public static void setMinimum(LogLevel level) {
+        minimum = level != null ? level : LogLevel.DEBUG;
+    }
+
+    public static LogLevel getMinimum() {
+        return minimum;
+    }
+}
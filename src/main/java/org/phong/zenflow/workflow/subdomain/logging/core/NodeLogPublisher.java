@@ -42,11 +42,28 @@ public class NodeLogPublisher {
     @Setter
     private String nodeKey;
     private final UUID userId;
+    // Fixed log context for publishers used off the node's thread, see pinned()
+    private final LogContext pinnedContext;
 
     // Thread-safe mutable builder state using AtomicReference
     private final AtomicReference<Map<String, Object>> meta = new AtomicReference<>();
     private final AtomicReference<Throwable> exception = new AtomicReference<>();
 
+    /**
+     * Copy of this publisher bound to the calling thread's log context and current node key, for logging from
+     * async continuations that complete on another thread.
+     */
+    public NodeLogPublisher pinned() {
+        return NodeLogPublisher.builder()
+                .publisher(publisher)
+                .workflowId(workflowId)
+                .runId(runId)
+                .nodeKey(nodeKey)
+                .userId(userId)
+                .pinnedContext(LogContextManager.snapshot())
+                .build();
+    }
+
     /**
      * Attach metadata to the next log call.
      */
@@ -64,21 +81,25 @@ public class NodeLogPublisher {
         return this;
     }
 
+    public boolean isEnabled(LogLevel level) {
+        return LogLevelFilter.isEnabled(level);
+    }
+
     // Basic logging methods
     public void success(String message) {
-        publish(LogLevel.SUCCESS, message);
+        log(LogLevel.SUCCESS, message);
     }
 
     public void debug(String message) {
-        publish(LogLevel.DEBUG, message);
+        log(LogLevel.DEBUG, message);
     }
 
     public void info(String message) {
-        publish(LogLevel.INFO, message);
+        log(LogLevel.INFO, message);
     }
 
     public void warn(String message) {
-        publish(LogLevel.WARNING, message);
+        log(LogLevel.WARNING, message);
     }
 
     /**
@@ -89,24 +110,56 @@ public class NodeLogPublisher {
     }
 
     public void error(String message) {
-        publish(LogLevel.ERROR, message);
+        log(LogLevel.ERROR, message);
+    }
+
+    // Parameterized logging methods; the one- and two-argument forms avoid allocating a varargs array
+    public void success(String format, Object arg) {
+        log(LogLevel.SUCCESS, format, arg);
+    }
+
+    public void success(String format, Object arg1, Object arg2) {
+        log(LogLevel.SUCCESS, format, arg1, arg2);
     }
 
-    // Parameterized logging methods
     public void success(String format, Object... args) {
-        publish(LogLevel.SUCCESS, formatMessage(format, args));
+        log(LogLevel.SUCCESS, format, args);
+    }
+
+    public void debug(String format, Object arg) {
+        log(LogLevel.DEBUG, format, arg);
+    }
+
+    public void debug(String format, Object arg1, Object arg2) {
+        log(LogLevel.DEBUG, format, arg1, arg2);
     }
 
     public void debug(String format, Object... args) {
-        publish(LogLevel.DEBUG, formatMessage(format, args));
+        log(LogLevel.DEBUG, format, args);
+    }
+
+    public void info(String format, Object arg) {
+        log(LogLevel.INFO, format, arg);
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        log(LogLevel.INFO, format, arg1, arg2);
     }
 
     public void info(String format, Object... args) {
-        publish(LogLevel.INFO, formatMessage(format, args));
+        log(LogLevel.INFO, format, args);
+    }
+
+    public void warn(String format, Object arg) {
+        log(LogLevel.WARNING, format, arg);
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        log(LogLevel.WARNING, format, arg1, arg2);
     }
 
     public void warn(String format, Object... args) {
-        publish(LogLevel.WARNING, formatMessage(format, args));
+        log(LogLevel.WARNING, format, args);
     }
 
     /**
@@ -116,8 +169,59 @@ public class NodeLogPublisher {
         warn(format, args);
     }
 
+    public void error(String format, Object arg) {
+        log(LogLevel.ERROR, format, arg);
+    }
+
+    public void error(String format, Object arg1, Object arg2) {
+        log(LogLevel.ERROR, format, arg1, arg2);
+    }
+
     public void error(String format, Object... args) {
-        publish(LogLevel.ERROR, formatMessage(format, args));
+        log(LogLevel.ERROR, format, args);
+    }
+
+    private void log(LogLevel level, String message) {
+        if (LogLevelFilter.isEnabled(level)) {
+            publish(level, message);
+        } else {
+            discardPending();
+        }
+    }
+
+    private void log(LogLevel level, String format, Object arg) {
+        if (LogLevelFilter.isEnabled(level)) {
+            StringBuilder out = new StringBuilder(format.length() + 16);
+            int from = appendUntilPlaceholder(out, format, 0, arg);
+            publish(level, out.append(format, from, format.length()).toString());
+        } else {
+            discardPending();
+        }
+    }
+
+    private void log(LogLevel level, String format, Object arg1, Object arg2) {
+        if (LogLevelFilter.isEnabled(level)) {
+            StringBuilder out = new StringBuilder(format.length() + 32);
+            int from = appendUntilPlaceholder(out, format, 0, arg1);
+            from = appendUntilPlaceholder(out, format, from, arg2);
+            publish(level, out.append(format, from, format.length()).toString());
+        } else {
+            discardPending();
+        }
+    }
+
+    private void log(LogLevel level, String format, Object... args) {
+        if (LogLevelFilter.isEnabled(level)) {
+            publish(level, formatMessage(format, args));
+        } else {
+            discardPending();
+        }
+    }
+
+    // withMeta/withException apply to the next call even when its level is disabled
+    private void discardPending() {
+        meta.set(null);
+        exception.set(null);
     }
 
     private void publish(LogLevel level, String message) {
@@ -125,7 +229,8 @@ public class NodeLogPublisher {
         Map<String, Object> currentMeta = this.meta.getAndSet(null);
         Throwable currentException = this.exception.getAndSet(null);
 
-        Map<String, Object> metaToUse = currentMeta != null ? new HashMap<>(currentMeta) : null;
+        // withMeta already took a private copy, and getAndSet hands it over exclusively
+        Map<String, Object> metaToUse = currentMeta;
         String errMessage = null;
 
         if (currentException != null) {
@@ -137,7 +242,7 @@ public class NodeLogPublisher {
         }
 
         // Get context information from LogContextManager
-        LogContext context = LogContextManager.snapshot();
+        LogContext context = pinnedContext != null ? pinnedContext : LogContextManager.snapshot();
 
         LogEntry entry = LogEntry.builder()
                 .workflowId(workflowId)
@@ -159,15 +264,32 @@ public class NodeLogPublisher {
 
     // Helper methods
     private String formatMessage(String format, Object... args) {
-        String result = format;
+        if (args == null || args.length == 0) {
+            return format;
+        }
+        StringBuilder out = new StringBuilder(format.length() + 16 * args.length);
+        int from = 0;
         for (Object arg : args) {
-            int index = result.indexOf("{}");
-            if (index == -1) {
+            int next = appendUntilPlaceholder(out, format, from, arg);
+            if (next == from) {
                 break;
             }
-            result = result.substring(0, index) + arg + result.substring(index + 2);
+            from = next;
+        }
+        return out.append(format, from, format.length()).toString();
+    }
+
+    /**
+     * Copies {@code format} from {@code from} up to the next {@code {}}, substituting {@code arg} for it, and
+     * returns the index after the placeholder; returns {@code from} unchanged if there is none.
+     */
+    private static int appendUntilPlaceholder(StringBuilder out, String format, int from, Object arg) {
+        int index = format.indexOf("{}", from);
+        if (index < 0) {
+            return from;
         }
-        return result;
+        out.append(format, from, index).append(arg);
+        return index + 2;
     }
 
     private String getStackTraceAsString(Throwable t) {
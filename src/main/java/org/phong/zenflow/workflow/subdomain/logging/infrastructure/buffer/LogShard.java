@@ -0,0 +1,286 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.buffer;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.logging.config.LoggingProperties;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector.GlobalLogCollector;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.metrics.LoggingMetrics;
+import org.phong.zenflow.workflow.subdomain.logging.util.LogRingBuffer;
+import org.phong.zenflow.workflow.subdomain.logging.util.SharedThreadPoolManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * One consumer thread owning the buffers of every run hashed to it.
+ * <p>
+ * Producers only offer into the shard's inbox. The shard thread hands each entry to the live listener, appends
+ * it to its run's buffer and, once per tick, flushes every run it owns with pending entries. Buffer state is
+ * never touched by another thread, so flushing needs no locks, and a run's entries keep their order because
+ * the run never changes shard.
+ * <p>
+ * An idle shard parks until its next flush tick, or indefinitely when it owns no runs; the producer that
+ * makes the inbox non-empty unparks it.
+ */
+@Slf4j
+final class LogShard implements Runnable {
+    // Bound on entries handled between two tick checks, so a busy inbox cannot delay time-based flushes
+    private static final int DRAIN_LIMIT = 4096;
+    private static final int SPIN_TRIES = 100;
+
+    private final int index;
+    private final LogRingBuffer<LogEntry> inbox;
+    private final Queue<UUID> closing = new ConcurrentLinkedQueue<>();
+    // Written by the shard thread only; concurrent so other threads can look up a run's ring
+    private final Map<UUID, WorkflowBuffer> buffers = new ConcurrentHashMap<>();
+    private final GlobalLogCollector collector;
+    private final LoggingProperties.BufferConfig config;
+    private final SharedThreadPoolManager threadPoolManager;
+    private final LoggingMetrics metrics;
+    private final Consumer<LogEntry> liveListener;
+
+    private volatile boolean running = true;
+    private volatile boolean flushRequested;
+    private volatile Thread thread;
+    // Set while the shard thread is about to park or parked; producers only pay for unpark() then
+    private volatile boolean parked;
+
+    // Single writer (the shard thread), read by metrics
+    private volatile long lagMillis;
+    private volatile long processedEntries;
+    private volatile int pendingEntries;
+    // Producers race on this one
+    private final AtomicLong droppedEntries = new AtomicLong();
+
+    LogShard(int index, int capacity, GlobalLogCollector collector, LoggingProperties.BufferConfig config,
+             SharedThreadPoolManager threadPoolManager, LoggingMetrics metrics, Consumer<LogEntry> liveListener) {
+        this.index = index;
+        this.inbox = new LogRingBuffer<>(capacity);
+        this.collector = collector;
+        this.config = config;
+        this.threadPoolManager = threadPoolManager;
+        this.metrics = metrics;
+        this.liveListener = liveListener;
+    }
+
+    /**
+     * Called by producers. When the inbox is full DEBUG entries are dropped, anything else evicts the oldest
+     * queued entry.
+     */
+    boolean offer(LogEntry entry) {
+        if (inbox.offer(entry)) {
+            wakeUp();
+            return true;
+        }
+        if (entry.getLevel() != LogLevel.DEBUG) {
+            inbox.poll();
+            if (inbox.offer(entry)) {
+                recordDrop();
+                return true;
+            }
+        }
+        recordDrop();
+        return false;
+    }
+
+    void close(UUID runId) {
+        closing.offer(runId);
+        wakeUp();
+    }
+
+    void requestFlush() {
+        flushRequested = true;
+        wakeUp();
+    }
+
+    void stop() {
+        running = false;
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        if (parked) {
+            Thread t = thread;
+            if (t != null) {
+                LockSupport.unpark(t);
+            }
+        }
+    }
+
+    List<LogEntry> recent(UUID runId, int limit) {
+        WorkflowBuffer buf = buffers.get(runId);
+        return buf == null ? List.of() : buf.recent(limit);
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        long nextTick = System.currentTimeMillis() + config.getMaxDelayMs();
+        int idle = 0;
+        while (running) {
+            int drained = 0;
+            try {
+                drained = drain(DRAIN_LIMIT);
+                closeRequestedRuns();
+                long now = System.currentTimeMillis();
+                if (now >= nextTick || flushRequested) {
+                    flushRequested = false;
+                    tick(now);
+                    nextTick = now + config.getMaxDelayMs();
+                }
+            } catch (Exception e) {
+                // Keep the shard alive; its runs would otherwise stop logging
+                log.error("Log shard {} failed a round: {}", index, e.getMessage(), e);
+            }
+            if (drained == 0) {
+                idle(++idle, nextTick);
+            } else {
+                idle = 0;
+            }
+        }
+        // Stopping: hand over whatever is still queued
+        drain(Integer.MAX_VALUE);
+        buffers.keySet().forEach(this::closeRun);
+    }
+
+    private int drain(int limit) {
+        int drained = 0;
+        LogEntry e;
+        while (drained < limit && (e = inbox.poll()) != null) {
+            process(e);
+            drained++;
+        }
+        if (drained > 0) {
+            processedEntries += drained;
+        }
+        return drained;
+    }
+
+    private void process(LogEntry e) {
+        if (e.getTimestamp() != null) {
+            lagMillis = Math.max(0, System.currentTimeMillis() - e.getTimestamp().toEpochMilli());
+        }
+        // FAST lane: immediate WebSocket / live streams
+        try {
+            liveListener.accept(e);
+        } catch (Exception ex) {
+            log.debug("Live log listener failed: {}", ex.getMessage());
+        }
+        // DURABLE lane: per-run buffer
+        WorkflowBuffer buf = buffers.get(e.getWorkflowRunId());
+        if (buf == null) {
+            buf = new WorkflowBuffer(e.getWorkflowRunId(), config);
+            buffers.put(e.getWorkflowRunId(), buf);
+            threadPoolManager.incrementActiveWorkflows();
+        }
+        pendingEntries++;
+        if (buf.append(e, threadPoolManager.getActiveWorkflowCount())) {
+            pendingEntries -= buf.flush(collector);
+        }
+    }
+
+    /**
+     * Flushes every run of this shard in one pass and retires runs that went idle.
+     */
+    private void tick(long now) {
+        if (pendingEntries > 0) {
+            Timer.Sample sample = metrics.startBufferFlushTimer();
+            for (WorkflowBuffer buf : buffers.values()) {
+                buf.flush(collector);
+            }
+            pendingEntries = 0;
+            metrics.recordBufferFlushTime(sample);
+        }
+        Iterator<WorkflowBuffer> it = buffers.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().isIdleForCleanup(now)) {
+                it.remove();
+                threadPoolManager.decrementActiveWorkflows();
+            }
+        }
+    }
+
+    private void closeRequestedRuns() {
+        UUID runId;
+        while ((runId = closing.poll()) != null) {
+            closeRun(runId);
+        }
+    }
+
+    private void closeRun(UUID runId) {
+        WorkflowBuffer buf = buffers.remove(runId);
+        if (buf != null) {
+            pendingEntries -= buf.flush(collector);
+            threadPoolManager.decrementActiveWorkflows();
+        }
+    }
+
+    private void idle(int rounds, long nextTick) {
+        if (rounds <= SPIN_TRIES) {
+            Thread.onSpinWait();
+            return;
+        }
+        parked = true;
+        try {
+            // Re-check after publishing the flag: a producer that offered before seeing it did not unpark us
+            if (inbox.size() > 0 || !closing.isEmpty() || flushRequested || !running) {
+                return;
+            }
+            if (buffers.isEmpty()) {
+                // Nothing to flush or retire until a producer shows up
+                LockSupport.park(this);
+            } else {
+                long waitMillis = nextTick - System.currentTimeMillis();
+                if (waitMillis > 0) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(waitMillis));
+                }
+            }
+        } finally {
+            parked = false;
+        }
+    }
+
+    private void recordDrop() {
+        droppedEntries.incrementAndGet();
+        metrics.incrementBufferOverflows();
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getQueuedEntries() {
+        return inbox.size();
+    }
+
+    long getLagMillis() {
+        return inbox.size() == 0 ? 0 : lagMillis;
+    }
+
+    long getProcessedEntries() {
+        return processedEntries;
+    }
+
+    int getPendingEntries() {
+        return Math.max(0, pendingEntries);
+    }
+
+    long getDroppedEntries() {
+        return droppedEntries.get();
+    }
+
+    int getActiveRuns() {
+        return buffers.size();
+    }
+}
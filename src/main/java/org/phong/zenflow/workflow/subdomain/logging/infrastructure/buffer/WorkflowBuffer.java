@@ -2,109 +2,79 @@ package org.phong.zenflow.workflow.subdomain.logging.infrastructure.buffer;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector.GlobalLogCollector;
 import org.phong.zenflow.workflow.subdomain.logging.config.LoggingProperties;
-import org.phong.zenflow.workflow.subdomain.logging.util.SharedThreadPoolManager;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
 
 import java.util.*;
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Pending entries and recent-entries ring of one run.
+ * <p>
+ * Owned by the {@link LogShard} the run is hashed to: only the shard thread appends and flushes, so the pending
+ * list needs no synchronization. The ring is the one part read from other threads (live stream replay).
+ */
 class WorkflowBuffer {
     private final UUID runId;
-    private final GlobalLogCollector collector;
     private final LoggingProperties.BufferConfig config;
-    private final SharedThreadPoolManager threadPoolManager;
 
-    // FIFO for batch, lock-free for producers
-    private final ConcurrentLinkedQueue<LogEntry> queue = new ConcurrentLinkedQueue<>();
+    private List<LogEntry> pending;
     // Small ring buffer for reconnect/recent view
     private final ArrayDeque<LogEntry> ring;
     private final int ringCap;
 
-    // Shared scheduler instead of per-workflow scheduler
-    private final ScheduledFuture<?> ticker;
-    private final AtomicBoolean closed = new AtomicBoolean(false);
+    // Adaptive batching state, shard thread only
+    private int currentBatchSize;
+    private long totalEntriesProcessed;
+    private long lastActivityTime = System.currentTimeMillis();
 
-    // Adaptive batching metrics
-    private final AtomicLong lastFlushTime = new AtomicLong(System.currentTimeMillis());
-    private final AtomicLong totalEntriesProcessed = new AtomicLong(0);
-    private final AtomicInteger currentBatchSize;
-    private volatile long lastActivityTime = System.currentTimeMillis();
-
-    WorkflowBuffer(UUID runId, GlobalLogCollector collector, LoggingProperties.BufferConfig config,
-                   SharedThreadPoolManager threadPoolManager) {
+    WorkflowBuffer(UUID runId, LoggingProperties.BufferConfig config) {
         this.runId = runId;
-        this.collector = collector;
         this.config = config;
-        this.threadPoolManager = threadPoolManager;
         this.ringCap = Math.max(1, config.getRingBufferSize());
         this.ring = new ArrayDeque<>(ringCap);
-        this.currentBatchSize = new AtomicInteger(config.getDefaultBatchSize());
-
-        // Use shared scheduler instead of creating per-workflow scheduler
-        this.ticker = threadPoolManager.getSharedScheduler().scheduleAtFixedRate(
-            this::flushIfAny,
-            config.getMaxDelayMs(),
-            config.getMaxDelayMs(),
-            TimeUnit.MILLISECONDS
-        );
-
-        threadPoolManager.incrementActiveWorkflows();
+        this.currentBatchSize = config.getDefaultBatchSize();
+        this.pending = new ArrayList<>(currentBatchSize);
     }
 
-    void append(LogEntry e) {
-        if (closed.get()) return;
-
-        queue.offer(e);
+    /**
+     * @return whether the run should be flushed right away rather than on the shard's next tick
+     */
+    boolean append(LogEntry e, int activeRuns) {
+        pending.add(e);
         addToRing(e);
         lastActivityTime = System.currentTimeMillis();
 
-        // Adaptive batching logic
-        int queueSize = queue.size();
-        boolean shouldFlushImmediate;
-
         // Priority-aware batching - ERROR logs get immediate processing
         if (e.getLevel() == LogLevel.ERROR) {
-            shouldFlushImmediate = true;
+            return true;
         }
-        // Dynamic batch size based on queue depth and system load
-        else if (config.isAdaptiveBatching()) {
-            updateAdaptiveBatchSize(queueSize);
-            shouldFlushImmediate = queueSize >= currentBatchSize.get();
-        } else {
-            shouldFlushImmediate = queueSize >= config.getDefaultBatchSize();
-        }
-
-        if (shouldFlushImmediate) {
-            // Use batch processor service to avoid blocking the caller
-            threadPoolManager.getBatchProcessorService().execute(this::flushIfAny);
+        if (config.isAdaptiveBatching()) {
+            updateAdaptiveBatchSize(pending.size(), activeRuns);
+            return pending.size() >= currentBatchSize;
         }
+        return pending.size() >= config.getDefaultBatchSize();
     }
 
-    synchronized void flushIfAny() {
-        if (queue.isEmpty()) return;
+    /**
+     * Hands pending entries to the collector in batches of the current effective size.
+     *
+     * @return number of entries flushed
+     */
+    int flush(GlobalLogCollector collector) {
+        if (pending.isEmpty()) return 0;
 
-        long flushStart = System.currentTimeMillis();
-        List<LogEntry> batch = new ArrayList<>(Math.min(queue.size(), getCurrentEffectiveBatchSize()));
-        LogEntry x;
+        List<LogEntry> drained = pending;
+        int batchSize = getCurrentEffectiveBatchSize();
+        pending = new ArrayList<>(batchSize);
 
-        while ((x = queue.poll()) != null) {
-            batch.add(x);
-            if (batch.size() >= getCurrentEffectiveBatchSize() && !queue.isEmpty()) {
-                collector.accept(runId, batch);
-                totalEntriesProcessed.addAndGet(batch.size());
-                batch = new ArrayList<>(Math.min(queue.size(), getCurrentEffectiveBatchSize()));
+        if (drained.size() <= batchSize) {
+            collector.accept(runId, drained);
+        } else {
+            for (int from = 0; from < drained.size(); from += batchSize) {
+                collector.accept(runId, List.copyOf(drained.subList(from, Math.min(from + batchSize, drained.size()))));
             }
         }
-
-        if (!batch.isEmpty()) {
-            collector.accept(runId, batch);
-            totalEntriesProcessed.addAndGet(batch.size());
-        }
-
-        lastFlushTime.set(flushStart);
+        totalEntriesProcessed += drained.size();
+        return drained.size();
     }
 
     List<LogEntry> recent(int limit) {
@@ -113,28 +83,9 @@ class WorkflowBuffer {
         }
     }
 
-    void closeAndFlush() {
-        if (closed.compareAndSet(false, true)) {
-            try {
-                ticker.cancel(false);
-            } catch (Exception ignore) {}
-
-            flushIfAny();
-            threadPoolManager.decrementActiveWorkflows();
-        }
-    }
-
     // Check if buffer has been idle for cleanup
-    boolean isIdleForCleanup() {
-        return System.currentTimeMillis() - lastActivityTime > config.getCleanupIdleAfterMs();
-    }
-
-    // Memory pressure callback
-    void handleMemoryPressure() {
-        // Force flush under memory pressure
-        if (!queue.isEmpty()) {
-            threadPoolManager.getBatchProcessorService().execute(this::flushIfAny);
-        }
+    boolean isIdleForCleanup(long now) {
+        return now - lastActivityTime > config.getCleanupIdleAfterMs();
     }
 
     private void addToRing(LogEntry e) {
@@ -144,33 +95,25 @@ class WorkflowBuffer {
         }
     }
 
-    private void updateAdaptiveBatchSize(int queueSize) {
-        // Adaptive batching based on queue depth and system load
-        int systemLoad = threadPoolManager.getActiveWorkflowCount();
-
-        if (queueSize > config.getDefaultBatchSize() * 2 || systemLoad > 10) {
+    private void updateAdaptiveBatchSize(int queueSize, int activeRuns) {
+        if (queueSize > config.getDefaultBatchSize() * 2 || activeRuns > 10) {
             // High load - increase batch size to improve throughput
-            currentBatchSize.set(Math.min(config.getMaxBatchSize(), currentBatchSize.get() + 10));
-        } else if (queueSize < config.getDefaultBatchSize() / 2 && systemLoad < 5) {
+            currentBatchSize = Math.min(config.getMaxBatchSize(), currentBatchSize + 10);
+        } else if (queueSize < config.getDefaultBatchSize() / 2 && activeRuns < 5) {
             // Low load - decrease batch size for better latency
-            currentBatchSize.set(Math.max(config.getMinBatchSize(), currentBatchSize.get() - 5));
+            currentBatchSize = Math.max(config.getMinBatchSize(), currentBatchSize - 5);
         }
     }
 
     private int getCurrentEffectiveBatchSize() {
-        return config.isAdaptiveBatching() ? currentBatchSize.get() : config.getDefaultBatchSize();
-    }
-
-    // Metrics for monitoring
-    public long getTotalEntriesProcessed() {
-        return totalEntriesProcessed.get();
+        return config.isAdaptiveBatching() ? currentBatchSize : config.getDefaultBatchSize();
     }
 
-    public int getCurrentQueueSize() {
-        return queue.size();
+    long getTotalEntriesProcessed() {
+        return totalEntriesProcessed;
     }
 
-    public long getLastFlushTime() {
-        return lastFlushTime.get();
+    int getPendingSize() {
+        return pending.size();
     }
 }
@@ -2,91 +2,123 @@ package org.phong.zenflow.workflow.subdomain.logging.infrastructure.buffer;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector.GlobalLogCollector;
 import org.phong.zenflow.workflow.subdomain.logging.config.LoggingProperties;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.metrics.LoggingMetrics;
 import org.phong.zenflow.workflow.subdomain.logging.util.SharedThreadPoolManager;
 
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.function.Consumer;
 
+/**
+ * Per-run log buffers, partitioned over a fixed number of {@link LogShard}s.
+ * <p>
+ * A run is hashed to one shard for its lifetime; that shard's thread is the only consumer of its entries, so
+ * runs do not contend with each other beyond sharing an inbox.
+ */
 public class WorkflowBufferManager {
-    private final ConcurrentMap<UUID, WorkflowBuffer> buffers = new ConcurrentHashMap<>();
-    private final GlobalLogCollector collector;
-    private final LoggingProperties.BufferConfig config;
-    private final SharedThreadPoolManager threadPoolManager;
-    private final ScheduledFuture<?> cleanupTask;
+    private final LogShard[] shards;
+    private final Thread[] threads;
 
+    /**
+     * @param liveListener fast lane, called on the shard thread for every entry before it is buffered
+     */
     public WorkflowBufferManager(GlobalLogCollector collector, LoggingProperties.BufferConfig config,
-                                SharedThreadPoolManager threadPoolManager) {
-        this.collector = collector;
-        this.config = config;
-        this.threadPoolManager = threadPoolManager;
+                                 SharedThreadPoolManager threadPoolManager, LoggingMetrics metrics,
+                                 int shardCount, int queueCapacity, Consumer<LogEntry> liveListener) {
+        int count = Math.max(1, shardCount);
+        int shardCapacity = Math.max(1024, queueCapacity / count);
+        this.shards = new LogShard[count];
+        this.threads = new Thread[count];
 
-        // Schedule periodic cleanup of idle buffers
-        this.cleanupTask = threadPoolManager.getSharedScheduler().scheduleAtFixedRate(
-            this::cleanupIdleBuffers,
-            config.getCleanupIdleAfterMs(),
-            config.getCleanupIdleAfterMs() / 2, // Check twice as frequently as timeout
-            TimeUnit.MILLISECONDS
-        );
+        for (int i = 0; i < count; i++) {
+            LogShard shard = new LogShard(i, shardCapacity, collector, config, threadPoolManager, metrics,
+                    liveListener);
+            shards[i] = shard;
+            metrics.registerShard(i, shard, LogShard::getQueuedEntries, LogShard::getLagMillis);
+            Thread t = new Thread(shard, "log-shard-" + i);
+            t.setDaemon(true);
+            threads[i] = t;
+            t.start();
+        }
     }
 
-    public void startRun(UUID runId) {
-        buffers.computeIfAbsent(runId, id ->
-            new WorkflowBuffer(id, collector, config, threadPoolManager)
-        );
+    /**
+     * @return {@code false} if the entry was dropped because its shard is saturated
+     */
+    public boolean enqueue(LogEntry e) {
+        return shardFor(e.getWorkflowRunId()).offer(e);
     }
 
+    /**
+     * Flushes and forgets the run's buffer; runs that are never ended are retired once idle.
+     */
     public void endRun(UUID runId) {
-        WorkflowBuffer buf = buffers.remove(runId);
-        if (buf != null) buf.closeAndFlush();
-    }
-
-    public void enqueue(LogEntry e) {
-        // Ensure buffer exists (idempotent)
-        startRun(e.getWorkflowRunId());
-        buffers.get(e.getWorkflowRunId()).append(e);
+        shardFor(runId).close(runId);
     }
 
     public List<LogEntry> recent(UUID runId, int limit) {
-        WorkflowBuffer buf = buffers.get(runId);
-        return buf == null ? List.of() : buf.recent(limit);
+        return shardFor(runId).recent(runId, limit);
     }
 
     // Handle system memory pressure by flushing all buffers
     public void handleMemoryPressure() {
-        buffers.values().parallelStream().forEach(WorkflowBuffer::handleMemoryPressure);
+        for (LogShard shard : shards) {
+            shard.requestFlush();
+        }
+    }
+
+    public int queuedEntries() {
+        int total = 0;
+        for (LogShard shard : shards) {
+            total += shard.getQueuedEntries();
+        }
+        return total;
     }
 
     // Get metrics for monitoring
     public Map<String, Object> getMetrics() {
         Map<String, Object> metrics = new HashMap<>();
-        metrics.put("activeBuffers", buffers.size());
-        metrics.put("totalQueueSize", buffers.values().stream()
-            .mapToInt(WorkflowBuffer::getCurrentQueueSize)
-            .sum());
-        metrics.put("totalProcessedEntries", buffers.values().stream()
-            .mapToLong(WorkflowBuffer::getTotalEntriesProcessed)
-            .sum());
+        List<Map<String, Object>> perShard = new ArrayList<>(shards.length);
+        int activeBuffers = 0;
+        int pending = 0;
+        long processed = 0;
+        for (LogShard shard : shards) {
+            activeBuffers += shard.getActiveRuns();
+            pending += shard.getPendingEntries();
+            processed += shard.getProcessedEntries();
+            perShard.add(Map.of(
+                "shard", shard.getIndex(),
+                "queued", shard.getQueuedEntries(),
+                "lagMs", shard.getLagMillis(),
+                "activeRuns", shard.getActiveRuns(),
+                "dropped", shard.getDroppedEntries()
+            ));
+        }
+        metrics.put("activeBuffers", activeBuffers);
+        metrics.put("totalQueueSize", pending + queuedEntries());
+        metrics.put("totalProcessedEntries", processed);
+        metrics.put("shards", perShard);
         return metrics;
     }
 
-    private void cleanupIdleBuffers() {
-        buffers.entrySet().removeIf(entry -> {
-            WorkflowBuffer buffer = entry.getValue();
-            if (buffer.isIdleForCleanup()) {
-                buffer.closeAndFlush();
-                return true;
-            }
-            return false;
-        });
+    private LogShard shardFor(UUID runId) {
+        // Spread the hash bits so runs with similar ids still land on different shards
+        int h = runId == null ? 0 : runId.hashCode();
+        h ^= (h >>> 16);
+        return shards[Math.floorMod(h, shards.length)];
     }
 
     public void shutdown() {
-        if (cleanupTask != null) {
-            cleanupTask.cancel(false);
+        for (LogShard shard : shards) {
+            shard.stop();
+        }
+        // Each shard drains its inbox and flushes its runs before exiting
+        for (Thread t : threads) {
+            try {
+                t.join(30_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
-
-        // Close all remaining buffers
-        buffers.values().forEach(WorkflowBuffer::closeAndFlush);
-        buffers.clear();
     }
 }
@@ -7,6 +7,7 @@ import org.phong.zenflow.workflow.subdomain.logging.infrastructure.metrics.Loggi
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.persistence.PersistenceService;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
 import org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher.KafkaPublisher;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.spool.MappedLogSpool;
 import org.phong.zenflow.workflow.subdomain.logging.util.CircuitBreaker;
 
 import java.util.*;
@@ -15,37 +16,60 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 public class GlobalLogCollector {
-    private final BlockingQueue<Batch> queue;
+    // One per worker; runs are hashed to a partition, so a run is always written by the same worker
+    private final Partition[] partitions;
     private final PersistenceService persistence;
     private final KafkaPublisher kafka;
     private final LoggingProperties.PersistenceConfig config;
     private final CircuitBreaker circuitBreaker;
     private final LoggingMetrics metrics;
     private final ExecutorService workerPool;
+    private final MappedLogSpool spool;
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
+    private final AtomicBoolean replaying = new AtomicBoolean(false);
 
     public GlobalLogCollector(PersistenceService persistence, KafkaPublisher kafka,
                             LoggingProperties.PersistenceConfig config, CircuitBreaker circuitBreaker,
                             LoggingMetrics metrics, int workers) {
+        this(persistence, kafka, config, circuitBreaker, metrics, workers, null);
+    }
+
+    /**
+     * @param spool local spool that absorbs batches while persistence is unavailable; {@code null} to drop them
+     */
+    public GlobalLogCollector(PersistenceService persistence, KafkaPublisher kafka,
+                            LoggingProperties.PersistenceConfig config, CircuitBreaker circuitBreaker,
+                            LoggingMetrics metrics, int workers, MappedLogSpool spool) {
         this.persistence = persistence;
         this.kafka = kafka;
         this.config = config;
         this.circuitBreaker = circuitBreaker;
         this.metrics = metrics;
+        this.spool = spool;
 
         // Use configurable queue capacity with monitoring
         int capacity = 10_000; // Could make this configurable
-        this.queue = new ArrayBlockingQueue<>(capacity);
+        int writers = Math.max(1, workers);
+        this.partitions = new Partition[writers];
+        for (int i = 0; i < writers; i++) {
+            partitions[i] = new Partition(new ArrayBlockingQueue<>(Math.max(1, capacity / writers)),
+                    new LinkedBlockingQueue<>(capacity));
+        }
 
-        this.workerPool = Executors.newFixedThreadPool(workers, r -> {
+        this.workerPool = Executors.newFixedThreadPool(writers, r -> {
             Thread t = new Thread(r, "log-collector");
             t.setDaemon(true);
             return t;
         });
 
-        // Start worker threads
-        for (int i = 0; i < workers; i++) {
-            workerPool.submit(this::processBatches);
+        // One writer per partition: writes of a run never overtake each other, and a run whose batch is being
+        // retried with backoff only holds back the runs of its own partition
+        for (Partition partition : partitions) {
+            if (config.getCoalesce().isEnabled()) {
+                workerPool.submit(() -> processCoalesced(partition));
+            } else {
+                workerPool.submit(() -> processBatches(partition));
+            }
         }
     }
 
@@ -54,30 +78,136 @@ public class GlobalLogCollector {
 
         Batch batch = new Batch(runId, entries);
 
-        if (!queue.offer(batch)) {
+        if (!partitionOf(runId).queue().offer(batch)) {
             // Backpressure handling with metrics
             metrics.incrementBufferOverflows();
             handleBackpressure(batch);
         }
 
         // Update queue depth metrics
-        metrics.recordQueueDepth(queue.size());
+        metrics.recordQueueDepth(getQueueSize());
     }
 
-    private void processBatches() {
-        while (!shutdown.get() || !queue.isEmpty()) {
+    private Partition partitionOf(UUID runId) {
+        return partitions[runId == null ? 0 : Math.floorMod(runId.hashCode(), partitions.length)];
+    }
+
+    private void processBatches(Partition partition) {
+        BlockingQueue<Batch> queue = partition.queue();
+        while (!shutdown.get() || partition.hasQueued()) {
             try {
-                Batch batch = queue.poll(1, TimeUnit.SECONDS);
+                Batch batch = partition.errorOverflow().poll();
+                if (batch == null) {
+                    batch = queue.poll(1, TimeUnit.SECONDS);
+                }
                 if (batch != null) {
-                    processBatchWithRetry(batch);
+                    write(batch);
+                } else if (!shutdown.get()) {
+                    // Idle: drain the spool, which also probes a tripped circuit breaker once it may recover
+                    replaySpool();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Coalescing mode: after the first batch arrives, keeps draining the partition's queue until
+     * {@code maxEntries} entries or {@code maxDelayMs} are reached, then writes the batches of its runs as one. Batches are concatenated in
+     * queue order, which keeps each run's entries in order. Sinks still receive one batch per run, and a failed
+     * write is retried run by run so one bad entry does not hold back the other runs.
+     */
+    private void processCoalesced(Partition partition) {
+        LoggingProperties.PersistenceConfig.CoalesceConfig coalesce = config.getCoalesce();
+        long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(coalesce.getMaxDelayMs());
+        BlockingQueue<Batch> queue = partition.queue();
+        List<Batch> parts = new ArrayList<>();
+
+        while (!shutdown.get() || partition.hasQueued()) {
+            try {
+                Batch urgent = partition.errorOverflow().poll();
+                if (urgent != null) {
+                    write(urgent);
+                    continue;
+                }
+                Batch first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    if (!shutdown.get()) {
+                        replaySpool();
+                    }
+                    continue;
+                }
+                parts.add(first);
+                int entries = first.entries.size();
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (entries < coalesce.getMaxEntries()) {
+                    long waitNanos = deadline - System.nanoTime();
+                    Batch next = waitNanos > 0 && !shutdown.get()
+                            ? queue.poll(waitNanos, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    parts.add(next);
+                    entries += next.entries.size();
                 }
+                write(merge(parts, entries));
+                metrics.recordCoalescedWrite(parts.size(), (double) entries / coalesce.getMaxEntries());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
+            } finally {
+                parts.clear();
             }
         }
     }
 
+    /**
+     * Writes a batch, or while older entries are still spooled, appends it behind them and replays the next slice
+     * of the spool. Runs keep their order across an outage, and the spool drains under load rather than only
+     * when the queue runs idle.
+     */
+    private void write(Batch batch) {
+        if (spool == null || spool.isEmpty()) {
+            processBatchWithRetry(batch);
+            return;
+        }
+        List<Batch> runs = batch.runId == null ? splitByRun(batch.entries) : List.of(batch);
+        for (Batch run : runs) {
+            if (run.runId == null || !spoolBatch(run)) {
+                // Spool full: writing out of order beats dropping the entries
+                processBatchWithRetry(run);
+            }
+        }
+        replaySpool();
+    }
+
+    private static Batch merge(List<Batch> parts, int entries) {
+        if (parts.size() == 1) {
+            return parts.getFirst();
+        }
+        List<LogEntry> merged = new ArrayList<>(entries);
+        for (Batch part : parts) {
+            merged.addAll(part.entries);
+        }
+        return new Batch(null, merged);
+    }
+
+    /**
+     * Splits a coalesced batch back into one batch per run, keeping each run's order.
+     */
+    private static List<Batch> splitByRun(List<LogEntry> entries) {
+        Map<UUID, List<LogEntry>> byRun = new LinkedHashMap<>();
+        for (LogEntry e : entries) {
+            byRun.computeIfAbsent(e.getWorkflowRunId(), id -> new ArrayList<>()).add(e);
+        }
+        List<Batch> batches = new ArrayList<>(byRun.size());
+        byRun.forEach((runId, runEntries) -> batches.add(new Batch(runId, runEntries)));
+        return batches;
+    }
+
     private void processBatchWithRetry(Batch batch) {
         Timer.Sample sample = metrics.startBatchProcessingTimer();
 
@@ -86,7 +216,7 @@ public class GlobalLogCollector {
             circuitBreaker.executeVoid(() -> {
                 Timer.Sample persistenceTimer = metrics.startPersistenceTimer();
                 try {
-                    persistence.saveBatch(batch.runId, batch.entries);
+                    persist(batch);
                     metrics.incrementPersistenceSuccesses();
                     metrics.incrementLogsProcessed(batch.entries.size());
                     metrics.recordBatchSize(batch.entries.size());
@@ -98,30 +228,39 @@ public class GlobalLogCollector {
                 }
             });
 
-            // Forward to Kafka if available (optional, don't fail the whole batch)
-            if (kafka != null) {
-                try {
-                    kafka.publish(batch.entries);
-                } catch (Exception kafkaEx) {
-                    // Log Kafka failure but don't retry - persistence is more critical
-                    System.err.println("Kafka publish failed: " + kafkaEx.getMessage());
-                }
-            }
+            publishToSinks(batch);
 
         } catch (CircuitBreaker.CircuitBreakerException e) {
             // Circuit breaker is open, drop the batch or queue for later
             handleCircuitBreakerOpen(batch);
         } catch (Exception ex) {
-            // Retry with backoff
-            retryBatch(batch, ex, 1);
+            List<Batch> runs = batch.runId == null ? splitByRun(batch.entries) : List.of(batch);
+            if (runs.size() > 1) {
+                // Write each run of a coalesced batch on its own, so only the failing run is retried
+                runs.forEach(this::processBatchWithRetry);
+            } else {
+                // Retry with backoff
+                retryBatch(batch, ex, 1);
+            }
         } finally {
             metrics.recordBatchProcessingTime(sample);
         }
     }
 
+    private void persist(Batch batch) throws Exception {
+        if (batch.runId == null) {
+            persistence.saveAll(batch.entries);
+        } else {
+            persistence.saveBatch(batch.runId, batch.entries);
+        }
+    }
+
     private void retryBatch(Batch batch, Exception lastException, int attempt) {
         if (attempt > config.getRetryAttempts()) {
             metrics.incrementPersistenceFailures();
+            if (spoolBatch(batch)) {
+                return;
+            }
             System.err.println("Failed to persist batch after " + config.getRetryAttempts() +
                              " attempts: " + lastException.getMessage());
             return;
@@ -136,7 +275,7 @@ public class GlobalLogCollector {
             circuitBreaker.executeVoid(() -> {
                 Timer.Sample timer = metrics.startPersistenceTimer();
                 try {
-                    persistence.saveBatch(batch.runId, batch.entries);
+                    persist(batch);
                     metrics.incrementPersistenceSuccesses();
                     metrics.incrementLogsProcessed(batch.entries.size());
                 } catch (Exception e) {
@@ -163,25 +302,28 @@ public class GlobalLogCollector {
         if (!criticalEntries.isEmpty()) {
             // Try to queue only critical entries
             Batch criticalBatch = new Batch(batch.runId, criticalEntries);
-            if (!queue.offer(criticalBatch)) {
-                // Still can't queue - force synchronous processing for ERROR level
+            Partition partition = partitionOf(batch.runId);
+            if (!partition.queue().offer(criticalBatch)) {
+                // Still can't queue - hand ERROR entries to the run's worker; persisting them here would block the
+                // producer (a log shard thread) on retries and backoff
                 List<LogEntry> errorEntries = criticalEntries.stream()
                     .filter(e -> e.getLevel() == LogLevel.ERROR)
                     .toList();
-                if (!errorEntries.isEmpty()) {
-                    processBatchWithRetry(new Batch(batch.runId, errorEntries));
+                if (!errorEntries.isEmpty() && !partition.errorOverflow().offer(new Batch(batch.runId, errorEntries))) {
+                    log.error("Critical: dropping {} ERROR logs of run {}, log queues are full",
+                            errorEntries.size(), batch.runId);
                 }
             }
         }
     }
 
     private void handleCircuitBreakerOpen(Batch batch) {
-        // When circuit breaker is open, we could:
-        // 1. Drop the batch (current approach)
-        // 2. Queue to a dead letter queue
-        // 3. Write to a local file for later processing
+        // Park the whole batch in the local spool; it is replayed once persistence recovers
+        if (spoolBatch(batch)) {
+            return;
+        }
 
-        // For now, just count the failure and drop non-critical logs
+        // No spool or spool full: count the failure and drop non-critical logs
         metrics.incrementPersistenceFailures();
 
         // Keep only ERROR level logs and try to queue them for later
@@ -190,11 +332,99 @@ public class GlobalLogCollector {
             .toList();
 
         if (!errorEntries.isEmpty()) {
-            if (!queue.offer(new Batch(batch.runId, errorEntries))) {
-                // Queue is full, can't even save ERROR logs - log this critical situation
-                log.error("Critical: Unable to queue ERROR logs due to full buffer. Circuit breaker is open.");
-                metrics.incrementBufferOverflows();
+            List<Batch> runs = batch.runId == null ? splitByRun(errorEntries) : List.of(new Batch(batch.runId, errorEntries));
+            for (Batch run : runs) {
+                if (!partitionOf(run.runId).queue().offer(run)) {
+                    // Queue is full, can't even save ERROR logs - log this critical situation
+                    log.error("Critical: Unable to queue ERROR logs due to full buffer. Circuit breaker is open.");
+                    metrics.incrementBufferOverflows();
+                }
+            }
+        }
+    }
+
+    private void publishToSinks(Batch batch) {
+        if (batch.runId == null) {
+            // Sinks expect the entries of one run per batch
+            splitByRun(batch.entries).forEach(run -> publishToSinks(run.entries));
+        } else {
+            publishToSinks(batch.entries);
+        }
+    }
+
+    private void publishToSinks(List<LogEntry> entries) {
+        // Forward to the log sinks if available (optional, don't fail the whole batch)
+        if (kafka != null) {
+            try {
+                kafka.publish(entries);
+            } catch (Exception kafkaEx) {
+                // Log sink failure but don't retry - persistence is more critical
+                log.warn("Log sink publish failed: {}", kafkaEx.getMessage());
+            }
+        }
+    }
+
+    private boolean spoolBatch(Batch batch) {
+        if (spool == null) {
+            return false;
+        }
+        if (batch.runId == null) {
+            // The spool is keyed by run
+            boolean spooled = true;
+            for (Batch run : splitByRun(batch.entries)) {
+                spooled &= run.runId != null && spoolBatch(run);
+            }
+            return spooled;
+        }
+        try {
+            if (spool.append(batch.runId, batch.entries)) {
+                metrics.incrementBatchesSpooled();
+                return true;
             }
+            log.error("Log spool {} is full, {} entries of run {} cannot be spooled",
+                    spool.getPath(), batch.entries.size(), batch.runId);
+        } catch (Exception e) {
+            log.error("Failed to spool log batch of run {}: {}", batch.runId, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Replays spooled batches oldest first through the circuit breaker, stopping at the first failure so the
+     * remaining batches stay in the spool. Only one worker replays at a time.
+     */
+    private void replaySpool() {
+        if (spool == null || spool.isEmpty() || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < config.getSpool().getReplayBatchLimit(); i++) {
+                MappedLogSpool.SpooledBatch spooled = spool.peek();
+                if (spooled == null) {
+                    return;
+                }
+                circuitBreaker.executeVoid(() -> {
+                    Timer.Sample timer = metrics.startPersistenceTimer();
+                    try {
+                        persistence.saveBatch(spooled.runId(), spooled.entries());
+                        metrics.incrementPersistenceSuccesses();
+                        metrics.incrementLogsProcessed(spooled.entries().size());
+                    } catch (Exception e) {
+                        throw new RuntimeException("Spool replay failed", e);
+                    } finally {
+                        metrics.recordPersistenceLatency(timer);
+                    }
+                });
+                spool.commit(spooled);
+                metrics.incrementBatchesReplayed();
+                publishToSinks(spooled.entries());
+            }
+        } catch (CircuitBreaker.CircuitBreakerException e) {
+            // Still open, try again on the next write or idle poll
+        } catch (Exception e) {
+            log.debug("Log spool replay interrupted: {}", e.getMessage());
+        } finally {
+            replaying.set(false);
         }
     }
 
@@ -210,16 +440,44 @@ public class GlobalLogCollector {
             Thread.currentThread().interrupt();
             workerPool.shutdownNow();
         }
+
+        if (spool != null) {
+            try {
+                spool.close();
+            } catch (Exception e) {
+                log.warn("Failed to close log spool: {}", e.getMessage());
+            }
+        }
     }
 
     // Metrics access
     public int getQueueSize() {
-        return queue.size();
+        int size = 0;
+        for (Partition partition : partitions) {
+            size += partition.queue().size();
+        }
+        return size;
     }
 
     public CircuitBreaker.State getCircuitBreakerState() {
         return circuitBreaker.getState();
     }
 
+    public long getSpooledBytes() {
+        return spool != null ? spool.pendingBytes() : 0;
+    }
+
+    /**
+     * @param runId {@code null} for a coalesced batch holding entries of several runs
+     */
     private record Batch(UUID runId, List<LogEntry> entries) {}
+
+    /**
+     * @param errorOverflow ERROR entries that did not fit into the full queue; the worker takes these first
+     */
+    private record Partition(BlockingQueue<Batch> queue, BlockingQueue<Batch> errorOverflow) {
+        boolean hasQueued() {
+            return !queue.isEmpty() || !errorOverflow.isEmpty();
+        }
+    }
 }
@@ -5,7 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
 import org.phong.zenflow.workflow.subdomain.logging.router.LogRouter;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,10 +18,10 @@ public class LogEntryEventListener {
 
     /**
      * Listens for LogEntry events and routes them through the LogRouter.
-     * This is asynchronous using the global applicationTaskExecutor to avoid blocking the publisher.
+     * Runs on the publishing thread: dispatch is a non-blocking ring offer, cheaper than handing the entry to
+     * another executor first.
      */
     @EventListener
-    @Async
     public void handleLogEntry(LogEntry logEntry) {
         try {
             log.trace("Received LogEntry event for workflow run: {}, node: {}, level: {}",
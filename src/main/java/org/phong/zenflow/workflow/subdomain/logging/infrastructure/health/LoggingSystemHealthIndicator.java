@@ -68,13 +68,15 @@ public class LoggingSystemHealthIndicator implements HealthIndicator {
                 "totalQueueSize", bufferMetrics.get("totalQueueSize"),
                 "processedEntries", bufferMetrics.get("totalProcessedEntries")
             ))
+            .withDetail("shards", bufferMetrics.get("shards"))
             .withDetail("threadPool", Map.of(
                 "activeWorkflows", threadPoolManager.getActiveWorkflowCount()
             ))
             .withDetail("persistence", Map.of(
                 "successes", snapshot.persistenceSuccesses(),
                 "failures", snapshot.persistenceFailures(),
-                "avgLatency", String.format("%.2fms", snapshot.avgPersistenceLatency())
+                "avgLatency", String.format("%.2fms", snapshot.avgPersistenceLatency()),
+                "avgCoalesceFill", String.format("%.1f%%", snapshot.avgCoalesceFillRatio() * 100)
             ))
             .withDetail("performance", Map.of(
                 "avgBufferFlushTime", String.format("%.2fms", snapshot.avgBufferFlushTime()),
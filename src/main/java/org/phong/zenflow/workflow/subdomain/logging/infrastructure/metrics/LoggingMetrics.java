@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
 
 @Component
 public class LoggingMetrics {
@@ -18,6 +19,8 @@ public class LoggingMetrics {
     private final Counter persistenceSuccesses;
     private final Counter bufferOverflows;
     private final Counter circuitBreakerTrips;
+    private final Counter batchesSpooled;
+    private final Counter batchesReplayed;
 
     // Gauges
     private final AtomicLong activeWorkflows = new AtomicLong(0);
@@ -32,6 +35,8 @@ public class LoggingMetrics {
     // Distribution summaries for tracking batch sizes and queue depths
     private final DistributionSummary batchSizes;
     private final DistributionSummary queueDepths;
+    private final DistributionSummary coalesceFillRatio;
+    private final DistributionSummary coalescedBatches;
 
     public LoggingMetrics(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
@@ -57,6 +62,14 @@ public class LoggingMetrics {
             .description("Number of circuit breaker trips")
             .register(meterRegistry);
 
+        this.batchesSpooled = Counter.builder("zenflow.logging.spool.spooled")
+            .description("Log batches written to the local spool while persistence was unavailable")
+            .register(meterRegistry);
+
+        this.batchesReplayed = Counter.builder("zenflow.logging.spool.replayed")
+            .description("Spooled log batches replayed into persistence")
+            .register(meterRegistry);
+
         // Initialize gauges with proper API
         Gauge.builder("zenflow.logging.workflows.active", this, LoggingMetrics::getActiveWorkflows)
             .description("Number of active workflows with logging buffers")
@@ -91,6 +104,14 @@ public class LoggingMetrics {
         this.queueDepths = DistributionSummary.builder("zenflow.logging.queue.depth")
             .description("Distribution of queue depths per workflow")
             .register(meterRegistry);
+
+        this.coalesceFillRatio = DistributionSummary.builder("zenflow.logging.coalesce.fill.ratio")
+            .description("Entries per coalesced write relative to the configured maximum")
+            .register(meterRegistry);
+
+        this.coalescedBatches = DistributionSummary.builder("zenflow.logging.coalesce.batches")
+            .description("Per-run batches merged into one coalesced write")
+            .register(meterRegistry);
     }
 
     // Counter methods
@@ -114,6 +135,14 @@ public class LoggingMetrics {
         circuitBreakerTrips.increment();
     }
 
+    public void incrementBatchesSpooled() {
+        batchesSpooled.increment();
+    }
+
+    public void incrementBatchesReplayed() {
+        batchesReplayed.increment();
+    }
+
     // Gauge update methods
     public void updateActiveWorkflows(long count) {
         activeWorkflows.set(count);
@@ -127,6 +156,20 @@ public class LoggingMetrics {
         memoryUsage.set(bytes);
     }
 
+    // Per-shard gauges of the log pipeline, tagged with the shard index
+    public <T> void registerShard(int shard, T state, ToDoubleFunction<T> queuedEntries, ToDoubleFunction<T> lagMillis) {
+        Gauge.builder("zenflow.logging.shard.queue.depth", state, queuedEntries)
+            .description("Log entries waiting in the shard inbox")
+            .tag("shard", String.valueOf(shard))
+            .register(meterRegistry);
+
+        Gauge.builder("zenflow.logging.shard.lag", state, lagMillis)
+            .description("Age of the entry the shard last picked up while it had a backlog")
+            .baseUnit("milliseconds")
+            .tag("shard", String.valueOf(shard))
+            .register(meterRegistry);
+    }
+
     // Timer methods
     public Sample startPersistenceTimer() {
         return Timer.start(meterRegistry);
@@ -161,6 +204,12 @@ public class LoggingMetrics {
         queueDepths.record(depth);
     }
 
+    // Write latency of coalesced writes is covered by the persistence latency timer
+    public void recordCoalescedWrite(int batches, double fillRatio) {
+        coalescedBatches.record(batches);
+        coalesceFillRatio.record(fillRatio);
+    }
+
     // Getter methods for gauges
     private double getActiveWorkflows() {
         return activeWorkflows.doubleValue();
@@ -187,7 +236,8 @@ public class LoggingMetrics {
             memoryUsage.get(),
             persistenceLatency.mean(TimeUnit.MILLISECONDS),
             bufferFlushTime.mean(TimeUnit.MILLISECONDS),
-            batchProcessingTime.mean(TimeUnit.MILLISECONDS)
+            batchProcessingTime.mean(TimeUnit.MILLISECONDS),
+            coalesceFillRatio.mean()
         );
     }
 
@@ -202,6 +252,7 @@ public class LoggingMetrics {
         long memoryUsage,
         double avgPersistenceLatency,
         double avgBufferFlushTime,
-        double avgBatchProcessingTime
+        double avgBatchProcessingTime,
+        double avgCoalesceFillRatio
     ) {}
 }
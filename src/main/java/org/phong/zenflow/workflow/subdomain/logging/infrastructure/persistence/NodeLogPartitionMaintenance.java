@@ -0,0 +1,94 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.logging.config.LoggingProperties;
+import org.phong.zenflow.workflow.subdomain.logging.util.SharedThreadPoolManager;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the daily partitions of {@code node_logs} ahead of time and, when a retention is configured, drops
+ * partitions that fell out of it. Dropping a partition is instant, unlike deleting its rows.
+ * <p>
+ * Day boundaries are computed by the database so they match the partition bounds created by the migration.
+ * The pre-partitioning {@code node_logs_legacy} partition is never dropped here.
+ * <p>
+ * Every instance runs this; {@code create_node_logs_partition} serializes creation with an advisory lock and
+ * returns {@code null} for days still covered by the legacy partition.
+ */
+@Component
+@Slf4j
+public class NodeLogPartitionMaintenance {
+    private static final Pattern DAILY_PARTITION = Pattern.compile("^node_logs_\\d{8}$");
+
+    private static final String EXPIRED_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'node_logs'
+              AND c.relname ~ '^node_logs_[0-9]{8}$'
+              AND to_date(substring(c.relname FROM 11), 'YYYYMMDD') < current_date - ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SharedThreadPoolManager threadPoolManager;
+    private final LoggingProperties.PersistenceConfig.PartitionConfig config;
+
+    public NodeLogPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                       SharedThreadPoolManager threadPoolManager,
+                                       LoggingProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.threadPoolManager = threadPoolManager;
+        this.config = properties.getPersistence().getPartitions();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        threadPoolManager.getSharedScheduler().scheduleWithFixedDelay(this::runSafely,
+                0, config.getMaintenanceIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    public void run() {
+        createUpcomingPartitions();
+        if (config.getRetentionDays() > 0) {
+            dropExpiredPartitions();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception e) {
+            // Rows still land in the default partition, so a failed round only costs pruning
+            log.error("node_logs partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createUpcomingPartitions() {
+        for (int day = 0; day <= config.getPrecreateDays(); day++) {
+            jdbcTemplate.queryForObject("SELECT create_node_logs_partition(current_date + ?)", String.class, day);
+        }
+        log.debug("Ensured node_logs partitions for the next {} days", config.getPrecreateDays());
+    }
+
+    private void dropExpiredPartitions() {
+        List<String> expired = jdbcTemplate.queryForList(EXPIRED_PARTITIONS_SQL, String.class, config.getRetentionDays());
+        for (String partition : expired) {
+            if (!DAILY_PARTITION.matcher(partition).matches()) {
+                continue;
+            }
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+            log.info("Dropped expired node_logs partition {}", partition);
+        }
+    }
+}
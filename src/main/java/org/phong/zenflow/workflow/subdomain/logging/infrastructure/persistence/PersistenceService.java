@@ -2,9 +2,25 @@ package org.phong.zenflow.workflow.subdomain.logging.infrastructure.persistence;
 
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface PersistenceService {
     void saveBatch(UUID runId, List<LogEntry> entries) throws Exception;
+
+    /**
+     * Persists entries of any number of runs, in list order, as one write. Each entry carries its own run id.
+     */
+    default void saveAll(List<LogEntry> entries) throws Exception {
+        Map<UUID, List<LogEntry>> byRun = new LinkedHashMap<>();
+        for (LogEntry e : entries) {
+            byRun.computeIfAbsent(e.getWorkflowRunId(), id -> new ArrayList<>()).add(e);
+        }
+        for (Map.Entry<UUID, List<LogEntry>> run : byRun.entrySet()) {
+            saveBatch(run.getKey(), run.getValue());
+        }
+    }
 }
@@ -1,14 +1,34 @@
 package org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher;
 
+import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
-import org.springframework.stereotype.Component;
 
 import java.util.List;
 
-@Component
+/**
+ * Fans each batch out to the registered {@link LogSink}s. A failing sink is logged and skipped so that it
+ * cannot hold back the others or the persistence path.
+ */
+@Slf4j
 public class KafkaImpl implements KafkaPublisher {
+    private final List<LogSink> sinks;
+
+    public KafkaImpl(List<LogSink> sinks) {
+        this.sinks = List.copyOf(sinks);
+    }
+
     @Override
     public void publish(List<LogEntry> entries) {
+        for (LogSink sink : sinks) {
+            try {
+                sink.publish(entries);
+            } catch (Exception e) {
+                log.warn("Log sink {} failed to publish {} entries: {}", sink.name(), entries.size(), e.getMessage());
+            }
+        }
+    }
 
+    public List<LogSink> getSinks() {
+        return sinks;
     }
 }
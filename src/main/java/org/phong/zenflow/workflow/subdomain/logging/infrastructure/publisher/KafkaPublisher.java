@@ -4,6 +4,6 @@ import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
 import java.util.List;
 
 public interface KafkaPublisher {
-    // Implement with your Kafka client; partition key = runId to preserve order per run
+    // Publishes a persisted batch to the configured LogSinks; partition key = runId to preserve order per run
     void publish(List<LogEntry> entries);
 }
@@ -0,0 +1,152 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One live tail of a workflow run's logs.
+ * <p>
+ * Entries are buffered in a bounded queue that drops the oldest entry when the subscriber falls behind, so a
+ * slow client can never back up the log router. Delivery happens on the given executor, one drain at a time,
+ * and the number of entries dropped since the previous delivery is reported along with each batch.
+ */
+@Slf4j
+public final class LiveLogSubscription implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface Listener {
+        void deliver(List<LogEntry> entries, long dropped) throws Exception;
+    }
+
+    @Getter
+    private final UUID runId;
+    private final int capacity;
+    private final Executor executor;
+    private final Listener listener;
+    private final Consumer<LiveLogSubscription> onClose;
+
+    private final ArrayDeque<LogEntry> queue;
+    private final Set<LogEntry> replayed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private List<LogEntry> pendingReplay = List.of();
+    private long dropped;
+    // Live entries are held back until the history has been taken, so nothing is sent twice
+    private volatile boolean started;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    LiveLogSubscription(UUID runId, int capacity, Executor executor, Listener listener,
+                        Consumer<LiveLogSubscription> onClose) {
+        this.runId = runId;
+        this.capacity = Math.max(1, capacity);
+        this.executor = executor;
+        this.listener = listener;
+        this.onClose = onClose;
+        this.queue = new ArrayDeque<>(Math.min(this.capacity, 256));
+    }
+
+    /**
+     * Sends already buffered history ahead of any live entry and starts delivery. Entries that also reached
+     * the live queue (the ring and the live lane race each other) are delivered only once.
+     */
+    public void replay(List<LogEntry> history) {
+        synchronized (queue) {
+            replayed.addAll(history);
+            pendingReplay = history;
+        }
+        started = true;
+        scheduleDrain();
+    }
+
+    void offer(LogEntry entry) {
+        if (closed.get()) {
+            return;
+        }
+        synchronized (queue) {
+            if (queue.size() >= capacity) {
+                queue.pollFirst();
+                dropped++;
+            }
+            queue.addLast(entry);
+        }
+        scheduleDrain();
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            synchronized (queue) {
+                queue.clear();
+                replayed.clear();
+                pendingReplay = List.of();
+            }
+            onClose.accept(this);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (started && !closed.get() && draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                draining.set(false);
+                log.warn("Failed to schedule live log delivery for run {}: {}", runId, e.getMessage());
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed.get()) {
+                List<LogEntry> batch;
+                long droppedNow;
+                synchronized (queue) {
+                    batch = new ArrayList<>(pendingReplay.size() + queue.size());
+                    batch.addAll(pendingReplay);
+                    pendingReplay = List.of();
+                    for (LogEntry entry : queue) {
+                        // Live entries that were part of the replay have been (or are being) sent with the history
+                        if (!replayed.contains(entry)) {
+                            batch.add(entry);
+                        }
+                    }
+                    queue.clear();
+                    droppedNow = dropped;
+                    dropped = 0;
+                }
+                if (batch.isEmpty() && droppedNow == 0) {
+                    return;
+                }
+                listener.deliver(batch, droppedNow);
+            }
+        } catch (Exception e) {
+            log.debug("Live log subscriber for run {} failed, closing: {}", runId, e.getMessage());
+            close();
+        } finally {
+            draining.set(false);
+            boolean more;
+            synchronized (queue) {
+                more = !queue.isEmpty() || !pendingReplay.isEmpty();
+            }
+            if (more) {
+                scheduleDrain();
+            }
+        }
+    }
+}
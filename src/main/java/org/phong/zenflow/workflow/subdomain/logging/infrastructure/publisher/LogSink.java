@@ -0,0 +1,22 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher;
+
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+
+import java.util.List;
+
+/**
+ * Downstream destination for persisted log batches (message broker, log store, archive, ...).
+ * <p>
+ * Every {@code LogSink} bean is picked up by {@link KafkaImpl} and receives each batch after it has been
+ * written to {@code node_logs}. Entries of one batch always belong to the same workflow run, so the run id
+ * is a suitable partition key when the sink needs per-run ordering.
+ */
+public interface LogSink {
+
+    /**
+     * Short identifier used in logs and diagnostics.
+     */
+    String name();
+
+    void publish(List<LogEntry> entries) throws Exception;
+}
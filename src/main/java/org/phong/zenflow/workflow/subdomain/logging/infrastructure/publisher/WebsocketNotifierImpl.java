@@ -3,13 +3,54 @@ package org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Fast lane of the {@code LogRouter}: hands every entry to the live subscribers of its run.
+ * Runs without subscribers cost a single map lookup.
+ */
 @Component
 public class WebsocketNotifierImpl implements WebSocketNotifier {
+    private final ConcurrentMap<UUID, Set<LiveLogSubscription>> subscriptions = new ConcurrentHashMap<>();
 
     @Override
     public void onLog(LogEntry entry) {
-        // Implementation for handling log entries via WebSocket
-        // This could involve sending the log entry to connected WebSocket clients
-        // For example, using a WebSocket session manager to broadcast the entry
+        if (entry.getWorkflowRunId() == null) {
+            return;
+        }
+        Set<LiveLogSubscription> subscribers = subscriptions.get(entry.getWorkflowRunId());
+        if (subscribers != null) {
+            for (LiveLogSubscription subscription : subscribers) {
+                subscription.offer(entry);
+            }
+        }
+    }
+
+    /**
+     * Registers a live tail for a run. Entries are queued from this point on but only delivered after
+     * {@link LiveLogSubscription#replay(java.util.List)} has been called with the run's history.
+     */
+    public LiveLogSubscription subscribe(UUID runId, int queueCapacity, Executor executor,
+                                         LiveLogSubscription.Listener listener) {
+        LiveLogSubscription subscription = new LiveLogSubscription(runId, queueCapacity, executor, listener,
+                this::unsubscribe);
+        subscriptions.computeIfAbsent(runId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        return subscription;
+    }
+
+    public int getSubscriberCount(UUID runId) {
+        Set<LiveLogSubscription> subscribers = subscriptions.get(runId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    private void unsubscribe(LiveLogSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.getRunId(), (id, subscribers) -> {
+            subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
     }
 }
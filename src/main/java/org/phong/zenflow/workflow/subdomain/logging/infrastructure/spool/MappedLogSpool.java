@@ -0,0 +1,256 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.spool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Memory-mapped FIFO of log batches that could not be persisted.
+ * <p>
+ * Layout: a 16 byte header holding the write and read offsets, followed by length-prefixed JSON records.
+ * Records are appended at the write offset and consumed from the read offset; space is reclaimed by resetting
+ * both offsets once the spool drains, or by compacting unread records to the front when an append does not fit.
+ * Because the header lives in the mapped file, batches spooled before a crash or restart are replayed afterwards.
+ */
+@Slf4j
+public class MappedLogSpool implements AutoCloseable {
+    private static final int HEADER_BYTES = 16;
+    private static final int WRITE_OFFSET = 0;
+    private static final int READ_OFFSET = 8;
+    private static final int MIN_CAPACITY = 64 * 1024;
+    private static final int COPY_CHUNK = 64 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final FileLock fileLock;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private MappedLogSpool(Path path, FileChannel channel, FileLock fileLock, MappedByteBuffer buffer, int capacity) {
+        this.path = path;
+        this.channel = channel;
+        this.fileLock = fileLock;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    /**
+     * Opens (or creates) the spool file and takes an exclusive lock on it.
+     *
+     * @throws IOException when the file cannot be mapped or is already locked by another process
+     */
+    public static MappedLogSpool open(Path path, long capacityBytes) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_CAPACITY, capacityBytes));
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock fileLock = channel.tryLock();
+            if (fileLock == null) {
+                throw new IOException("Log spool " + path + " is locked by another process");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            MappedLogSpool spool = new MappedLogSpool(path, channel, fileLock, buffer, capacity);
+            spool.recover();
+            return spool;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a batch.
+     *
+     * @return {@code false} when the batch does not fit even after compaction
+     */
+    public boolean append(UUID runId, List<LogEntry> entries) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(new Payload(runId, entries));
+        int recordSize = Integer.BYTES + payload.length;
+
+        lock.lock();
+        try {
+            if (writeOffset() + recordSize > capacity) {
+                compact();
+                if (writeOffset() + recordSize > capacity) {
+                    return false;
+                }
+            }
+            int offset = writeOffset();
+            buffer.putInt(offset, payload.length);
+            buffer.put(offset + Integer.BYTES, payload);
+            // Publish the record only after its bytes are in place
+            buffer.putLong(WRITE_OFFSET, offset + recordSize);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the oldest unread batch without consuming it, or {@code null} when the spool is empty.
+     * Undecodable records are skipped.
+     */
+    public SpooledBatch peek() {
+        lock.lock();
+        try {
+            while (readOffset() < writeOffset()) {
+                int offset = readOffset();
+                int length = buffer.getInt(offset);
+                int next = offset + Integer.BYTES + length;
+                if (length < 0 || next > writeOffset()) {
+                    log.warn("Log spool {} is corrupt at offset {}, discarding {} bytes", path, offset, writeOffset() - offset);
+                    reset();
+                    return null;
+                }
+
+                byte[] payload = new byte[length];
+                buffer.get(offset + Integer.BYTES, payload);
+                try {
+                    Payload decoded = objectMapper.readValue(payload, Payload.class);
+                    return new SpooledBatch(decoded.runId(), decoded.entries(), offset, next);
+                } catch (IOException e) {
+                    log.warn("Skipping undecodable log spool record at offset {}: {}", offset, e.getMessage());
+                    advance(offset, next);
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Consumes a batch previously returned by {@link #peek()}.
+     */
+    public void commit(SpooledBatch batch) {
+        lock.lock();
+        try {
+            advance(batch.offset(), batch.next());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return readOffset() >= writeOffset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long pendingBytes() {
+        lock.lock();
+        try {
+            return writeOffset() - readOffset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            if (fileLock.isValid()) {
+                fileLock.release();
+            }
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover() {
+        long write = buffer.getLong(WRITE_OFFSET);
+        long read = buffer.getLong(READ_OFFSET);
+        if (write == 0 && read == 0) {
+            reset();
+        } else if (read < HEADER_BYTES || write > capacity || read > write) {
+            log.warn("Log spool {} has an invalid header (read={}, write={}), starting empty", path, read, write);
+            reset();
+        } else if (write > read) {
+            log.info("Log spool {} holds {} bytes of unpersisted log batches from a previous run", path, write - read);
+        }
+    }
+
+    private void advance(int offset, int next) {
+        if (readOffset() != offset) {
+            return;
+        }
+        if (next >= writeOffset()) {
+            reset();
+        } else {
+            buffer.putLong(READ_OFFSET, next);
+        }
+    }
+
+    /**
+     * Moves unread records to the front of the file. The destination always precedes the source,
+     * so a forward chunked copy never overwrites bytes that are still to be copied.
+     */
+    private void compact() {
+        int read = readOffset();
+        int write = writeOffset();
+        if (read == HEADER_BYTES) {
+            return;
+        }
+        byte[] chunk = new byte[COPY_CHUNK];
+        int src = read;
+        int dst = HEADER_BYTES;
+        while (src < write) {
+            int length = Math.min(COPY_CHUNK, write - src);
+            buffer.get(src, chunk, 0, length);
+            buffer.put(dst, chunk, 0, length);
+            src += length;
+            dst += length;
+        }
+        buffer.putLong(READ_OFFSET, HEADER_BYTES);
+        buffer.putLong(WRITE_OFFSET, dst);
+    }
+
+    private void reset() {
+        buffer.putLong(READ_OFFSET, HEADER_BYTES);
+        buffer.putLong(WRITE_OFFSET, HEADER_BYTES);
+    }
+
+    private int writeOffset() {
+        return (int) buffer.getLong(WRITE_OFFSET);
+    }
+
+    private int readOffset() {
+        return (int) buffer.getLong(READ_OFFSET);
+    }
+
+    public record SpooledBatch(UUID runId, List<LogEntry> entries, int offset, int next) {
+    }
+
+    private record Payload(UUID runId, List<LogEntry> entries) {
+    }
+}
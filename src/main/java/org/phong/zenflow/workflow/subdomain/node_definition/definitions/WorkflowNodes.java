@@ -4,11 +4,14 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,12 +23,21 @@ import java.util.function.BiConsumer;
 /**
  * Container for workflow nodes that provides efficient map-based lookup
  * while still serializing as a list for backwards compatibility.
+ * <p>
+ * Lookups by plugin node id and by composite plugin key are served from secondary indexes that are built with the
+ * instance and kept up to date by {@link #put} and {@link #remove}, so reads never build them lazily. Code that
+ * changes a node's plugin identity in place must call {@link #reindex()} afterwards. Like the node map, a mutable
+ * instance is not thread-safe; {@link #freeze()} returns an immutable copy meant to be shared by concurrent executions.
  */
 public class WorkflowNodes implements Serializable {
     private final Map<String, BaseWorkflowNode> nodeMap;
+    private final boolean frozen;
+    private transient volatile NodeIndex index;
 
     public WorkflowNodes() {
         this.nodeMap = new LinkedHashMap<>();
+        this.frozen = false;
+        this.index = new NodeIndex();
     }
 
     @JsonCreator
@@ -33,6 +45,7 @@ public class WorkflowNodes implements Serializable {
         this();
         if (nodes != null) {
             nodes.forEach(n -> this.nodeMap.put(n.getKey(), n));
+            this.index = NodeIndex.build(nodeMap);
         }
     }
 
@@ -43,35 +56,78 @@ public class WorkflowNodes implements Serializable {
         this();
         if (other != null) {
             other.nodeMap.forEach((key, node) -> this.nodeMap.put(key, new BaseWorkflowNode(node)));
+            this.index = NodeIndex.build(nodeMap);
         }
     }
 
+    private WorkflowNodes(Map<String, BaseWorkflowNode> frozenMap) {
+        this.nodeMap = frozenMap;
+        this.frozen = true;
+        this.index = NodeIndex.build(frozenMap);
+    }
+
     public BaseWorkflowNode get(String key) {
         return nodeMap.get(key);
     }
 
     public void put(BaseWorkflowNode node) {
+        ensureMutable();
         if (node != null) {
-            nodeMap.put(node.getKey(), node);
+            BaseWorkflowNode previous = nodeMap.put(node.getKey(), node);
+            if (previous != null) {
+                index.unindex(previous);
+            }
+            index.index(node);
         }
     }
 
     public void remove(String key) {
-        nodeMap.remove(key);
+        ensureMutable();
+        BaseWorkflowNode removed = nodeMap.remove(key);
+        if (removed != null) {
+            index.unindex(removed);
+        }
     }
 
     public void clear() {
+        ensureMutable();
         nodeMap.clear();
+        index = new NodeIndex();
+    }
+
+    /**
+     * Rebuilds the secondary indexes, for callers that changed node identities in place.
+     */
+    public void reindex() {
+        if (!frozen) {
+            index = NodeIndex.build(nodeMap);
+        }
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Immutable deep copy of these nodes with every index prebuilt. Freezing a frozen instance returns it unchanged.
+     */
+    public WorkflowNodes freeze() {
+        if (frozen) {
+            return this;
+        }
+        Map<String, BaseWorkflowNode> copy = new LinkedHashMap<>(nodeMap.size());
+        nodeMap.forEach((key, node) -> copy.put(key, new BaseWorkflowNode(node)));
+        return new WorkflowNodes(Collections.unmodifiableMap(copy));
     }
 
     @JsonIgnore
     public Map<String, BaseWorkflowNode> asMap() {
-        return nodeMap;
+        return Collections.unmodifiableMap(nodeMap);
     }
 
     @JsonIgnore
     public Set<Entry<String, BaseWorkflowNode>> entrySet() {
-        return nodeMap.entrySet();
+        return Collections.unmodifiableMap(nodeMap).entrySet();
     }
 
     public void forEach(BiConsumer<String, BaseWorkflowNode> action) {
@@ -80,7 +136,7 @@ public class WorkflowNodes implements Serializable {
 
     @JsonIgnore
     public Collection<BaseWorkflowNode> values() {
-        return nodeMap.values();
+        return Collections.unmodifiableCollection(nodeMap.values());
     }
 
     @JsonIgnore
@@ -90,25 +146,23 @@ public class WorkflowNodes implements Serializable {
 
     @JsonIgnore
     public Set<String> keys() {
-        return nodeMap.keySet();
+        return Collections.unmodifiableSet(nodeMap.keySet());
     }
 
     public WorkflowNodes deepCopy() {
         return new WorkflowNodes(this);
     }
 
+    /**
+     * @return the first node, in definition order, whose plugin node id matches
+     */
     public BaseWorkflowNode findByNodeId(UUID nodeId) {
         if (nodeId == null) {
             return null;
         }
 
-        for (Entry<String, BaseWorkflowNode> node : nodeMap.entrySet()) {
-            if (nodeId.equals(node.getValue().getPluginNode().getNodeId())) {
-                return node.getValue();
-            }
-        }
-
-        return null;
+        List<BaseWorkflowNode> nodes = index.byNodeId.get(nodeId);
+        return nodes != null && !nodes.isEmpty() ? nodes.getFirst() : null;
     }
 
     public BaseWorkflowNode findByInstanceKey(String nodeKey) {
@@ -127,21 +181,69 @@ public class WorkflowNodes implements Serializable {
     @JsonIgnore
     public Map<String, BaseWorkflowNode> getNodeMapGroupByNodeId() {
         Map<String, BaseWorkflowNode> grouped = new HashMap<>(nodeMap.size());
-        nodeMap.forEach((key, node) -> grouped.put(node.getPluginNode().getNodeId().toString(), node));
+        index.byNodeId.forEach((nodeId, nodes) -> {
+            if (nodeId != null && !nodes.isEmpty()) {
+                // Later nodes win, matching a plain put in definition order
+                grouped.put(nodeId.toString(), nodes.getLast());
+            }
+        });
         return grouped;
     }
 
     @JsonIgnore
     public Set<String> getPluginNodeCompositeKeys() {
-        Set<String> keys = new HashSet<>(nodeMap.size());
-        nodeMap.forEach((key, node) -> keys.add(node.getPluginNode().toCacheKey()));
-        return keys;
+        return Collections.unmodifiableSet(index.byCompositeKey.keySet());
     }
 
     @JsonIgnore
     public Set<UUID> getPluginNodeIds() {
-        Set<UUID> ids = new HashSet<>(nodeMap.size());
-        nodeMap.forEach((key, node) -> ids.add(node.getPluginNode().getNodeId()));
-        return ids;
+        return Collections.unmodifiableSet(index.byNodeId.keySet());
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        index = NodeIndex.build(nodeMap);
+    }
+
+    private void ensureMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("WorkflowNodes is frozen");
+        }
+    }
+
+    /**
+     * Secondary indexes over the node map. Lists keep definition order; entries are removed when they become empty.
+     */
+    private static final class NodeIndex {
+        private final Map<UUID, List<BaseWorkflowNode>> byNodeId = new LinkedHashMap<>();
+        private final Map<String, List<BaseWorkflowNode>> byCompositeKey = new LinkedHashMap<>();
+
+        static NodeIndex build(Map<String, BaseWorkflowNode> nodes) {
+            NodeIndex index = new NodeIndex();
+            nodes.values().forEach(index::index);
+            return index;
+        }
+
+        void index(BaseWorkflowNode node) {
+            if (node.getPluginNode() != null) {
+                byNodeId.computeIfAbsent(node.getPluginNode().getNodeId(), k -> new ArrayList<>()).add(node);
+                byCompositeKey.computeIfAbsent(node.getPluginNode().toCacheKey(), k -> new ArrayList<>()).add(node);
+            }
+        }
+
+        void unindex(BaseWorkflowNode node) {
+            if (node.getPluginNode() != null) {
+                removeFrom(byNodeId, node.getPluginNode().getNodeId(), node);
+                removeFrom(byCompositeKey, node.getPluginNode().toCacheKey(), node);
+            }
+        }
+
+        private static <K> void removeFrom(Map<K, List<BaseWorkflowNode>> map, K key, BaseWorkflowNode node) {
+            List<BaseWorkflowNode> nodes = map.get(key);
+            if (nodes != null && nodes.remove(node) && nodes.isEmpty()) {
+                map.remove(key);
+            }
+        }
     }
 }
@@ -0,0 +1,299 @@
+package org.phong.zenflow.workflow.subdomain.node_execution.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_execution.enums.NodeExecutionStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind journal for node execution state.
+ * <p>
+ * Start transitions and plain completions (SUCCESS, NEXT and loop statuses) are recorded in memory and
+ * flushed to {@code node_executions} as one JDBC batch upsert once {@code max-batch-size} entries are pending
+ * or every {@code flush-interval-ms}. Statuses whose handling reads node executions back from the database
+ * (ERROR, WAITING, RETRY, validation errors) flush the journal synchronously and then go through
+ * {@link NodeExecutionService}. The engine flushes synchronously when a run completes or halts.
+ * <p>
+ * While the database is unavailable, background flushes back off, and once {@code max-pending} entries are
+ * waiting, recording another one flushes synchronously on the caller and fails it if the database is still down.
+ * <p>
+ * When disabled, every call is delegated to {@link NodeExecutionService} unchanged.
+ */
+@Component
+@Slf4j
+public class NodeExecutionJournal {
+    private static final String UPSERT_SQL =
+            "INSERT INTO node_executions(id, workflow_run_id, node_key, status, error, attempts, output, started_at, ended_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET " +
+            "status = EXCLUDED.status, " +
+            "error = COALESCE(EXCLUDED.error, node_executions.error), " +
+            "output = COALESCE(EXCLUDED.output, node_executions.output), " +
+            "ended_at = COALESCE(node_executions.ended_at, EXCLUDED.ended_at)";
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final NodeExecutionService nodeExecutionService;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final long flushIntervalMs;
+
+    // Latest execution per run and node key, used to turn a completion into an in-memory update
+    private final Map<UUID, Map<String, JournalEntry>> latestByRun = new ConcurrentHashMap<>();
+    private final Map<UUID, JournalEntry> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService flusher;
+    // Background flushes are skipped until then after a failure; only the flusher thread writes these
+    private volatile long retryAtNanos = System.nanoTime();
+    private int failedFlushes;
+
+    public NodeExecutionJournal(NodeExecutionService nodeExecutionService,
+                                DataSource dataSource,
+                                ObjectMapper objectMapper,
+                                @Value("${zenflow.engine.node-journal.enabled:true}") boolean enabled,
+                                @Value("${zenflow.engine.node-journal.max-batch-size:200}") int maxBatchSize,
+                                @Value("${zenflow.engine.node-journal.flush-interval-ms:250}") long flushIntervalMs,
+                                @Value("${zenflow.engine.node-journal.max-pending:10000}") int maxPending) {
+        this.nodeExecutionService = nodeExecutionService;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxPending = Math.max(1, maxPending);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "node-execution-journal");
+                t.setDaemon(true);
+                return t;
+            });
+            this.flusher.scheduleWithFixedDelay(this::flushInBackground, this.flushIntervalMs, this.flushIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public void startNode(UUID workflowRunId, String nodeKey) {
+        if (!enabled) {
+            nodeExecutionService.startNode(workflowRunId, nodeKey);
+            return;
+        }
+
+        JournalEntry entry = new JournalEntry(UUID.randomUUID(), workflowRunId, nodeKey, OffsetDateTime.now());
+        latestByRun.computeIfAbsent(workflowRunId, k -> new ConcurrentHashMap<>()).put(nodeKey, entry);
+        markDirty(entry);
+    }
+
+    public void resolveNodeExecution(UUID workflowId,
+                                     UUID workflowRunId,
+                                     BaseWorkflowNode workingNode,
+                                     ExecutionResult result,
+                                     String callbackUrl) {
+        if (!enabled) {
+            nodeExecutionService.resolveNodeExecution(workflowId, workflowRunId, workingNode, result, callbackUrl);
+            return;
+        }
+
+        NodeExecutionStatus status = switch (result.getStatus()) {
+            case SUCCESS -> NodeExecutionStatus.SUCCESS;
+            case NEXT -> NodeExecutionStatus.NEXT;
+            case LOOP_NEXT, LOOP_CONTINUE -> NodeExecutionStatus.LOOP_NEXT;
+            case LOOP_END, LOOP_BREAK -> NodeExecutionStatus.LOOP_END;
+            default -> null;
+        };
+
+        Map<String, JournalEntry> runEntries = latestByRun.get(workflowRunId);
+        JournalEntry entry = runEntries != null ? runEntries.get(workingNode.getKey()) : null;
+        if (status != null && entry != null) {
+            entry.complete(status, result.getError(), result.getOutput());
+            markDirty(entry);
+            return;
+        }
+
+        // The service reads and mutates the row directly, so it must see everything recorded so far
+        flush();
+        if (runEntries != null) {
+            runEntries.remove(workingNode.getKey());
+        }
+        nodeExecutionService.resolveNodeExecution(workflowId, workflowRunId, workingNode, result, callbackUrl);
+    }
+
+    /**
+     * Synchronously persists everything pending and forgets the run's in-memory state.
+     * Called when a run completes, halts or fails.
+     */
+    public void flushRun(UUID workflowRunId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            latestByRun.remove(workflowRunId);
+        }
+    }
+
+    private void markDirty(JournalEntry entry) {
+        if (pending.size() >= maxPending && !pending.containsKey(entry.id)) {
+            // Writes have been failing for a while: stop buffering and write on the caller, or fail it
+            flush();
+        }
+        pending.put(entry.id, entry);
+        if (pending.size() >= maxBatchSize && !backingOff() && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                flushInBackground();
+            });
+        }
+    }
+
+    private boolean backingOff() {
+        return System.nanoTime() - retryAtNanos < 0;
+    }
+
+    /**
+     * Flushes from the flusher thread, backing off exponentially up to {@link #MAX_BACKOFF_MS} while writes fail.
+     */
+    private void flushInBackground() {
+        if (backingOff()) {
+            return;
+        }
+        try {
+            flush();
+            failedFlushes = 0;
+        } catch (Exception e) {
+            failedFlushes++;
+            long backoffMs = Math.min(flushIntervalMs << Math.min(failedFlushes, 16), MAX_BACKOFF_MS);
+            retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+            log.warn("Failed to flush node execution journal, retrying in {} ms: {}", backoffMs, e.getMessage());
+        }
+    }
+
+    private void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            List<Row> rows = new ArrayList<>(pending.size());
+            for (UUID id : List.copyOf(pending.keySet())) {
+                JournalEntry entry = pending.remove(id);
+                if (entry != null) {
+                    rows.add(entry.snapshot());
+                }
+            }
+
+            try {
+                writeBatch(rows);
+            } catch (SQLException e) {
+                // Put back anything that was not superseded meanwhile so the next flush retries it
+                for (Row row : rows) {
+                    pending.putIfAbsent(row.entry().id, row.entry());
+                }
+                throw new IllegalStateException("Failed to persist node execution journal", e);
+            }
+        }
+    }
+
+    private void writeBatch(List<Row> rows) throws SQLException {
+        try (Connection c = dataSource.getConnection(); PreparedStatement ps = c.prepareStatement(UPSERT_SQL)) {
+            for (Row row : rows) {
+                JournalEntry e = row.entry();
+                ps.setObject(1, e.id);
+                ps.setObject(2, e.workflowRunId);
+                ps.setString(3, e.nodeKey);
+                ps.setString(4, row.status().name());
+                ps.setString(5, row.error());
+                ps.setInt(6, 1);
+                try {
+                    ps.setString(7, row.output() == null ? null : objectMapper.writeValueAsString(row.output()));
+                } catch (JsonProcessingException ex) {
+                    throw new SQLException("Failed to serialize node output", ex);
+                }
+                ps.setObject(8, e.startedAt);
+                ps.setObject(9, row.endedAt());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to flush node execution journal on shutdown, {} entries lost: {}", pending.size(),
+                    e.getMessage());
+        }
+    }
+
+    private static final class JournalEntry {
+        private final UUID id;
+        private final UUID workflowRunId;
+        private final String nodeKey;
+        private final OffsetDateTime startedAt;
+        private NodeExecutionStatus status = NodeExecutionStatus.RUNNING;
+        private String error;
+        private Map<String, Object> output;
+        private OffsetDateTime endedAt;
+
+        private JournalEntry(UUID id, UUID workflowRunId, String nodeKey, OffsetDateTime startedAt) {
+            this.id = id;
+            this.workflowRunId = workflowRunId;
+            this.nodeKey = nodeKey;
+            this.startedAt = startedAt;
+        }
+
+        private synchronized void complete(NodeExecutionStatus status, String error, Map<String, Object> output) {
+            this.status = status;
+            if (error != null) {
+                this.error = error;
+            }
+            if (output != null) {
+                this.output = output;
+            }
+            if (this.endedAt == null) {
+                this.endedAt = OffsetDateTime.now();
+            }
+        }
+
+        private synchronized Row snapshot() {
+            return new Row(this, status, error, output, endedAt);
+        }
+    }
+
+    private record Row(JournalEntry entry, NodeExecutionStatus status, String error,
+                       Map<String, Object> output, OffsetDateTime endedAt) {
+    }
+}
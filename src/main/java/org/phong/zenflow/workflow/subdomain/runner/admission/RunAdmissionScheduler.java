@@ -0,0 +1,342 @@
+package org.phong.zenflow.workflow.subdomain.runner.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.service.WorkflowService;
+import org.phong.zenflow.workflow.subdomain.runner.enums.RunShedPolicy;
+import org.phong.zenflow.workflow.subdomain.runner.service.WorkflowRunnerService;
+import org.phong.zenflow.workflow.subdomain.trigger.dto.WorkflowTriggerEvent;
+import org.phong.zenflow.workflow.subdomain.trigger.enums.TriggerType;
+import org.phong.zenflow.workflow.subdomain.workflow_run.service.WorkflowRunService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control in front of {@link WorkflowRunnerService}.
+ * <p>
+ * Triggered runs enter a bounded priority queue (manual runs and resumptions first, polling last, FIFO within
+ * a priority) and are dispatched to virtual threads only while the global, per-workflow and per-project
+ * concurrency limits allow it. A run that cannot be queued is shed according to {@link RunShedPolicy} and recorded
+ * as a failed run. Queue depth, running runs, queue wait time and rejections are exported through Micrometer.
+ */
+@Component
+@Slf4j
+public class RunAdmissionScheduler {
+    private static final Comparator<PendingRun> ORDER = Comparator
+            .comparingInt(PendingRun::priority)
+            .thenComparingLong(PendingRun::sequence);
+    private static final long REJECTED_RETRY_DELAY_MS = 100;
+
+    private final WorkflowRunnerService workflowRunnerService;
+    private final WorkflowService workflowService;
+    private final WorkflowRunService workflowRunService;
+    private final Executor executor;
+
+    private final boolean enabled;
+    private final int maxConcurrentRuns;
+    private final int maxRunsPerWorkflow;
+    private final int maxRunsPerProject;
+    private final int queueCapacity;
+    private final RunShedPolicy shedPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<PendingRun> queue = new TreeSet<>(ORDER);
+    private final Map<UUID, Integer> runningByWorkflow = new HashMap<>();
+    private final Map<UUID, Integer> runningByProject = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private int running;
+
+    private final Timer waitTimer;
+    private final Counter admittedCounter;
+    private final Counter rejectedQueueFull;
+    private final Counter shedCounter;
+
+    public RunAdmissionScheduler(WorkflowRunnerService workflowRunnerService,
+                                 WorkflowService workflowService,
+                                 WorkflowRunService workflowRunService,
+                                 @Qualifier("virtualThreadExecutor") Executor executor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${zenflow.runner.admission.enabled:true}") boolean enabled,
+                                 @Value("${zenflow.runner.admission.max-concurrent-runs:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRuns,
+                                 @Value("${zenflow.runner.admission.max-runs-per-workflow:4}") int maxRunsPerWorkflow,
+                                 @Value("${zenflow.runner.admission.max-runs-per-project:8}") int maxRunsPerProject,
+                                 @Value("${zenflow.runner.admission.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${zenflow.runner.admission.shed-policy:REJECT_NEW}") RunShedPolicy shedPolicy) {
+        this.workflowRunnerService = workflowRunnerService;
+        this.workflowService = workflowService;
+        this.workflowRunService = workflowRunService;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.maxConcurrentRuns = Math.max(1, maxConcurrentRuns);
+        this.maxRunsPerWorkflow = Math.max(1, maxRunsPerWorkflow);
+        this.maxRunsPerProject = Math.max(1, maxRunsPerProject);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.shedPolicy = shedPolicy;
+
+        Gauge.builder("zenflow.runner.admission.queue.depth", this, RunAdmissionScheduler::getQueueDepth)
+                .description("Workflow runs waiting for admission")
+                .register(meterRegistry);
+        Gauge.builder("zenflow.runner.admission.running", this, RunAdmissionScheduler::getRunning)
+                .description("Workflow runs currently admitted and executing")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("zenflow.runner.admission.wait")
+                .description("Time a workflow run spent queued before admission")
+                .register(meterRegistry);
+        this.admittedCounter = Counter.builder("zenflow.runner.admission.admitted")
+                .description("Workflow runs admitted for execution")
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("zenflow.runner.admission.rejected")
+                .description("Workflow runs rejected because the admission queue was full")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("zenflow.runner.admission.rejected")
+                .description("Queued workflow runs evicted by the shed policy")
+                .tag("reason", "shed")
+                .register(meterRegistry);
+    }
+
+    public void submit(WorkflowTriggerEvent event) {
+        if (!enabled) {
+            executor.execute(new DelegatingSecurityContextRunnable(() -> execute(event)));
+            return;
+        }
+
+        long seq = sequence.incrementAndGet();
+        long enqueuedAt = System.nanoTime();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        // Resolving the project can load the workflow on a cache miss, which must not happen on the submitter
+        // (an after-commit callback or trigger thread); the sequence taken here keeps FIFO order within a priority
+        executor.execute(() -> enqueue(new PendingRun(event, resolveProjectId(event.getWorkflowId()),
+                priorityOf(event), seq, enqueuedAt, securityContext)));
+    }
+
+    private void enqueue(PendingRun run) {
+        PendingRun evicted = null;
+        boolean rejected = false;
+        lock.lock();
+        try {
+            if (queue.size() >= queueCapacity) {
+                evicted = selectVictim(run);
+                if (evicted == null) {
+                    rejected = true;
+                } else {
+                    queue.remove(evicted);
+                }
+            }
+            if (!rejected) {
+                queue.add(run);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (rejected) {
+            rejectedQueueFull.increment();
+            reject(run, "admission queue is full");
+        } else if (evicted != null) {
+            shedCounter.increment();
+            reject(evicted, "evicted from admission queue by " + shedPolicy);
+        }
+        dispatch();
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PendingRun selectVictim(PendingRun incoming) {
+        if (queue.isEmpty()) {
+            return null;
+        }
+        return switch (shedPolicy) {
+            case REJECT_NEW -> null;
+            case DROP_OLDEST -> queue.stream().min(Comparator.comparingLong(PendingRun::sequence)).orElse(null);
+            case DROP_LOWEST_PRIORITY -> ORDER.compare(queue.last(), incoming) > 0 ? queue.last() : null;
+        };
+    }
+
+    /**
+     * Starts queued runs, in priority order, while the concurrency limits leave room for them.
+     */
+    private void dispatch() {
+        while (true) {
+            PendingRun next;
+            lock.lock();
+            try {
+                next = pollEligible();
+                if (next == null) {
+                    return;
+                }
+                acquire(next);
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                // Runs start on whichever thread frees a slot, so carry the submitter's security context explicitly
+                executor.execute(new DelegatingSecurityContextRunnable(() -> {
+                    try {
+                        execute(next.event());
+                    } finally {
+                        release(next);
+                        dispatch();
+                    }
+                }, next.securityContext()));
+                admittedCounter.increment();
+                waitTimer.record(System.nanoTime() - next.enqueuedAt(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Executor saturated despite the limits; put the run back and try again shortly, since no slot
+                // may free up if nothing else is running
+                log.warn("Executor rejected admitted run {}, re-queuing", next.event().getWorkflowRunId());
+                lock.lock();
+                try {
+                    releaseLocked(next);
+                    queue.add(next);
+                } finally {
+                    lock.unlock();
+                }
+                CompletableFuture.delayedExecutor(REJECTED_RETRY_DELAY_MS, TimeUnit.MILLISECONDS, executor)
+                        .execute(this::dispatch);
+                return;
+            }
+        }
+    }
+
+    private PendingRun pollEligible() {
+        if (running >= maxConcurrentRuns) {
+            return null;
+        }
+        Iterator<PendingRun> it = queue.iterator();
+        while (it.hasNext()) {
+            PendingRun candidate = it.next();
+            if (runningByWorkflow.getOrDefault(candidate.event().getWorkflowId(), 0) < maxRunsPerWorkflow
+                    && (candidate.projectId() == null
+                    || runningByProject.getOrDefault(candidate.projectId(), 0) < maxRunsPerProject)) {
+                it.remove();
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void acquire(PendingRun run) {
+        running++;
+        runningByWorkflow.merge(run.event().getWorkflowId(), 1, Integer::sum);
+        if (run.projectId() != null) {
+            runningByProject.merge(run.projectId(), 1, Integer::sum);
+        }
+    }
+
+    private void release(PendingRun run) {
+        lock.lock();
+        try {
+            releaseLocked(run);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked(PendingRun run) {
+        running--;
+        runningByWorkflow.computeIfPresent(run.event().getWorkflowId(), (k, v) -> v > 1 ? v - 1 : null);
+        if (run.projectId() != null) {
+            runningByProject.computeIfPresent(run.projectId(), (k, v) -> v > 1 ? v - 1 : null);
+        }
+    }
+
+    private void execute(WorkflowTriggerEvent event) {
+        workflowRunnerService.runWorkflow(
+                event.getWorkflowRunId(),
+                event.getTriggerType(),
+                event.getTriggerExecutorId(),
+                event.getWorkflowId(),
+                event.request()
+        );
+    }
+
+    private void reject(PendingRun run, String reason) {
+        WorkflowTriggerEvent event = run.event();
+        log.warn("Rejected run {} of workflow {}: {}", event.getWorkflowRunId(), event.getWorkflowId(), reason);
+        // Submitters may be inside an after-commit callback, so record the failure in a fresh thread and transaction
+        executor.execute(() -> {
+            try {
+                workflowRunService.findOrCreateWorkflowRun(event.getWorkflowRunId(), event.getWorkflowId(), event.getTriggerType());
+                workflowRunService.handleWorkflowError(event.getWorkflowRunId(), new RunRejectedException(reason));
+            } catch (Exception e) {
+                log.warn("Failed to record rejected run {}: {}", event.getWorkflowRunId(), e.getMessage());
+            }
+        });
+    }
+
+    private UUID resolveProjectId(UUID workflowId) {
+        try {
+            return workflowService.getPreparedWorkflow(workflowId).projectId();
+        } catch (Exception e) {
+            // Unknown workflow: admit without a project limit and let the runner report the failure
+            return null;
+        }
+    }
+
+    private static int priorityOf(WorkflowTriggerEvent event) {
+        TriggerType triggerType = event.getTriggerType();
+        if (triggerType == null) {
+            return 2;
+        }
+        if (triggerType != TriggerType.MANUAL && event.request() != null
+                && event.request().startFromNodeKey() != null) {
+            // Resumption of a halted run (timeout, retry or a released wait node), whatever its trigger type
+            return 1;
+        }
+        return switch (triggerType) {
+            case MANUAL -> 0;
+            case SCHEDULE_RETRY, SCHEDULE_TIMEOUT -> 1;
+            case WEBHOOK, EVENT -> 2;
+            case SCHEDULE -> 3;
+            case POLLING -> 4;
+        };
+    }
+
+    private record PendingRun(WorkflowTriggerEvent event, UUID projectId, int priority, long sequence,
+                              long enqueuedAt, SecurityContext securityContext) {
+    }
+
+    static final class RunRejectedException extends RuntimeException {
+        RunRejectedException(String reason) {
+            super("Run rejected by admission control: " + reason);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.phong.zenflow.workflow.subdomain.runner.enums;
+
+/**
+ * What the run admission scheduler does with a new run when its queue is full.
+ */
+public enum RunShedPolicy {
+    /** Reject the incoming run. */
+    REJECT_NEW,
+    /** Evict the run that has been waiting the longest and admit the incoming one. */
+    DROP_OLDEST,
+    /** Evict the lowest-priority queued run if the incoming run outranks it, otherwise reject the incoming run. */
+    DROP_LOWEST_PRIORITY
+}
@@ -2,9 +2,8 @@ package org.phong.zenflow.workflow.subdomain.runner.listener;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.phong.zenflow.workflow.subdomain.runner.service.WorkflowRunnerService;
+import org.phong.zenflow.workflow.subdomain.runner.admission.RunAdmissionScheduler;
 import org.phong.zenflow.workflow.subdomain.trigger.dto.WorkflowTriggerEvent;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionalEventListener;
 
@@ -12,10 +11,9 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @AllArgsConstructor
 @Slf4j
 public class WorkflowRunnerListener {
-    private WorkflowRunnerService workflowRunnerService;
+    private RunAdmissionScheduler runAdmissionScheduler;
 
     @TransactionalEventListener(fallbackExecution = true)
-    @Async("applicationTaskExecutor")
     public void onWorkflowRunEvent(WorkflowTriggerEvent event) {
         log.debug("Publishing WorkflowRunnerPublishableEvent for workflow {}, run {}, triggerType {}, triggerExecutorId {}, payload {}",
                 event.getWorkflowId(),
@@ -24,12 +22,7 @@ public class WorkflowRunnerListener {
                 event.getTriggerExecutorId(),
                 event.request()
         );
-            workflowRunnerService.runWorkflow(
-                    event.getWorkflowRunId(),
-                    event.getTriggerType(),
-                    event.getTriggerExecutorId(),
-                    event.getWorkflowId(),
-                    event.request()
-            );
+        // Admission decides when (and whether) the run starts; execution happens on a virtual thread
+        runAdmissionScheduler.submit(event);
     }
 }
@@ -5,64 +5,70 @@ import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
 import org.phong.zenflow.log.auditlog.annotations.AuditLog;
 import org.phong.zenflow.log.auditlog.enums.AuditAction;
+import org.phong.zenflow.core.http.OutboundHttpClient;
 import org.phong.zenflow.core.utils.MapUtils;
 import org.phong.zenflow.core.utils.ObjectConversion;
-import org.phong.zenflow.secret.subdomain.aggregate.AggregatedSecretButchDto;
 import org.phong.zenflow.secret.subdomain.aggregate.SecretAggregateService;
+import org.phong.zenflow.workflow.cache.PreparedWorkflow;
 import org.phong.zenflow.workflow.exception.WorkflowException;
-import org.phong.zenflow.workflow.infrastructure.persistence.entity.Workflow;
 import org.phong.zenflow.workflow.service.WorkflowService;
+import org.phong.zenflow.workflow.subdomain.context.ContextSlotLayout;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContextKey;
+import org.phong.zenflow.workflow.subdomain.context.RunTempFiles;
 import org.phong.zenflow.workflow.subdomain.context.RuntimeContext;
 import org.phong.zenflow.workflow.subdomain.context.RuntimeContextManager;
 import org.phong.zenflow.workflow.subdomain.engine.dto.WorkflowExecutionStatus;
 import org.phong.zenflow.workflow.subdomain.engine.service.WorkflowEngineService;
 import org.phong.zenflow.workflow.subdomain.logging.core.LogContextManager;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
-import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
 import org.phong.zenflow.workflow.subdomain.runner.dto.WorkflowRunnerRequest;
 import org.phong.zenflow.workflow.subdomain.trigger.enums.TriggerType;
 import org.phong.zenflow.workflow.subdomain.workflow_run.infrastructure.persistence.entity.WorkflowRun;
 import org.phong.zenflow.workflow.subdomain.workflow_run.service.WorkflowRunService;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class WorkflowRunnerService {
     private final WorkflowEngineService workflowEngineService;
     private final WorkflowRunService workflowRunService;
-    private final WebClient webClient;
+    private final OutboundHttpClient httpClient;
     private final WorkflowService workflowService;
     private final SecretAggregateService secretAggregateService;
     private final Executor executor;
     private final RuntimeContextManager contextManager;
+    private final RunTempFiles runTempFiles;
+    private final boolean slotStoreEnabled;
 
     public WorkflowRunnerService(
             WorkflowEngineService workflowEngineService,
             WorkflowRunService workflowRunService,
-            WebClient webClient,
+            OutboundHttpClient httpClient,
             WorkflowService workflowService,
             SecretAggregateService secretAggregateService,
             @Qualifier("virtualThreadExecutor") Executor executor,
-            RuntimeContextManager contextManager
+            RuntimeContextManager contextManager,
+            RunTempFiles runTempFiles,
+            @Value("${zenflow.engine.context.slot-store.enabled:false}") boolean slotStoreEnabled
     ) {
         this.workflowEngineService = workflowEngineService;
         this.workflowRunService = workflowRunService;
-        this.webClient = webClient;
+        this.httpClient = httpClient;
         this.workflowService = workflowService;
         this.secretAggregateService = secretAggregateService;
         this.executor = executor;
         this.contextManager = contextManager;
+        this.runTempFiles = runTempFiles;
+        this.slotStoreEnabled = slotStoreEnabled;
     }
 
     @AuditLog(
@@ -82,8 +88,8 @@ public class WorkflowRunnerService {
         try {
             log.info("Starting workflow with ID: {}", workflowId);
 
-            Workflow workflow = workflowService.getWorkflow(workflowId);
-            if (!workflow.getIsActive()) {
+            PreparedWorkflow prepared = workflowService.getPreparedWorkflow(workflowId);
+            if (!prepared.workflow().getIsActive()) {
                 throw new WorkflowException("Workflow with ID: " + workflowId + " is not active");
             }
 
@@ -91,7 +97,7 @@ public class WorkflowRunnerService {
             RuntimeContext context = new RuntimeContext();
             contextManager.assign(workflowRunId.toString(), context);
 
-            processWorkflowToRun(workflowRunId, triggerType, triggerExecutorId, workflowId, request, workflow, context);
+            processWorkflowToRun(workflowRunId, triggerType, triggerExecutorId, workflowId, request, prepared, context);
         } finally {
             // Clean up the logging context when workflow execution completes
             LogContextManager.cleanup(workflowRunId.toString());
@@ -103,27 +109,24 @@ public class WorkflowRunnerService {
                                       UUID triggerExecutorId,
                                       UUID workflowId,
                                       WorkflowRunnerRequest request,
-                                      Workflow workflow,
+                                      PreparedWorkflow prepared,
                                       RuntimeContext context) {
+        boolean halted = false;
         try {
             // This will create a new run if it doesn't exist or return the existing one.
             WorkflowRun workflowRun = workflowRunService.findOrCreateWorkflowRun(workflowRunId, workflowId, triggerType);
 
-            // Extract the consumer map from the static context in the workflow definition
-            WorkflowMetadata metadata = workflow.getDefinition().metadata();
-            Map<String, Set<String>> consumers = metadata.nodeConsumers().entrySet().stream()
-                    .collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            entry -> Set.of(entry.getValue().toString())
-                    ));
-            Map<String, String> aliasMap = metadata.aliases();
+            // Consumer, alias and slot tables are precomputed once per definition version
+            ContextSlotLayout layout = slotStoreEnabled ? prepared.slotLayout() : null;
 
-            String startFromNodeKey = getStartNodeKey(workflow.getDefinition().nodes(), request, triggerExecutorId);
-            initializeContext(workflowRunId, workflowId, request, workflowRun, context, consumers, aliasMap, startFromNodeKey);
+            String startFromNodeKey = getStartNodeKey(prepared, request, triggerExecutorId);
+            initializeContext(workflowRunId, workflowId, request, workflowRun, context, prepared.consumers(), layout,
+                    prepared.aliases(), startFromNodeKey);
 
-            WorkflowExecutionStatus status = workflowEngineService.runWorkflow(workflow, workflowRunId, startFromNodeKey, context);
+            WorkflowExecutionStatus status = workflowEngineService.runWorkflow(prepared, workflowRunId, startFromNodeKey, context);
 
             handleWorkflowExecutionStatus(workflowRunId, workflowId, status, context);
+            halted = status == WorkflowExecutionStatus.HALTED;
 
         } catch (Exception e) {
             log.warn("Error running workflow with ID: {}", workflowId, e);
@@ -135,6 +138,10 @@ public class WorkflowRunnerService {
             }
         } finally {
             contextManager.remove(workflowRunId.toString());
+            if (!halted) {
+                // A halted run still needs its spilled files once it is resumed
+                runTempFiles.release(workflowRunId);
+            }
         }
     }
 
@@ -144,46 +151,18 @@ public class WorkflowRunnerService {
                                    WorkflowRun workflowRun,
                                    RuntimeContext context,
                                    Map<String, Set<String>> consumers,
+                                   @Nullable ContextSlotLayout layout,
                                    Map<String, String> aliasMap,
                                    String startNodeKey) {
         if (workflowRun.getContext() == null || workflowRun.getContext().isEmpty()) {
             // First run: ensure the run is started and create a new context
             log.debug("No existing context found for workflow run ID: {}. Starting new run.", workflowRunId);
-            AggregatedSecretButchDto agg = secretAggregateService.getAggregatedSecretsProfilesAndNodeIndex(workflowId);
-
-            // Build per-node profile view expected by ExecutionContext.getProfileSecret
-            Map<String, Object> profilesByNodeKey = agg.nodeProfiles().entrySet().stream()
-                    .collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            e -> {
-                                String profileId = e.getValue();
-                                Map<String, String> secrets = agg.profiles().getOrDefault(profileId, Map.of());
-                                return new ConcurrentHashMap<>(Map.of(
-                                        "secrets", secrets,
-                                        "profileId", profileId,
-                                        "profileName", agg.profileNames().getOrDefault(profileId, null)
-                                ));
-                            }
-                    ));
-
-            // Build per-node secrets view expected by ExecutionContext.getSecret
-            Map<String, Object> secretsByNodeKey = agg.nodeSecrets().entrySet().stream()
-                    .collect(Collectors.toMap(
-                            Map.Entry::getKey,
-                            e -> {
-                                Map<String, String> nodeSecretMap = e.getValue().stream()
-                                        .collect(Collectors.toMap(
-                                                sid -> agg.secretKeys().getOrDefault(sid, sid),
-                                                sid -> agg.secrets().get(sid),
-                                                (a, b) -> b
-                                        ));
-                                return new ConcurrentHashMap<>(nodeSecretMap);
-                            }
-                    ));
+            // Per-node secret and profile views read by ExecutionContext.getSecret/getProfileSecret, decrypted lazily
+            SecretAggregateService.NodeSecretContext secrets = secretAggregateService.getNodeSecretContext(workflowId);
 
             Map<String, Object> initialContext = new ConcurrentHashMap<>();
-            initialContext.put(ExecutionContextKey.SECRET_KEY.key(), secretsByNodeKey);
-            initialContext.put(ExecutionContextKey.PROFILE_KEY.key(), profilesByNodeKey);
+            initialContext.put(ExecutionContextKey.SECRET_KEY.key(), secrets.secretsByNodeKey());
+            initialContext.put(ExecutionContextKey.PROFILE_KEY.key(), secrets.profilesByNodeKey());
 
             if (request != null && request.callbackUrl() != null && !request.callbackUrl().isEmpty()) {
                 initialContext.put(ExecutionContextKey.CALLBACK_URL.key(), request.callbackUrl());
@@ -197,11 +176,23 @@ public class WorkflowRunnerService {
                 }
             }
 
-            context.initialize(initialContext, consumers, aliasMap);
+            initializeContext(context, initialContext, consumers, layout, aliasMap);
         } else {
             // Resumed run: load existing context
             log.debug("Existing context found for workflow run ID: {}. Loading context.", workflowRunId);
-            context.initialize(new ConcurrentHashMap<>(workflowRun.getContext()), consumers, aliasMap);
+            initializeContext(context, new ConcurrentHashMap<>(workflowRun.getContext()), consumers, layout, aliasMap);
+        }
+    }
+
+    private static void initializeContext(RuntimeContext context,
+                                          Map<String, Object> initialContext,
+                                          Map<String, Set<String>> consumers,
+                                          @Nullable ContextSlotLayout layout,
+                                          Map<String, String> aliasMap) {
+        if (layout != null) {
+            context.initialize(initialContext, layout, aliasMap);
+        } else {
+            context.initialize(initialContext, consumers, aliasMap);
         }
     }
 
@@ -233,7 +224,7 @@ public class WorkflowRunnerService {
 
                 try {
                     LogContextManager.withContext(runId, () -> {
-                        webClient.post()
+                        httpClient.getWebClient().post()
                                 .uri(callbackUrl)
                                 .bodyValue(workflowRunId)
                                 .retrieve()
@@ -249,10 +240,15 @@ public class WorkflowRunnerService {
         }
     }
 
-    private String getStartNodeKey(WorkflowNodes nodes, WorkflowRunnerRequest request, UUID triggerExecutorId) {
+    private String getStartNodeKey(PreparedWorkflow prepared, WorkflowRunnerRequest request, UUID triggerExecutorId) {
         if (triggerExecutorId != null) {
-            return nodes.findByNodeId(triggerExecutorId).getKey();
+            String startNodeKey = prepared.startNodeKeyFor(triggerExecutorId);
+            if (startNodeKey == null) {
+                throw new IllegalArgumentException("No node found for trigger executor: " + triggerExecutorId);
+            }
+            return startNodeKey;
         }
+        WorkflowNodes nodes = prepared.nodes();
 
         if (request == null) {
             return null;
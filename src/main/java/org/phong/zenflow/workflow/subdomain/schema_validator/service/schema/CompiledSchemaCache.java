@@ -0,0 +1,138 @@
+package org.phong.zenflow.workflow.subdomain.schema_validator.service.schema;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONPointer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of compiled everit {@link Schema}s, already sliced to the part of the document being validated.
+ * <p>
+ * Entries are keyed by template string and slice. The canonical schema {@link JSONObject} an entry was compiled
+ * from acts as its version: when the {@code SchemaRegistry} reloads a schema it hands out a new instance, and the
+ * next lookup recompiles instead of serving the stale entry.
+ */
+@Component
+public class CompiledSchemaCache {
+    private final Cache<Key, CompiledSchema> cache;
+
+    public CompiledSchemaCache(@Value("${zenflow.schema.compiled-cache.max-size:2000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public CompiledSchema get(String templateString, @Nullable String slice, JSONObject fullSchema) {
+        Key key = new Key(templateString, slice == null ? "" : slice);
+        CompiledSchema cached = cache.getIfPresent(key);
+        if (cached != null && cached.source() == fullSchema) {
+            return cached;
+        }
+        CompiledSchema compiled = compile(fullSchema, slice);
+        cache.put(key, compiled);
+        return compiled;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    static CompiledSchema compile(JSONObject fullSchema, @Nullable String slice) {
+        JSONObject sliced = sliceSchema(slice, fullSchema);
+        Schema schema = SchemaLoader.builder()
+                .schemaJson(sliced)
+                .draftV7Support()
+                .resolutionScope("classpath:/schemas/")
+                .build()
+                .load().build();
+        JSONObject properties = sliced.has("properties") ? sliced.getJSONObject("properties") : null;
+        return new CompiledSchema(fullSchema, sliced, properties, schema);
+    }
+
+    private static JSONObject sliceSchema(@Nullable String slice, JSONObject fullSchemaJson) {
+        if (slice == null || slice.isEmpty()) {
+            return fullSchemaJson;
+        }
+        if (slice.charAt(0) == '/') {
+            return (JSONObject) new JSONPointer(slice).queryFrom(fullSchemaJson);
+        }
+
+        // When slicing to a property, we need to preserve schema metadata if they exist
+        JSONObject propertySchema = fullSchemaJson.getJSONObject("properties").getJSONObject(slice);
+        if (!containsReferences(propertySchema)) {
+            return propertySchema;
+        }
+
+        // Copy the property schema plus the root-level metadata that reference resolution might need
+        JSONObject schemaJsonToUse = new JSONObject();
+        propertySchema.keys().forEachRemaining(key -> schemaJsonToUse.put(key, propertySchema.get(key)));
+        preserveSchemaMetadata(fullSchemaJson, schemaJsonToUse);
+        return schemaJsonToUse;
+    }
+
+    /**
+     * Preserves important schema metadata needed for reference resolution
+     */
+    private static void preserveSchemaMetadata(JSONObject fullSchema, JSONObject targetSchema) {
+        // Preserve definitions if they exist (for internal references like #/definitions/...)
+        if (fullSchema.has("definitions")) {
+            targetSchema.put("definitions", fullSchema.getJSONObject("definitions"));
+        }
+
+        // Preserve $schema if it exists (maybe needed for external references)
+        if (fullSchema.has("$schema")) {
+            targetSchema.put("$schema", fullSchema.getString("$schema"));
+        }
+
+        // Preserve $id if it exists (base URI for resolving relative references)
+        if (fullSchema.has("$id")) {
+            targetSchema.put("$id", fullSchema.getString("$id"));
+        }
+    }
+
+    /**
+     * Checks if a JSON schema contains $ref keywords anywhere in its tree
+     */
+    private static boolean containsReferences(Object node) {
+        if (node instanceof JSONObject object) {
+            if (object.has("$ref")) {
+                return true;
+            }
+            for (String key : object.keySet()) {
+                if (containsReferences(object.get(key))) {
+                    return true;
+                }
+            }
+        } else if (node instanceof JSONArray array) {
+            for (Object item : array) {
+                if (containsReferences(item)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param source     canonical schema this entry was compiled from, used as its version
+     * @param json       the sliced schema document
+     * @param properties {@code json.properties}, or {@code null} when the slice has none
+     * @param schema     compiled validator; immutable and safe to share between threads
+     */
+    public record CompiledSchema(JSONObject source, JSONObject json, @Nullable JSONObject properties, Schema schema) {
+    }
+
+    private record Key(String templateString, String slice) {
+    }
+}
@@ -1,13 +1,12 @@
 package org.phong.zenflow.workflow.subdomain.schema_validator.service.schema;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
-import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
 import org.json.JSONObject;
-import org.json.JSONPointer;
 import org.phong.zenflow.plugin.subdomain.schema.services.SchemaRegistry;
 import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationError;
 import org.phong.zenflow.workflow.subdomain.schema_validator.enums.ValidationErrorCode;
@@ -17,6 +16,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -33,6 +33,7 @@ public class SchemaValidationService {
     private final SchemaTypeResolver schemaTypeResolver;
     private final TemplateService templateService;
     private final SchemaPlaceholderService schemaPlaceholderService;
+    private final CompiledSchemaCache compiledSchemaCache;
 
     /**
      * Validates the supplied data against the JSON-Schema identified by {@code templateString}.
@@ -73,12 +74,12 @@ public class SchemaValidationService {
                 return errors;
             }
 
-            /* 2. Pick the slice of schema to use */
-            JSONObject schemaJsonToUse = getFullJsonObject(slice, fullSchemaJson);
+            /* 2. Get the compiled schema for the slice (sliced and built once per schema version) */
+            CompiledSchemaCache.CompiledSchema compiled = compiledSchemaCache.get(templateString, slice, fullSchemaJson);
+            JSONObject schemaProperties = compiled.properties();
 
-            /* 3. Serialize data and pick the matching slice from the instance */
-            String dataJson = objectMapper.writeValueAsString(data);
-            Object instanceToValidate = getInstanceToValidate(slice, dataJson);
+            /* 3. Convert only the matching slice of the instance, without a JSON string round trip */
+            Object instanceToValidate = getInstanceToValidate(slice, data);
 
             /* 4. Handle template field processing and value-based validation */
             if (instanceToValidate instanceof JSONObject originalInstance) {
@@ -87,30 +88,23 @@ public class SchemaValidationService {
                     // This prevents "required key not found" errors while still validating structure
 
                     // First, validate wrong keys before replacing template fields
-                    if (schemaJsonToUse.has("properties")) {
-                        errors.addAll(validateWrongKeys(nodeKey, originalInstance, schemaJsonToUse.getJSONObject("properties"), basePath));
+                    if (schemaProperties != null) {
+                        errors.addAll(validateWrongKeys(nodeKey, originalInstance, schemaProperties, basePath));
                     }
 
                     instanceToValidate = schemaPlaceholderService.replaceTemplateFieldsWithPlaceholders(originalInstance,
-                            schemaJsonToUse.has("properties") ? schemaJsonToUse.getJSONObject("properties") : null);
+                            schemaProperties);
                     log.debug("Replaced template fields with placeholders for definition-phase validation");
                 } else {
                     // Runtime phase: Perform full value-based validation including wrong keys
-                    if (schemaJsonToUse.has("properties")) {
-                        errors.addAll(validateValueTypes(nodeKey, originalInstance, schemaJsonToUse.getJSONObject("properties"), basePath));
+                    if (schemaProperties != null) {
+                        errors.addAll(validateValueTypes(nodeKey, originalInstance, schemaProperties, basePath));
                     }
                 }
             }
 
-            /* 5. Build the schema and validate */
-            Schema schema = SchemaLoader.builder()
-                    .schemaJson(schemaJsonToUse)
-                    .draftV7Support()
-                    .resolutionScope("classpath:/schemas/")
-                    .build()
-                    .load().build();
-
-            schema.validate(instanceToValidate);
+            /* 5. Validate */
+            compiled.schema().validate(instanceToValidate);
 
         } catch (ValidationException ve) {
             errors.addAll(convertValidationException(nodeKey, ve, basePath));
@@ -139,77 +133,54 @@ public class SchemaValidationService {
         return validateAgainstSchema(nodeKey, data, templateString, basePath, slice, false);
     }
 
-    private static JSONObject getFullJsonObject(String slice, JSONObject fullSchemaJson) {
-        JSONObject schemaJsonToUse;
-        if (slice != null && !slice.isEmpty()) {
-            if (slice.charAt(0) == '/') {
-                JSONPointer ptr = new JSONPointer(slice);
-                schemaJsonToUse = (JSONObject) ptr.queryFrom(fullSchemaJson);
-            } else {
-                // When slicing to a property, we need to preserve schema metadata if they exist
-                JSONObject propertySchema = fullSchemaJson.getJSONObject("properties").getJSONObject(slice);
-
-                // Check if the property schema contains references that might need the root schema context
-                if (schemaContainsReferences(propertySchema)) {
-                    // Create a new schema object that includes the property schema plus necessary root-level metadata
-                    schemaJsonToUse = new JSONObject();
-                    // Copy all properties from the property schema
-                    propertySchema.keys().forEachRemaining(key ->
-                        schemaJsonToUse.put(key, propertySchema.get(key))
-                    );
-
-                    // Preserve important root-level schema metadata that might be needed for reference resolution
-                    preserveSchemaMetadata(fullSchemaJson, schemaJsonToUse);
-                } else {
-                    schemaJsonToUse = propertySchema;
-                }
-            }
-        } else {
-            schemaJsonToUse = fullSchemaJson;
-        }
-        return schemaJsonToUse;
-    }
-
     /**
-     * Preserves important schema metadata needed for reference resolution
+     * Picks the slice of {@code data} to validate and converts it to org.json types. The data is turned into a
+     * Jackson tree in memory (no JSON text is produced or parsed) and only the selected slice is converted.
      */
-    private static void preserveSchemaMetadata(JSONObject fullSchema, JSONObject targetSchema) {
-        // Preserve definitions if they exist (for internal references like #/definitions/...)
-        if (fullSchema.has("definitions")) {
-            targetSchema.put("definitions", fullSchema.getJSONObject("definitions"));
-        }
-
-        // Preserve $schema if it exists (maybe needed for external references)
-        if (fullSchema.has("$schema")) {
-            targetSchema.put("$schema", fullSchema.getString("$schema"));
-        }
+    private Object getInstanceToValidate(String slice, Object data) {
+        JsonNode instance = objectMapper.valueToTree(data);
 
-        // Preserve $id if it exists (base URI for resolving relative references)
-        if (fullSchema.has("$id")) {
-            targetSchema.put("$id", fullSchema.getString("$id"));
+        if (slice != null && !slice.isEmpty()) {
+            instance = slice.charAt(0) == '/' ? instance.at(slice) : instance.get(slice);
+            if (instance == null || instance.isMissingNode()) {
+                return null;
+            }
         }
+        return toOrgJson(instance);
     }
 
-    /**
-     * Checks if a JSON schema contains $ref references that might need definitions
-     */
-    private static boolean schemaContainsReferences(JSONObject schema) {
-        return schema.toString().contains("$ref");
-    }
-
-    private static Object getInstanceToValidate(String slice, String dataJson) {
-        JSONObject instance = new JSONObject(dataJson);
-        Object instanceToValidate = instance;
-
-        if (slice != null && !slice.isEmpty()) {
-            if (slice.charAt(0) == '/') {
-                JSONPointer pointer = new JSONPointer(slice);
-                instanceToValidate = pointer.queryFrom(instance);
-            } else {
-                instanceToValidate = instance.opt(slice);
+    private static Object toOrgJson(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                JSONObject object = new JSONObject();
+                for (Map.Entry<String, JsonNode> field : node.properties()) {
+                    object.put(field.getKey(), toOrgJson(field.getValue()));
+                }
+                return object;
+            }
+            case ARRAY -> {
+                JSONArray array = new JSONArray();
+                for (JsonNode item : node) {
+                    array.put(toOrgJson(item));
+                }
+                return array;
+            }
+            case STRING, BINARY -> {
+                return node.asText();
+            }
+            case NUMBER -> {
+                return node.numberValue();
+            }
+            case BOOLEAN -> {
+                return node.booleanValue();
+            }
+            case NULL, MISSING -> {
+                return JSONObject.NULL;
+            }
+            default -> {
+                return node.toString();
             }
         }
-        return instanceToValidate;
     }
 
     /**
@@ -0,0 +1,58 @@
+package org.phong.zenflow.workflow.subdomain.trigger.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Consistent hash ring over instance ids. Each instance is placed at {@code virtualNodes} points, so when an
+ * instance joins or leaves only the triggers on its arcs change owner and the rest stay where they are.
+ * <p>
+ * Every instance builds the ring from the same live set, so they agree on owners without talking to each other.
+ */
+public final class ConsistentHashRing {
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> members;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = Set.copyOf(new TreeSet<>(members));
+        int points = Math.max(1, virtualNodes);
+        for (String member : this.members) {
+            for (int i = 0; i < points; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    public Set<String> members() {
+        return members;
+    }
+
+    /**
+     * @return the instance that should run the trigger, or {@code null} when the ring is empty
+     */
+    public String ownerOf(UUID triggerId) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(triggerId.toString()));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // 64-bit FNV-1a with a final mix, so ids and "instance#n" keys that differ in a few characters spread evenly
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,85 @@
+package org.phong.zenflow.workflow.subdomain.trigger.cluster;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Instance heartbeats and per-trigger leases in Postgres. All times come from the database clock, so
+ * instances with drifting clocks still agree on who is alive and which leases expired.
+ */
+@Component
+public class TriggerLeaseStore {
+    private static final String HEARTBEAT_SQL = """
+            INSERT INTO trigger_instances (instance_id, heartbeat_at) VALUES (?, now())
+            ON CONFLICT (instance_id) DO UPDATE SET heartbeat_at = now()
+            """;
+
+    private static final String LIVE_INSTANCES_SQL =
+            "SELECT instance_id FROM trigger_instances WHERE heartbeat_at > now() - ? * interval '1 millisecond'";
+
+    // Dead rows are kept a while so a paused instance that comes back is not treated as brand new
+    private static final String PRUNE_INSTANCES_SQL =
+            "DELETE FROM trigger_instances WHERE heartbeat_at < now() - ? * interval '1 millisecond'";
+
+    // Only takes the lease when nobody holds it, it expired, or it is already ours
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO trigger_leases (trigger_id, owner, expires_at)
+            VALUES (?, ?, now() + ? * interval '1 millisecond')
+            ON CONFLICT (trigger_id) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+            WHERE trigger_leases.owner = EXCLUDED.owner OR trigger_leases.expires_at < now()
+            """;
+
+    private static final String RENEW_SQL = """
+            UPDATE trigger_leases SET expires_at = now() + ? * interval '1 millisecond'
+            WHERE owner = ? AND expires_at >= now()
+            RETURNING trigger_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TriggerLeaseStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void heartbeat(String instanceId) {
+        jdbcTemplate.update(HEARTBEAT_SQL, instanceId);
+    }
+
+    public List<String> liveInstances(long ttlMs) {
+        return jdbcTemplate.queryForList(LIVE_INSTANCES_SQL, String.class, ttlMs);
+    }
+
+    public void pruneInstances(long olderThanMs) {
+        jdbcTemplate.update(PRUNE_INSTANCES_SQL, olderThanMs);
+    }
+
+    public void leave(String instanceId) {
+        jdbcTemplate.update("DELETE FROM trigger_leases WHERE owner = ?", instanceId);
+        jdbcTemplate.update("DELETE FROM trigger_instances WHERE instance_id = ?", instanceId);
+    }
+
+    /**
+     * @return whether {@code owner} holds the lease afterwards
+     */
+    public boolean acquire(UUID triggerId, String owner, long ttlMs) {
+        return jdbcTemplate.update(ACQUIRE_SQL, triggerId, owner, ttlMs) > 0;
+    }
+
+    /**
+     * Extends every unexpired lease of {@code owner}.
+     *
+     * @return the triggers {@code owner} still holds; leases that expired meanwhile may belong to someone else
+     */
+    public Set<UUID> renew(String owner, long ttlMs) {
+        return new HashSet<>(jdbcTemplate.queryForList(RENEW_SQL, UUID.class, ttlMs, owner));
+    }
+
+    public void release(UUID triggerId, String owner) {
+        jdbcTemplate.update("DELETE FROM trigger_leases WHERE trigger_id = ? AND owner = ?", triggerId, owner);
+    }
+}
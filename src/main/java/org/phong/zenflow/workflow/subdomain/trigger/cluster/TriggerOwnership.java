@@ -0,0 +1,185 @@
+package org.phong.zenflow.workflow.subdomain.trigger.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decides which triggers this instance runs when several instances share one database.
+ * <p>
+ * Live instances (heartbeat newer than {@code lease-ttl-ms}) form a {@link ConsistentHashRing}; a trigger is
+ * started only by the instance the ring maps it to, and only after that instance took the trigger's lease.
+ * The lease covers the moments when instances briefly disagree about the live set: a trigger that moved keeps
+ * running on its old owner until that owner sees the change and releases it, or the lease expires.
+ * <p>
+ * When disabled, this instance owns every trigger and no table is touched.
+ */
+@Component
+@Slf4j
+public class TriggerOwnership {
+    private final TriggerLeaseStore store;
+    private final boolean enabled;
+    private final String instanceId;
+    private final long leaseTtlMs;
+    private final long holdMs;
+    private final int virtualNodes;
+
+    private volatile ConsistentHashRing ring;
+    private volatile long lastRenewedAt = System.currentTimeMillis();
+
+    public TriggerOwnership(TriggerLeaseStore store,
+                            @Value("${zenflow.trigger.cluster.enabled:false}") boolean enabled,
+                            @Value("${zenflow.trigger.cluster.instance-id:}") String instanceId,
+                            @Value("${zenflow.trigger.cluster.lease-ttl-ms:30000}") long leaseTtlMs,
+                            @Value("${zenflow.trigger.cluster.heartbeat-interval-ms:10000}") long heartbeatIntervalMs,
+                            @Value("${zenflow.trigger.cluster.virtual-nodes:64}") int virtualNodes) {
+        this.store = store;
+        this.enabled = enabled;
+        this.instanceId = instanceId == null || instanceId.isBlank() ? defaultInstanceId() : instanceId;
+        this.leaseTtlMs = leaseTtlMs;
+        // Leases are only checked once per heartbeat, so give up one interval early, plus a tenth of the lease
+        // for stopping the triggers and clock drift against the database
+        this.holdMs = Math.max(0, leaseTtlMs - heartbeatIntervalMs - leaseTtlMs / 10);
+        this.virtualNodes = virtualNodes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Heartbeats and rebuilds the ring from the instances currently alive.
+     *
+     * @return whether the live set changed since the previous refresh
+     */
+    public synchronized boolean refresh() {
+        if (!enabled) {
+            return false;
+        }
+        store.heartbeat(instanceId);
+        List<String> live = store.liveInstances(leaseTtlMs);
+        Set<String> members = new HashSet<>(live);
+        // Our own row may lag a slow commit; we are alive by definition
+        members.add(instanceId);
+
+        ConsistentHashRing previous = ring;
+        if (previous != null && previous.members().equals(members)) {
+            return false;
+        }
+        ring = new ConsistentHashRing(members, virtualNodes);
+        store.pruneInstances(leaseTtlMs * 10);
+        log.info("Trigger cluster members changed: {}", ring.members());
+        return true;
+    }
+
+    /**
+     * @return whether the ring maps the trigger to this instance
+     */
+    public boolean shouldOwn(UUID triggerId) {
+        if (!enabled) {
+            return true;
+        }
+        if (ring == null) {
+            refresh();
+        }
+        return instanceId.equals(ring.ownerOf(triggerId));
+    }
+
+    /**
+     * Takes the trigger's lease if the ring maps it here and no other instance still holds it.
+     */
+    public boolean acquire(UUID triggerId) {
+        if (!enabled) {
+            return true;
+        }
+        return shouldOwn(triggerId) && store.acquire(triggerId, instanceId, leaseTtlMs);
+    }
+
+    /**
+     * Extends the leases of the running triggers and drops leases of triggers that are not running.
+     * If the database cannot be reached, running triggers are kept only while {@link #leasesLapsed()} is false,
+     * so they stop before another instance may take them over.
+     *
+     * @return the running triggers this instance may keep running
+     */
+    public Set<UUID> renew(Collection<UUID> running) {
+        if (!enabled) {
+            return new HashSet<>(running);
+        }
+        Set<UUID> held;
+        try {
+            // The new expiry counts from when the database ran the update, which is no earlier than this
+            long sentAt = System.currentTimeMillis();
+            held = store.renew(instanceId, leaseTtlMs);
+            lastRenewedAt = sentAt;
+        } catch (Exception e) {
+            boolean lapsed = leasesLapsed();
+            log.warn("Failed to renew trigger leases{}: {}", lapsed ? ", stopping local triggers" : "", e.getMessage());
+            return lapsed ? new HashSet<>() : new HashSet<>(running);
+        }
+        for (UUID triggerId : held) {
+            if (!running.contains(triggerId)) {
+                store.release(triggerId, instanceId);
+            }
+        }
+        held.retainAll(running);
+        return held;
+    }
+
+    /**
+     * @return whether the leases went unrenewed for so long that they may run out before the next heartbeat,
+     *         in which case local triggers have to stop
+     */
+    public boolean leasesLapsed() {
+        return enabled && System.currentTimeMillis() - lastRenewedAt >= holdMs;
+    }
+
+    public void release(UUID triggerId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            store.release(triggerId, instanceId);
+        } catch (Exception e) {
+            // The lease runs out on its own
+            log.warn("Failed to release lease of trigger {}: {}", triggerId, e.getMessage());
+        }
+    }
+
+    /**
+     * Gives up every lease and the membership row so other instances rebalance on their next round
+     * instead of waiting for the lease to expire.
+     */
+    public void leave() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            store.leave(instanceId);
+        } catch (Exception e) {
+            log.warn("Failed to leave trigger cluster: {}", e.getMessage());
+        }
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "zenflow";
+        }
+        // A restarted instance must not inherit leases of its previous process
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
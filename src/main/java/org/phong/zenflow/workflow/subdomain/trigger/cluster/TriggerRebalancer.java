@@ -0,0 +1,78 @@
+package org.phong.zenflow.workflow.subdomain.trigger.cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.phong.zenflow.workflow.subdomain.trigger.services.TriggerOrchestrator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heartbeats every {@code heartbeat-interval-ms} and reconciles the running triggers with the ring, which
+ * renews held leases, hands triggers over when an instance joined or left, and picks up triggers created or
+ * changed through another instance. Only runs when the trigger cluster is enabled.
+ */
+@Component
+@Slf4j
+public class TriggerRebalancer {
+    private final TriggerOwnership ownership;
+    private final TriggerOrchestrator orchestrator;
+    private final long heartbeatIntervalMs;
+    private ScheduledExecutorService scheduler;
+
+    public TriggerRebalancer(TriggerOwnership ownership,
+                             TriggerOrchestrator orchestrator,
+                             @Value("${zenflow.trigger.cluster.heartbeat-interval-ms:10000}") long heartbeatIntervalMs) {
+        this.ownership = ownership;
+        this.orchestrator = orchestrator;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!ownership.isEnabled() || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "trigger-rebalancer");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Trigger cluster enabled as instance {}", ownership.instanceId());
+    }
+
+    public void run() {
+        ownership.refresh();
+        orchestrator.reconcile();
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception e) {
+            // Leases keep their last expiry, so a failed round only delays handover
+            log.error("Trigger rebalance failed: {}", e.getMessage(), e);
+            // The round may have failed before renewing, so enforce the lease deadline here as well
+            if (ownership.leasesLapsed()) {
+                log.warn("Trigger leases could not be renewed in time, stopping local triggers");
+                orchestrator.stopAll();
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        orchestrator.stopAll();
+        ownership.leave();
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.phong.zenflow.workflow.subdomain.context.ResolveConfigService;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.phong.zenflow.workflow.subdomain.trigger.cluster.TriggerOwnership;
 import org.phong.zenflow.workflow.subdomain.trigger.dto.TriggerContext;
 import org.phong.zenflow.workflow.subdomain.trigger.infrastructure.persistence.entity.WorkflowTrigger;
 import org.phong.zenflow.workflow.subdomain.trigger.infrastructure.persistence.repository.WorkflowTriggerRepository;
@@ -13,10 +14,14 @@ import org.phong.zenflow.workflow.subdomain.trigger.interfaces.TriggerExecutor;
 import org.phong.zenflow.workflow.subdomain.trigger.registry.TriggerRegistry;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -27,9 +32,12 @@ public class TriggerOrchestrator {
 
     private final WorkflowTriggerRepository repo;
     private final Map<UUID, TriggerExecutor.RunningHandle> running = new ConcurrentHashMap<>();
+    // updatedAt of the trigger each handle was started from, to pick up changes made through another instance
+    private final Map<UUID, OffsetDateTime> startedVersions = new ConcurrentHashMap<>();
     private final TriggerContextTool contextTool;
     private final TriggerRegistry registry;
     private final ResolveConfigService resolveConfigService;
+    private final TriggerOwnership ownership;
 
     @NotNull
     private static WorkflowTrigger getWorkflowTrigger(WorkflowTrigger t, ResolveConfigService.ResolvedResult resolvedResult) {
@@ -59,6 +67,7 @@ public class TriggerOrchestrator {
             return;
         }
 
+        boolean leased = false;
         try {
             // Use the stored trigger_executor_id instead of building from TriggerType
             UUID triggerExecutorId = t.getTriggerExecutorId();
@@ -75,6 +84,12 @@ public class TriggerOrchestrator {
                 return;
             }
 
+            if (!ownership.acquire(t.getId())) {
+                log.debug("Trigger {} is owned by another instance", t.getId());
+                return;
+            }
+            leased = true;
+
             // Resolve reserved config dynamically (secrets/profiles) while keeping templates in DB
             TriggerContext effectiveTrigger = buildEffectiveTrigger(t);
 
@@ -84,12 +99,18 @@ public class TriggerOrchestrator {
             // Start the trigger
             var handle = executor.start(effectiveTrigger, contextTool);
             running.put(t.getId(), handle);
+            if (t.getUpdatedAt() != null) startedVersions.put(t.getId(), t.getUpdatedAt());
+            leased = false;
 
             log.info("Started trigger {} (executor: {}) for workflow {}",
                     t.getId(), triggerExecutorId, t.getWorkflowId());
 
         } catch (Exception e) {
             log.error("Failed to start trigger {}: {}", t.getId(), e.getMessage(), e);
+        } finally {
+            if (leased) {
+                ownership.release(t.getId());
+            }
         }
     }
 
@@ -118,22 +139,29 @@ public class TriggerOrchestrator {
 
     public synchronized void stop(UUID triggerId) {
         var handle = running.remove(triggerId);
+        startedVersions.remove(triggerId);
         if (handle != null) {
             try {
                 // Get the trigger from the database to handle resource cleanup
                 TriggerContext triggerContext = buildEffectiveTrigger(repo.findById(triggerId).orElseThrow());
                 handleResourceUnregistration(triggerContext);
-
+            } catch (Exception e) {
+                log.error("Error releasing resources of trigger {}: {}", triggerId, e.getMessage(), e);
+            }
+            // Stop even without the database, e.g. when its lease could not be renewed
+            try {
                 handle.stop();
                 log.info("Stopped trigger {}", triggerId);
             } catch (Exception e) {
                 log.error("Error stopping trigger {}: {}", triggerId, e.getMessage(), e);
             }
+            ownership.release(triggerId);
         }
     }
 
     public synchronized void stop(WorkflowTrigger trigger) {
         var handle = running.remove(trigger.getId());
+        startedVersions.remove(trigger.getId());
         if (handle != null) {
             try {
                 TriggerContext triggerContext = buildEffectiveTrigger(trigger);
@@ -144,6 +172,13 @@ public class TriggerOrchestrator {
             } catch (Exception e) {
                 log.error("Error stopping trigger {}: {}", trigger.getId(), e.getMessage(), e);
             }
+            ownership.release(trigger.getId());
+        }
+    }
+
+    public synchronized void stopAll() {
+        for (UUID runningId : new ArrayList<>(running.keySet())) {
+            stop(runningId);
         }
     }
 
@@ -152,17 +187,41 @@ public class TriggerOrchestrator {
         if (t.getEnabled()) start(t);
     }
 
-    // Safety reconciler: ensure DB truth matches runtime
+    /**
+     * Safety reconciler: ensure DB truth matches runtime. With the trigger cluster enabled, only triggers the
+     * ring maps to this instance are desired; triggers that moved, lost their lease or were changed through
+     * another instance are stopped, and the latter started again from the stored definition.
+     */
     public void reconcile() {
-        var desired = new HashSet<UUID>();
+        var desired = new HashMap<UUID, WorkflowTrigger>();
         for (WorkflowTrigger t : repo.findByEnabledTrue()) {
-            desired.add(t.getId());
+            if (ownership.shouldOwn(t.getId())) desired.put(t.getId(), t);
+        }
+        synchronized (this) {
+            Set<UUID> held = ownership.renew(List.copyOf(running.keySet()));
+            // stop any extra
+            for (UUID runningId : new ArrayList<>(running.keySet())) {
+                WorkflowTrigger t = desired.get(runningId);
+                if (t == null || !held.contains(runningId) || isStale(t)) stop(runningId);
+            }
+        }
+        for (WorkflowTrigger t : desired.values()) {
             if (!running.containsKey(t.getId())) start(t);
         }
-        // stop any extra
-        for (UUID runningId : new ArrayList<>(running.keySet())) {
-            if (!desired.contains(runningId)) stop(runningId);
+    }
+
+    // Local updates restart the trigger through events; only the cluster needs to catch up from the database
+    private boolean isStale(WorkflowTrigger t) {
+        if (!ownership.isEnabled()) {
+            return false;
+        }
+        OffsetDateTime started = startedVersions.get(t.getId());
+        OffsetDateTime stored = t.getUpdatedAt();
+        if (started == null || stored == null) {
+            return !Objects.equals(started, stored);
         }
+        // The database keeps microseconds, the event copy may carry nanoseconds
+        return !started.truncatedTo(ChronoUnit.MILLIS).isEqual(stored.truncatedTo(ChronoUnit.MILLIS));
     }
 
     /**
@@ -28,6 +28,12 @@ public interface WorkflowRunRepository extends JpaRepository<WorkflowRun, UUID>
     @Query("SELECT wr FROM WorkflowRun wr WHERE wr.workflow.id = :workflowId ORDER BY wr.startedAt DESC")
     Page<WorkflowRun> findByWorkflowId(@Param("workflowId") UUID workflowId, Pageable pageable);
 
+    /**
+     * Start time of a run, without loading its context
+     */
+    @Query("SELECT wr.startedAt FROM WorkflowRun wr WHERE wr.id = :id")
+    Optional<OffsetDateTime> findStartedAtById(@Param("id") UUID id);
+
     /**
      * Find workflow runs by status
      */
@@ -0,0 +1,91 @@
+-- Turn node_logs into a table partitioned by day on "timestamp".
+-- Existing rows are not copied: the old table becomes the partition for everything before the cutover.
+-- V16 already validated its range check and built matching indexes, so ATTACH neither scans the table
+-- nor builds indexes and the locks below are held only briefly.
+
+ALTER TABLE node_logs RENAME TO node_logs_legacy;
+ALTER INDEX idx_node_log_workflow_run_id RENAME TO idx_node_log_legacy_workflow_run_id;
+ALTER INDEX idx_node_log_node_key RENAME TO idx_node_log_legacy_node_key;
+
+CREATE TABLE node_logs (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    workflow_id UUID NOT NULL,
+    workflow_run_id UUID NOT NULL,
+    node_key TEXT NOT NULL,
+    "timestamp" TIMESTAMPTZ NOT NULL,
+    level TEXT NOT NULL,
+    message TEXT,
+    error_code TEXT,
+    error_message TEXT,
+    meta JSONB,
+    trace_id TEXT,
+    hierarchy TEXT,
+    user_id UUID,
+    correlation_id TEXT,
+    -- The partition key has to be part of the primary key
+    PRIMARY KEY (id, "timestamp"),
+    FOREIGN KEY (workflow_run_id) REFERENCES workflow_runs(id) ON DELETE CASCADE
+) PARTITION BY RANGE ("timestamp");
+
+-- Keyset pagination walks (timestamp, id) within a run, optionally narrowed to one node
+CREATE INDEX idx_node_log_run_ts_id ON node_logs (workflow_run_id, "timestamp", id);
+CREATE INDEX idx_node_log_run_node_ts_id ON node_logs (workflow_run_id, node_key, "timestamp", id);
+CREATE INDEX idx_node_log_correlation_id ON node_logs (correlation_id) WHERE correlation_id IS NOT NULL;
+
+DO $$
+DECLARE
+    cutover TIMESTAMPTZ := (SELECT legacy_until FROM node_logs_partitioning);
+BEGIN
+    -- The validated node_logs_legacy_range check and the V16 indexes are picked up instead of a scan and rebuild
+    EXECUTE format('ALTER TABLE node_logs ATTACH PARTITION node_logs_legacy FOR VALUES FROM (MINVALUE) TO (%L)', cutover);
+END;
+$$;
+
+-- Catches rows outside the pre-created range (e.g. clock skew) instead of failing the insert
+CREATE TABLE node_logs_default PARTITION OF node_logs DEFAULT;
+
+-- Creates the daily partition holding [p_day, p_day + 1); no-op if it exists or the day is still covered by
+-- node_logs_legacy. Every instance runs the maintenance, so creation is serialized with an advisory lock.
+-- Rows of that day already in the default partition are moved into the new partition, otherwise creating it
+-- would fail on them.
+CREATE OR REPLACE FUNCTION create_node_logs_partition(p_day DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := 'node_logs_' || to_char(p_day, 'YYYYMMDD');
+    day_start TIMESTAMPTZ := p_day::timestamptz;
+    day_end TIMESTAMPTZ := (p_day + 1)::timestamptz;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('create_node_logs_partition'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+    IF day_start < (SELECT legacy_until FROM node_logs_partitioning) THEN
+        RETURN NULL;
+    END IF;
+
+    -- Blocks writes to the default partition until commit, so no row of that day can slip in meanwhile
+    LOCK TABLE node_logs_default IN EXCLUSIVE MODE;
+    IF NOT EXISTS (SELECT 1 FROM node_logs_default WHERE "timestamp" >= day_start AND "timestamp" < day_end) THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF node_logs FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, day_start, day_end);
+        RETURN partition_name;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE node_logs INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM node_logs_default WHERE "timestamp" >= %L AND "timestamp" < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', day_start, day_end, partition_name);
+    EXECUTE format('ALTER TABLE node_logs ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, day_start, day_end);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    cutover TIMESTAMPTZ := (SELECT legacy_until FROM node_logs_partitioning);
+BEGIN
+    FOR i IN 0..7 LOOP
+        PERFORM create_node_logs_partition((cutover + i * INTERVAL '1 day')::date);
+    END LOOP;
+END;
+$$;
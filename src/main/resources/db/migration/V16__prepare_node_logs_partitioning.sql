@@ -0,0 +1,36 @@
+-- Online preparation of node_logs for partitioning (see V16_1). Runs outside a transaction (see the .conf file)
+-- so every statement commits on its own and nothing holds a lock that blocks node logging for long:
+-- the NOT VALID check and CREATE INDEX CONCURRENTLY let inserts continue, VALIDATE only takes
+-- SHARE UPDATE EXCLUSIVE. ATTACH in V16_1 then reuses the validated check and these indexes instead of
+-- scanning the table and building indexes under ACCESS EXCLUSIVE.
+--
+-- The existing table becomes the partition for everything before the cutover. New rows keep going to it until
+-- V16_1 runs and must satisfy the check, so this script has to finish before the cutover passes.
+-- If a concurrent build fails, drop the INVALID index it leaves behind before running the migration again.
+
+CREATE TABLE IF NOT EXISTS node_logs_partitioning (
+    legacy_until TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO node_logs_partitioning (legacy_until)
+SELECT date_trunc('day', now()) + INTERVAL '2 days'
+WHERE NOT EXISTS (SELECT 1 FROM node_logs_partitioning);
+
+DO $$
+DECLARE
+    cutover TIMESTAMPTZ := (SELECT legacy_until FROM node_logs_partitioning);
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'node_logs_legacy_range') THEN
+        EXECUTE format('ALTER TABLE node_logs ADD CONSTRAINT node_logs_legacy_range CHECK ("timestamp" < %L) NOT VALID',
+                       cutover);
+    END IF;
+END;
+$$;
+
+-- Same columns as the primary key and indexes of the partitioned table
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_node_log_legacy_id_ts ON node_logs (id, "timestamp");
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_node_log_legacy_run_ts_id ON node_logs (workflow_run_id, "timestamp", id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_node_log_legacy_run_node_ts_id ON node_logs (workflow_run_id, node_key, "timestamp", id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_node_log_legacy_correlation_id ON node_logs (correlation_id) WHERE correlation_id IS NOT NULL;
+
+ALTER TABLE node_logs VALIDATE CONSTRAINT node_logs_legacy_range;
@@ -0,0 +1,15 @@
+-- Trigger ownership across instances: each instance heartbeats into trigger_instances and holds a
+-- lease per trigger it runs. A lease whose expires_at has passed may be taken over by another instance.
+
+CREATE TABLE trigger_instances (
+    instance_id TEXT PRIMARY KEY,
+    heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE TABLE trigger_leases (
+    trigger_id UUID PRIMARY KEY REFERENCES workflow_triggers(id) ON DELETE CASCADE,
+    owner TEXT NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX idx_trigger_leases_owner ON trigger_leases (owner);
@@ -0,0 +1,22 @@
+package org.phong.zenflow.core.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DestinationMetricsFilterTest {
+
+    @Test
+    void tagsOnlyConfiguredHosts() {
+        DestinationMetricsFilter filter = new DestinationMetricsFilter(new SimpleMeterRegistry(),
+                List.of("api.vendor.com", "Billing.internal:8443"));
+
+        assertThat(filter.hostTag("api.vendor.com")).isEqualTo("api.vendor.com");
+        assertThat(filter.hostTag("billing.internal")).isEqualTo("billing.internal");
+        assertThat(filter.hostTag("random-" + System.nanoTime() + ".example")).isEqualTo(DestinationMetricsFilter.OTHER_HOST);
+        assertThat(filter.hostTag(null)).isEqualTo(DestinationMetricsFilter.OTHER_HOST);
+    }
+}
@@ -0,0 +1,48 @@
+package org.phong.zenflow.core.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PoolMetricsRegistrarTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DestinationMetricsFilter destinations = new DestinationMetricsFilter(registry,
+            List.of("api.vendor.com"));
+    private final PoolMetricsRegistrar registrar = new PoolMetricsRegistrar(registry, destinations::hostTag);
+
+    @Test
+    void sumsThePoolsOfUnconfiguredHostsUnderOneTag() {
+        registrar.registerMetrics("zenflow-outbound", "1", address("a.example", 443), pool(2));
+        registrar.registerMetrics("zenflow-outbound", "2", address("b.example", 443), pool(3));
+        registrar.registerMetrics("zenflow-outbound", "3", address("api.vendor.com", 443), pool(4));
+
+        assertThat(active(DestinationMetricsFilter.OTHER_HOST)).isEqualTo(5);
+        assertThat(active("api.vendor.com")).isEqualTo(4);
+        assertThat(registry.find("zenflow.http.client.pool.active").gauges()).hasSize(2);
+
+        registrar.deRegisterMetrics("zenflow-outbound", "1", address("a.example", 443));
+        assertThat(active(DestinationMetricsFilter.OTHER_HOST)).isEqualTo(3);
+    }
+
+    private double active(String host) {
+        return registry.get("zenflow.http.client.pool.active").tag("host", host).gauge().value();
+    }
+
+    private static InetSocketAddress address(String host, int port) {
+        return InetSocketAddress.createUnresolved(host, port);
+    }
+
+    private static ConnectionPoolMetrics pool(int acquired) {
+        ConnectionPoolMetrics metrics = mock(ConnectionPoolMetrics.class);
+        when(metrics.acquiredSize()).thenReturn(acquired);
+        return metrics;
+    }
+}
@@ -0,0 +1,65 @@
+package org.phong.zenflow.core.http;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseBodyCollectorTest {
+    private final DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void keepsSmallBodiesInMemory() throws Exception {
+        ResponseBodyCollector collector = new ResponseBodyCollector(1024, 64, spillDir, MediaType.TEXT_PLAIN);
+        collector.append(buffer("hello "));
+        collector.append(buffer("world"));
+
+        ResponseBody body = collector.finish();
+
+        assertThat(body.isSpilled()).isFalse();
+        assertThat(body.size()).isEqualTo(11);
+        assertThat(body.asString()).isEqualTo("hello world");
+        assertThat(Files.list(spillDir)).isEmpty();
+    }
+
+    @Test
+    void spillsToDiskPastThreshold() throws Exception {
+        ResponseBodyCollector collector = new ResponseBodyCollector(1024, 8, spillDir, null);
+        collector.append(buffer("0123456"));
+        collector.append(buffer("789abcdef"));
+
+        ResponseBody body = collector.finish();
+
+        assertThat(body.isSpilled()).isTrue();
+        assertThat(body.content()).isNull();
+        assertThat(body.size()).isEqualTo(16);
+        assertThat(Files.readString(body.file())).isEqualTo("0123456789abcdef");
+    }
+
+    @Test
+    void rejectsBodiesOverLimitAndDiscardsSpill() throws Exception {
+        ResponseBodyCollector collector = new ResponseBodyCollector(12, 4, spillDir, null);
+        collector.append(buffer("12345678"));
+
+        assertThatThrownBy(() -> collector.append(buffer("12345678")))
+                .isInstanceOf(ResponseTooLargeException.class);
+        collector.discard();
+
+        assertThat(Files.list(spillDir)).isEmpty();
+    }
+
+    private DataBuffer buffer(String value) {
+        return factory.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package org.phong.zenflow.plugin.subdomain.execution.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
+import org.phong.zenflow.plugin.subdomain.execution.enums.ExecutionStatus;
+import org.phong.zenflow.plugin.subdomain.execution.exceptions.ExecutorException;
+import org.phong.zenflow.plugin.subdomain.execution.interfaces.AsyncPluginNodeExecutor;
+import org.phong.zenflow.plugin.subdomain.execution.registry.PluginNodeExecutorRegistry;
+import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PluginNodeExecutorDispatcherTest {
+
+    private final CompletableFuture<ExecutionResult> pending = new CompletableFuture<>();
+    private PluginNodeExecutorRegistry registry;
+    private PluginNodeExecutorDispatcher dispatcher;
+    private final WorkflowConfig config = new WorkflowConfig(Map.of());
+    private final ExecutionContext context = mock(ExecutionContext.class);
+
+    @BeforeEach
+    void setUp() {
+        registry = new PluginNodeExecutorRegistry();
+        dispatcher = new PluginNodeExecutorDispatcher(registry);
+    }
+
+    @Test
+    void asyncExecutorIsNotAwaitedOnDispatch() {
+        registry.register("async", () -> (AsyncPluginNodeExecutor) (cfg, ctx) -> pending);
+
+        CompletionStage<ExecutionResult> stage = dispatcher.dispatchAsync("async", "builtin", config, context);
+
+        assertThat(stage.toCompletableFuture()).isNotDone();
+        pending.complete(ExecutionResult.success(Map.of("ok", true)));
+        assertThat(PluginNodeExecutorDispatcher.await(stage).getStatus()).isEqualTo(ExecutionStatus.SUCCESS);
+    }
+
+    @Test
+    void syncExecutorYieldsCompletedStage() {
+        registry.register("sync", () -> (cfg, ctx) -> ExecutionResult.success(Map.of()));
+
+        CompletionStage<ExecutionResult> stage = dispatcher.dispatchAsync("sync", "builtin", config, context);
+
+        assertThat(stage.toCompletableFuture()).isCompleted();
+    }
+
+    @Test
+    void awaitUnwrapsFailures() {
+        assertThatThrownBy(() -> PluginNodeExecutorDispatcher.await(
+                CompletableFuture.failedFuture(new IllegalStateException("boom"))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+        assertThatThrownBy(() -> PluginNodeExecutorDispatcher.await(
+                CompletableFuture.failedFuture(new IOException("io"))))
+                .isInstanceOf(ExecutorException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package org.phong.zenflow.plugin.subdomain.executors.builtin.data.data_transformer.columnar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.columnar.ColumnarPipeline;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.dto.TransformStep;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.AggregateTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.DistinctTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.FilterTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.GroupByTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.SortTransformer;
+import org.phong.zenflow.workflow.subdomain.evaluator.functions.AviatorFunctionRegistry;
+import org.phong.zenflow.workflow.subdomain.evaluator.functions.string.StringContainsFunction;
+import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarPipelineTest {
+
+    private static final String[] REGIONS = {"eu", "us", null, "apac"};
+    private static final String[] NAMES = {"alice", "Bob", "carol", "Alice", "bob"};
+
+    private FilterTransformer filter;
+    private SortTransformer sort;
+    private ColumnarPipeline pipeline;
+    private List<Map<String, Object>> data;
+
+    @BeforeEach
+    void setUp() {
+        filter = new FilterTransformer(new TemplateService(new AviatorFunctionRegistry(List.of(new StringContainsFunction()))));
+        sort = new SortTransformer();
+        pipeline = new ColumnarPipeline(filter, sort, true, 0);
+
+        data = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", i);
+            row.put("region", REGIONS[i % REGIONS.length]);
+            row.put("name", NAMES[i % NAMES.length]);
+            // Mix of integers, doubles and missing amounts
+            if (i % 7 != 0) {
+                row.put("amount", i % 2 == 0 ? (i * 37) % 500 : (i * 37) % 500 + 0.25);
+            }
+            data.add(row);
+        }
+    }
+
+    private static TransformStep step(String transformer, Map<String, Object> params) {
+        return new TransformStep(transformer, params);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> runColumnar(List<TransformStep> steps) {
+        assertEquals(steps.size(), pipeline.fusableSteps(data, steps, 0));
+        return (List<Map<String, Object>>) pipeline.run(data, steps);
+    }
+
+    @Test
+    void filterSortAndDistinctMatchRowTransformers() {
+        Map<String, Object> filterParams = Map.of("expression", "amount >= 100 && region != 'us'");
+        Map<String, Object> sortParams = Map.of("field", "amount", "order", "desc", "type", "number", "nullsFirst", true);
+        Map<String, Object> distinctParams = Map.of("fields", List.of("region", "name"));
+
+        Object expected = filter.transform(data, filterParams);
+        expected = sort.transform(expected, sortParams);
+        expected = new DistinctTransformer().transform(expected, distinctParams);
+
+        List<Map<String, Object>> actual = runColumnar(List.of(
+                step("filter", filterParams), step("sort", sortParams), step("distinct", distinctParams)));
+
+        assertFalse(actual.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void expressionsWithoutColumnFormFallBackToRowEvaluation() {
+        Map<String, Object> filterParams = Map.of("expression", "amount > 300 || region == 'eu'", "mode", "exclude");
+
+        assertEquals(filter.transform(data, filterParams), runColumnar(List.of(step("filter", filterParams))));
+    }
+
+    @Test
+    void nullsCompareBelowEveryLiteral() {
+        Map<String, Object> filterParams = Map.of("expression", "region < 'f' && amount <= 250.5");
+
+        List<Map<String, Object>> actual = runColumnar(List.of(step("filter", filterParams)));
+
+        assertEquals(filter.transform(data, filterParams), actual);
+        assertTrue(actual.stream().anyMatch(row -> row.get("region") == null));
+        assertTrue(actual.stream().anyMatch(row -> row.get("amount") == null));
+    }
+
+    @Test
+    void multiFieldSortMatchesRowTransformer() {
+        Map<String, Object> sortParams = Map.of("fields", List.of(
+                Map.of("field", "name", "caseSensitive", false),
+                Map.of("field", "region", "order", "desc"),
+                Map.of("field", "id", "type", "number")));
+
+        assertEquals(sort.transform(data, sortParams), runColumnar(List.of(step("sort", sortParams))));
+    }
+
+    @Test
+    void groupByMatchesRowTransformerIgnoringGroupOrder() {
+        Map<String, Object> groupParams = Map.of(
+                "groupBy", List.of("region", "name"),
+                "aggregations", List.of(
+                        Map.of("field", "amount", "function", "sum", "alias", "total"),
+                        Map.of("field", "amount", "function", "avg", "alias", "average"),
+                        Map.of("field", "amount", "function", "std_dev", "alias", "spread"),
+                        Map.of("field", "amount", "function", "max", "alias", "largest"),
+                        Map.of("field", "id", "function", "count", "alias", "records"),
+                        Map.of("field", "name", "function", "distinct_count", "alias", "names")));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> expected = (List<Map<String, Object>>) new GroupByTransformer().transform(data, groupParams);
+        List<Map<String, Object>> actual = runColumnar(List.of(step("group_by", groupParams)));
+
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+
+    @Test
+    void aggregateEndsTheFusedRun() {
+        Map<String, Object> filterParams = Map.of("expression", "region == 'eu'");
+        Map<String, Object> aggregateParams = Map.of("aggregations", List.of(
+                Map.of("field", "amount", "function", "sum", "alias", "total"),
+                Map.of("field", "amount", "function", "min", "alias", "smallest")));
+        List<TransformStep> steps = List.of(step("filter", filterParams), step("aggregate", aggregateParams),
+                step("sort", Map.of("field", "total")));
+
+        assertEquals(2, pipeline.fusableSteps(data, steps, 0));
+        Object expected = new AggregateTransformer().transform(filter.transform(data, filterParams), aggregateParams);
+        assertEquals(expected, pipeline.run(data, steps.subList(0, 2)));
+    }
+
+    @Test
+    void smallOrNonRecordInputsStayRowByRow() {
+        List<TransformStep> steps = List.of(step("filter", Map.of("expression", "id > 3")));
+        ColumnarPipeline thresholded = new ColumnarPipeline(filter, sort, true, 1000);
+
+        assertEquals(0, thresholded.fusableSteps(data, steps, 0));
+        assertEquals(0, pipeline.fusableSteps(List.of(1, 2, 3), steps, 0));
+        assertEquals(0, pipeline.fusableSteps(data, List.of(step("uppercase", Map.of())), 0));
+        assertEquals(0, new ColumnarPipeline(filter, sort, false, 0).fusableSteps(data, steps, 0));
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
 import org.phong.zenflow.plugin.subdomain.execution.enums.ExecutionStatus;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.executor.DataTransformerExecutor;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.executor.ParallelForEach;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.interfaces.DataTransformer;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.registry.TransformerRegistry;
 import org.phong.zenflow.TestExecutionContextUtils;
@@ -564,4 +565,34 @@ class DataTransformerExecutorTest {
         List<String> resultList = (List<String>) result.getOutput().get("result");
         assertEquals(Arrays.asList("HELLO", "WORLD", "TEST"), resultList);
     }
+
+    @Test
+    void testParallelForEachKeepsOrder() {
+        List<String> inputData = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            inputData.add("item" + i);
+        }
+        Map<String, Object> input = Map.of(
+            "name", "uppercase",
+            "data", inputData,
+            "params", Map.of(),
+            "forEach", true,
+            "parallel", true
+        );
+        WorkflowConfig config = new WorkflowConfig(input);
+
+        when(registry.getTransformer("uppercase")).thenReturn(uppercaseTransformer);
+        when(uppercaseTransformer.transform(any(), eq(Map.of())))
+                .thenAnswer(invocation -> ((String) invocation.getArgument(0)).toUpperCase());
+
+        ParallelForEach parallel = new ParallelForEach(4, 4, 10);
+        try {
+            ExecutionResult result = new DataTransformerExecutor(registry, null, parallel).execute(config, runtimeContext);
+
+            assertEquals(ExecutionStatus.SUCCESS, result.getStatus());
+            assertEquals(inputData.stream().map(String::toUpperCase).toList(), result.getOutput().get("result"));
+        } finally {
+            parallel.destroy();
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package org.phong.zenflow.plugin.subdomain.executors.builtin.data.data_transformer.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.exception.DataTransformerExecutorException;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.executor.ParallelForEach;
+import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ParallelForEachTest {
+
+    private final NodeLogPublisher logPublisher = mock(NodeLogPublisher.class);
+    private final ParallelForEach parallel = new ParallelForEach(8, 4, 100);
+
+    private final List<Integer> items = IntStream.range(0, 1_000).boxed().toList();
+
+    @AfterEach
+    void tearDown() {
+        parallel.destroy();
+    }
+
+    @Test
+    void keepsInputOrderAndReportsEveryChunk() {
+        List<Object> result = parallel.map(null, items, item -> "item-" + item, logPublisher);
+
+        assertEquals(items.stream().map(item -> "item-" + item).toList(), result);
+        verify(logPublisher, times(4)).info(eq("Chunk {} of {}: {} items in {} ms"), any(), any(), any(), any());
+    }
+
+    @Test
+    void usesAtMostMaxPerRunWorkers() {
+        ParallelForEach capped = new ParallelForEach(8, 2, 100);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        try {
+            capped.map(null, items, item -> {
+                threads.add(Thread.currentThread().getName());
+                return item;
+            }, logPublisher);
+        } finally {
+            capped.destroy();
+        }
+
+        assertTrue(threads.size() <= 2, "Used workers: " + threads);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("transformer-worker-")));
+    }
+
+    @Test
+    void nodesOfOneRunShareItsWorkers() throws Exception {
+        UUID runId = UUID.randomUUID();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch outerRunning = new CountDownLatch(4);
+        CountDownLatch innerDone = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            // Holds all four of the run's workers until the second node of the run has finished
+            Future<List<Object>> outer = caller.submit(() -> parallel.map(runId, items.subList(0, 4), item -> {
+                outerRunning.countDown();
+                await(innerDone);
+                return item;
+            }, logPublisher));
+            assertTrue(outerRunning.await(5, TimeUnit.SECONDS));
+
+            List<Object> inner = parallel.map(runId, items, item -> {
+                threads.add(Thread.currentThread().getName());
+                return item;
+            }, logPublisher);
+            innerDone.countDown();
+
+            assertEquals(new ArrayList<>(items), inner);
+            assertEquals(Set.of(Thread.currentThread().getName()), threads);
+            assertEquals(List.of(0, 1, 2, 3), outer.get(5, TimeUnit.SECONDS));
+        } finally {
+            innerDone.countDown();
+            caller.shutdownNow();
+        }
+
+        // Released once done, so the run gets its workers back
+        threads.clear();
+        parallel.map(runId, items, item -> {
+            threads.add(Thread.currentThread().getName());
+            return item;
+        }, logPublisher);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("transformer-worker-")), "Used: " + threads);
+    }
+
+    @Test
+    void failingItemFailsTheCall() {
+        DataTransformerExecutorException thrown = assertThrows(DataTransformerExecutorException.class,
+                () -> parallel.map(null, items, item -> {
+                    if ((Integer) item == 700) {
+                        throw new DataTransformerExecutorException("bad item");
+                    }
+                    return item;
+                }, logPublisher));
+
+        assertEquals("bad item", thrown.getMessage());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void smallListsAreNotSplit() {
+        assertFalse(parallel.shouldSplit(99));
+        assertTrue(parallel.shouldSplit(100));
+        assertFalse(new ParallelForEach(8, 1, 0).shouldSplit(10_000));
+    }
+}
@@ -161,4 +161,27 @@ class FilterTransformerTest {
 
         assertThrows(DataTransformerExecutorException.class, () -> filterTransformer.transform(input, Map.of("expression", "invalid syntax +++")));
     }
+
+    @Test
+    void testAssignmentsDoNotChangeItems() {
+        Map<String, Object> item = new HashMap<>(Map.of("age", 30));
+
+        Object result = filterTransformer.transform(List.of(item), Map.of("expression", "age = age + 1; age > 30"));
+
+        assertEquals(List.of(item), result);
+        assertEquals(30, item.get("age"));
+    }
+
+    @Test
+    void testParallelFilterKeepsOrder() {
+        FilterTransformer parallel = new FilterTransformer(
+                new TemplateService(new AviatorFunctionRegistry(List.of(new StringContainsFunction()))), 100);
+        List<Map<String, Object>> input = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            input.add(Map.of("id", i, "name", "user" + i));
+        }
+        Map<String, Object> params = Map.of("expression", "id % 3 == 0 || String.contains(name, '7')");
+
+        assertEquals(filterTransformer.transform(input, params), parallel.transform(input, params));
+    }
 }
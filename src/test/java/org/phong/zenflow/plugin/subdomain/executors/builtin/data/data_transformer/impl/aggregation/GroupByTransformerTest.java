@@ -2,9 +2,12 @@ package org.phong.zenflow.plugin.subdomain.executors.builtin.data.data_transform
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.exception.DataTransformerExecutorException;
 import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.data_transformer.impl.aggregation.GroupByTransformer;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill.SpillManager;
 
+import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -133,5 +136,34 @@ class GroupByTransformerTest {
 
         assertThrows(DataTransformerExecutorException.class, () -> groupByTransformer.transform(input, params));
     }
-}
 
+    @Test
+    void testSpilledGroupingMatchesInMemory(@TempDir Path tempDir) {
+        List<Map<String, Object>> input = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("department", "dept" + (i % 11));
+            item.put("level", i % 3 == 0 ? null : "L" + (i % 2));
+            item.put("salary", 1000 + i * 7.5);
+            item.put("name", "user" + (i % 17));
+            input.add(item);
+        }
+        Map<String, Object> params = Map.of(
+                "groupBy", List.of("department", "level"),
+                "aggregations", List.of(
+                        Map.of("field", "salary", "function", "sum", "alias", "total"),
+                        Map.of("field", "salary", "function", "max", "alias", "top"),
+                        Map.of("field", "name", "function", "distinct_count", "alias", "names"),
+                        Map.of("function", "count", "alias", "members")));
+
+        GroupByTransformer spilling = new GroupByTransformer(new SpillManager(true, 0, 4, tempDir.toString()));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> expected = (List<Map<String, Object>>) groupByTransformer.transform(input, params);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> actual = (List<Map<String, Object>>) spilling.transform(input, params);
+
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+}
@@ -0,0 +1,52 @@
+package org.phong.zenflow.plugin.subdomain.executors.builtin.data.merge_data;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.TestExecutionContextUtils;
+import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.merge_data.MergeDataExecutor;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergeDataExecutorTest {
+
+    @Test
+    void deepMergeKeepsValueTypes() {
+        Instant at = Instant.parse("2026-01-01T00:00:00Z");
+        byte[] bytes = {1, 2, 3};
+        List<Map<String, Object>> sources = List.of(
+                Map.of("data", Map.of("count", 5L, "at", at)),
+                Map.of("data", Map.of("bytes", bytes, "small", 7)));
+        WorkflowConfig config = new WorkflowConfig(Map.of(
+                "sources", sources,
+                "strategy", "deep_merge"));
+
+        ExecutionResult result = new MergeDataExecutor().execute(config, TestExecutionContextUtils.createExecutionContext());
+
+        Map<?, ?> merged = (Map<?, ?>) result.getOutput().get("data");
+        assertEquals(5L, merged.get("count"));
+        assertSame(at, merged.get("at"));
+        assertSame(bytes, merged.get("bytes"));
+        assertEquals(7, merged.get("small"));
+    }
+
+    @Test
+    void recursiveMergeDoesNotModifySources() {
+        Map<String, Object> user = new HashMap<>(Map.of("name", "a"));
+        List<Map<String, Object>> sources = List.of(
+                Map.of("data", Map.of("user", user)),
+                Map.of("data", Map.of("user", Map.of("email", "a@example.com"))));
+        WorkflowConfig config = new WorkflowConfig(Map.of(
+                "sources", sources,
+                "strategy", "deep_merge",
+                "conflict_resolution", "merge_recursive"));
+
+        ExecutionResult result = new MergeDataExecutor().execute(config, TestExecutionContextUtils.createExecutionContext());
+
+        assertEquals(Map.of("user", Map.of("name", "a", "email", "a@example.com")), result.getOutput().get("data"));
+        assertEquals(Map.of("name", "a"), user);
+    }
+}
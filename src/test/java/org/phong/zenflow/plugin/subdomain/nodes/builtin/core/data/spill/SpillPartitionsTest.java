@@ -0,0 +1,73 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.data.spill;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpillPartitionsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsOfOneKeyShareAPartitionAndKeepTheirOrder() throws Exception {
+        SpillManager manager = new SpillManager(true, 0, 4, tempDir.toString());
+        List<Map<String, Object>> all = new ArrayList<>();
+        Map<Object, Integer> partitionOfKey = new HashMap<>();
+
+        try (SpillPartitions partitions = manager.open()) {
+            for (int i = 0; i < 500; i++) {
+                partitions.add("key" + (i % 7), Map.of("key", "key" + (i % 7), "i", i));
+            }
+            assertThat(partitions.records()).isEqualTo(500);
+
+            for (int p = 0; p < partitions.partitions(); p++) {
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> records = (List<Map<String, Object>>) (List<?>) partitions.read(p, Map.class);
+                for (Map<String, Object> record : records) {
+                    assertThat(partitionOfKey.putIfAbsent(record.get("key"), p)).isIn(null, p);
+                }
+                assertThat(records).isSortedAccordingTo((a, b) -> Integer.compare((int) a.get("i"), (int) b.get("i")));
+                all.addAll(records);
+            }
+        }
+
+        assertThat(all).hasSize(500);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void largeRecordsSpanMappedWindows() throws Exception {
+        String large = "x".repeat(3 << 20);
+        try (SpillPartitions partitions = new SpillManager(true, 0, 1, tempDir.toString()).open()) {
+            partitions.add("a", "small");
+            partitions.add("a", large);
+            partitions.add("a", "after");
+
+            assertThat(partitions.read(0, String.class)).containsExactly("small", large, "after");
+        }
+    }
+
+    @Test
+    void budgetIsCheckedAgainstTheEstimatedHeapSize() {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            data.add(Map.of("id", i, "name", "name" + i));
+        }
+
+        assertThat(new SpillManager(true, 1_000, 4, tempDir.toString()).exceedsBudget(data)).isTrue();
+        assertThat(new SpillManager(true, 100_000_000, 4, tempDir.toString()).exceedsBudget(data)).isFalse();
+        assertThat(new SpillManager(false, 0, 4, tempDir.toString()).exceedsBudget(data)).isFalse();
+    }
+}
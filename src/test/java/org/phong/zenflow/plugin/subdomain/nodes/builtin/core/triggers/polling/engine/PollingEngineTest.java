@@ -0,0 +1,178 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.core.http.OutboundHttpClient;
+import org.phong.zenflow.core.http.ResponseBody;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.core.triggers.polling.resource.PollingResponseCache;
+import org.phong.zenflow.workflow.subdomain.trigger.interfaces.TriggerContextTool;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PollingEngineTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PollingEngine engine = new PollingEngine(null, objectMapper, Runnable::run, 0.1,
+            Duration.ofMillis(100), 64);
+
+    @Test
+    void equivalentRequestsShareTarget() {
+        PollTarget a = PollTarget.of("get", "https://api.example.com/items ",
+                Map.of("Accept", "application/json", "X-Key", "k"), Map.of("ignored", true));
+        PollTarget b = PollTarget.of("GET", "https://api.example.com/items",
+                Map.of("x-key", "k", "accept", "application/json"), null);
+
+        assertThat(a).isEqualTo(b).hasSameHashCodeAs(b);
+        assertThat(PollTarget.of("POST", "https://api.example.com/items", null, Map.of("q", 1)))
+                .isNotEqualTo(PollTarget.of("POST", "https://api.example.com/items", null, Map.of("q", 2)));
+    }
+
+    @Test
+    void triggersOnlyWhenDigestChanges() throws Exception {
+        TriggerContextTool tool = mock(TriggerContextTool.class);
+        PollSubscription subscription = subscription(tool, "full_response", null);
+
+        engine.evaluate(subscription, response("{\"items\":[1,2]}"));
+        engine.evaluate(subscription, response("{\"items\":[1,2]}"));
+        engine.evaluate(subscription, response("{\"items\":[1,2,3]}"));
+
+        verify(tool, times(2)).startWorkflow(eq(subscription.getWorkflowId()), any(), anyMap());
+        assertThat(subscription.state().hash()).hasSize(32);
+    }
+
+    @Test
+    void sizeStrategyComparesExtractedCollection() throws Exception {
+        TriggerContextTool tool = mock(TriggerContextTool.class);
+        PollSubscription subscription = subscription(tool, "size_change", "$.data.items");
+
+        engine.evaluate(subscription, response("{\"data\":{\"items\":[1,2]}}"));
+        verify(tool, times(1)).startWorkflow(any(), any(), anyMap());
+
+        // Same size, different content: not a change for size_change
+        engine.evaluate(subscription, response("{\"data\":{\"items\":[3,4]}}"));
+        verify(tool, times(1)).startWorkflow(any(), any(), anyMap());
+
+        engine.evaluate(subscription, response("{\"data\":{\"items\":[3,4,5]}}"));
+        verify(tool, times(2)).startWorkflow(any(), any(), anyMap());
+        assertThat(subscription.state().size()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsValidatorsForConditionalRequests() throws Exception {
+        TriggerContextTool tool = mock(TriggerContextTool.class);
+        PollSubscription subscription = subscription(tool, "full_response", null);
+
+        engine.evaluate(subscription, new PolledResponse(body("[]"), "\"v1\"", null));
+
+        assertThat(subscription.state().etag()).isEqualTo("\"v1\"");
+        assertThat(subscription.state().hasValidators()).isTrue();
+        verify(tool, times(1)).markTriggered(eq(subscription.getTriggerId()), any());
+    }
+
+    @Test
+    void changeDetectionWithoutBaselineAlwaysFires() {
+        PollState state = new PollState(new byte[]{1}, 2, null, null);
+        assertThat(PollingEngine.hasChanged(state, null, "full_response")).isTrue();
+        assertThat(PollingEngine.hasChanged(state, new PollState(new byte[]{1}, 5, null, null), "full_response"))
+                .isFalse();
+        assertThat(PollingEngine.hasChanged(state, new PollState(new byte[]{1}, 5, null, null), "size_change"))
+                .isTrue();
+    }
+
+    @Test
+    void newGroupsPollRightAwayAndShorterIntervalsBringThePendingPollForward() throws Exception {
+        AtomicInteger polls = new AtomicInteger();
+        // No HTTP client: every fetch fails and is logged, which still counts as a poll and reschedules the group
+        PollingEngine timed = new PollingEngine(null, objectMapper, task -> {
+            task.run();
+            polls.incrementAndGet();
+        }, 0.1, Duration.ofMillis(10), 64);
+        try {
+            TriggerContextTool tool = mock(TriggerContextTool.class);
+            PollSubscription hourly = subscription(tool, "full_response", null, 3600);
+            PollTarget target = hourly.getTarget();
+
+            timed.register(hourly);
+            assertThat(timed.millisUntilNextPoll(target)).isLessThanOrEqualTo(1000);
+            awaitUntil(() -> polls.get() == 1);
+            assertThat(timed.millisUntilNextPoll(target)).isGreaterThan(60_000);
+
+            timed.register(subscription(tool, "full_response", null, 1));
+            assertThat(timed.millisUntilNextPoll(target)).isLessThanOrEqualTo(100);
+            awaitUntil(() -> polls.get() == 2);
+        } finally {
+            timed.shutdown();
+        }
+    }
+
+    @Test
+    void jitterDoesNotStretchThePollingInterval() throws Exception {
+        // Without a WebClient every fetch fails right after asking for it, so each call is one fetch
+        OutboundHttpClient httpClient = mock(OutboundHttpClient.class);
+        PollingEngine jittered = new PollingEngine(httpClient, objectMapper, Runnable::run, 0.5,
+                Duration.ofMillis(10), 64);
+        try {
+            jittered.register(subscription(mock(TriggerContextTool.class), "full_response", null, 1));
+            Thread.sleep(5_200);
+        } finally {
+            jittered.shutdown();
+        }
+
+        // One fetch on registration and one per second after it; skipped early ticks would leave about three
+        verify(httpClient, atLeast(5)).getWebClient();
+        verify(httpClient, atMost(6)).getWebClient();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static PollSubscription subscription(TriggerContextTool tool, String strategy, String jsonPath) {
+        return subscription(tool, strategy, jsonPath, 60);
+    }
+
+    private static PollSubscription subscription(TriggerContextTool tool, String strategy, String jsonPath,
+                                                 int intervalSeconds) {
+        return PollSubscription.builder()
+                .triggerId(UUID.randomUUID())
+                .workflowId(UUID.randomUUID())
+                .triggerExecutorId(UUID.randomUUID())
+                .target(PollTarget.of("GET", "https://api.example.com/items", Map.of(), null))
+                .intervalSeconds(intervalSeconds)
+                .timeoutSeconds(30)
+                .changeDetectionStrategy(strategy)
+                .jsonPath(jsonPath)
+                .includeResponse(false)
+                .contextTool(tool)
+                .cache(new PollingResponseCache())
+                .build();
+    }
+
+    private static PolledResponse response(String json) {
+        return new PolledResponse(body(json), null, null);
+    }
+
+    private static ResponseBody body(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return new ResponseBody(bytes, null, bytes.length, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,70 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.database.base;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
+import org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.database.base.dto.ResolvedDbConfig;
+import org.phong.zenflow.workflow.subdomain.context.RunTempFiles;
+import org.phong.zenflow.workflow.subdomain.logging.core.NodeLogPublisher;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BaseSqlExecutorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamedOutputKeepsTheQueryTypeAndHonoursMaxRows() throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnTypeName(1)).thenReturn("int4");
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getObject(1)).thenReturn(1, 2);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        when(stmt.execute()).thenReturn(true);
+        when(stmt.getResultSet()).thenReturn(rs);
+        Connection conn = mock(Connection.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(conn);
+
+        ResolvedDbConfig config = new ResolvedDbConfig();
+        config.setDriver("postgresql");
+        config.setQuery("  select id from items");
+        config.setDataSource(dataSource);
+        config.setParams(new HashMap<>(Map.of("streaming", true, "maxRows", 2)));
+
+        BaseSqlExecutor executor = new BaseSqlExecutor(new ObjectMapper(), new RunTempFiles(0), tempDir.toString());
+        ExecutionResult result = executor.execute(config, mock(NodeLogPublisher.class));
+
+        assertThat(result.getOutput())
+                .containsEntry("streamed", true)
+                .containsEntry("queryType", "SELECT")
+                .containsEntry("rowCount", 2L)
+                .containsKeys("executionTime", "columns", "chunks");
+        verify(stmt).setMaxRows(2);
+    }
+
+    @Test
+    void queryTypeIsTheLeadingKeyword() {
+        assertThat(BaseSqlExecutor.queryTypeOf("insert into t values (1)")).isEqualTo("INSERT");
+        assertThat(BaseSqlExecutor.queryTypeOf("\n WITH x AS (SELECT 1) SELECT * FROM x")).isEqualTo("WITH");
+        assertThat(BaseSqlExecutor.queryTypeOf("  ")).isEqualTo("UNKNOWN");
+    }
+}
@@ -0,0 +1,71 @@
+package org.phong.zenflow.plugin.subdomain.nodes.builtin.integration.database.base;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqlRowSpoolTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rowsAreSplitIntoNdjsonChunks() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1)).thenReturn(1, 2, 3);
+        when(rs.getObject(2)).thenReturn("a", null, "c");
+
+        List<Map<String, Object>> chunks;
+        try (SqlRowSpool spool = SqlRowSpool.open(objectMapper, tempDir, new String[]{"id", "name"}, 2)) {
+            spool.write(rs);
+            spool.write(rs);
+            spool.write(rs);
+            chunks = spool.finish();
+            assertThat(spool.rowCount()).isEqualTo(3);
+        }
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).containsEntry("index", 0).containsEntry("rowCount", 2);
+        assertThat(chunks.get(1)).containsEntry("index", 1).containsEntry("rowCount", 1);
+
+        List<String> first = Files.readAllLines(Path.of((String) chunks.get(0).get("path")));
+        assertThat(first).hasSize(2);
+        assertThat(objectMapper.readValue(first.get(0), Map.class)).isEqualTo(Map.of("id", 1, "name", "a"));
+        assertThat(objectMapper.readTree(first.get(1)).get("name").isNull()).isTrue();
+
+        List<String> second = Files.readAllLines(Path.of((String) chunks.get(1).get("path")));
+        assertThat(objectMapper.readValue(second.get(0), Map.class)).isEqualTo(Map.of("id", 3, "name", "c"));
+    }
+
+    @Test
+    void emptyResultProducesNoChunks() throws Exception {
+        try (SqlRowSpool spool = SqlRowSpool.open(objectMapper, tempDir, new String[]{"id"}, 10)) {
+            assertThat(spool.finish()).isEmpty();
+            assertThat(spool.rowCount()).isZero();
+        }
+    }
+
+    @Test
+    void discardRemovesSpoolDirectory() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1)).thenReturn(1);
+
+        SqlRowSpool spool = SqlRowSpool.open(objectMapper, tempDir, new String[]{"id"}, 10);
+        spool.write(rs);
+        spool.discard();
+
+        assertThat(spool.directory()).doesNotExist();
+    }
+}
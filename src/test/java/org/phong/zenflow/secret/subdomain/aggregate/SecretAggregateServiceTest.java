@@ -0,0 +1,134 @@
+package org.phong.zenflow.secret.subdomain.aggregate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.phong.zenflow.secret.event.SecretChangedEvent;
+import org.phong.zenflow.secret.infrastructure.persistence.entity.Secret;
+import org.phong.zenflow.secret.infrastructure.persistence.repository.SecretProfileRepository;
+import org.phong.zenflow.secret.infrastructure.persistence.repository.SecretRepository;
+import org.phong.zenflow.secret.subdomain.link.infrastructure.entity.ProfileSecretLink;
+import org.phong.zenflow.secret.subdomain.link.infrastructure.entity.SecretNodeLink;
+import org.phong.zenflow.secret.subdomain.link.infrastructure.entity.SecretProfileNodeLink;
+import org.phong.zenflow.secret.subdomain.link.infrastructure.repository.ProfileSecretLinkRepository;
+import org.phong.zenflow.secret.subdomain.link.infrastructure.repository.SecretNodeLinkRepository;
+import org.phong.zenflow.secret.subdomain.link.infrastructure.repository.SecretProfileNodeLinkRepository;
+import org.phong.zenflow.secret.subdomain.profile.entity.SecretProfile;
+import org.phong.zenflow.secret.util.AESUtil;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SecretAggregateServiceTest {
+    @Mock private SecretRepository secretRepository;
+    @Mock private ProfileSecretLinkRepository profileSecretLinkRepository;
+    @Mock private SecretProfileNodeLinkRepository secretProfileNodeLinkRepository;
+    @Mock private SecretNodeLinkRepository secretNodeLinkRepository;
+    @Mock private SecretProfileRepository secretProfileRepository;
+    @Mock private AESUtil aesUtil;
+
+    private SecretSnapshotCache cache;
+    private SecretAggregateService service;
+    private UUID workflowId;
+
+    @BeforeEach
+    void setUp() {
+        workflowId = UUID.randomUUID();
+        cache = new SecretSnapshotCache(100, Duration.ofMinutes(10));
+        service = new SecretAggregateService(secretRepository, profileSecretLinkRepository,
+                secretProfileNodeLinkRepository, secretNodeLinkRepository, secretProfileRepository, aesUtil, cache);
+
+        Secret apiKey = secret("API_KEY", "enc-api");
+        Secret token = secret("TOKEN", "enc-token");
+        Secret clientId = secret("CLIENT_ID", "enc-client");
+
+        SecretProfile profile = new SecretProfile();
+        profile.setId(UUID.randomUUID());
+        profile.setName("google");
+
+        ProfileSecretLink profileLink = new ProfileSecretLink();
+        profileLink.setProfile(profile);
+        profileLink.setSecret(clientId);
+
+        SecretProfileNodeLink nodeProfile = new SecretProfileNodeLink();
+        nodeProfile.setNodeKey("sheets");
+        nodeProfile.setProfile(profile);
+
+        when(secretRepository.findByWorkflowId(workflowId)).thenReturn(List.of(apiKey, token, clientId));
+        when(profileSecretLinkRepository.findByWorkflowId(workflowId)).thenReturn(List.of(profileLink));
+        when(secretProfileNodeLinkRepository.findAllByWorkflowId(workflowId)).thenReturn(List.of(nodeProfile));
+        when(secretNodeLinkRepository.findByWorkflowId(workflowId))
+                .thenReturn(List.of(nodeLink("http", apiKey), nodeLink("http", token)));
+        when(secretProfileRepository.findByWorkflowId(workflowId)).thenReturn(List.of(profile));
+    }
+
+    @Test
+    void decryptsOnlySecretsThatAreRead() throws Exception {
+        when(aesUtil.decrypt("enc-api")).thenReturn("api-value");
+
+        SecretAggregateService.NodeSecretContext context = service.getNodeSecretContext(workflowId);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> httpSecrets = (Map<String, Object>) context.secretsByNodeKey().get("http");
+        assertThat(httpSecrets).containsOnlyKeys("API_KEY", "TOKEN");
+        verify(aesUtil, never()).decrypt(anyString());
+
+        assertThat(httpSecrets.get("API_KEY")).isEqualTo("api-value");
+        assertThat(httpSecrets.get("API_KEY")).isEqualTo("api-value");
+        verify(aesUtil, times(1)).decrypt("enc-api");
+        verify(aesUtil, never()).decrypt("enc-token");
+    }
+
+    @Test
+    void exposesProfileViewPerNode() throws Exception {
+        when(aesUtil.decrypt("enc-client")).thenReturn("client-value");
+
+        SecretAggregateService.NodeSecretContext context = service.getNodeSecretContext(workflowId);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> profile = (Map<String, Object>) context.profilesByNodeKey().get("sheets");
+        assertThat(profile).containsEntry("profileName", "google");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> secrets = (Map<String, Object>) profile.get("secrets");
+        assertThat(secrets.get("CLIENT_ID")).isEqualTo("client-value");
+    }
+
+    @Test
+    void reusesSnapshotUntilInvalidated() {
+        service.getNodeSecretContext(workflowId);
+        service.getNodeSecretContext(workflowId);
+        verify(secretRepository, times(1)).findByWorkflowId(workflowId);
+
+        cache.onSecretChanged(new SecretChangedEvent(workflowId));
+        service.getNodeSecretContext(workflowId);
+        verify(secretRepository, times(2)).findByWorkflowId(workflowId);
+        verify(secretProfileRepository, never()).findAll();
+    }
+
+    private static Secret secret(String key, String encrypted) {
+        Secret secret = new Secret();
+        secret.setId(UUID.randomUUID());
+        secret.setKey(key);
+        secret.setEncryptedValue(encrypted);
+        return secret;
+    }
+
+    private static SecretNodeLink nodeLink(String nodeKey, Secret secret) {
+        SecretNodeLink link = new SecretNodeLink();
+        link.setNodeKey(nodeKey);
+        link.setSecret(secret);
+        return link;
+    }
+}
@@ -0,0 +1,58 @@
+package org.phong.zenflow.workflow.cache;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.infrastructure.persistence.entity.Workflow;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowDefinition;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.OutputUsage;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.plugin.PluginNodeIdentifier;
+import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreparedWorkflowTest {
+
+    @Test
+    void precomputesRunTables() {
+        UUID triggerNodeId = UUID.randomUUID();
+        PluginNodeIdentifier trigger = new PluginNodeIdentifier("core", "webhook.trigger", "1.0.0", null);
+        trigger.setNodeId(triggerNodeId);
+
+        WorkflowMetadata metadata = new WorkflowMetadata();
+        metadata.aliases().put("id", "{{hook.output.body.id}}");
+        metadata.nodeConsumers().put("hook.output.body.id",
+                new OutputUsage("string", new HashSet<>(Set.of("send")), new ArrayList<>()));
+
+        WorkflowNodes nodes = new WorkflowNodes(List.of(
+                new BaseWorkflowNode("hook", NodeType.PLUGIN, trigger, List.of("send"), new WorkflowConfig(), null, null),
+                new BaseWorkflowNode("send", NodeType.PLUGIN,
+                        new PluginNodeIdentifier("core", "http.request", "1.0.0", null),
+                        List.of(), new WorkflowConfig(), null, null)
+        ));
+
+        Workflow workflow = new Workflow();
+        workflow.setId(UUID.randomUUID());
+        workflow.setUpdatedAt(OffsetDateTime.parse("2025-01-01T00:00:00Z"));
+        workflow.setDefinition(new WorkflowDefinition(nodes, metadata));
+
+        PreparedWorkflow prepared = PreparedWorkflow.prepare(workflow);
+
+        assertThat(prepared.version()).isEqualTo(workflow.getUpdatedAt().toInstant().toEpochMilli());
+        assertThat(prepared.startNodeKeyFor(triggerNodeId)).isEqualTo("hook");
+        assertThat(prepared.startNodeKeyFor(UUID.randomUUID())).isNull();
+        assertThat(prepared.nodes().isFrozen()).isTrue();
+        assertThat(prepared.consumers()).containsOnlyKeys("hook.output.body.id");
+        assertThat(prepared.aliases()).containsEntry("id", "{{hook.output.body.id}}");
+        assertThat(prepared.slotLayout().slotOf("hook.output.body.id")).isZero();
+    }
+}
@@ -12,6 +12,7 @@ import org.phong.zenflow.workflow.dto.WorkflowDefinitionChangeRequest;
 import org.phong.zenflow.workflow.infrastructure.mapstruct.WorkflowMapper;
 import org.phong.zenflow.workflow.infrastructure.persistence.entity.Workflow;
 import org.phong.zenflow.workflow.infrastructure.persistence.repository.WorkflowRepository;
+import org.phong.zenflow.workflow.event.WorkflowChangedEvent;
 import org.phong.zenflow.workflow.event.WorkflowDefinitionUpdatedEvent;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowDefinition;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
@@ -21,6 +22,7 @@ import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationError
 import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationResult;
 import org.phong.zenflow.workflow.subdomain.schema_validator.enums.ValidationErrorCode;
 import org.phong.zenflow.workflow.dto.WorkflowDefinitionUpdateResult;
+import org.phong.zenflow.workflow.cache.PreparedWorkflowCache;
 import org.phong.zenflow.workflow.cache.WorkflowValidationCache;
 import org.phong.zenflow.workflow.exception.WorkflowException;
 import org.phong.zenflow.workflow.dto.WorkflowDto;
@@ -46,6 +48,7 @@ class WorkflowServiceTest {
     @Mock private WorkflowDefinitionService definitionService;
     @Mock private ApplicationEventPublisher eventPublisher;
     @Mock private WorkflowValidationCache validationCache;
+    @Mock private PreparedWorkflowCache preparedWorkflowCache;
 
     private WorkflowService service;
 
@@ -55,6 +58,7 @@ class WorkflowServiceTest {
         service = new WorkflowService(
                 workflowRepository,
                 validationCache,
+                preparedWorkflowCache,
                 projectRepository,
                 workflowMapper,
                 definitionService,
@@ -110,6 +114,9 @@ class WorkflowServiceTest {
         assertThat(Boolean.TRUE.equals(wf.getLastValidationPublishAttempt())).isTrue();
         verify(definitionService).buildStaticContextAndValidate(any(WorkflowDefinition.class), eq(id));
         verify(validationCache).put(eq(id), any(WorkflowDefinitionUpdateResult.class));
+        // The prepared workflow is only dropped once the transaction committed
+        verify(preparedWorkflowCache, never()).invalidate(any());
+        verify(eventPublisher).publishEvent(new WorkflowChangedEvent(id));
 
         ArgumentCaptor<WorkflowDefinitionUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(WorkflowDefinitionUpdatedEvent.class);
         verify(eventPublisher).publishEvent(eventCaptor.capture());
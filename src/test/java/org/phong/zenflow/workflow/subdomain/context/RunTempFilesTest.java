@@ -0,0 +1,60 @@
+package org.phong.zenflow.workflow.subdomain.context;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunTempFilesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void releaseDeletesFilesAndDirectoriesOfTheRunOnly() throws Exception {
+        RunTempFiles files = new RunTempFiles(60_000);
+        UUID run = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        Path body = Files.writeString(dir.resolve("zenflow-http-1.body"), "x");
+        Path spool = Files.createDirectory(dir.resolve("zenflow-sql-1"));
+        Files.writeString(spool.resolve("chunk-00000.ndjson"), "{}");
+        Path kept = Files.writeString(dir.resolve("zenflow-http-2.body"), "y");
+
+        files.register(run, body);
+        files.register(run, spool);
+        files.register(other, kept);
+        files.release(run);
+
+        assertThat(body).doesNotExist();
+        assertThat(spool).doesNotExist();
+        assertThat(kept).exists();
+    }
+
+    @Test
+    void sweepOnlyRemovesOldUnownedMatches() throws Exception {
+        RunTempFiles files = new RunTempFiles(60_000);
+        FileTime old = FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        Path orphan = Files.writeString(dir.resolve("zenflow-http-1.body"), "x");
+        Path owned = Files.writeString(dir.resolve("zenflow-http-2.body"), "x");
+        Path fresh = Files.writeString(dir.resolve("zenflow-http-3.body"), "x");
+        Path unrelated = Files.writeString(dir.resolve("other.txt"), "x");
+        Files.setLastModifiedTime(orphan, old);
+        Files.setLastModifiedTime(owned, old);
+        Files.setLastModifiedTime(unrelated, old);
+        files.register(UUID.randomUUID(), owned);
+
+        files.sweepOrphans(dir, "zenflow-http-*.body");
+
+        assertThat(orphan).doesNotExist();
+        assertThat(owned).exists();
+        assertThat(fresh).exists();
+        assertThat(unrelated).exists();
+    }
+}
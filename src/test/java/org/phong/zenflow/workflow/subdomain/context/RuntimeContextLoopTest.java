@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,5 +25,40 @@ class RuntimeContextLoopTest {
         ctx.endLoop("loop");
         assertNull(ctx.get("foo"));
     }
-}
 
+    @Test
+    void branchLoopsDoNotLeakIntoOtherBranches() throws Exception {
+        RuntimeContext ctx = new RuntimeContext();
+        ctx.initialize(Map.of("foo", "bar"), Map.of("foo", Set.of("node", "other")), Map.of());
+
+        ctx.bindBranch(Set.of());
+        ctx.startLoop("loop");
+        try {
+            AtomicBoolean otherInLoop = new AtomicBoolean(true);
+            Thread other = new Thread(() -> {
+                ctx.bindBranch(Set.of());
+                try {
+                    otherInLoop.set(ctx.isInLoop());
+                    // Consumed outside any loop, so this consumer is released right away
+                    ctx.getAndClean("other", "foo");
+                } finally {
+                    ctx.unbindBranch();
+                }
+            });
+            other.start();
+            other.join();
+
+            assertFalse(otherInLoop.get());
+
+            assertTrue(ctx.isInLoop());
+            assertEquals(Set.of("loop"), ctx.activeLoopKeys());
+            assertEquals("bar", ctx.getAndClean("node", "foo"));
+            assertEquals("bar", ctx.get("foo"));
+
+            ctx.endLoop("loop");
+            assertNull(ctx.get("foo"));
+        } finally {
+            ctx.unbindBranch();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.phong.zenflow.workflow.subdomain.context;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.OutputUsage;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuntimeContextSlotStoreTest {
+
+    private static WorkflowMetadata metadata() {
+        WorkflowMetadata metadata = new WorkflowMetadata();
+        metadata.nodeConsumers().put("fetch.output.body.id",
+                new OutputUsage("string", new HashSet<>(Set.of("a", "b")), new ArrayList<>()));
+        metadata.nodeConsumers().put("fetch.output.status",
+                new OutputUsage("number", new HashSet<>(Set.of("a")), new ArrayList<>()));
+        return metadata;
+    }
+
+    @Test
+    void onlyConsumedOutputPathsAreStored() {
+        RuntimeContext ctx = new RuntimeContext();
+        ctx.initialize(Map.of("secrets", Map.of()), ContextSlotLayout.build(metadata()), Map.of());
+
+        ctx.processOutputWithMetadata("fetch.output", Map.of(
+                "status", 200,
+                "body", Map.of("id", "42", "unused", "x"),
+                "headers", Map.of("a", "b")
+        ));
+
+        assertEquals(200, ctx.get("fetch.output.status"));
+        assertEquals("42", ctx.get("fetch.output.body.id"));
+        assertNull(ctx.get("fetch.output.body.unused"));
+        assertNull(ctx.get("fetch.output.headers.a"));
+        assertEquals(Map.of(), ctx.getContext().get("secrets"));
+    }
+
+    @Test
+    void valueIsReleasedAfterLastConsumer() {
+        RuntimeContext ctx = new RuntimeContext();
+        ctx.initialize(Map.of(), ContextSlotLayout.build(metadata()), Map.of());
+        ctx.processOutputWithMetadata("fetch.output", Map.of("body", Map.of("id", "42")));
+
+        assertEquals("42", ctx.getAndClean("a", "fetch.output.body.id"));
+        assertEquals("42", ctx.getAndClean("a", "fetch.output.body.id"));
+        assertEquals(List.of("b"), ctx.getConsumers("fetch.output.body.id"));
+
+        assertEquals("42", ctx.getAndClean("b", "fetch.output.body.id"));
+        assertTrue(ctx.isConsumersEmpty("fetch.output.body.id"));
+        assertNull(ctx.get("fetch.output.body.id"));
+    }
+
+    @Test
+    void loopDefersReleaseUntilLoopEnds() {
+        RuntimeContext ctx = new RuntimeContext();
+        ctx.initialize(Map.of(), ContextSlotLayout.build(metadata()), Map.of());
+        ctx.put("fetch.output.status", 200);
+
+        ctx.startLoop("loop");
+        assertEquals(200, ctx.getAndClean("a", "fetch.output.status"));
+        assertEquals(200, ctx.getAndClean("a", "fetch.output.status"));
+
+        ctx.endLoop("loop");
+        assertNull(ctx.get("fetch.output.status"));
+    }
+
+    @Test
+    void dottedOutputKeysMatchFlattenedPaths() {
+        RuntimeContext ctx = new RuntimeContext();
+        ctx.initialize(Map.of(), ContextSlotLayout.build(metadata()), Map.of());
+
+        ctx.processOutputWithMetadata("fetch.output", Map.of("body.id", "7"));
+
+        assertEquals("7", ctx.get("fetch.output.body.id"));
+    }
+}
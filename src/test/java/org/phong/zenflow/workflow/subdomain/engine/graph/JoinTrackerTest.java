@@ -0,0 +1,140 @@
+package org.phong.zenflow.workflow.subdomain.engine.graph;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.plugin.PluginNodeIdentifier;
+import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JoinTrackerTest {
+
+    @Test
+    void diamondJoinWaitsForBothBranches() {
+        JoinTracker joins = tracker(
+                node("start", List.of("a", "b")),
+                node("a", List.of("join")),
+                node("b", List.of("join")),
+                node("join", List.of()));
+
+        joins.moveTo(1, "a");
+        joins.moveTo(2, "b");
+        joins.park(2, "join", Set.of());
+        assertTrue(joins.release().isEmpty());
+
+        joins.park(1, "join", Set.of());
+        assertEquals(List.of("join"), released(joins));
+        assertFalse(joins.hasParkedJoins());
+    }
+
+    @Test
+    void downstreamJoinWaitsForParkedUpstreamJoin() {
+        // start -> a, b; a -> c, d; c, d -> inner; inner, b -> outer
+        JoinTracker joins = tracker(
+                node("start", List.of("a", "b")),
+                node("a", List.of("c", "d")),
+                node("b", List.of("outer")),
+                node("c", List.of("inner")),
+                node("d", List.of("inner")),
+                node("inner", List.of("outer")),
+                node("outer", List.of()));
+
+        joins.moveTo(1, "c");
+        joins.moveTo(2, "b");
+        joins.moveTo(3, "d");
+        joins.park(2, "outer", Set.of());
+        joins.park(1, "inner", Set.of());
+        joins.park(3, "inner", Set.of());
+
+        // Nothing is live, but the parked inner join still reaches outer
+        assertEquals(List.of("inner"), released(joins));
+        joins.moveTo(4, "inner");
+        assertTrue(joins.release().isEmpty());
+
+        joins.park(4, "outer", Set.of());
+        assertEquals(List.of("outer"), released(joins));
+        assertFalse(joins.hasParkedJoins());
+    }
+
+    @Test
+    void joinAfterLoopWaitsForTheLoopBranch() {
+        // start -> loop, side; loop body: body -> loop; loop exits to join; side -> join
+        JoinTracker joins = tracker(
+                node("start", List.of("loop", "side")),
+                node("loop", NodeType.WHILE_LOOP, List.of("body", "join")),
+                node("body", List.of("loop")),
+                node("side", List.of("join")),
+                node("join", List.of()));
+
+        joins.moveTo(1, "loop");
+        joins.moveTo(2, "side");
+        joins.park(2, "join", Set.of());
+
+        // Iterating over the back edge keeps the branch live and never parks it at the loop node
+        joins.moveTo(1, "body");
+        assertTrue(joins.release().isEmpty());
+        joins.moveTo(1, "loop");
+        assertTrue(joins.release().isEmpty());
+
+        joins.park(1, "join", Set.of());
+        assertEquals(List.of("join"), released(joins));
+    }
+
+    @Test
+    void releasedJoinCarriesTheLoopsOfTheBranchThatParkedFirst() {
+        JoinTracker joins = tracker(
+                node("a", List.of("join")),
+                node("b", List.of("join")),
+                node("join", List.of()));
+
+        joins.moveTo(1, "a");
+        joins.moveTo(2, "b");
+        joins.park(1, "join", Set.of("outer-loop"));
+        joins.park(2, "join", Set.of());
+
+        List<JoinTracker.Released> released = joins.release();
+        assertEquals(1, released.size());
+        assertEquals(Set.of("outer-loop"), released.getFirst().activeLoops());
+    }
+
+    @Test
+    void joinsOnAnUnbrokenCycleAreReleasedOneAtATime() {
+        JoinTracker joins = tracker(
+                node("start", List.of("x", "y")),
+                node("x", List.of("y")),
+                node("y", List.of("x")));
+
+        joins.moveTo(1, "x");
+        joins.moveTo(2, "y");
+        joins.park(1, "x", Set.of());
+        joins.park(2, "y", Set.of());
+
+        assertEquals(List.of("x"), released(joins));
+    }
+
+    private static List<String> released(JoinTracker joins) {
+        return joins.release().stream().map(JoinTracker.Released::joinKey).toList();
+    }
+
+    private static JoinTracker tracker(BaseWorkflowNode... nodes) {
+        return new JoinTracker(WorkflowDependencyGraph.build(new WorkflowNodes(List.of(nodes)), new WorkflowMetadata()));
+    }
+
+    private static BaseWorkflowNode node(String key, List<String> next) {
+        return node(key, NodeType.PLUGIN, next);
+    }
+
+    private static BaseWorkflowNode node(String key, NodeType type, List<String> next) {
+        return new BaseWorkflowNode(
+                key, type,
+                new PluginNodeIdentifier("core", "placeholder", "1.0.0", null),
+                next, new WorkflowConfig(), null, null
+        );
+    }
+}
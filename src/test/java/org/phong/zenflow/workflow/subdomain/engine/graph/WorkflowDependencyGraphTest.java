@@ -0,0 +1,85 @@
+package org.phong.zenflow.workflow.subdomain.engine.graph;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.OutputUsage;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.plugin.PluginNodeIdentifier;
+import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkflowDependencyGraphTest {
+
+    @Test
+    void fanOutBranchesJoinAtSharedSuccessor() {
+        WorkflowNodes nodes = new WorkflowNodes(List.of(
+                node("start", List.of("a", "b")),
+                node("a", List.of("join")),
+                node("b", List.of("join")),
+                node("join", List.of())
+        ));
+
+        WorkflowDependencyGraph graph = WorkflowDependencyGraph.build(nodes, new WorkflowMetadata());
+
+        assertTrue(graph.isJoin("join"));
+        assertFalse(graph.isJoin("a"));
+        assertTrue(graph.canReach("start", "join"));
+        assertFalse(graph.canReach("a", "b"));
+    }
+
+    @Test
+    void consumerEdgesAddDataDependencies() {
+        WorkflowNodes nodes = new WorkflowNodes(List.of(
+                node("start", List.of("a", "b")),
+                node("a", List.of()),
+                node("b", List.of())
+        ));
+        WorkflowMetadata metadata = new WorkflowMetadata();
+        metadata.nodeConsumers().put("a.output.body",
+                new OutputUsage("string", new HashSet<>(Set.of("b")), new ArrayList<>()));
+
+        WorkflowDependencyGraph graph = WorkflowDependencyGraph.build(nodes, metadata);
+
+        assertEquals(Set.of("start", "a"), graph.predecessorsOf("b"));
+        assertTrue(graph.isJoin("b"));
+        assertTrue(graph.canReach("a", "b"));
+    }
+
+    @Test
+    void loopBackEdgesDoNotMakeTheLoopNodeAJoin() {
+        WorkflowNodes nodes = new WorkflowNodes(List.of(
+                node("start", List.of("loop")),
+                node("loop", NodeType.FOR_LOOP, List.of("body", "after")),
+                node("body", List.of("tail")),
+                node("tail", List.of("loop")),
+                node("after", List.of())
+        ));
+
+        WorkflowDependencyGraph graph = WorkflowDependencyGraph.build(nodes, new WorkflowMetadata());
+
+        assertFalse(graph.isJoin("loop"));
+        assertEquals(Set.of("start"), graph.predecessorsOf("loop"));
+        // A branch still in the body can reach what follows the loop
+        assertTrue(graph.canReach("tail", "after"));
+    }
+
+    private BaseWorkflowNode node(String key, List<String> next) {
+        return node(key, NodeType.PLUGIN, next);
+    }
+
+    private BaseWorkflowNode node(String key, NodeType type, List<String> next) {
+        return new BaseWorkflowNode(
+                key, type,
+                new PluginNodeIdentifier("core", "placeholder", "1.0.0", null),
+                next, new WorkflowConfig(), null, null
+        );
+    }
+}
@@ -15,6 +15,7 @@ import org.phong.zenflow.workflow.subdomain.evaluator.services.TemplateService;
 import org.phong.zenflow.workflow.subdomain.evaluator.functions.AviatorFunctionRegistry;
 import org.phong.zenflow.workflow.subdomain.evaluator.functions.string.StringContainsFunction;
 import org.phong.zenflow.workflow.subdomain.engine.dto.WorkflowExecutionStatus;
+import org.phong.zenflow.workflow.subdomain.engine.exception.WorkflowEngineException;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowDefinition;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.WorkflowNodes;
@@ -22,12 +23,15 @@ import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.W
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.dto.WorkflowMetadata;
 import org.phong.zenflow.workflow.subdomain.node_definition.definitions.plugin.PluginNodeIdentifier;
 import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+import org.phong.zenflow.workflow.subdomain.node_execution.service.NodeExecutionJournal;
 import org.phong.zenflow.workflow.subdomain.node_execution.service.NodeExecutionService;
 import org.phong.zenflow.workflow.subdomain.schema_validator.dto.ValidationResult;
 import org.phong.zenflow.workflow.subdomain.schema_validator.service.WorkflowValidationService;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -73,13 +77,16 @@ class WorkflowEngineServiceUuidIntegrationTest {
     void setUp() {
         templateService = new TemplateService(new AviatorFunctionRegistry(List.of(new StringContainsFunction())));
         workflowEngineService = new WorkflowEngineService(
-                nodeExecutionService,
+                new NodeExecutionJournal(nodeExecutionService, null, null, false, 1, 0, 1),
                 workflowValidationService,
                 executorDispatcher,
                 workflowNavigatorService,
                 publisher,
                 contextManager,
-                templateService
+                templateService,
+                Runnable::run,
+                false,
+                1
         );
 
         workflowId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
@@ -103,8 +110,8 @@ class WorkflowEngineServiceUuidIntegrationTest {
 
         when(workflowValidationService.validateRuntime(any(), any(), any(), any()))
                 .thenReturn(new ValidationResult("runtime", List.of()));
-        when(executorDispatcher.dispatch(eq(testNodeId1.toString()), eq("builtin"), any(), any()))
-                .thenReturn(ExecutionResult.success(Map.of("result", "success")));
+        when(executorDispatcher.dispatchAsync(eq(testNodeId1.toString()), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ExecutionResult.success(Map.of("result", "success"))));
         when(workflowNavigatorService.handleExecutionResult(any(), any(), any(), any(), any(), any()))
                 .thenReturn(new WorkflowNavigatorService.ExecutionStepOutcome(null,
                         WorkflowExecutionStatus.COMPLETED));
@@ -114,7 +121,7 @@ class WorkflowEngineServiceUuidIntegrationTest {
 
         // Assert
         assertEquals(WorkflowExecutionStatus.COMPLETED, result);
-        verify(executorDispatcher).dispatch(eq(testNodeId1.toString()), eq("builtin"), any(), any());
+        verify(executorDispatcher).dispatchAsync(eq(testNodeId1.toString()), eq("builtin"), any(), any());
         verify(workflowValidationService).validateRuntime(eq("node1"), any(), eq(testNodeId1.toString()), any());
     }
 
@@ -132,8 +139,8 @@ class WorkflowEngineServiceUuidIntegrationTest {
 
         when(workflowValidationService.validateRuntime(any(), any(), any(), any()))
                 .thenReturn(new ValidationResult("runtime", List.of()));
-        when(executorDispatcher.dispatch(eq(expectedCompositeKey), eq("builtin"), any(), any()))
-                .thenReturn(ExecutionResult.success(Map.of("result", "success")));
+        when(executorDispatcher.dispatchAsync(eq(expectedCompositeKey), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ExecutionResult.success(Map.of("result", "success"))));
         when(workflowNavigatorService.handleExecutionResult(any(), any(), any(), any(), any(), any()))
                 .thenReturn(new WorkflowNavigatorService.ExecutionStepOutcome(null,
                         WorkflowExecutionStatus.COMPLETED));
@@ -143,7 +150,7 @@ class WorkflowEngineServiceUuidIntegrationTest {
 
         // Assert
         assertEquals(WorkflowExecutionStatus.COMPLETED, result);
-        verify(executorDispatcher).dispatch(eq(expectedCompositeKey), eq("builtin"), any(), any());
+        verify(executorDispatcher).dispatchAsync(eq(expectedCompositeKey), eq("builtin"), any(), any());
         verify(workflowValidationService).validateRuntime(eq("node1"), any(), eq(expectedCompositeKey), any());
     }
 
@@ -169,10 +176,10 @@ class WorkflowEngineServiceUuidIntegrationTest {
         when(workflowValidationService.validateRuntime(any(), any(), any(), any()))
                 .thenReturn(new ValidationResult("runtime", List.of()));
 
-        when(executorDispatcher.dispatch(eq(testNodeId1.toString()), eq("builtin"), any(), any()))
-                .thenReturn(ExecutionResult.success(Map.of("step", 1)));
-        when(executorDispatcher.dispatch(eq("slack:message:2.1.0"), eq("builtin"), any(), any()))
-                .thenReturn(ExecutionResult.success(Map.of("step", 2)));
+        when(executorDispatcher.dispatchAsync(eq(testNodeId1.toString()), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ExecutionResult.success(Map.of("step", 1))));
+        when(executorDispatcher.dispatchAsync(eq("slack:message:2.1.0"), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ExecutionResult.success(Map.of("step", 2))));
 
         when(workflowNavigatorService.handleExecutionResult(eq(workflowId), eq(workflowRunId),
                 eq(uuidNode), any(), any(), any()))
@@ -190,8 +197,8 @@ class WorkflowEngineServiceUuidIntegrationTest {
         // Assert
         assertEquals(WorkflowExecutionStatus.COMPLETED, result);
 
-        verify(executorDispatcher).dispatch(eq(testNodeId1.toString()), eq("builtin"), any(), any());
-        verify(executorDispatcher).dispatch(eq("slack:message:2.1.0"), eq("builtin"), any(), any());
+        verify(executorDispatcher).dispatchAsync(eq(testNodeId1.toString()), eq("builtin"), any(), any());
+        verify(executorDispatcher).dispatchAsync(eq("slack:message:2.1.0"), eq("builtin"), any(), any());
 
         verify(workflowValidationService).validateRuntime(eq("uuid-node"), any(), eq(testNodeId1.toString()), any());
         verify(workflowValidationService).validateRuntime(eq("composite-node"), any(), eq("slack:message:2.1.0"), any());
@@ -215,8 +222,8 @@ class WorkflowEngineServiceUuidIntegrationTest {
 
         when(workflowValidationService.validateRuntime(any(), any(), any(), any()))
                 .thenReturn(new ValidationResult("runtime", List.of()));
-        when(executorDispatcher.dispatch(eq(testNodeId2.toString()), eq("builtin"), any(), any()))
-                .thenReturn(ExecutionResult.success(expectedOutput));
+        when(executorDispatcher.dispatchAsync(eq(testNodeId2.toString()), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ExecutionResult.success(expectedOutput)));
         when(workflowNavigatorService.handleExecutionResult(any(), any(), any(), any(), any(), any()))
                 .thenReturn(new WorkflowNavigatorService.ExecutionStepOutcome(null,
                         WorkflowExecutionStatus.COMPLETED));
@@ -229,12 +236,138 @@ class WorkflowEngineServiceUuidIntegrationTest {
         // Assert
         assertEquals(WorkflowExecutionStatus.COMPLETED, result);
 
-        verify(executorDispatcher).dispatch(eq(testNodeId2.toString()), eq("builtin"), any(), any());
+        verify(executorDispatcher).dispatchAsync(eq(testNodeId2.toString()), eq("builtin"), any(), any());
         verify(runtimeContext).processOutputWithMetadata(eq("transform-node.output"), eq(expectedOutput));
         verify(nodeExecutionService).startNode(workflowRunId, "transform-node");
         verify(nodeExecutionService).resolveNodeExecution(eq(workflowId), eq(workflowRunId), eq(node), any(), isNull());
     }
 
+    @Test
+    @DisplayName("Parallel branches continue from an in-flight node's stage instead of waiting on it")
+    void parallelBranchResumesFromPendingStage() {
+        WorkflowEngineService parallelEngine = new WorkflowEngineService(
+                new NodeExecutionJournal(nodeExecutionService, null, null, false, 1, 0, 1),
+                workflowValidationService,
+                executorDispatcher,
+                workflowNavigatorService,
+                publisher,
+                contextManager,
+                templateService,
+                Runnable::run,
+                true,
+                1
+        );
+        PluginNodeIdentifier identifier = createPluginNodeIdentifier("http", "request", "1.0.0", testNodeId1);
+        BaseWorkflowNode node = createWorkflowNode("http-node", identifier);
+        Workflow workflow = createWorkflow(workflowId,
+                new WorkflowDefinition(new WorkflowNodes(List.of(node)), new WorkflowMetadata()));
+
+        Thread caller = Thread.currentThread();
+        List<Thread> resumedOn = new ArrayList<>();
+        when(workflowValidationService.validateRuntime(any(), any(), any(), any()))
+                .thenReturn(new ValidationResult("runtime", List.of()));
+        when(executorDispatcher.dispatchAsync(eq(testNodeId1.toString()), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.supplyAsync(() -> ExecutionResult.success(Map.of("status", 200)),
+                        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS)));
+        when(workflowNavigatorService.handleExecutionResult(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    resumedOn.add(Thread.currentThread());
+                    return new WorkflowNavigatorService.ExecutionStepOutcome(null, WorkflowExecutionStatus.COMPLETED);
+                });
+
+        var result = parallelEngine.runWorkflow(workflow, workflowRunId, "http-node", runtimeContext);
+
+        assertEquals(WorkflowExecutionStatus.COMPLETED, result);
+        assertEquals(1, resumedOn.size());
+        assertNotSame(caller, resumedOn.getFirst());
+        verify(nodeExecutionService).resolveNodeExecution(eq(workflowId), eq(workflowRunId), eq(node), any(), isNull());
+    }
+
+    @Test
+    @DisplayName("A failing journal flush does not hide the run's own failure")
+    void failingFlushKeepsTheRunFailure() {
+        NodeExecutionJournal journal = mock(NodeExecutionJournal.class);
+        doThrow(new IllegalStateException("database unavailable")).when(journal).flushRun(workflowRunId);
+        WorkflowEngineService engine = new WorkflowEngineService(
+                journal,
+                workflowValidationService,
+                executorDispatcher,
+                workflowNavigatorService,
+                publisher,
+                contextManager,
+                templateService,
+                Runnable::run,
+                false,
+                1
+        );
+        PluginNodeIdentifier identifier = createPluginNodeIdentifier("email", "send", "1.0.0", testNodeId1);
+        Workflow workflow = createWorkflow(workflowId, new WorkflowDefinition(
+                new WorkflowNodes(List.of(createWorkflowNode("node1", identifier))), new WorkflowMetadata()));
+
+        WorkflowEngineException thrown = assertThrows(WorkflowEngineException.class,
+                () -> engine.runWorkflow(workflow, workflowRunId, null, runtimeContext));
+
+        assertEquals("Start node key is required", thrown.getCause().getMessage());
+        verify(journal).flushRun(workflowRunId);
+    }
+
+    @Test
+    @DisplayName("A halting parallel branch stops its siblings at their next node")
+    void haltedBranchStopsSiblingBranches() {
+        WorkflowEngineService parallelEngine = new WorkflowEngineService(
+                new NodeExecutionJournal(nodeExecutionService, null, null, false, 1, 0, 1),
+                workflowValidationService,
+                executorDispatcher,
+                workflowNavigatorService,
+                publisher,
+                contextManager,
+                templateService,
+                Runnable::run,
+                true,
+                4
+        );
+        BaseWorkflowNode fork = createWorkflowNode("fork", createPluginNodeIdentifier("core", "noop", "1.0.0", testNodeId1),
+                List.of("approval", "slow"));
+        BaseWorkflowNode approval = createWorkflowNode("approval", createPluginNodeIdentifier("core", "wait", "1.0.0", testNodeId2));
+        UUID slowId = UUID.randomUUID();
+        UUID afterSlowId = UUID.randomUUID();
+        BaseWorkflowNode slow = createWorkflowNode("slow", createPluginNodeIdentifier("http", "request", "1.0.0", slowId),
+                List.of("after-slow"));
+        BaseWorkflowNode afterSlow = createWorkflowNode("after-slow",
+                createPluginNodeIdentifier("email", "send", "1.0.0", afterSlowId));
+        Workflow workflow = createWorkflow(workflowId, new WorkflowDefinition(
+                new WorkflowNodes(List.of(fork, approval, slow, afterSlow)), new WorkflowMetadata()));
+
+        when(workflowValidationService.validateRuntime(any(), any(), any(), any()))
+                .thenReturn(new ValidationResult("runtime", List.of()));
+        when(executorDispatcher.dispatchAsync(any(), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(ExecutionResult.success(Map.of())));
+        // The slow branch is still in flight when the approval branch halts the run
+        when(executorDispatcher.dispatchAsync(eq(slowId.toString()), eq("builtin"), any(), any()))
+                .thenReturn(CompletableFuture.supplyAsync(() -> ExecutionResult.success(Map.of()),
+                        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS)));
+        when(workflowNavigatorService.handleExecutionResult(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    BaseWorkflowNode node = invocation.getArgument(2);
+                    return switch (node.getKey()) {
+                        case "fork" -> new WorkflowNavigatorService.ExecutionStepOutcome(approval,
+                                WorkflowExecutionStatus.COMPLETED);
+                        case "approval" -> new WorkflowNavigatorService.ExecutionStepOutcome(null,
+                                WorkflowExecutionStatus.HALTED);
+                        case "slow" -> new WorkflowNavigatorService.ExecutionStepOutcome(afterSlow,
+                                WorkflowExecutionStatus.COMPLETED);
+                        default -> new WorkflowNavigatorService.ExecutionStepOutcome(null,
+                                WorkflowExecutionStatus.COMPLETED);
+                    };
+                });
+
+        var result = parallelEngine.runWorkflow(workflow, workflowRunId, "fork", runtimeContext);
+
+        assertEquals(WorkflowExecutionStatus.HALTED, result);
+        verify(executorDispatcher).dispatchAsync(eq(slowId.toString()), eq("builtin"), any(), any());
+        verify(executorDispatcher, never()).dispatchAsync(eq(afterSlowId.toString()), eq("builtin"), any(), any());
+    }
+
     private PluginNodeIdentifier createPluginNodeIdentifier(String pluginKey, String nodeKey, String version, UUID nodeId) {
         return new PluginNodeIdentifier(nodeId, pluginKey, nodeKey, version, "builtin");
     }
@@ -251,6 +384,18 @@ class WorkflowEngineServiceUuidIntegrationTest {
         );
     }
 
+    private BaseWorkflowNode createWorkflowNode(String key, PluginNodeIdentifier identifier, List<String> next) {
+        return new BaseWorkflowNode(
+                key,
+                NodeType.ACTION,
+                identifier,
+                next,
+                new WorkflowConfig(Map.of(), Map.of()),
+                Map.of(),
+                Map.of()
+        );
+    }
+
     private Workflow createWorkflow(UUID id, WorkflowDefinition definition) {
         Workflow workflow = new Workflow();
         workflow.setId(id);
@@ -3,6 +3,8 @@ package org.phong.zenflow.workflow.subdomain.evaluator.services;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.phong.zenflow.TestExecutionContextUtils;
 import org.phong.zenflow.workflow.subdomain.context.ExecutionContext;
@@ -20,5 +22,40 @@ class TemplateServiceTest {
         Object result = templateService.resolve("{{ fn:String.contains('zenflow','flow') }}", ctx);
         assertThat(result).isEqualTo(true);
     }
-}
 
+    @Test
+    void compiledPlanMatchesDirectResolution() {
+        ExecutionContext ctx = TestExecutionContextUtils.createExecutionContext();
+        String template = " result: {{ fn:String.contains('zenflow','flow') }} done ";
+
+        TemplatePlan plan = templateService.compile(template);
+
+        assertThat(plan.hasExpressions()).isTrue();
+        assertThat(plan.evaluate(ctx)).isEqualTo("result: true done");
+        assertThat(templateService.resolve(template, ctx)).isEqualTo(plan.evaluate(ctx));
+    }
+
+    @Test
+    void configPlanResolvesNestedTemplates() {
+        ExecutionContext ctx = TestExecutionContextUtils.createExecutionContext();
+        Map<String, Object> input = Map.of(
+                "flag", "{{ fn:String.contains('zenflow','zen') }}",
+                "nested", Map.of("items", List.of("plain", "{{ fn:String.contains('a','b') }}"))
+        );
+
+        ConfigTemplatePlan plan = templateService.getConfigPlan(UUID.randomUUID(), 1L, "node", input);
+        Map<String, Object> resolved = plan.resolve(ctx);
+
+        assertThat(resolved.get("flag")).isEqualTo(true);
+        assertThat(resolved.get("nested")).isEqualTo(Map.of("items", List.of("plain", false)));
+    }
+
+    @Test
+    void compiledExpressionsAreSharedAndUseSharedFunctions() {
+        String expression = "String.contains(name, 'flow') && count > 1";
+
+        assertThat(templateService.compileCached(expression)).isSameAs(templateService.compileCached(expression));
+        assertThat(templateService.compileCached(expression).execute(Map.of("name", "zenflow", "count", 2)))
+                .isEqualTo(true);
+    }
+}
@@ -0,0 +1,32 @@
+package org.phong.zenflow.workflow.subdomain.logging.api.dto;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.subdomain.logging.api.exception.NodeLogException;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NodeLogCursorTest {
+
+    @Test
+    void roundTripsAtMicrosecondPrecision() {
+        OffsetDateTime timestamp = OffsetDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_000, ZoneOffset.ofHours(7));
+        NodeLogCursor cursor = new NodeLogCursor(timestamp, UUID.randomUUID());
+
+        NodeLogCursor decoded = NodeLogCursor.decode(cursor.encode());
+
+        assertThat(decoded.timestamp().toInstant()).isEqualTo(timestamp.toInstant());
+        assertThat(decoded.id()).isEqualTo(cursor.id());
+        assertThat(cursor.encode()).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> NodeLogCursor.decode("not-a-cursor"))
+                .isInstanceOf(NodeLogException.class);
+    }
+}
@@ -1,6 +1,8 @@
 package org.phong.zenflow.workflow.subdomain.logging.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -21,4 +23,21 @@ class LogContextManagerTest {
         LogContext snapshot = LogContextManager.snapshot();
         assertEquals("root->child", snapshot.hierarchy());
     }
+
+    @Test
+    void snapshotIsReusedUntilStackChanges() {
+        LogContextManager.init("ctx", "trace");
+        LogContextManager.push("root");
+
+        LogContext first = LogContextManager.snapshot();
+        assertSame(first, LogContextManager.snapshot());
+
+        LogContextManager.push("child");
+        LogContext pushed = LogContextManager.snapshot();
+        assertNotSame(first, pushed);
+        assertEquals("root->child", pushed.hierarchy());
+
+        LogContextManager.pop();
+        assertEquals("root", LogContextManager.snapshot().hierarchy());
+    }
 }
@@ -55,4 +55,38 @@ public class NodeLogPublisherTest {
         assertEquals(2, entry.getMeta().get("b"));
         assertTrue(entry.getMeta().get("stackTrace").toString().contains("RuntimeException"));
     }
+
+    @Test
+    void formatsPlaceholdersInOrder() {
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        NodeLogPublisher log = createPublisher(publisher);
+
+        log.info("{} -> {} ({})", "a", "b", 3);
+        log.warn("only {}", "one", "extra");
+
+        ArgumentCaptor<LogEntry> captor = ArgumentCaptor.forClass(LogEntry.class);
+        verify(publisher, times(2)).publishEvent(captor.capture());
+        assertEquals("a -> b (3)", captor.getAllValues().get(0).getMessage());
+        assertEquals("only one", captor.getAllValues().get(1).getMessage());
+    }
+
+    @Test
+    void levelsBelowMinimumAreNotPublished() {
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        NodeLogPublisher log = createPublisher(publisher);
+        try {
+            LogLevelFilter.setMinimum(LogLevel.WARNING);
+
+            log.withMeta(Map.of("dropped", true)).debug("value {}", 1);
+            log.info("skipped");
+            log.error("kept {}", 2);
+
+            ArgumentCaptor<LogEntry> captor = ArgumentCaptor.forClass(LogEntry.class);
+            verify(publisher, times(1)).publishEvent(captor.capture());
+            assertEquals("kept 2", captor.getValue().getMessage());
+            assertNull(captor.getValue().getMeta());
+        } finally {
+            LogLevelFilter.setMinimum(LogLevel.DEBUG);
+        }
+    }
 }
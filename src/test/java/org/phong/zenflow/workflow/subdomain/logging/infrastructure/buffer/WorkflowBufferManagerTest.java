@@ -0,0 +1,129 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.buffer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.subdomain.logging.config.LoggingProperties;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector.GlobalLogCollector;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.metrics.LoggingMetrics;
+import org.phong.zenflow.workflow.subdomain.logging.util.SharedThreadPoolManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class WorkflowBufferManagerTest {
+
+    private final Map<UUID, List<String>> persisted = new ConcurrentHashMap<>();
+    private final List<LogEntry> live = new CopyOnWriteArrayList<>();
+    private GlobalLogCollector collector;
+    private SimpleMeterRegistry registry;
+    private WorkflowBufferManager manager;
+
+    @BeforeEach
+    void setUp() {
+        collector = mock(GlobalLogCollector.class);
+        doAnswer(invocation -> {
+            UUID runId = invocation.getArgument(0);
+            List<LogEntry> entries = invocation.getArgument(1);
+            persisted.computeIfAbsent(runId, id -> new CopyOnWriteArrayList<>())
+                    .addAll(entries.stream().map(LogEntry::getMessage).toList());
+            return null;
+        }).when(collector).accept(any(), any());
+
+        LoggingProperties properties = new LoggingProperties();
+        properties.getBuffer().setMaxDelayMs(50);
+        properties.getBuffer().setAdaptiveBatching(false);
+        registry = new SimpleMeterRegistry();
+        manager = new WorkflowBufferManager(collector, properties.getBuffer(),
+                new SharedThreadPoolManager(properties), new LoggingMetrics(registry), 3, 4096, live::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    private static LogEntry entry(UUID runId, LogLevel level, String message) {
+        return LogEntry.builder()
+                .workflowRunId(runId)
+                .nodeKey("node")
+                .level(level)
+                .message(message)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @Test
+    void keepsPerRunOrderAcrossShards() {
+        List<UUID> runs = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < 250; i++) {
+            for (UUID run : runs) {
+                assertThat(manager.enqueue(entry(run, LogLevel.INFO, String.valueOf(i)))).isTrue();
+            }
+        }
+
+        for (UUID run : runs) {
+            verify(collector, timeout(2000).atLeastOnce()).accept(eq(run), any());
+        }
+        manager.shutdown();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            expected.add(String.valueOf(i));
+        }
+        for (UUID run : runs) {
+            assertThat(persisted.get(run)).containsExactlyElementsOf(expected);
+        }
+        assertThat(live).hasSize(1000);
+    }
+
+    @Test
+    void errorsFlushWithoutWaitingForTheTick() {
+        UUID run = UUID.randomUUID();
+        manager.enqueue(entry(run, LogLevel.INFO, "before"));
+        manager.enqueue(entry(run, LogLevel.ERROR, "boom"));
+
+        verify(collector, timeout(1000)).accept(eq(run), any());
+        assertThat(persisted.get(run)).containsExactly("before", "boom");
+    }
+
+    @Test
+    void exposesRecentEntriesAndShardGauges() {
+        UUID run = UUID.randomUUID();
+        manager.enqueue(entry(run, LogLevel.INFO, "a"));
+        manager.enqueue(entry(run, LogLevel.INFO, "b"));
+
+        verify(collector, timeout(1000)).accept(eq(run), any());
+        assertThat(manager.recent(run, 1)).extracting(LogEntry::getMessage).containsExactly("b");
+        assertThat(registry.find("zenflow.logging.shard.queue.depth").gauges()).hasSize(3);
+        assertThat(registry.find("zenflow.logging.shard.lag").gauges()).hasSize(3);
+        assertThat(manager.getMetrics()).containsEntry("activeBuffers", 1);
+    }
+
+    @Test
+    void parkedShardsWakeUpForNewEntries() throws Exception {
+        // Long enough for every shard to stop spinning and park without a timeout
+        Thread.sleep(200);
+        UUID run = UUID.randomUUID();
+        manager.enqueue(entry(run, LogLevel.ERROR, "after idle"));
+
+        verify(collector, timeout(1000)).accept(eq(run), any());
+        assertThat(live).extracting(LogEntry::getMessage).containsExactly("after idle");
+    }
+}
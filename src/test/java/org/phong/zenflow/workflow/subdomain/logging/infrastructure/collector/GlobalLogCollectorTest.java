@@ -0,0 +1,195 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.collector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.phong.zenflow.workflow.subdomain.logging.config.LoggingProperties;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.metrics.LoggingMetrics;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.persistence.PersistenceService;
+import org.phong.zenflow.workflow.subdomain.logging.infrastructure.spool.MappedLogSpool;
+import org.phong.zenflow.workflow.subdomain.logging.util.CircuitBreaker;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalLogCollectorTest {
+
+    private final List<List<LogEntry>> writes = new CopyOnWriteArrayList<>();
+    private final List<List<LogEntry>> published = new CopyOnWriteArrayList<>();
+    private volatile UUID failingRun;
+    private GlobalLogCollector collector;
+
+    private final PersistenceService persistence = new PersistenceService() {
+        @Override
+        public void saveBatch(UUID runId, List<LogEntry> entries) {
+            saveAll(entries);
+        }
+
+        @Override
+        public void saveAll(List<LogEntry> entries) {
+            if (entries.stream().anyMatch(e -> e.getWorkflowRunId().equals(failingRun))) {
+                throw new IllegalStateException("rejected");
+            }
+            writes.add(List.copyOf(entries));
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        if (collector != null) {
+            collector.shutdown();
+        }
+    }
+
+    private GlobalLogCollector create(boolean coalesce, int maxEntries, long maxDelayMs) {
+        return create(coalesce, maxEntries, maxDelayMs, null);
+    }
+
+    private GlobalLogCollector create(boolean coalesce, int maxEntries, long maxDelayMs, MappedLogSpool spool) {
+        // A single writer, so the batches of every run end up in the same coalesced write
+        return create(coalesce, maxEntries, maxDelayMs, spool, 1, 1);
+    }
+
+    private GlobalLogCollector create(boolean coalesce, int maxEntries, long maxDelayMs, MappedLogSpool spool,
+                                      int workers, long retryBackoffMs) {
+        LoggingProperties.PersistenceConfig config = new LoggingProperties().getPersistence();
+        config.getCoalesce().setEnabled(coalesce);
+        config.getCoalesce().setMaxEntries(maxEntries);
+        config.getCoalesce().setMaxDelayMs(maxDelayMs);
+        config.setRetryAttempts(1);
+        config.setRetryBackoffMs(retryBackoffMs);
+        LoggingMetrics metrics = new LoggingMetrics(new SimpleMeterRegistry());
+        return new GlobalLogCollector(persistence, entries -> published.add(List.copyOf(entries)), config,
+                new CircuitBreaker(config.getCircuitBreaker(), metrics), metrics, workers, spool);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static LogEntry entry(UUID runId, String message) {
+        return LogEntry.builder()
+                .workflowRunId(runId)
+                .nodeKey("node")
+                .level(LogLevel.INFO)
+                .message(message)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @Test
+    void mergesBatchesOfManyRunsIntoOneWrite() throws Exception {
+        collector = create(true, 1000, 300);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        collector.accept(a, List.of(entry(a, "a1"), entry(a, "a2")));
+        collector.accept(b, List.of(entry(b, "b1")));
+        collector.accept(a, List.of(entry(a, "a3")));
+
+        awaitUntil(() -> writes.stream().mapToInt(List::size).sum() == 4);
+        assertThat(writes).hasSize(1);
+        assertThat(writes.getFirst()).extracting(LogEntry::getMessage).containsExactly("a1", "a2", "b1", "a3");
+    }
+
+    @Test
+    void flushesEarlyOnceMaxEntriesIsReached() throws Exception {
+        collector = create(true, 3, 10_000);
+        UUID run = UUID.randomUUID();
+
+        collector.accept(run, List.of(entry(run, "1"), entry(run, "2")));
+        collector.accept(run, List.of(entry(run, "3")));
+
+        awaitUntil(() -> !writes.isEmpty());
+        assertThat(writes.getFirst()).extracting(LogEntry::getMessage).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void writesEachBatchWhenCoalescingIsDisabled() throws Exception {
+        collector = create(false, 1000, 300);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        collector.accept(a, List.of(entry(a, "a1")));
+        collector.accept(b, List.of(entry(b, "b1")));
+
+        awaitUntil(() -> writes.size() == 2);
+    }
+
+    @Test
+    void publishesCoalescedWritesToSinksOneRunAtATime() throws Exception {
+        collector = create(true, 1000, 300);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        collector.accept(a, List.of(entry(a, "a1")));
+        collector.accept(b, List.of(entry(b, "b1")));
+        collector.accept(a, List.of(entry(a, "a2")));
+
+        awaitUntil(() -> published.size() == 2);
+        assertThat(writes).hasSize(1);
+        assertThat(published.get(0)).extracting(LogEntry::getMessage).containsExactly("a1", "a2");
+        assertThat(published.get(1)).extracting(LogEntry::getMessage).containsExactly("b1");
+    }
+
+    @Test
+    void failingRunDoesNotHoldBackTheOtherRunsOfACoalescedWrite() throws Exception {
+        collector = create(true, 1000, 300);
+        UUID good = UUID.randomUUID();
+        failingRun = UUID.randomUUID();
+
+        collector.accept(failingRun, List.of(entry(failingRun, "bad")));
+        collector.accept(good, List.of(entry(good, "good")));
+
+        awaitUntil(() -> !published.isEmpty());
+        assertThat(writes).hasSize(1);
+        assertThat(writes.getFirst()).extracting(LogEntry::getMessage).containsExactly("good");
+    }
+
+    @Test
+    void retryingRunOnlyHoldsBackItsOwnWriter() throws Exception {
+        collector = create(true, 1000, 10, null, 2, 3_000);
+        failingRun = UUID.randomUUID();
+        UUID good = UUID.randomUUID();
+        // Runs are hashed to one of the two writers; take one that lands on the other writer
+        while (Math.floorMod(good.hashCode(), 2) == Math.floorMod(failingRun.hashCode(), 2)) {
+            good = UUID.randomUUID();
+        }
+
+        collector.accept(failingRun, List.of(entry(failingRun, "bad")));
+        Thread.sleep(100);
+        collector.accept(good, List.of(entry(good, "good")));
+
+        // The failing run's writer now sleeps through a 3 s backoff
+        awaitUntil(() -> !writes.isEmpty());
+        assertThat(writes.getFirst()).extracting(LogEntry::getMessage).containsExactly("good");
+    }
+
+    @Test
+    void spooledEntriesAreWrittenBeforeNewerEntriesOfTheRun(@TempDir Path dir) throws Exception {
+        MappedLogSpool spool = MappedLogSpool.open(dir.resolve("spool.dat"), 1024 * 1024);
+        UUID run = UUID.randomUUID();
+        spool.append(run, List.of(entry(run, "spooled")));
+        collector = create(true, 1000, 10, spool);
+
+        collector.accept(run, List.of(entry(run, "new")));
+
+        awaitUntil(() -> writes.stream().mapToInt(List::size).sum() == 2);
+        assertThat(writes.stream().flatMap(List::stream)).extracting(LogEntry::getMessage)
+                .containsExactly("spooled", "new");
+        assertThat(spool.isEmpty()).isTrue();
+    }
+}
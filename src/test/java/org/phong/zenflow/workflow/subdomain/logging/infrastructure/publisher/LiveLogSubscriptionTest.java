@@ -0,0 +1,77 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.publisher;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveLogSubscriptionTest {
+
+    private final UUID runId = UUID.randomUUID();
+    private final WebsocketNotifierImpl notifier = new WebsocketNotifierImpl();
+
+    private LogEntry entry(String message) {
+        return LogEntry.builder().workflowRunId(runId).level(LogLevel.INFO).message(message).build();
+    }
+
+    private static List<String> messages(List<LogEntry> entries) {
+        return entries.stream().map(LogEntry::getMessage).toList();
+    }
+
+    @Test
+    void replaysHistoryBeforeLiveEntriesWithoutDuplicates() {
+        List<String> received = new ArrayList<>();
+        LiveLogSubscription subscription = notifier.subscribe(runId, 10, Runnable::run,
+                (entries, dropped) -> received.addAll(messages(entries)));
+
+        LogEntry raced = entry("raced");
+        notifier.onLog(raced);
+        assertThat(received).isEmpty();
+
+        subscription.replay(List.of(entry("old"), raced));
+        notifier.onLog(entry("live"));
+
+        assertThat(received).containsExactly("old", "raced", "live");
+    }
+
+    @Test
+    void slowSubscriberDropsOldestEntries() {
+        List<Runnable> tasks = new ArrayList<>();
+        Executor deferred = tasks::add;
+        List<String> received = new ArrayList<>();
+        long[] droppedTotal = {0};
+
+        LiveLogSubscription subscription = notifier.subscribe(runId, 2, deferred, (entries, dropped) -> {
+            received.addAll(messages(entries));
+            droppedTotal[0] += dropped;
+        });
+        subscription.replay(List.of());
+        notifier.onLog(entry("a"));
+        notifier.onLog(entry("b"));
+        notifier.onLog(entry("c"));
+
+        tasks.removeFirst().run();
+
+        assertThat(received).containsExactly("b", "c");
+        assertThat(droppedTotal[0]).isEqualTo(1);
+    }
+
+    @Test
+    void failingListenerUnsubscribes() {
+        LiveLogSubscription subscription = notifier.subscribe(runId, 10, Runnable::run, (entries, dropped) -> {
+            throw new IllegalStateException("client gone");
+        });
+        subscription.replay(List.of());
+
+        notifier.onLog(entry("a"));
+
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(notifier.getSubscriberCount(runId)).isZero();
+    }
+}
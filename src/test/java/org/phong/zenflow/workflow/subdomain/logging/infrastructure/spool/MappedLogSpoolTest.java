@@ -0,0 +1,95 @@
+package org.phong.zenflow.workflow.subdomain.logging.infrastructure.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogEntry;
+import org.phong.zenflow.workflow.subdomain.logging.core.LogLevel;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedLogSpoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static LogEntry entry(UUID runId, String message) {
+        return LogEntry.builder()
+                .workflowRunId(runId)
+                .nodeKey("node")
+                .level(LogLevel.ERROR)
+                .message(message)
+                .timestamp(Instant.parse("2025-01-01T00:00:00Z"))
+                .meta(Map.of("attempt", 1))
+                .build();
+    }
+
+    @Test
+    void batchesAreReplayedInOrderAndConsumedOnCommit() throws Exception {
+        UUID runId = UUID.randomUUID();
+        try (MappedLogSpool spool = MappedLogSpool.open(tempDir.resolve("spool.dat"), 1024 * 1024)) {
+            assertThat(spool.append(runId, List.of(entry(runId, "first")))).isTrue();
+            assertThat(spool.append(runId, List.of(entry(runId, "second")))).isTrue();
+
+            MappedLogSpool.SpooledBatch first = spool.peek();
+            assertThat(first.runId()).isEqualTo(runId);
+            assertThat(first.entries()).containsExactly(entry(runId, "first"));
+            // Peeking again without commit returns the same batch
+            assertThat(spool.peek().entries()).containsExactly(entry(runId, "first"));
+
+            spool.commit(first);
+            MappedLogSpool.SpooledBatch second = spool.peek();
+            assertThat(second.entries().getFirst().getMessage()).isEqualTo("second");
+
+            spool.commit(second);
+            assertThat(spool.isEmpty()).isTrue();
+            assertThat(spool.peek()).isNull();
+        }
+    }
+
+    @Test
+    void unreadBatchesSurviveReopen() throws Exception {
+        UUID runId = UUID.randomUUID();
+        Path file = tempDir.resolve("spool.dat");
+        try (MappedLogSpool spool = MappedLogSpool.open(file, 1024 * 1024)) {
+            spool.append(runId, List.of(entry(runId, "pending")));
+        }
+
+        try (MappedLogSpool spool = MappedLogSpool.open(file, 1024 * 1024)) {
+            assertThat(spool.isEmpty()).isFalse();
+            assertThat(spool.peek().entries().getFirst().getMessage()).isEqualTo("pending");
+        }
+    }
+
+    @Test
+    void fullSpoolCompactsConsumedSpaceBeforeRejecting() throws Exception {
+        UUID runId = UUID.randomUUID();
+        String payload = "x".repeat(20_000);
+        try (MappedLogSpool spool = MappedLogSpool.open(tempDir.resolve("spool.dat"), 64 * 1024)) {
+            assertThat(spool.append(runId, List.of(entry(runId, payload)))).isTrue();
+            assertThat(spool.append(runId, List.of(entry(runId, payload)))).isTrue();
+            assertThat(spool.append(runId, List.of(entry(runId, payload)))).isTrue();
+            assertThat(spool.append(runId, List.of(entry(runId, payload)))).isFalse();
+
+            spool.commit(spool.peek());
+            // Only fits once the consumed first record has been compacted away
+            assertThat(spool.append(runId, List.of(entry(runId, payload + "!")))).isTrue();
+
+            int replayed = 0;
+            MappedLogSpool.SpooledBatch batch;
+            String last = null;
+            while ((batch = spool.peek()) != null) {
+                last = batch.entries().getFirst().getMessage();
+                spool.commit(batch);
+                replayed++;
+            }
+            assertThat(replayed).isEqualTo(3);
+            assertThat(last).isEqualTo(payload + "!");
+        }
+    }
+}
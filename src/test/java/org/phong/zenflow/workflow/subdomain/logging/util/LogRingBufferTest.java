@@ -0,0 +1,84 @@
+package org.phong.zenflow.workflow.subdomain.logging.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRingBufferTest {
+
+    @Test
+    void isFifoAndBounded() {
+        LogRingBuffer<Integer> ring = new LogRingBuffer<>(4);
+
+        for (int i = 0; i < ring.capacity(); i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(99)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+
+        assertThat(ring.poll()).isZero();
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.poll()).isEqualTo(1);
+        assertThat(ring.poll()).isEqualTo(2);
+        assertThat(ring.poll()).isEqualTo(3);
+        assertThat(ring.poll()).isEqualTo(4);
+        assertThat(ring.poll()).isNull();
+    }
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new LogRingBuffer<>(100_000).capacity()).isEqualTo(131_072);
+        assertThat(new LogRingBuffer<>(64).capacity()).isEqualTo(64);
+    }
+
+    @Test
+    void deliversEveryElementOnceUnderContention() throws Exception {
+        LogRingBuffer<Integer> ring = new LogRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch producersDone = new CountDownLatch(producers);
+        ExecutorService pool = Executors.newFixedThreadPool(producers + 2);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!ring.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    producersDone.countDown();
+                });
+            }
+            for (int c = 0; c < 2; c++) {
+                pool.submit(() -> {
+                    while (consumed.get() < producers * perProducer) {
+                        Integer value = ring.poll();
+                        if (value != null) {
+                            seen.add(value);
+                            consumed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            assertThat(producersDone.await(10, TimeUnit.SECONDS)).isTrue();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(consumed.get()).isEqualTo(producers * perProducer);
+        assertThat(seen).hasSize(producers * perProducer);
+    }
+}
@@ -0,0 +1,66 @@
+package org.phong.zenflow.workflow.subdomain.node_definition.definitions;
+
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.plugin.PluginNodeIdentifier;
+import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowNodesTest {
+
+    private final UUID httpId = UUID.randomUUID();
+
+    @Test
+    void indexesFollowPutAndRemove() {
+        WorkflowNodes nodes = new WorkflowNodes(List.of(
+                node("a", httpId, List.of("b")),
+                node("b", httpId, List.of())
+        ));
+
+        assertThat(nodes.findByNodeId(httpId).getKey()).isEqualTo("a");
+
+        nodes.remove("a");
+        nodes.put(node("c", UUID.randomUUID(), List.of("b")));
+
+        assertThat(nodes.findByNodeId(httpId).getKey()).isEqualTo("b");
+        assertThat(nodes.getPluginNodeIds()).hasSize(2);
+        assertThat(nodes.getPluginNodeCompositeKeys()).containsExactly("core:http.request:1.0.0");
+    }
+
+    @Test
+    void reindexPicksUpInPlaceIdentityChanges() {
+        WorkflowNodes nodes = new WorkflowNodes(List.of(node("a", null, List.of())));
+        assertThat(nodes.findByNodeId(httpId)).isNull();
+
+        nodes.get("a").getPluginNode().setNodeId(httpId);
+        nodes.reindex();
+
+        assertThat(nodes.getPluginNodeIds()).isEqualTo(Set.of(httpId));
+        assertThat(nodes.findByNodeId(httpId).getKey()).isEqualTo("a");
+    }
+
+    @Test
+    void frozenViewIsDetachedAndImmutable() {
+        WorkflowNodes nodes = new WorkflowNodes(List.of(node("a", httpId, List.of())));
+        WorkflowNodes frozen = nodes.freeze();
+
+        nodes.remove("a");
+
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(frozen.findByNodeId(httpId).getKey()).isEqualTo("a");
+        assertThatThrownBy(() -> frozen.remove("a")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(frozen.freeze()).isSameAs(frozen);
+    }
+
+    private BaseWorkflowNode node(String key, UUID nodeId, List<String> next) {
+        PluginNodeIdentifier plugin = new PluginNodeIdentifier("core", "http.request", "1.0.0", null);
+        plugin.setNodeId(nodeId);
+        return new BaseWorkflowNode(key, NodeType.PLUGIN, plugin, next, new WorkflowConfig(), null, null);
+    }
+}
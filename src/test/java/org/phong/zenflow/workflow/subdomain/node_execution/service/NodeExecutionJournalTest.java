@@ -0,0 +1,107 @@
+package org.phong.zenflow.workflow.subdomain.node_execution.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.plugin.subdomain.execution.dto.ExecutionResult;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.BaseWorkflowNode;
+import org.phong.zenflow.workflow.subdomain.node_definition.definitions.config.WorkflowConfig;
+import org.phong.zenflow.workflow.subdomain.node_definition.enums.NodeType;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NodeExecutionJournalTest {
+
+    private NodeExecutionService nodeExecutionService;
+    private PreparedStatement statement;
+    private DataSource dataSource;
+    private NodeExecutionJournal journal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        nodeExecutionService = mock(NodeExecutionService.class);
+        dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        journal = new NodeExecutionJournal(nodeExecutionService, dataSource, new ObjectMapper(), true, 1000, 60_000, 10_000);
+    }
+
+    @Test
+    void successfulNodesAreWrittenAsOneBatchOnRunFlush() throws Exception {
+        UUID runId = UUID.randomUUID();
+        BaseWorkflowNode node = node("a");
+
+        journal.startNode(runId, "a");
+        journal.resolveNodeExecution(UUID.randomUUID(), runId, node, ExecutionResult.success(Map.of("k", "v")), null);
+        journal.flushRun(runId);
+
+        verify(statement, times(1)).addBatch();
+        verify(statement).setString(4, "SUCCESS");
+        verify(statement).executeBatch();
+        verifyNoInteractions(nodeExecutionService);
+    }
+
+    @Test
+    void errorResultsFlushThenDelegateToService() throws Exception {
+        UUID runId = UUID.randomUUID();
+        UUID workflowId = UUID.randomUUID();
+        BaseWorkflowNode node = node("a");
+        ExecutionResult error = ExecutionResult.error("boom");
+
+        journal.startNode(runId, "a");
+        journal.resolveNodeExecution(workflowId, runId, node, error, null);
+
+        var order = inOrder(statement, nodeExecutionService);
+        order.verify(statement).executeBatch();
+        order.verify(nodeExecutionService).resolveNodeExecution(workflowId, runId, node, error, null);
+    }
+
+    @Test
+    void failedRunFlushStillForgetsTheRun() throws Exception {
+        UUID runId = UUID.randomUUID();
+        UUID workflowId = UUID.randomUUID();
+        BaseWorkflowNode node = node("a");
+        when(statement.executeBatch()).thenThrow(new SQLException("database down")).thenReturn(new int[]{1});
+
+        journal.startNode(runId, "a");
+        assertThrows(IllegalStateException.class, () -> journal.flushRun(runId));
+
+        // Nothing is left of the run in memory, so a late completion goes straight to the service
+        ExecutionResult success = ExecutionResult.success(Map.of());
+        journal.resolveNodeExecution(workflowId, runId, node, success, null);
+        verify(nodeExecutionService).resolveNodeExecution(workflowId, runId, node, success, null);
+    }
+
+    @Test
+    void callersWriteSynchronouslyOncePendingEntriesReachTheCap() throws Exception {
+        NodeExecutionJournal capped = new NodeExecutionJournal(nodeExecutionService, dataSource, new ObjectMapper(),
+                true, 1000, 60_000, 2);
+        when(statement.executeBatch()).thenThrow(new SQLException("database down"));
+        UUID runId = UUID.randomUUID();
+
+        capped.startNode(runId, "a");
+        capped.startNode(runId, "b");
+        verify(statement, never()).executeBatch();
+
+        assertThrows(IllegalStateException.class, () -> capped.startNode(runId, "c"));
+        verify(statement, times(1)).executeBatch();
+        capped.shutdown();
+    }
+
+    private BaseWorkflowNode node(String key) {
+        return new BaseWorkflowNode(key, NodeType.PLUGIN, null, List.of(), new WorkflowConfig(), null, null);
+    }
+}
@@ -0,0 +1,169 @@
+package org.phong.zenflow.workflow.subdomain.runner.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.phong.zenflow.workflow.service.WorkflowService;
+import org.phong.zenflow.workflow.subdomain.runner.dto.WorkflowRunnerRequest;
+import org.phong.zenflow.workflow.subdomain.runner.enums.RunShedPolicy;
+import org.phong.zenflow.workflow.subdomain.runner.service.WorkflowRunnerService;
+import org.phong.zenflow.workflow.subdomain.trigger.dto.WorkflowTriggerEvent;
+import org.phong.zenflow.workflow.subdomain.trigger.enums.TriggerType;
+import org.phong.zenflow.workflow.subdomain.workflow_run.service.WorkflowRunService;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RunAdmissionSchedulerTest {
+
+    private WorkflowRunnerService runnerService;
+    private WorkflowRunService workflowRunService;
+    private SimpleMeterRegistry registry;
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private final UUID workflowId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        runnerService = mock(WorkflowRunnerService.class);
+        workflowRunService = mock(WorkflowRunService.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    private RunAdmissionScheduler scheduler(int maxConcurrent, int perWorkflow, int capacity, RunShedPolicy policy) {
+        WorkflowService workflowService = mock(WorkflowService.class);
+        when(workflowService.getPreparedWorkflow(any())).thenThrow(new IllegalStateException("not cached"));
+        return new RunAdmissionScheduler(runnerService, workflowService, workflowRunService,
+                this::holdRuns, registry, true, maxConcurrent, perWorkflow, 100, capacity, policy);
+    }
+
+    // Admitted runs are held until a test runs them; queueing and bookkeeping tasks run right away
+    private void holdRuns(Runnable task) {
+        if (task instanceof DelegatingSecurityContextRunnable) {
+            tasks.add(task);
+        } else {
+            task.run();
+        }
+    }
+
+    private WorkflowTriggerEvent resumption(TriggerType type) {
+        return new WorkflowTriggerEvent(UUID.randomUUID(), type, workflowId, new WorkflowRunnerRequest(null, "wait"));
+    }
+
+    private WorkflowTriggerEvent event(TriggerType type) {
+        return new WorkflowTriggerEvent(UUID.randomUUID(), type, workflowId, null);
+    }
+
+    @Test
+    void perWorkflowLimitHoldsRunsUntilASlotFrees() {
+        RunAdmissionScheduler scheduler = scheduler(8, 1, 10, RunShedPolicy.REJECT_NEW);
+
+        scheduler.submit(event(TriggerType.WEBHOOK));
+        scheduler.submit(event(TriggerType.WEBHOOK));
+
+        assertThat(tasks).hasSize(1);
+        assertThat(scheduler.getRunning()).isEqualTo(1);
+        assertThat(scheduler.getQueueDepth()).isEqualTo(1);
+
+        tasks.poll().run();
+
+        assertThat(tasks).hasSize(1);
+        assertThat(scheduler.getQueueDepth()).isZero();
+        verify(runnerService, times(1)).runWorkflow(any(), eq(TriggerType.WEBHOOK), isNull(), eq(workflowId), isNull());
+    }
+
+    @Test
+    void higherPriorityRunsAreAdmittedFirst() {
+        RunAdmissionScheduler scheduler = scheduler(1, 1, 10, RunShedPolicy.REJECT_NEW);
+        WorkflowTriggerEvent manual = event(TriggerType.MANUAL);
+
+        scheduler.submit(event(TriggerType.POLLING));
+        scheduler.submit(event(TriggerType.POLLING));
+        scheduler.submit(manual);
+
+        tasks.poll().run();
+        tasks.poll().run();
+
+        verify(runnerService).runWorkflow(eq(manual.workflowRunId()), eq(TriggerType.MANUAL), any(), any(), any());
+        verify(runnerService, times(1)).runWorkflow(any(), eq(TriggerType.POLLING), any(), any(), any());
+    }
+
+    @Test
+    void fullQueueRejectsAndRecordsTheRun() {
+        RunAdmissionScheduler scheduler = scheduler(1, 1, 1, RunShedPolicy.REJECT_NEW);
+        WorkflowTriggerEvent rejected = event(TriggerType.WEBHOOK);
+
+        scheduler.submit(event(TriggerType.WEBHOOK));
+        scheduler.submit(event(TriggerType.WEBHOOK));
+        scheduler.submit(rejected);
+
+        assertThat(scheduler.getQueueDepth()).isEqualTo(1);
+        assertThat(registry.get("zenflow.runner.admission.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1.0);
+        verify(workflowRunService).handleWorkflowError(eq(rejected.workflowRunId()), any());
+    }
+
+    @Test
+    void dropLowestPriorityEvictsQueuedPollingRunForManualRun() {
+        RunAdmissionScheduler scheduler = scheduler(1, 1, 1, RunShedPolicy.DROP_LOWEST_PRIORITY);
+        WorkflowTriggerEvent polling = event(TriggerType.POLLING);
+
+        scheduler.submit(event(TriggerType.WEBHOOK));
+        scheduler.submit(polling);
+        scheduler.submit(event(TriggerType.MANUAL));
+
+        assertThat(scheduler.getQueueDepth()).isEqualTo(1);
+        verify(workflowRunService).handleWorkflowError(eq(polling.workflowRunId()), any());
+    }
+
+    @Test
+    void resumedRunsGoAheadOfScheduledRuns() {
+        RunAdmissionScheduler scheduler = scheduler(1, 1, 10, RunShedPolicy.REJECT_NEW);
+        WorkflowTriggerEvent resumed = resumption(TriggerType.SCHEDULE);
+
+        scheduler.submit(event(TriggerType.WEBHOOK));
+        scheduler.submit(event(TriggerType.SCHEDULE));
+        scheduler.submit(resumed);
+
+        tasks.poll().run();
+        tasks.poll().run();
+
+        verify(runnerService).runWorkflow(eq(resumed.workflowRunId()), eq(TriggerType.SCHEDULE), any(), any(), any());
+        verify(runnerService, times(1)).runWorkflow(any(), eq(TriggerType.SCHEDULE), any(), any(), any());
+    }
+
+    @Test
+    void runRejectedByTheExecutorIsDispatchedAgain() throws InterruptedException {
+        WorkflowService workflowService = mock(WorkflowService.class);
+        AtomicBoolean rejectNext = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(1);
+        RunAdmissionScheduler scheduler = new RunAdmissionScheduler(runnerService, workflowService, workflowRunService,
+                task -> {
+                    if (!(task instanceof DelegatingSecurityContextRunnable)) {
+                        task.run();
+                        return;
+                    }
+                    if (rejectNext.getAndSet(false)) {
+                        throw new RejectedExecutionException("saturated");
+                    }
+                    started.countDown();
+                }, registry, true, 8, 1, 100, 10, RunShedPolicy.REJECT_NEW);
+
+        scheduler.submit(event(TriggerType.WEBHOOK));
+        assertThat(scheduler.getQueueDepth()).isEqualTo(1);
+        assertThat(scheduler.getRunning()).isZero();
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(scheduler.getRunning()).isEqualTo(1);
+        assertThat(scheduler.getQueueDepth()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package org.phong.zenflow.workflow.subdomain.schema_validator.service.schema;
+
+import org.everit.json.schema.ValidationException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompiledSchemaCacheTest {
+
+    private static JSONObject schema() {
+        return new JSONObject("""
+                {
+                  "definitions": { "port": { "type": "integer", "minimum": 1 } },
+                  "properties": {
+                    "input": {
+                      "type": "object",
+                      "properties": {
+                        "host": { "type": "string" },
+                        "port": { "$ref": "#/definitions/port" }
+                      },
+                      "required": ["host"]
+                    }
+                  }
+                }
+                """);
+    }
+
+    @Test
+    void compiledSchemaIsReusedForSameSourceInstance() {
+        CompiledSchemaCache cache = new CompiledSchemaCache(100);
+        JSONObject source = schema();
+
+        CompiledSchemaCache.CompiledSchema first = cache.get("builtin:db", "input", source);
+        CompiledSchemaCache.CompiledSchema second = cache.get("builtin:db", "input", source);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reloadedSchemaIsRecompiled() {
+        CompiledSchemaCache cache = new CompiledSchemaCache(100);
+
+        CompiledSchemaCache.CompiledSchema first = cache.get("builtin:db", "input", schema());
+        CompiledSchemaCache.CompiledSchema second = cache.get("builtin:db", "input", schema());
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void propertySliceKeepsDefinitionsForReferences() {
+        CompiledSchemaCache.CompiledSchema compiled = CompiledSchemaCache.compile(schema(), "input");
+
+        assertThat(compiled.properties().keySet()).containsExactlyInAnyOrder("host", "port");
+        compiled.schema().validate(new JSONObject("{\"host\": \"db\", \"port\": 5432}"));
+        assertThatThrownBy(() -> compiled.schema().validate(new JSONObject("{\"host\": \"db\", \"port\": 0}")))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,60 @@
+package org.phong.zenflow.workflow.subdomain.trigger.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private final List<UUID> triggers = IntStream.range(0, 3_000)
+            .mapToObj(i -> UUID.nameUUIDFromBytes(("trigger-" + i).getBytes()))
+            .toList();
+
+    @Test
+    void instancesAgreeRegardlessOfMemberOrder() {
+        ConsistentHashRing a = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 64);
+        ConsistentHashRing b = new ConsistentHashRing(List.of("node-c", "node-a", "node-b"), 64);
+
+        for (UUID trigger : triggers) {
+            assertEquals(a.ownerOf(trigger), b.ownerOf(trigger));
+        }
+    }
+
+    @Test
+    void spreadsTriggersAcrossMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 64);
+
+        Map<String, Integer> counts = new HashMap<>();
+        triggers.forEach(trigger -> counts.merge(ring.ownerOf(trigger), 1, Integer::sum));
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 600, "Uneven spread: " + counts));
+    }
+
+    @Test
+    void joiningInstanceOnlyTakesTriggersFromOthers() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 64);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node-a", "node-b", "node-c", "node-d"), 64);
+
+        int moved = 0;
+        for (UUID trigger : triggers) {
+            String owner = after.ownerOf(trigger);
+            if (!owner.equals(before.ownerOf(trigger))) {
+                assertEquals("node-d", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 0 && moved < triggers.size() / 2, "Moved: " + moved);
+    }
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertNull(new ConsistentHashRing(List.of(), 64).ownerOf(triggers.getFirst()));
+    }
+}
@@ -0,0 +1,89 @@
+package org.phong.zenflow.workflow.subdomain.trigger.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TriggerOwnershipTest {
+
+    private final TriggerLeaseStore store = mock(TriggerLeaseStore.class);
+
+    @Test
+    void disabledOwnsEverythingWithoutTouchingTheStore() {
+        TriggerOwnership ownership = new TriggerOwnership(store, false, "node-a", 30_000, 10_000, 64);
+        UUID trigger = UUID.randomUUID();
+
+        assertTrue(ownership.acquire(trigger));
+        assertEquals(Set.of(trigger), ownership.renew(List.of(trigger)));
+        ownership.release(trigger);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void onlyAcquiresTriggersMappedToThisInstance() {
+        when(store.liveInstances(anyLong())).thenReturn(List.of("node-a", "node-b"));
+        when(store.acquire(any(), eq("node-a"), anyLong())).thenReturn(true);
+        TriggerOwnership ownership = new TriggerOwnership(store, true, "node-a", 30_000, 10_000, 64);
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b"), 64);
+
+        List<UUID> triggers = IntStream.range(0, 200).mapToObj(i -> UUID.randomUUID()).toList();
+        for (UUID trigger : triggers) {
+            assertEquals(ring.ownerOf(trigger).equals("node-a"), ownership.acquire(trigger));
+        }
+        verify(store).heartbeat("node-a");
+    }
+
+    @Test
+    void leaseHeldElsewhereIsNotAcquired() {
+        when(store.liveInstances(anyLong())).thenReturn(List.of("node-a"));
+        when(store.acquire(any(), any(), anyLong())).thenReturn(false);
+        TriggerOwnership ownership = new TriggerOwnership(store, true, "node-a", 30_000, 10_000, 64);
+
+        assertFalse(ownership.acquire(UUID.randomUUID()));
+    }
+
+    @Test
+    void renewDropsLostLeasesAndReleasesIdleOnes() {
+        UUID kept = UUID.randomUUID();
+        UUID lost = UUID.randomUUID();
+        UUID idle = UUID.randomUUID();
+        when(store.renew(eq("node-a"), anyLong())).thenReturn(new HashSet<>(Set.of(kept, idle)));
+        TriggerOwnership ownership = new TriggerOwnership(store, true, "node-a", 30_000, 10_000, 64);
+
+        assertEquals(Set.of(kept), ownership.renew(List.of(kept, lost)));
+        verify(store).release(idle, "node-a");
+        verify(store, never()).release(kept, "node-a");
+    }
+
+    @Test
+    void failedRenewKeepsTriggersUntilTheLeaseRunsOut() {
+        UUID trigger = UUID.randomUUID();
+        when(store.renew(any(), anyLong())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertEquals(Set.of(trigger), new TriggerOwnership(store, true, "node-a", 30_000, 10_000, 64).renew(List.of(trigger)));
+        assertEquals(Set.of(), new TriggerOwnership(store, true, "node-a", 0, 10_000, 64).renew(List.of(trigger)));
+    }
+
+    @Test
+    void failedRenewStopsTriggersAHeartbeatBeforeTheLeaseRunsOut() {
+        UUID trigger = UUID.randomUUID();
+        when(store.renew(any(), anyLong())).thenThrow(new DataAccessResourceFailureException("down"));
+        // The next check would only come after the lease expired
+        TriggerOwnership ownership = new TriggerOwnership(store, true, "node-a", 30_000, 30_000, 64);
+
+        assertTrue(ownership.leasesLapsed());
+        assertEquals(Set.of(), ownership.renew(List.of(trigger)));
+        assertFalse(new TriggerOwnership(store, false, "node-a", 30_000, 30_000, 64).leasesLapsed());
+    }
+}